@@ -0,0 +1,181 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.AppointmentService;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link AppointmentService} method against a service pre-filled with {@code scale} appointments over
+ * the coming year, one in twenty of them cancelled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentServiceBenchmark {
+    private static final int BATCH = 10;
+
+    @Param({"1000", "100000", "10000000"})
+    public int scale;
+
+    @Param({"SINGLE_THREADED", "CONCURRENT"})
+    public HospitalServices.Concurrency concurrency;
+
+    HospitalDataset data;
+    AppointmentService service;
+    private int patients;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        data = new HospitalDataset(42);
+        // About four appointments per patient, as in a year of a typical practice.
+        patients = Math.max(1, scale / 4);
+        HospitalServices services = HospitalServices.create(concurrency);
+        data.populate(services, patients, scale, 0, 0, 0);
+        service = services.getAppointmentService();
+        for (int i = 0; i < scale; i += 20) service.cancelAppointment(HospitalDataset.appointmentId(i));
+    }
+
+    Patient patient(Caller c) {
+        return data.patient(c.existing(patients));
+    }
+
+    /** A new appointment at a random time for a random patient. */
+    Appointment fresh(Caller c, String kind) {
+        Patient patient = patient(c);
+        LocalDateTime at = data.appointment(c.existing(scale), patient).getDateTime();
+        return new Appointment(c.freshId(kind), patient, at, "Checkup");
+    }
+
+    /** Appointments scheduled by a thread; removed after every iteration so the population stays at scale. */
+    @State(Scope.Thread)
+    public static class Creator extends Caller {
+        @TearDown(Level.Iteration)
+        public void removeCreated(AppointmentServiceBenchmark b) {
+            for (String id : takeCreated("NA")) b.service.deleteAppointment(id);
+        }
+    }
+
+    /** A freshly scheduled appointment for each invocation of a benchmark that consumes one. */
+    @State(Scope.Thread)
+    public static class Victim extends Caller {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void schedule(AppointmentServiceBenchmark b) {
+            Appointment appointment = b.fresh(this, "DA");
+            id = appointment.getAppointmentId();
+            b.service.scheduleAppointment(appointment);
+        }
+
+        @TearDown(Level.Iteration)
+        public void removeCancelled(AppointmentServiceBenchmark b) {
+            // deleteAppointment consumes its victims; cancelAppointment leaves them behind.
+            for (String id : takeCreated("DA")) b.service.deleteAppointment(id);
+        }
+    }
+
+    @Benchmark
+    public Appointment scheduleAppointment(Creator c) {
+        Appointment appointment = fresh(c, "NA");
+        service.scheduleAppointment(appointment);
+        return appointment;
+    }
+
+    @Benchmark
+    public boolean tryScheduleAppointment(Creator c) {
+        return service.tryScheduleAppointment(fresh(c, "NA"));
+    }
+
+    @Benchmark
+    public List<Appointment> scheduleAppointments(Creator c) {
+        List<Appointment> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) batch.add(fresh(c, "NA"));
+        return service.scheduleAppointments(batch);
+    }
+
+    @Benchmark
+    public Appointment findAppointmentById(Caller c) {
+        return service.findAppointmentById(HospitalDataset.appointmentId(c.existing(scale)));
+    }
+
+    @Benchmark
+    public List<Appointment> getAllAppointments() {
+        return service.getAllAppointments();
+    }
+
+    @Benchmark
+    public Appointment updateAppointment(Caller c) {
+        Appointment current = service.findAppointmentById(HospitalDataset.appointmentId(c.existing(scale)));
+        // Move it by a day, keeping its status, so the time indexes and slots must follow.
+        Appointment moved = Appointment.restore(current.getAppointmentId(), current.getPatient(),
+                current.getDateTime().plusDays(c.random.nextBoolean() ? 1 : -1), current.getType(), current.getStatus());
+        service.updateAppointment(moved);
+        return moved;
+    }
+
+    @Benchmark
+    public boolean cancelAppointment(Victim v) {
+        return service.cancelAppointment(v.id);
+    }
+
+    @Benchmark
+    public boolean deleteAppointment(Victim v) {
+        return service.deleteAppointment(v.id);
+    }
+
+    @Benchmark
+    public List<Appointment> findAppointmentsByPatient(Caller c) {
+        return service.findAppointmentsByPatient(HospitalDataset.patientId(c.existing(patients)));
+    }
+
+    @Benchmark
+    public List<Appointment> findAppointmentsBetween(Caller c) {
+        LocalDateTime day = LocalDate.now().plusDays(1 + c.random.nextInt(365)).atStartOfDay();
+        return service.findAppointmentsBetween(day, day.plusDays(1));
+    }
+
+    @Benchmark
+    public List<Appointment> findAppointmentsByStatus() {
+        return service.findAppointmentsByStatus(Appointment.Status.CANCELLED);
+    }
+
+    @Benchmark
+    public List<Appointment> findConflicts(Caller c) {
+        return service.findConflicts(fresh(c, "Q"));
+    }
+
+    @Benchmark
+    public List<LocalDateTime> findFreeSlots(Caller c) {
+        return service.findFreeSlots(HospitalDataset.patientId(c.existing(patients)), "Checkup",
+                LocalDate.now().plusDays(1).atTime(8, 0), 10);
+    }
+
+    @Benchmark
+    public Page<Appointment> page(Caller c) {
+        return service.page(null, 50, c.random.nextBoolean() ? AppointmentService.SortKey.ID : AppointmentService.SortKey.DATE_TIME);
+    }
+}
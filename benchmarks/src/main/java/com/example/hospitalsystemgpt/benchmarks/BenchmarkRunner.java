@@ -0,0 +1,41 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. With arguments it is the plain JMH command line
+ * ({@code java -jar benchmarks.jar -h}); without, it runs the whole suite twice, single-threaded against both
+ * service variants and then with one thread per core against the concurrent services, recording allocation
+ * rates and writing machine-readable results to {@code target/jmh-<threads>t.json}.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        run(1);
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (cores > 1) run(cores, "CONCURRENT");
+    }
+
+    private static void run(int threads, String... concurrency) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(BenchmarkRunner.class.getPackageName() + ".*Benchmark")
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + threads + "t.json");
+        if (concurrency.length > 0) options.param("concurrency", concurrency);
+        Options built = options.build();
+        new Runner(built).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.BillingRun;
+import com.example.hospitalsystemgpt.BillingServiceImpl;
+import com.example.hospitalsystemgpt.ConcurrentBillingServiceImpl;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One end-of-day {@link BillingRun} over {@code appointments} completed appointments: {@code firstRun} bills them all
+ * into an empty billing service, {@code rerun} finds them all billed already. Each invocation is timed once, with a
+ * fresh billing service for {@code firstRun}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BillingRunBenchmark {
+    private static final LocalDateTime DAY = LocalDate.of(2024, 3, 4).atTime(8, 0);
+
+    @Param({"100000", "1000000"})
+    public int appointments;
+
+    @Param({"SINGLE_THREADED", "CONCURRENT"})
+    public HospitalServices.Concurrency concurrency;
+
+    private HospitalServices populated;
+    private Map<String, Money> tariff;
+    private HospitalServices empty;
+    private HospitalServices billed;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        HospitalDataset data = new HospitalDataset(42);
+        populated = HospitalServices.create(concurrency);
+        int patients = Math.max(1, appointments / 4);
+        Patient[] people = new Patient[patients];
+        for (int i = 0; i < patients; i++) people[i] = data.patient(i);
+        SplittableRandom random = new SplittableRandom(42);
+        String[] types = HospitalDataset.APPOINTMENT_TYPES;
+        for (int i = 0; i < appointments; i++) {
+            // Spread over one busy day, one per 36 ms or so between 08:00 and 18:00.
+            LocalDateTime at = DAY.plusNanos(36_000_000L * i);
+            populated.getAppointmentService().scheduleAppointment(Appointment.restore(HospitalDataset.appointmentId(i),
+                    people[random.nextInt(patients)], at, types[random.nextInt(types.length)], Appointment.Status.COMPLETED));
+        }
+        tariff = new HashMap<>();
+        for (int i = 0; i < types.length; i++) tariff.put(types[i], Money.ofMinor(4_000 + 1_500L * i));
+        billed = withFreshBilling();
+        new BillingRun(billed, tariff).run(DAY, DAY.plusDays(1));
+    }
+
+    @Setup(Level.Invocation)
+    public void clearBills() {
+        // The previous invocation's million bills are collected here rather than during the timed run.
+        empty = null;
+        System.gc();
+        empty = withFreshBilling();
+    }
+
+    private HospitalServices withFreshBilling() {
+        return new HospitalServices(populated.getPatientService(), populated.getAppointmentService(),
+                populated.getMedicalRecordService(),
+                populated.isThreadSafe() ? new ConcurrentBillingServiceImpl() : new BillingServiceImpl(),
+                populated.getInventoryService(), concurrency);
+    }
+
+    @Benchmark
+    public BillingRun.Result firstRun() {
+        return new BillingRun(empty, tariff).run(DAY, DAY.plusDays(1));
+    }
+
+    @Benchmark
+    public BillingRun.Result rerun() {
+        return new BillingRun(billed, tariff).run(DAY, DAY.plusDays(1));
+    }
+}
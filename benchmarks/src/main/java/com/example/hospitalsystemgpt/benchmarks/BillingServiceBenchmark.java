@@ -0,0 +1,154 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link BillingService} method against a service pre-filled with {@code scale} unpaid bills.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillingServiceBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    public int scale;
+
+    @Param({"SINGLE_THREADED", "CONCURRENT"})
+    public HospitalServices.Concurrency concurrency;
+
+    HospitalDataset data;
+    BillingService service;
+    private int patients;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        data = new HospitalDataset(42);
+        patients = Math.max(1, scale / 4);
+        HospitalServices services = HospitalServices.create(concurrency);
+        data.populate(services, patients, 0, 0, scale, 0);
+        service = services.getBillingService();
+    }
+
+    /** A new unpaid bill for a random patient, with generated line items. */
+    Bill fresh(Caller c, String kind) {
+        Bill template = data.bill(c.existing(scale), data.patient(c.existing(patients)));
+        Bill bill = new Bill(c.freshId(kind), template.getPatient());
+        for (Bill.LineItem item : template.getLineItems()) bill.addLineItem(item);
+        return bill;
+    }
+
+    /** Bills created by a thread; removed after every iteration so the population stays at scale. */
+    @State(Scope.Thread)
+    public static class Creator extends Caller {
+        @TearDown(Level.Iteration)
+        public void removeCreated(BillingServiceBenchmark b) {
+            for (String id : takeCreated("NB")) b.service.deleteBill(id);
+        }
+    }
+
+    /** A freshly created unpaid bill for each invocation of a benchmark that consumes one. */
+    @State(Scope.Thread)
+    public static class Victim extends Caller {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void create(BillingServiceBenchmark b) {
+            Bill bill = b.fresh(this, "DB");
+            id = bill.getBillId();
+            b.service.createBill(bill);
+        }
+
+        @TearDown(Level.Iteration)
+        public void removePaid(BillingServiceBenchmark b) {
+            // deleteBill consumes its victims; markBillAsPaid leaves them behind.
+            for (String id : takeCreated("DB")) b.service.deleteBill(id);
+        }
+    }
+
+    @Benchmark
+    public Bill createBill(Creator c) {
+        Bill bill = fresh(c, "NB");
+        service.createBill(bill);
+        return bill;
+    }
+
+    @Benchmark
+    public Bill findBillById(Caller c) {
+        return service.findBillById(HospitalDataset.billId(c.existing(scale)));
+    }
+
+    @Benchmark
+    public List<Bill> getAllBills() {
+        return service.getAllBills();
+    }
+
+    @Benchmark
+    public Bill updateBill(Caller c) {
+        int i = c.existing(scale);
+        // Replace the bill with a regenerated copy of itself: same ID, patient and line items.
+        Bill bill = data.bill(i, data.patient(0));
+        Bill current = service.findBillById(bill.getBillId());
+        Bill replacement = new Bill(bill.getBillId(), current.getPatient(), current.getCurrency(), current.getIssuedAt());
+        for (Bill.LineItem item : bill.getLineItems()) replacement.addLineItem(item);
+        service.updateBill(replacement);
+        return replacement;
+    }
+
+    @Benchmark
+    public Bill markBillAsPaid(Victim v) {
+        service.markBillAsPaid(v.id, "PAY-" + v.id);
+        return service.findBillById(v.id);
+    }
+
+    @Benchmark
+    public boolean deleteBill(Victim v) {
+        return service.deleteBill(v.id);
+    }
+
+    @Benchmark
+    public BillingService.AgingReport getAgingReport() {
+        return service.getAgingReport(Money.DEFAULT_CURRENCY);
+    }
+
+    /** The aging totals recomputed from every bill, as a baseline for {@link #getAgingReport}. */
+    @Benchmark
+    public long[] agingByScan() {
+        LocalDate today = LocalDate.now();
+        long[] totals = new long[BillingService.AgingBucket.values().length];
+        for (Bill bill : service.getAllBills()) {
+            if (bill.getStatus() != Bill.Status.UNPAID || !bill.getCurrency().equals(Money.DEFAULT_CURRENCY)) continue;
+            long age = today.toEpochDay() - bill.getIssuedAt().toLocalDate().toEpochDay();
+            totals[BillingService.AgingBucket.forAge(age).ordinal()] += bill.getTotalMinorUnits();
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Page<Bill> page(Caller c) {
+        BillingService.SortKey[] keys = BillingService.SortKey.values();
+        return service.page(null, 50, keys[c.random.nextInt(keys.length)]);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-thread state: a random source for picking existing entities and a prefix that keeps the IDs of entities
+ * created by different benchmark threads apart.
+ */
+@State(Scope.Thread)
+public class Caller {
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final int thread = THREADS.getAndIncrement();
+    final SplittableRandom random = new SplittableRandom(thread);
+    private int created;
+
+    /** Returns the index of a random populated entity. */
+    int existing(int scale) {
+        return random.nextInt(scale);
+    }
+
+    /** Returns a new ID, unique across threads, for an entity this thread creates. */
+    String freshId(String kind) {
+        return kind + "-T" + thread + "-" + created++;
+    }
+
+    /** Returns the IDs handed out by {@link #freshId} since the last call, and forgets them. */
+    String[] takeCreated(String kind) {
+        String[] ids = new String[created];
+        for (int i = 0; i < created; i++) ids[i] = kind + "-T" + thread + "-" + i;
+        created = 0;
+        return ids;
+    }
+}
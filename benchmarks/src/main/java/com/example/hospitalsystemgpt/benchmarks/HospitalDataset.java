@@ -0,0 +1,166 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.MedicalRecord;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic hospital data. Every entity is a pure function of the seed and its index, so a benchmark can
+ * regenerate (or look up by ID) any entity it populated without keeping it, and runs are reproducible.
+ * <p>
+ * The distributions are rough but realistic in shape: patient ages are a mix of children, adults and elderly;
+ * appointments arrive on weekdays with a morning peak, a lunch dip and a smaller afternoon peak; diagnoses and
+ * supplies follow skewed popularity; bills have one to a dozen line items with long-tailed amounts.
+ */
+public final class HospitalDataset {
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+            "Michael", "Linda", "David", "Elizabeth", "Omar", "Fatima", "Wei", "Aiko", "Carlos", "Sofia", "Ivan",
+            "Olga", "Amara", "Kwame", "Priya", "Arjun", "Lucas", "Emma"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+            "Miller", "Davis", "Hassan", "Khan", "Chen", "Tanaka", "Lopez", "Rossi", "Petrov", "Novak", "Okafor",
+            "Silva", "Mensah", "Sharma", "Dubois", "Muller"};
+    /** Appointment types, most common first. */
+    static final String[] APPOINTMENT_TYPES = {"Checkup", "Follow-up", "Consultation", "Blood test",
+            "Vaccination", "X-ray", "Physiotherapy", "Surgery"};
+    /** Relative appointment arrivals per opening hour, 08:00 to 17:00. */
+    private static final int[] HOURLY_ARRIVALS = {9, 14, 13, 11, 6, 7, 10, 9, 6, 3};
+    private static final String[] DIAGNOSES = {"Hypertension", "Upper respiratory infection", "Type 2 diabetes",
+            "Back pain", "Chest pain", "Asthma", "Migraine", "Influenza", "Anxiety", "COPD", "Atrial fibrillation",
+            "Pneumonia", "Anemia", "Fracture of the wrist", "Covid-19"};
+    private static final String[] NOTE_WORDS = {"patient", "reports", "pain", "mild", "severe", "follow", "up",
+            "in", "two", "weeks", "prescribed", "rest", "fluids", "no", "fever", "on", "exertion", "stable",
+            "referred", "to", "cardiology", "blood", "pressure", "elevated", "night", "cough", "shortness", "breath"};
+    /** Bill line items with their typical price. */
+    private static final String[] CHARGES = {"Consultation fee", "Laboratory test", "Medication", "X-ray",
+            "Bed day", "Physiotherapy session", "Vaccine", "Minor procedure", "MRI scan"};
+    private static final double[] CHARGE_PRICES = {60, 35, 20, 90, 450, 70, 25, 300, 900};
+    private static final String[] SUPPLIES = {"Saline 500ml", "Gauze pad", "Syringe 5ml", "Paracetamol 500mg",
+            "Nitrile gloves", "IV cannula", "Bandage roll", "Amoxicillin 250mg", "Insulin pen", "Face mask"};
+
+    private final long seed;
+    private final LocalDate today = LocalDate.now();
+
+    public HospitalDataset(long seed) {
+        this.seed = seed;
+    }
+
+    /** Returns the ID of the i-th patient. */
+    public static String patientId(int i) { return "P" + i; }
+    /** Returns the ID of the i-th appointment. */
+    public static String appointmentId(int i) { return "A" + i; }
+    /** Returns the ID of the i-th medical record. */
+    public static String recordId(int i) { return "MR" + i; }
+    /** Returns the ID of the i-th bill. */
+    public static String billId(int i) { return "B" + i; }
+    /** Returns the ID of the i-th inventory item. */
+    public static String itemId(int i) { return "I" + i; }
+
+    /** Returns the i-th patient. */
+    public Patient patient(int i) {
+        SplittableRandom random = random(1, i);
+        double group = random.nextDouble();
+        int age = group < 0.2 ? random.nextInt(18) : group < 0.75 ? 18 + random.nextInt(47) : 65 + random.nextInt(31);
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new Patient(patientId(i), name, today.minusYears(age).minusDays(random.nextInt(365)));
+    }
+
+    /** Returns the i-th appointment, for the given patient, within the coming year. */
+    public Appointment appointment(int i, Patient patient) {
+        SplittableRandom random = random(2, i);
+        LocalDate day = today.plusDays(1 + random.nextInt(365));
+        // Appointments are booked on weekdays.
+        while (day.getDayOfWeek().getValue() > 5) day = day.plusDays(1);
+        LocalTime time = LocalTime.of(8 + weighted(random, HOURLY_ARRIVALS), 15 * random.nextInt(4));
+        return new Appointment(appointmentId(i), patient, LocalDateTime.of(day, time), APPOINTMENT_TYPES[skewed(random, APPOINTMENT_TYPES.length)]);
+    }
+
+    /** Returns the i-th medical record, for the given patient and appointment, dated within the last ten years. */
+    public MedicalRecord record(int i, Patient patient, Appointment appointment) {
+        SplittableRandom random = random(3, i);
+        StringBuilder notes = new StringBuilder();
+        for (int w = 6 + random.nextInt(12); w > 0; w--) notes.append(NOTE_WORDS[skewed(random, NOTE_WORDS.length)]).append(' ');
+        return new MedicalRecord(recordId(i), patient, appointment, DIAGNOSES[skewed(random, DIAGNOSES.length)],
+                notes.toString().trim(), today.minusDays(random.nextInt(3650)));
+    }
+
+    /** Returns the i-th bill, for the given patient, with 1 to 12 line items, issued within the last 120 days. */
+    public Bill bill(int i, Patient patient) {
+        SplittableRandom random = random(4, i);
+        // The issue time has its own stream, so the line items are the same as before bills had one.
+        SplittableRandom issued = random(9, i);
+        Bill bill = new Bill(billId(i), patient, Money.DEFAULT_CURRENCY,
+                today.minusDays(issued.nextInt(120)).atTime(8 + issued.nextInt(10), issued.nextInt(60)));
+        int items = 1;
+        while (items < 12 && random.nextDouble() < 0.55) items++;
+        for (int k = 0; k < items; k++) {
+            int charge = skewed(random, CHARGES.length);
+            // Log-normal-ish spread around the typical price, rounded to cents.
+            long cents = Math.round(CHARGE_PRICES[charge] * Math.exp(random.nextDouble() - 0.5) * 100);
+            bill.addLineItem(new Bill.LineItem(CHARGES[charge], Money.ofMinor(Math.max(1, cents))));
+        }
+        return bill;
+    }
+
+    /** Returns the i-th inventory item. */
+    public InventoryItem item(int i) {
+        SplittableRandom random = random(5, i);
+        String name = SUPPLIES[i % SUPPLIES.length] + (i < SUPPLIES.length ? "" : " lot " + i / SUPPLIES.length);
+        return new InventoryItem(itemId(i), name, 100 + random.nextInt(5000), Money.ofMinor(50 + random.nextInt(5000)));
+    }
+
+    /**
+     * Fills the services with the given numbers of entities. Appointments, records and bills belong to random
+     * patients among the first {@code patients}; each record is for its own (unscheduled) appointment.
+     */
+    public void populate(HospitalServices services, int patients, int appointments, int records, int bills, int items) {
+        if (patients <= 0 && (appointments > 0 || records > 0 || bills > 0)) {
+            throw new IllegalArgumentException("Appointments, records and bills need patients");
+        }
+        Patient[] people = new Patient[patients];
+        for (int i = 0; i < patients; i++) {
+            people[i] = patient(i);
+            services.getPatientService().registerPatient(people[i]);
+        }
+        for (int i = 0; i < appointments; i++) {
+            services.getAppointmentService().scheduleAppointment(appointment(i, people[random(6, i).nextInt(patients)]));
+        }
+        for (int i = 0; i < records; i++) {
+            Patient patient = people[random(7, i).nextInt(patients)];
+            services.getMedicalRecordService().addMedicalRecord(record(i, patient, appointment(appointments + i, patient)));
+        }
+        for (int i = 0; i < bills; i++) {
+            services.getBillingService().createBill(bill(i, people[random(8, i).nextInt(patients)]));
+        }
+        for (int i = 0; i < items; i++) services.getInventoryService().addInventoryItem(item(i));
+    }
+
+    private SplittableRandom random(int kind, int i) {
+        return new SplittableRandom(seed * 1_000_003L + kind * 0x9E3779B97F4A7C15L + i);
+    }
+
+    /** Picks an index below {@code n}, favouring low indexes. */
+    static int skewed(SplittableRandom random, int n) {
+        double r = random.nextDouble();
+        return (int) (r * r * n);
+    }
+
+    /** Picks an index with probability proportional to its weight. */
+    static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int w : weights) total += w;
+        int pick = random.nextInt(total);
+        for (int i = 0; ; i++) {
+            pick -= weights[i];
+            if (pick < 0) return i;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.server.HttpApi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test for the HTTP API: many keep-alive clients, one virtual thread each, send {@code GET /<kind>/{id}}
+ * for random patients, appointments, records, bills and items back to back, and the run passes if the server
+ * answers at least the target number of requests per second.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.hospitalsystemgpt.benchmarks.HttpLoadTest --clients 64 --duration 30
+ * </pre>
+ * By default it starts an {@link HttpApi} in this process over a {@link HospitalDataset} population. With
+ * {@code --url} it targets a running server instead, which must hold the same population, e.g. a
+ * {@code HospitalServer} started on a directory that {@link LoadDriver} {@code --data-dir} filled with the same
+ * {@code --patients} and {@code --seed}. The clients speak HTTP/1.1 over plain sockets so that the measurement is
+ * of the server, not of a client library.
+ */
+public final class HttpLoadTest {
+    private static final String USAGE = """
+            Usage: HttpLoadTest [options]
+              --clients N          concurrent keep-alive connections, one virtual thread each (default 64)
+              --duration SECONDS   measured run time (default 30)
+              --warmup SECONDS     unmeasured run time before it (default 10)
+              --patients N         population size, as for LoadDriver (default 100000)
+              --seed N             population seed (default 42)
+              --url URL            server to test instead of an in-process one, e.g. http://localhost:8080
+              --target N           requests per second needed to pass (default 50000)""";
+
+    private static final String[] KINDS = {"patients", "appointments", "records", "bills", "inventory"};
+
+    private int clients = 64;
+    private long durationSeconds = 30;
+    private long warmupSeconds = 10;
+    private int patients = 100_000;
+    private long seed = 42;
+    private URI url;
+    private long target = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.println(USAGE);
+            return;
+        }
+        HttpLoadTest test = new HttpLoadTest();
+        try {
+            test.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        if (!test.run()) System.exit(1);
+    }
+
+    void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + option);
+            String value = args[++i];
+            switch (option) {
+                case "--clients" -> clients = positive(option, value);
+                case "--duration" -> durationSeconds = positive(option, value);
+                case "--warmup" -> warmupSeconds = Long.parseLong(value);
+                case "--patients" -> patients = positive(option, value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--url" -> url = URI.create(value);
+                case "--target" -> target = positive(option, value);
+                default -> throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (warmupSeconds < 0) throw new IllegalArgumentException("Times cannot be negative");
+        if (url != null && (url.getHost() == null || url.getPort() < 0)) {
+            throw new IllegalArgumentException("URL must name a host and port: " + url);
+        }
+    }
+
+    private static int positive(String option, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) throw new IllegalArgumentException(option + " must be positive");
+        return parsed;
+    }
+
+    /** Runs the test and prints the report; returns true if the target was met without errors. */
+    boolean run() throws IOException, InterruptedException {
+        LoadDriver.Population population = LoadDriver.Population.forPatients(patients);
+        HttpApi api = null;
+        InetSocketAddress address;
+        if (url == null) {
+            HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+            long start = System.nanoTime();
+            new HospitalDataset(seed).populate(services, population.patients(), population.appointments(),
+                    population.records(), population.bills(), population.items());
+            System.out.printf("Populated %,d patients in %,d ms%n", patients, (System.nanoTime() - start) / 1_000_000);
+            api = HttpApi.start(services.createController(), new InetSocketAddress("127.0.0.1", 0));
+            address = new InetSocketAddress("127.0.0.1", api.getPort());
+        } else {
+            address = new InetSocketAddress(url.getHost(), url.getPort());
+        }
+        try {
+            System.out.printf("Running %d clients against %s for %d s after a %d s warmup%n", clients, address,
+                    durationSeconds, warmupSeconds);
+            long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+            List<Client> running = new ArrayList<>();
+            for (int i = 0; i < clients; i++) running.add(new Client(address, population, seed + i, measureFrom, stopAt));
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                running.forEach(executor::execute);
+            }
+            return report(running);
+        } finally {
+            if (api != null) api.close();
+        }
+    }
+
+    private boolean report(List<Client> running) {
+        LatencyHistogram latencies = new LatencyHistogram();
+        long errors = 0;
+        String firstError = null;
+        for (Client client : running) {
+            latencies.add(client.latencies);
+            errors += client.errors;
+            if (firstError == null) firstError = client.firstError;
+        }
+        double perSecond = (double) latencies.count() / durationSeconds;
+        System.out.printf("%12s %10s %9s %9s %9s %9s %9s %9s %7s%n", "requests", "req/s", "mean us", "p50 us",
+                "p90 us", "p99 us", "p99.9 us", "max us", "errors");
+        System.out.printf("%,12d %,10.0f %,9.1f %,9.1f %,9.1f %,9.1f %,9.1f %,9.1f %,7d%n", latencies.count(), perSecond,
+                latencies.meanNanos() / 1000, latencies.percentileNanos(50) / 1000.0,
+                latencies.percentileNanos(90) / 1000.0, latencies.percentileNanos(99) / 1000.0,
+                latencies.percentileNanos(99.9) / 1000.0, latencies.maxNanos() / 1000.0, errors);
+        if (firstError != null) System.out.println("First error: " + firstError);
+        boolean passed = perSecond >= target && errors == 0;
+        System.out.printf(Locale.ROOT, "%s: %,.0f req/s against a target of %,d req/s on %d cores%n",
+                passed ? "PASS" : "FAIL", perSecond, target, Runtime.getRuntime().availableProcessors());
+        return passed;
+    }
+
+    /** One keep-alive connection sending reads back to back until the run ends. */
+    private static final class Client implements Runnable {
+        private final InetSocketAddress address;
+        private final LoadDriver.Population population;
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long stopAt;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final StringBuilder line = new StringBuilder();
+        private long errors;
+        private String firstError;
+
+        Client(InetSocketAddress address, LoadDriver.Population population, long seed, long measureFrom, long stopAt) {
+            this.address = address;
+            this.population = population;
+            this.random = new SplittableRandom(seed);
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < stopAt) {
+                try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+                    socket.setTcpNoDelay(true);
+                    InputStream in = new BufferedInputStream(socket.getInputStream(), 16 * 1024);
+                    OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 1024);
+                    String host = "Host: " + address.getHostString() + ":" + address.getPort() + "\r\n\r\n";
+                    long now;
+                    while ((now = System.nanoTime()) < stopAt) {
+                        out.write(("GET " + nextPath() + " HTTP/1.1\r\n" + host).getBytes(StandardCharsets.US_ASCII));
+                        out.flush();
+                        int status = readResponse(in);
+                        long end = System.nanoTime();
+                        if (now >= measureFrom) {
+                            if (status == 200) latencies.record(end - now);
+                            else fail("HTTP " + status);
+                        }
+                    }
+                } catch (IOException e) {
+                    // Count it and reconnect.
+                    fail(e.toString());
+                }
+            }
+        }
+
+        private String nextPath() {
+            String kind = KINDS[random.nextInt(KINDS.length)];
+            return switch (kind) {
+                case "patients" -> "/patients/" + HospitalDataset.patientId(random.nextInt(population.patients()));
+                case "appointments" -> "/appointments/" + HospitalDataset.appointmentId(random.nextInt(population.appointments()));
+                case "records" -> "/records/" + HospitalDataset.recordId(random.nextInt(population.records()));
+                case "bills" -> "/bills/" + HospitalDataset.billId(random.nextInt(population.bills()));
+                default -> "/inventory/" + HospitalDataset.itemId(random.nextInt(population.items()));
+            };
+        }
+
+        private void fail(String error) {
+            errors++;
+            if (firstError == null) firstError = error;
+        }
+
+        /** Reads one response, skipping its body, and returns its status code. */
+        private int readResponse(InputStream in) throws IOException {
+            String statusLine = readLine(in);
+            if (statusLine.length() < 12) throw new IOException("Bad status line: " + statusLine);
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            long length = -1;
+            boolean chunked = false;
+            for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+                String lower = header.toLowerCase(Locale.ROOT);
+                if (lower.startsWith("content-length:")) length = Long.parseLong(lower.substring(15).trim());
+                else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) chunked = true;
+            }
+            if (chunked) {
+                for (long size = Long.parseLong(readLine(in).trim(), 16); size > 0; size = Long.parseLong(readLine(in).trim(), 16)) {
+                    skip(in, size);
+                    readLine(in);
+                }
+                readLine(in);
+            } else if (length > 0) {
+                skip(in, length);
+            }
+            return status;
+        }
+
+        private String readLine(InputStream in) throws IOException {
+            line.setLength(0);
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b < 0) throw new EOFException("Connection closed");
+                if (b != '\r') line.append((char) b);
+            }
+            return line.toString();
+        }
+
+        private static void skip(InputStream in, long n) throws IOException {
+            while (n > 0) {
+                long skipped = in.skip(n);
+                if (skipped <= 0) {
+                    if (in.read() < 0) throw new EOFException("Connection closed");
+                    skipped = 1;
+                }
+                n -= skipped;
+            }
+        }
+    }
+}
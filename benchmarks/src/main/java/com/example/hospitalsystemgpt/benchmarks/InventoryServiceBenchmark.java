@@ -0,0 +1,142 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.InventoryService;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link InventoryService} method against a service pre-filled with {@code scale} items. Stock that a
+ * benchmark dispenses is topped up again, so items never run dry during a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryServiceBenchmark {
+    private static final int TOP_UP = 100_000;
+
+    @Param({"1000", "100000", "10000000"})
+    public int scale;
+
+    @Param({"SINGLE_THREADED", "CONCURRENT"})
+    public HospitalServices.Concurrency concurrency;
+
+    HospitalDataset data;
+    InventoryService service;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        data = new HospitalDataset(42);
+        HospitalServices services = HospitalServices.create(concurrency);
+        data.populate(services, 0, 0, 0, 0, scale);
+        service = services.getInventoryService();
+    }
+
+    /** Items added by a thread; removed after every iteration so the population stays at scale. */
+    @State(Scope.Thread)
+    public static class Creator extends Caller {
+        @TearDown(Level.Iteration)
+        public void removeCreated(InventoryServiceBenchmark b) {
+            for (String id : takeCreated("NI")) b.service.deleteInventoryItem(id);
+        }
+    }
+
+    /** A freshly added item for each invocation of a benchmark that consumes one. */
+    @State(Scope.Thread)
+    public static class Victim extends Caller {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void add(InventoryServiceBenchmark b) {
+            id = freshId("DI");
+            b.service.addInventoryItem(new InventoryItem(id, "Victim supply", 10, Money.parse("1.0")));
+        }
+    }
+
+    private String existingId(Caller c) {
+        return HospitalDataset.itemId(c.existing(scale));
+    }
+
+    @Benchmark
+    public InventoryItem addInventoryItem(Creator c) {
+        InventoryItem item = new InventoryItem(c.freshId("NI"), "New supply", 100, Money.parse("2.5"));
+        service.addInventoryItem(item);
+        return item;
+    }
+
+    @Benchmark
+    public InventoryItem findInventoryItemById(Caller c) {
+        return service.findInventoryItemById(existingId(c));
+    }
+
+    @Benchmark
+    public List<InventoryItem> getAllInventoryItems() {
+        return service.getAllInventoryItems();
+    }
+
+    @Benchmark
+    public InventoryItem updateInventoryItem(Caller c) {
+        InventoryItem item = service.findInventoryItemById(existingId(c));
+        item.setUnitPrice(Money.ofMinor(50 + c.random.nextInt(5000)));
+        service.updateInventoryItem(item);
+        return item;
+    }
+
+    @Benchmark
+    public boolean deleteInventoryItem(Victim v) {
+        return service.deleteInventoryItem(v.id);
+    }
+
+    /** Reserves one unit and commits it, the dispensing path; tops the item up when it runs out. */
+    @Benchmark
+    public boolean reserveAndCommit(Caller c) {
+        String id = existingId(c);
+        if (!service.tryReserve(id, 1)) return service.adjustStock(Map.of(id, TOP_UP));
+        service.commitReservation(id, 1);
+        return true;
+    }
+
+    /** Reserves one unit and releases it again, as when a dispensing is abandoned. */
+    @Benchmark
+    public boolean reserveAndRelease(Caller c) {
+        String id = existingId(c);
+        if (!service.tryReserve(id, 1)) return service.adjustStock(Map.of(id, TOP_UP));
+        service.release(id, 1);
+        return true;
+    }
+
+    /** Moves one unit between two items in one all-or-nothing adjustment. */
+    @Benchmark
+    public boolean adjustStock(Caller c) {
+        String from = existingId(c);
+        String to = existingId(c);
+        if (from.equals(to)) return service.adjustStock(Map.of(from, 1));
+        return service.adjustStock(Map.of(from, -1, to, 1)) || service.adjustStock(Map.of(from, TOP_UP));
+    }
+
+    @Benchmark
+    public Page<InventoryItem> page(Caller c) {
+        return service.page(null, 50, c.random.nextBoolean() ? InventoryService.SortKey.ID : InventoryService.SortKey.NAME);
+    }
+}
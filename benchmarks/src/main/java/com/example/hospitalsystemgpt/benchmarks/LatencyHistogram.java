@@ -0,0 +1,81 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+/**
+ * Log-linear latency histogram: exact below 64 ns, then 32 buckets per power of two, so any recorded value is
+ * reported within about 3%. Recording is a couple of shifts and an array increment, and the whole histogram is
+ * under 16 KB whatever the sample count. Not thread-safe; each load client records into its own and the
+ * results are merged with {@link #add}.
+ */
+final class LatencyHistogram {
+    private static final int LINEAR = 64;
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = LINEAR + (63 - 6) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /** Records one latency in nanoseconds; negative values count as zero. */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /** Adds every sample of another histogram to this one. */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) counts[i] += other.counts[i];
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /** Returns the number of samples. */
+    long count() {
+        return count;
+    }
+
+    /** Returns the mean latency in nanoseconds, or 0 without samples. */
+    double meanNanos() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /** Returns the largest latency recorded, in nanoseconds. */
+    long maxNanos() {
+        return max;
+    }
+
+    /**
+     * Returns the latency at the given percentile (0 to 100) in nanoseconds, by nearest rank: the upper bound
+     * of the bucket holding that sample, capped at the maximum. Returns 0 without samples.
+     */
+    long percentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, upperBound(i));
+        }
+        return max;
+    }
+
+    static int bucket(long value) {
+        if (value < LINEAR) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 6) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = 6 + (bucket - LINEAR) / SUB_BUCKETS;
+        long sub = (bucket - LINEAR) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
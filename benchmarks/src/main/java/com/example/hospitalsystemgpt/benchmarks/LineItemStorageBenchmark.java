@@ -0,0 +1,112 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums the line items of long-admission bills ({@code items} items each, 1M items in all), stored the way bills
+ * used to store them and the way they do now.
+ * <ul>
+ *   <li>{@code objectList}: an ArrayList of {@link Bill.LineItem} objects per bill, each description its own string
+ *   as when decoded from the log or JSON.</li>
+ *   <li>{@code compact}: the bill's own storage, read with {@link Bill#getLineItemAmountMinorUnits(int)}.</li>
+ * </ul>
+ * Descriptions follow a billing mix: most items are recurring charges, one in eight is a dated charge as a billing
+ * run writes it ({@code "<type> on <date>"}, one date per 20 items) and one in 50 is free text seen once. Setup
+ * prints the heap each layout retains per item, measured around a full GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineItemStorageBenchmark {
+    private static final int TOTAL_ITEMS = 1_000_000;
+    private static final String[] CHARGES = {"Bed day", "Nursing", "Medication", "Lab panel", "Imaging", "Meals",
+            "Physiotherapy", "Consultation", "Supplies", "Monitoring"};
+
+    @Param({"100", "2000"})
+    public int items;
+
+    List<List<Bill.LineItem>> objectLists;
+    Bill[] bills;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Patient patient = new Patient("P1", "Long Stay", LocalDate.of(1950, 1, 1));
+        int count = TOTAL_ITEMS / items;
+        long before = usedHeap();
+        objectLists = new ArrayList<>(count);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int b = 0; b < count; b++) {
+            List<Bill.LineItem> list = new ArrayList<>();
+            for (int i = 0; i < items; i++) list.add(item(random, i));
+            objectLists.add(list);
+        }
+        long objects = usedHeap();
+        bills = new Bill[count];
+        random = new SplittableRandom(42);
+        for (int b = 0; b < count; b++) {
+            bills[b] = new Bill("B" + b, patient);
+            for (int i = 0; i < items; i++) bills[b].addLineItem(item(random, i));
+        }
+        long compact = usedHeap();
+        System.out.printf("%nHeap per line item: objectList %.1f bytes, compact %.1f bytes%n",
+                (objects - before) / (double) TOTAL_ITEMS, (compact - objects) / (double) TOTAL_ITEMS);
+    }
+
+    private static Bill.LineItem item(SplittableRandom random, int i) {
+        return new Bill.LineItem(description(random, i), Money.ofMinor(MoneyAggregationBenchmark.cents(random)));
+    }
+
+    private static String description(SplittableRandom random, int i) {
+        int kind = random.nextInt(200);
+        if (kind < 4) return "Note " + random.nextLong();
+        if (kind < 29) return CHARGES[kind % CHARGES.length] + " on " + LocalDate.of(2024, 1, 1).plusDays(i / 20);
+        return new String(CHARGES[i % CHARGES.length]);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    public long objectList() {
+        long total = 0;
+        for (List<Bill.LineItem> list : objectLists) {
+            for (Bill.LineItem item : list) total += item.getAmountMinorUnits();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long compact() {
+        long total = 0;
+        for (Bill bill : bills) {
+            for (int i = 0, n = bill.getLineItemCount(); i < n; i++) total += bill.getLineItemAmountMinorUnits(i);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.AppointmentService;
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.MedicalRecord;
+import com.example.hospitalsystemgpt.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One closed-loop client: picks an operation from the mix, calls the controller, waits for the answer, records
+ * how long it took and goes again, until the run ends. Latencies are only kept once the warmup is over.
+ * <p>
+ * Operations that need an entity in a particular state use ones the client made itself (the appointments it
+ * booked, the bills it created) or, failing that, the populated entities it owns: every {@code clients}-th one
+ * starting at its index, so no two clients ever cancel or pay the same thing.
+ */
+final class LoadClient implements Runnable {
+    private static final String[] RECORD_QUERIES = {"pain", "hypertension", "\"chest pain\"", "asthma OR copd",
+            "severe pain exertion", "covid-19", "referred cardiology", "blood pressure elevated"};
+
+    private final int index;
+    private final int clients;
+    private final HospitalController controller;
+    private final HospitalDataset data;
+    private final LoadDriver.Population population;
+    private final Operation[] mix;
+    private final long measureFrom;
+    private final long stopAt;
+    private final long thinkNanos;
+    private final SplittableRandom random;
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final long[] errors = new long[Operation.values().length];
+    private final String[] firstErrors = new String[Operation.values().length];
+    private final ArrayDeque<String> booked = new ArrayDeque<>();
+    private final ArrayDeque<String> unpaid = new ArrayDeque<>();
+    private int created;
+    private int nextOwnedAppointment;
+    private int nextOwnedBill;
+
+    /**
+     * @param mix the operations to pick from, each repeated as often as its weight
+     * @param measureFrom the {@link System#nanoTime()} at which the warmup ends
+     * @param stopAt the {@link System#nanoTime()} at which the client stops
+     */
+    LoadClient(int index, int clients, HospitalController controller, HospitalDataset data,
+               LoadDriver.Population population, Operation[] mix, long measureFrom, long stopAt, long thinkNanos) {
+        this.index = index;
+        this.clients = clients;
+        this.controller = controller;
+        this.data = data;
+        this.population = population;
+        this.mix = mix;
+        this.measureFrom = measureFrom;
+        this.stopAt = stopAt;
+        this.thinkNanos = thinkNanos;
+        this.random = new SplittableRandom(index * 0x9E3779B97F4A7C15L + 1);
+        this.nextOwnedAppointment = index;
+        this.nextOwnedBill = index;
+        for (int i = 0; i < latencies.length; i++) latencies[i] = new LatencyHistogram();
+    }
+
+    @Override
+    public void run() {
+        long start;
+        while ((start = System.nanoTime()) - stopAt < 0) {
+            Operation operation = mix[random.nextInt(mix.length)];
+            try {
+                boolean performed = execute(operation);
+                if (performed && start - measureFrom >= 0) latencies[operation.ordinal()].record(System.nanoTime() - start);
+            } catch (RuntimeException e) {
+                if (start - measureFrom >= 0) {
+                    if (errors[operation.ordinal()]++ == 0) firstErrors[operation.ordinal()] = e.toString();
+                }
+            }
+            if (thinkNanos > 0) LockSupport.parkNanos(thinkNanos);
+        }
+    }
+
+    /** Returns the latencies recorded for an operation. */
+    LatencyHistogram latencies(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /** Returns the number of calls to an operation that threw. */
+    long errors(Operation operation) {
+        return errors[operation.ordinal()];
+    }
+
+    /** Returns the first exception an operation threw, or null. */
+    String firstError(Operation operation) {
+        return firstErrors[operation.ordinal()];
+    }
+
+    /** Performs one call; returns false if there was nothing for it to act on. */
+    private boolean execute(Operation operation) {
+        switch (operation) {
+            case FIND_PATIENT -> controller.findPatientById(HospitalDataset.patientId(pick(population.patients())));
+            case SEARCH_PATIENTS -> controller.searchPatients(typed(), 20);
+            case REGISTER_PATIENT -> {
+                Patient template = data.patient(random.nextInt(Integer.MAX_VALUE));
+                controller.registerPatient(new Patient(freshId("P"), template.getPatientName(), template.getDateOfBirth()));
+            }
+            case PATIENT_APPOINTMENTS -> controller.findAppointmentsByPatient(HospitalDataset.patientId(pick(population.patients())));
+            case DAY_SCHEDULE -> {
+                LocalDateTime day = LocalDate.now().plusDays(1 + random.nextInt(365)).atTime(8, 0);
+                controller.findAppointmentsBetween(day, day.plusHours(10));
+            }
+            case FREE_SLOTS -> controller.findFreeAppointmentSlots(HospitalDataset.patientId(pick(population.patients())),
+                    HospitalDataset.APPOINTMENT_TYPES[HospitalDataset.skewed(random, HospitalDataset.APPOINTMENT_TYPES.length)],
+                    LocalDate.now().plusDays(1 + random.nextInt(60)).atTime(8, 0), 3);
+            case SCHEDULE_APPOINTMENT -> {
+                Appointment template = data.appointment(random.nextInt(Integer.MAX_VALUE), patient());
+                String id = freshId("A");
+                if (controller.tryScheduleAppointment(new Appointment(id, template.getPatient(), template.getDateTime(), template.getType()))) {
+                    booked.add(id);
+                }
+            }
+            case CANCEL_APPOINTMENT -> {
+                String id = booked.poll();
+                if (id == null) {
+                    if (nextOwnedAppointment >= population.appointments()) return false;
+                    id = HospitalDataset.appointmentId(nextOwnedAppointment);
+                    nextOwnedAppointment += clients;
+                }
+                controller.cancelAppointment(id);
+            }
+            case PAGE_APPOINTMENTS -> controller.pageAppointments(null, 50, AppointmentService.SortKey.DATE_TIME);
+            case ADD_RECORD -> {
+                Patient patient = patient();
+                Appointment visit = data.appointment(random.nextInt(Integer.MAX_VALUE), patient);
+                MedicalRecord template = data.record(random.nextInt(Integer.MAX_VALUE), patient, visit);
+                controller.addMedicalRecord(new MedicalRecord(freshId("MR"), patient, visit, template.getDiagnosis(),
+                        template.getNotes(), template.getDate()));
+            }
+            case FIND_RECORD -> controller.findMedicalRecordById(HospitalDataset.recordId(pick(population.records())));
+            case SEARCH_RECORDS -> controller.searchMedicalRecords(RECORD_QUERIES[random.nextInt(RECORD_QUERIES.length)], 50);
+            case CREATE_BILL -> {
+                Bill template = data.bill(random.nextInt(Integer.MAX_VALUE), patient());
+                Bill bill = new Bill(freshId("B"), template.getPatient());
+                for (Bill.LineItem item : template.getLineItems()) bill.addLineItem(item);
+                controller.createBill(bill);
+                unpaid.add(bill.getBillId());
+            }
+            case PAY_BILL -> {
+                String id = unpaid.poll();
+                if (id == null) {
+                    if (nextOwnedBill >= population.bills()) return false;
+                    id = HospitalDataset.billId(nextOwnedBill);
+                    nextOwnedBill += clients;
+                }
+                controller.markBillAsPaid(id, "PAY-" + id);
+            }
+            case FIND_BILL -> controller.findBillById(HospitalDataset.billId(pick(population.bills())));
+            case DISPENSE -> {
+                String id = HospitalDataset.itemId(HospitalDataset.skewed(random, population.items()));
+                int amount = 1 + random.nextInt(5);
+                if (controller.tryReserveStock(id, amount)) {
+                    controller.commitStockReservation(id, amount);
+                } else {
+                    // Out of stock: the ward orders more before anything else is dispensed.
+                    controller.adjustStock(Map.of(id, 1000));
+                }
+            }
+            case RESTOCK -> {
+                Map<String, Integer> deltas = new HashMap<>();
+                for (int i = 1 + random.nextInt(3); i > 0; i--) {
+                    deltas.put(HospitalDataset.itemId(random.nextInt(population.items())), 50 + random.nextInt(450));
+                }
+                controller.adjustStock(deltas);
+            }
+        }
+        return true;
+    }
+
+    private int pick(int bound) {
+        return random.nextInt(Math.max(1, bound));
+    }
+
+    private Patient patient() {
+        return data.patient(pick(population.patients()));
+    }
+
+    /** Returns the first one to five letters of a real patient's first or last name. */
+    private String typed() {
+        String[] names = data.patient(pick(population.patients())).getPatientName().split(" ");
+        String name = names[random.nextInt(names.length)];
+        return name.substring(0, Math.min(name.length(), 1 + random.nextInt(5)));
+    }
+
+    private String freshId(String kind) {
+        return kind + "-L" + index + "-" + created++;
+    }
+}
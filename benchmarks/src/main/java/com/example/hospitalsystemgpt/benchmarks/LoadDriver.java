@@ -0,0 +1,233 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.persistence.DurableHospital;
+import com.example.hospitalsystemgpt.persistence.PersistenceConfig;
+import com.example.hospitalsystemgpt.persistence.WriteAheadLog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load driver: fills the services with a {@link HospitalDataset} population, then runs a mix of
+ * {@link HospitalController} calls from many closed-loop {@link LoadClient}s, one virtual thread each, and
+ * reports throughput and latency percentiles per operation.
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.hospitalsystemgpt.benchmarks.LoadDriver \
+ *     --clients 64 --duration 30 --patients 100000 --mix FIND_PATIENT=20,DISPENSE=5
+ * </pre>
+ * With {@code --data-dir} the calls go through a {@link DurableHospital} in that directory instead of the
+ * in-memory services. An empty directory is populated first (with periodic sync, then snapshotted); a populated
+ * one is reused as it is.
+ */
+public final class LoadDriver {
+    private static final String USAGE = """
+            Usage: LoadDriver [options]
+              --clients N          concurrent clients, one virtual thread each (default 16)
+              --duration SECONDS   measured run time (default 30)
+              --warmup SECONDS     unmeasured run time before it (default 10)
+              --patients N         population size; appointments, records and bills scale with it (default 100000)
+              --think-ms N         pause between a client's calls (default 0)
+              --mix OP=W,...       operations and weights to run instead of the default mix
+              --concurrency C      CONCURRENT or SINGLE_THREADED (default CONCURRENT; the latter needs --clients 1)
+              --data-dir DIR       run against a durable hospital in DIR
+              --sync POLICY        GROUP_COMMIT or PERIODIC, with --data-dir (default GROUP_COMMIT)
+              --seed N             population seed (default 42)
+            Operations: %s""";
+
+    /** How many entities of each kind were populated. */
+    record Population(int patients, int appointments, int records, int bills, int items) {
+        /** The population for a given number of patients: two appointments, three records and two bills each. */
+        static Population forPatients(int patients) {
+            return new Population(patients, 2 * patients, 3 * patients, 2 * patients, Math.max(100, patients / 100));
+        }
+    }
+
+    private int clients = 16;
+    private long durationSeconds = 30;
+    private long warmupSeconds = 10;
+    private int patients = 100_000;
+    private long thinkMillis;
+    private final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    private HospitalServices.Concurrency concurrency = HospitalServices.Concurrency.CONCURRENT;
+    private Path dataDir;
+    private WriteAheadLog.SyncPolicy sync = WriteAheadLog.SyncPolicy.GROUP_COMMIT;
+    private long seed = 42;
+
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--help")) {
+            System.out.printf(USAGE + "%n", List.of(Operation.values()));
+            return;
+        }
+        LoadDriver driver = new LoadDriver();
+        try {
+            driver.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.printf(USAGE + "%n", List.of(Operation.values()));
+            System.exit(2);
+        }
+        driver.run();
+    }
+
+    void parse(String[] args) {
+        for (Operation operation : Operation.values()) weights.put(operation, operation.defaultWeight());
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + option);
+            String value = args[++i];
+            switch (option) {
+                case "--clients" -> clients = positive(option, value);
+                case "--duration" -> durationSeconds = positive(option, value);
+                case "--warmup" -> warmupSeconds = Long.parseLong(value);
+                case "--patients" -> patients = positive(option, value);
+                case "--think-ms" -> thinkMillis = Long.parseLong(value);
+                case "--mix" -> parseMix(value);
+                case "--concurrency" -> concurrency = HospitalServices.Concurrency.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--data-dir" -> dataDir = Path.of(value);
+                case "--sync" -> sync = WriteAheadLog.SyncPolicy.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option " + option);
+            }
+        }
+        if (warmupSeconds < 0 || thinkMillis < 0) throw new IllegalArgumentException("Times cannot be negative");
+        if (clients > 1 && concurrency == HospitalServices.Concurrency.SINGLE_THREADED) {
+            throw new IllegalArgumentException("Single-threaded services cannot be shared by " + clients + " clients");
+        }
+    }
+
+    private void parseMix(String value) {
+        weights.clear();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Mix entries must look like OPERATION=WEIGHT: " + entry);
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0 || weight > 10_000) throw new IllegalArgumentException("Weights must be between 0 and 10000");
+            weights.put(operation, weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must contain an operation with a positive weight");
+        }
+    }
+
+    private static int positive(String option, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) throw new IllegalArgumentException(option + " must be positive");
+        return parsed;
+    }
+
+    void run() throws IOException, InterruptedException {
+        Population population = Population.forPatients(patients);
+        HospitalDataset data = new HospitalDataset(seed);
+        DurableHospital hospital = null;
+        HospitalController controller;
+        if (dataDir == null) {
+            HospitalServices services = HospitalServices.create(concurrency);
+            populate(data, services, population);
+            controller = services.createController();
+        } else {
+            prepare(data, population);
+            long start = System.nanoTime();
+            hospital = new DurableHospital(dataDir, config(sync), concurrency);
+            System.out.printf("Opened %s in %,d ms (%,d log records replayed)%n", dataDir,
+                    (System.nanoTime() - start) / 1_000_000, hospital.getReplayedRecords());
+            controller = hospital.createController();
+        }
+        try {
+            report(drive(controller, data, population));
+        } finally {
+            if (hospital != null) hospital.close();
+        }
+    }
+
+    /** Populates the data directory unless it already holds a hospital, and leaves it snapshotted and closed. */
+    private void prepare(HospitalDataset data, Population population) throws IOException {
+        try (DurableHospital loader = new DurableHospital(dataDir, config(WriteAheadLog.SyncPolicy.PERIODIC), concurrency)) {
+            if (loader.getPatientService().findPatientById(HospitalDataset.patientId(0)) != null) {
+                System.out.printf("Reusing the hospital in %s; bills and appointments paid or cancelled by earlier runs count as errors%n", dataDir);
+                return;
+            }
+            populate(data, loader.getServices(), population);
+            loader.snapshot();
+        }
+    }
+
+    private static void populate(HospitalDataset data, HospitalServices services, Population population) {
+        long start = System.nanoTime();
+        data.populate(services, population.patients(), population.appointments(), population.records(),
+                population.bills(), population.items());
+        System.out.printf("Populated %,d patients, %,d appointments, %,d records, %,d bills and %,d items in %,d ms%n",
+                population.patients(), population.appointments(), population.records(), population.bills(),
+                population.items(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static PersistenceConfig config(WriteAheadLog.SyncPolicy policy) {
+        PersistenceConfig defaults = PersistenceConfig.defaults();
+        return new PersistenceConfig(policy, defaults.getMaxBatchRecords(), defaults.getMaxBatchDelayMillis(),
+                defaults.getSegmentBytes(), defaults.getSnapshotIntervalMillis(), defaults.getSnapshotMinRecords());
+    }
+
+    private List<LoadClient> drive(HospitalController controller, HospitalDataset data, Population population)
+            throws InterruptedException {
+        List<Operation> table = new ArrayList<>();
+        weights.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) table.add(operation);
+        });
+        Operation[] mix = table.toArray(new Operation[0]);
+        System.out.printf("Running %d clients for %d s after a %d s warmup%n", clients, durationSeconds, warmupSeconds);
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<LoadClient> loadClients = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            loadClients.add(new LoadClient(i, clients, controller, data, population, mix, measureFrom, stopAt,
+                    TimeUnit.MILLISECONDS.toNanos(thinkMillis)));
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            loadClients.forEach(executor::execute);
+        }
+        return loadClients;
+    }
+
+    private void report(List<LoadClient> loadClients) {
+        System.out.printf("%-21s %10s %10s %9s %9s %9s %9s %9s %9s %7s%n", "operation", "calls", "calls/s",
+                "mean us", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "errors");
+        LatencyHistogram all = new LatencyHistogram();
+        long allErrors = 0;
+        List<String> failures = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram merged = new LatencyHistogram();
+            long errors = 0;
+            String firstError = null;
+            for (LoadClient client : loadClients) {
+                merged.add(client.latencies(operation));
+                errors += client.errors(operation);
+                if (firstError == null) firstError = client.firstError(operation);
+            }
+            if (merged.count() == 0 && errors == 0) continue;
+            print(operation.name(), merged, errors);
+            all.add(merged);
+            allErrors += errors;
+            if (firstError != null) failures.add(operation + ": " + firstError);
+        }
+        print("TOTAL", all, allErrors);
+        failures.forEach(failure -> System.out.println("First error in " + failure));
+    }
+
+    private void print(String name, LatencyHistogram latencies, long errors) {
+        System.out.printf("%-21s %,10d %,10.0f %,9.1f %,9.1f %,9.1f %,9.1f %,9.1f %,9.1f %,7d%n", name,
+                latencies.count(), (double) latencies.count() / durationSeconds, latencies.meanNanos() / 1000,
+                latencies.percentileNanos(50) / 1000.0, latencies.percentileNanos(90) / 1000.0,
+                latencies.percentileNanos(99) / 1000.0, latencies.percentileNanos(99.9) / 1000.0,
+                latencies.maxNanos() / 1000.0, errors);
+    }
+}
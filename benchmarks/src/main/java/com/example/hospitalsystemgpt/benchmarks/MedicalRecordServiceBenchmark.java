@@ -0,0 +1,131 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.MedicalRecord;
+import com.example.hospitalsystemgpt.MedicalRecordService;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.Patient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link MedicalRecordService} method against a service pre-filled with {@code scale} records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MedicalRecordServiceBenchmark {
+    private static final String[] QUERIES = {"pain", "hypertension", "\"chest pain\"", "asthma OR copd",
+            "severe pain exertion", "covid-19", "referred cardiology"};
+
+    @Param({"1000", "100000", "10000000"})
+    public int scale;
+
+    @Param({"SINGLE_THREADED", "CONCURRENT"})
+    public HospitalServices.Concurrency concurrency;
+
+    HospitalDataset data;
+    MedicalRecordService service;
+    private int patients;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        data = new HospitalDataset(42);
+        patients = Math.max(1, scale / 4);
+        HospitalServices services = HospitalServices.create(concurrency);
+        data.populate(services, patients, 0, scale, 0, 0);
+        service = services.getMedicalRecordService();
+    }
+
+    /** A new record for a random patient, with generated text. */
+    MedicalRecord fresh(Caller c, String kind) {
+        Patient patient = data.patient(c.existing(patients));
+        Appointment appointment = data.appointment(c.existing(scale), patient);
+        MedicalRecord template = data.record(c.existing(scale), patient, appointment);
+        return new MedicalRecord(c.freshId(kind), patient, appointment, template.getDiagnosis(), template.getNotes(), template.getDate());
+    }
+
+    /** Records added by a thread; removed after every iteration so the population stays at scale. */
+    @State(Scope.Thread)
+    public static class Creator extends Caller {
+        @TearDown(Level.Iteration)
+        public void removeCreated(MedicalRecordServiceBenchmark b) {
+            for (String id : takeCreated("NR")) b.service.deleteMedicalRecord(id);
+        }
+    }
+
+    /** A freshly added record for each invocation of a benchmark that consumes one. */
+    @State(Scope.Thread)
+    public static class Victim extends Caller {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void add(MedicalRecordServiceBenchmark b) {
+            MedicalRecord record = b.fresh(this, "DR");
+            id = record.getRecordId();
+            b.service.addMedicalRecord(record);
+        }
+    }
+
+    @Benchmark
+    public MedicalRecord addMedicalRecord(Creator c) {
+        MedicalRecord record = fresh(c, "NR");
+        service.addMedicalRecord(record);
+        return record;
+    }
+
+    @Benchmark
+    public MedicalRecord findMedicalRecordById(Caller c) {
+        return service.findMedicalRecordById(HospitalDataset.recordId(c.existing(scale)));
+    }
+
+    @Benchmark
+    public List<MedicalRecord> getAllMedicalRecords() {
+        return service.getAllMedicalRecords();
+    }
+
+    @Benchmark
+    public MedicalRecord updateMedicalRecord(Caller c) {
+        MedicalRecord current = service.findMedicalRecordById(HospitalDataset.recordId(c.existing(scale)));
+        // Records are immutable: an update replaces the record, here with amended notes that must be re-indexed.
+        String notes = current.getNotes().endsWith(" amended") ? current.getNotes().replace(" amended", "") : current.getNotes() + " amended";
+        MedicalRecord amended = new MedicalRecord(current.getRecordId(), current.getPatient(), current.getAppointment(),
+                current.getDiagnosis(), notes, current.getDate());
+        service.updateMedicalRecord(amended);
+        return amended;
+    }
+
+    @Benchmark
+    public boolean deleteMedicalRecord(Victim v) {
+        return service.deleteMedicalRecord(v.id);
+    }
+
+    @Benchmark
+    public List<MedicalRecord> searchMedicalRecords(Caller c) {
+        return service.searchMedicalRecords(QUERIES[c.random.nextInt(QUERIES.length)], 50);
+    }
+
+    @Benchmark
+    public Page<MedicalRecord> page(Caller c) {
+        MedicalRecordService.SortKey[] keys = MedicalRecordService.SortKey.values();
+        return service.page(null, 50, keys[c.random.nextInt(keys.length)]);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals a report's worth of line items, the way reports did with {@code double} amounts and the way they do with
+ * {@link Money} minor units. Each state holds only the line items its benchmark reads, so the 100M runs need
+ * about 4 GB of heap rather than twice that.
+ * <ul>
+ *   <li>{@code doubleSum}: the previous path, summing doubles and rounding to cents at the end; fast but drifts.</li>
+ *   <li>{@code doubleToBigDecimal}: the same line items converted to BigDecimal one by one, which is what an exact
+ *   report had to do with double amounts.</li>
+ *   <li>{@code minorUnits}: summing each line item's minor units with {@link Money.Total}; exact, no allocation.</li>
+ * </ul>
+ * Both line item sets are generated from the same seed, so all three totals describe the same amounts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+    private static final String[] DESCRIPTIONS = {"Consultation", "Lab panel", "X-ray", "Medication", "Bed day"};
+
+    /** A line item as it was stored before {@link Money}. */
+    record DoubleLineItem(String description, double amount) {
+    }
+
+    /** Generates the next amount in cents: long-tailed around $50, at least one cent. */
+    static long cents(SplittableRandom random) {
+        return Math.max(1, Math.round(5000 * Math.exp(random.nextDouble() * 3 - 1.5)));
+    }
+
+    @State(Scope.Benchmark)
+    public static class DoubleItems {
+        @Param({"1000000", "100000000"})
+        public int lineItems;
+
+        DoubleLineItem[] items;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            SplittableRandom random = new SplittableRandom(42);
+            items = new DoubleLineItem[lineItems];
+            for (int i = 0; i < lineItems; i++) items[i] = new DoubleLineItem(DESCRIPTIONS[i % DESCRIPTIONS.length], cents(random) / 100.0);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MoneyItems {
+        @Param({"1000000", "100000000"})
+        public int lineItems;
+
+        Bill.LineItem[] items;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            SplittableRandom random = new SplittableRandom(42);
+            items = new Bill.LineItem[lineItems];
+            for (int i = 0; i < lineItems; i++) items[i] = new Bill.LineItem(DESCRIPTIONS[i % DESCRIPTIONS.length], Money.ofMinor(cents(random)));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal doubleSum(DoubleItems s) {
+        double total = 0;
+        for (DoubleLineItem item : s.items) total += item.amount();
+        return BigDecimal.valueOf(total).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public BigDecimal doubleToBigDecimal(DoubleItems s) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (DoubleLineItem item : s.items) total = total.add(BigDecimal.valueOf(item.amount()));
+        return total;
+    }
+
+    @Benchmark
+    public long minorUnits(MoneyItems s) {
+        Money.Total total = new Money.Total(Money.DEFAULT_CURRENCY);
+        for (Bill.LineItem item : s.items) total.add(item.getAmountMinorUnits(), item.getCurrency());
+        return total.minorUnits();
+    }
+}
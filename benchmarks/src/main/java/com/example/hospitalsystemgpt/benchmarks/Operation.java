@@ -0,0 +1,54 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+/**
+ * The controller calls a load client makes, with their default share of the mix. The defaults approximate a
+ * front desk and ward day: mostly lookups and schedule views, a steady stream of bookings, visits (a record, a
+ * bill and dispensed supplies each) and payments, and rare registrations, cancellations and restocks.
+ */
+enum Operation {
+    /** {@code findPatientById} on a random patient. */
+    FIND_PATIENT(18),
+    /** {@code searchPatients} with the start of a real patient name, as typed into the search box. */
+    SEARCH_PATIENTS(8),
+    /** {@code registerPatient} for a new patient. */
+    REGISTER_PATIENT(2),
+    /** {@code findAppointmentsByPatient} on a random patient. */
+    PATIENT_APPOINTMENTS(10),
+    /** {@code findAppointmentsBetween} over one opening day. */
+    DAY_SCHEDULE(6),
+    /** {@code findFreeAppointmentSlots}, three slots for a random patient. */
+    FREE_SLOTS(4),
+    /** {@code tryScheduleAppointment}, at the appointment arrival curve. */
+    SCHEDULE_APPOINTMENT(8),
+    /** {@code cancelAppointment} on one the client booked, or else one it owns from the population. */
+    CANCEL_APPOINTMENT(2),
+    /** {@code pageAppointments}, the first page in date order. */
+    PAGE_APPOINTMENTS(2),
+    /** {@code addMedicalRecord} for a visit. */
+    ADD_RECORD(5),
+    /** {@code findMedicalRecordById} on a random record. */
+    FIND_RECORD(6),
+    /** {@code searchMedicalRecords} with a clinical query. */
+    SEARCH_RECORDS(4),
+    /** {@code createBill} for a visit. */
+    CREATE_BILL(5),
+    /** {@code markBillAsPaid} on a bill the client created, or else one it owns from the population. */
+    PAY_BILL(4),
+    /** {@code findBillById} on a random bill. */
+    FIND_BILL(5),
+    /** {@code tryReserveStock} then {@code commitStockReservation} of a few units of a popular supply. */
+    DISPENSE(10),
+    /** {@code adjustStock} topping up a few supplies at once. */
+    RESTOCK(1);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /** Returns the operation's relative frequency in the default mix. */
+    int defaultWeight() {
+        return defaultWeight;
+    }
+}
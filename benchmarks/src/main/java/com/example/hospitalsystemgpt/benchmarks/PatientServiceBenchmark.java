@@ -0,0 +1,116 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.Patient;
+import com.example.hospitalsystemgpt.PatientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link PatientService} method against a service pre-filled with {@code scale} patients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatientServiceBenchmark {
+    private static final String[] QUERIES = {"j", "ma", "omar", "john sm", "P12", "ssan", "lopez"};
+
+    @Param({"1000", "100000", "10000000"})
+    public int scale;
+
+    @Param({"SINGLE_THREADED", "CONCURRENT"})
+    public HospitalServices.Concurrency concurrency;
+
+    HospitalDataset data;
+    PatientService service;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        data = new HospitalDataset(42);
+        HospitalServices services = HospitalServices.create(concurrency);
+        data.populate(services, scale, 0, 0, 0, 0);
+        service = services.getPatientService();
+    }
+
+    /** Patients registered by a thread; removed after every iteration so the population stays at scale. */
+    @State(Scope.Thread)
+    public static class Creator extends Caller {
+        @TearDown(Level.Iteration)
+        public void removeCreated(PatientServiceBenchmark b) {
+            for (String id : takeCreated("NP")) b.service.deletePatient(id);
+        }
+    }
+
+    /** A freshly registered patient for each invocation of a benchmark that consumes one. */
+    @State(Scope.Thread)
+    public static class Victim extends Caller {
+        String id;
+
+        @Setup(Level.Invocation)
+        public void register(PatientServiceBenchmark b) {
+            id = freshId("DP");
+            b.service.registerPatient(new Patient(id, "Victim Patient", LocalDate.of(1980, 1, 1)));
+        }
+    }
+
+    @Benchmark
+    public Patient registerPatient(Creator c) {
+        Patient patient = new Patient(c.freshId("NP"), "New Patient", LocalDate.of(1990, 6, 1));
+        service.registerPatient(patient);
+        return patient;
+    }
+
+    @Benchmark
+    public Patient findPatientById(Caller c) {
+        return service.findPatientById(HospitalDataset.patientId(c.existing(scale)));
+    }
+
+    @Benchmark
+    public List<Patient> getAllPatients() {
+        return service.getAllPatients();
+    }
+
+    @Benchmark
+    public Patient updatePatient(Caller c) {
+        Patient patient = service.findPatientById(HospitalDataset.patientId(c.existing(scale)));
+        // Alternate between two names so every update is a rename that the indexes must follow.
+        String name = patient.getPatientName();
+        patient.setPatientName(name.endsWith(" Jr") ? name.substring(0, name.length() - 3) : name + " Jr");
+        service.updatePatient(patient);
+        return patient;
+    }
+
+    @Benchmark
+    public boolean deletePatient(Victim v) {
+        return service.deletePatient(v.id);
+    }
+
+    @Benchmark
+    public List<Patient> searchPatients(Caller c) {
+        return service.searchPatients(QUERIES[c.random.nextInt(QUERIES.length)], 50);
+    }
+
+    @Benchmark
+    public Page<Patient> page(Caller c) {
+        return service.page(null, 50, c.random.nextBoolean() ? PatientService.SortKey.ID : PatientService.SortKey.NAME);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.Patient;
+import com.example.hospitalsystemgpt.settlement.PaymentReconciler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a settlement of {@code lines} rows against {@code bills} unpaid bills. Most rows pay a bill or pay it
+ * again (already paid); about 2% name no bill, 1% have the wrong amount and 0.1% are malformed. The problem report
+ * is discarded, so the time is the import's own. Each invocation starts from a fresh set of unpaid bills.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PaymentReconcilerBenchmark {
+    @Param({"5000000"})
+    public int lines;
+
+    @Param({"200000"})
+    public int bills;
+
+    private HospitalDataset data;
+    private Patient[] patients;
+    private Path settlement;
+    private BillingService billing;
+
+    @Setup(Level.Trial)
+    public void writeSettlement() throws IOException {
+        data = new HospitalDataset(42);
+        patients = new Patient[Math.max(1, bills / 4)];
+        for (int i = 0; i < patients.length; i++) patients[i] = data.patient(i);
+        long[] totals = new long[bills];
+        for (int i = 0; i < bills; i++) totals[i] = data.bill(i, patients[i % patients.length]).getTotalMinorUnits();
+        settlement = Files.createTempFile("settlement", ".csv");
+        SplittableRandom random = new SplittableRandom(42);
+        try (BufferedWriter out = Files.newBufferedWriter(settlement)) {
+            out.write("reference,bill_id,amount,currency\n");
+            for (int i = 0; i < lines; i++) {
+                int bill = random.nextInt(bills);
+                double kind = random.nextDouble();
+                String billId = kind < 0.02 ? "X" + i : HospitalDataset.billId(bill);
+                long cents = kind >= 0.02 && kind < 0.03 ? totals[bill] + 1 : totals[bill];
+                if (kind >= 0.999) {
+                    out.write("TX-" + i + "," + billId + ",twelve\n");
+                } else {
+                    out.write("TX-" + i + "," + billId + "," + cents / 100 + "." + (cents % 100 < 10 ? "0" : "") + cents % 100 + ",USD\n");
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void freshBills() {
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+        billing = services.getBillingService();
+        for (int i = 0; i < bills; i++) billing.createBill(data.bill(i, patients[i % patients.length]));
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSettlement() throws IOException {
+        Files.deleteIfExists(settlement);
+    }
+
+    @Benchmark
+    public PaymentReconciler.Report reconcile() throws IOException {
+        return new PaymentReconciler(billing).reconcile(settlement, Writer.nullWriter());
+    }
+}
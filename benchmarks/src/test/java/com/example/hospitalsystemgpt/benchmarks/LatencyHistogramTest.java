@@ -0,0 +1,57 @@
+package com.example.hospitalsystemgpt.benchmarks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+    @Test
+    void emptyHistogramReportsZero() { // Tests the values before any sample
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.meanNanos());
+        assertEquals(0, histogram.percentileNanos(99));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(-1));
+    }
+
+    @Test
+    void smallValuesAreExact() { // Tests nearest-rank percentiles in the linear range
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) histogram.record(i);
+        assertEquals(25, histogram.percentileNanos(50));
+        assertEquals(50, histogram.percentileNanos(100));
+        assertEquals(1, histogram.percentileNanos(0));
+        assertEquals(25.5, histogram.meanNanos());
+    }
+
+    @Test
+    void largeValuesStayWithinBucketPrecision() { // Tests the relative error of log-linear buckets
+        for (long value = 64; value < 1L << 40; value = value * 3 + 7) {
+            long bound = LatencyHistogram.upperBound(LatencyHistogram.bucket(value));
+            assertTrue(bound >= value, "bound below " + value);
+            assertTrue(bound - value <= value / 32, "bucket too wide at " + value);
+        }
+        assertEquals(LatencyHistogram.bucket(Long.MAX_VALUE), LatencyHistogram.bucket(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    void percentilesAreCappedAtTheMaximum() { // Tests that no percentile exceeds the largest sample
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+        assertEquals(1_000_001, histogram.percentileNanos(100));
+        assertEquals(1_000_001, histogram.maxNanos());
+    }
+
+    @Test
+    void mergingAddsSamples() { // Tests combining per-client histograms
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) a.record(10);
+        for (int i = 0; i < 10; i++) b.record(5_000);
+        a.add(b);
+        assertEquals(100, a.count());
+        assertEquals(10, a.percentileNanos(90));
+        assertTrue(a.percentileNanos(95) >= 5_000);
+        assertEquals(5_000, a.maxNanos());
+    }
+}
@@ -18,15 +18,28 @@ public class Appointment {
      * Sets status to SCHEDULED by default.
      */
     public Appointment(String id, Patient patient, LocalDateTime dateTime, String type) {
+        this(id, patient, dateTime, type, Status.SCHEDULED, false);
+    }
+
+    private Appointment(String id, Patient patient, LocalDateTime dateTime, String type, Status status, boolean allowPast) {
         if (id == null || id.isBlank()) throw new IllegalArgumentException("ID cannot be null or blank");
         if (patient == null) throw new IllegalArgumentException("Patient cannot be null");
-        if (dateTime == null || dateTime.isBefore(LocalDateTime.now())) throw new IllegalArgumentException("Invalid appointment date/time");
+        if (dateTime == null || (!allowPast && dateTime.isBefore(LocalDateTime.now()))) throw new IllegalArgumentException("Invalid appointment date/time");
         if (type == null || type.isBlank()) throw new IllegalArgumentException("Type cannot be null or blank");
+        if (status == null) throw new IllegalArgumentException("Status cannot be null");
         this.id = id;
         this.patient = patient;
         this.dateTime = dateTime;
         this.type = type;
-        this.status = Status.SCHEDULED;
+        this.status = status;
+    }
+
+    /**
+     * Recreates a previously stored appointment with its saved status.
+     * The date/time may lie in the past, since stored appointments may already have taken place.
+     */
+    public static Appointment restore(String id, Patient patient, LocalDateTime dateTime, String type, Status status) {
+        return new Appointment(id, patient, dateTime, type, status, true);
     }
 
     public String getAppointmentId() { return id; }
@@ -0,0 +1,148 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes over appointments: by patient, by date/time and by status. Every index is ordered by
+ * (date/time, appointment ID), so all queries return appointments in chronological order. Scheduled
+ * appointments also occupy a 15-minute slot per patient and per type in a {@link SlotOccupancy}.
+ * <p>
+ * The index remembers what it last indexed for each appointment, because appointments are replaced (and their
+ * status changed) outside the service and only then passed to {@code updateAppointment}. Calls for the same
+ * appointment ID must not overlap; {@link AppointmentServiceImpl} guarantees this by updating the index inside
+ * its per-key map operations. Calls for different IDs may run concurrently.
+ */
+final class AppointmentIndex {
+    /** Sort key shared by all indexes. */
+    record TimeKey(LocalDateTime dateTime, String id) implements Comparable<TimeKey> {
+        @Override
+        public int compareTo(TimeKey other) {
+            int c = dateTime.compareTo(other.dateTime);
+            return c != 0 ? c : id.compareTo(other.id);
+        }
+    }
+
+    private record Indexed(String patientId, TimeKey key, Appointment.Status status, String type) {
+        boolean occupiesSlot() { return status == Appointment.Status.SCHEDULED; }
+
+        boolean sameSlot(Indexed other) {
+            return patientId.equals(other.patientId) && type.equals(other.type)
+                    && SlotOccupancy.slotStartOf(key.dateTime()).equals(SlotOccupancy.slotStartOf(other.key.dateTime()));
+        }
+    }
+
+    private final Map<String, Indexed> indexed = new ConcurrentHashMap<>();
+    private final NavigableSet<TimeKey> byTime = new ConcurrentSkipListSet<>();
+    private final Map<String, NavigableSet<TimeKey>> byPatient = new ConcurrentHashMap<>();
+    private final Map<Appointment.Status, NavigableSet<TimeKey>> byStatus = new EnumMap<>(Appointment.Status.class);
+    private final SlotOccupancy occupancy;
+
+    AppointmentIndex(SlotOccupancy occupancy) {
+        this.occupancy = occupancy;
+        for (Appointment.Status status : Appointment.Status.values()) byStatus.put(status, new ConcurrentSkipListSet<>());
+    }
+
+    /**
+     * Indexes a new appointment or re-indexes a replaced/changed one.
+     */
+    void put(Appointment appointment) {
+        put(appointment, false);
+    }
+
+    /**
+     * Indexes an appointment. If {@code requireFree} is set and the appointment would share its slot with another
+     * scheduled appointment of the same patient or type, nothing is changed and false is returned.
+     */
+    boolean put(Appointment appointment, boolean requireFree) {
+        String id = appointment.getAppointmentId();
+        Indexed now = new Indexed(appointment.getPatient().getPatientId(),
+                new TimeKey(appointment.getDateTime(), id), appointment.getStatus(),
+                SlotOccupancy.typeKey(appointment.getType()));
+        Indexed before = indexed.get(id);
+        if (now.equals(before)) return true;
+        boolean keepsSlot = before != null && before.occupiesSlot() && now.occupiesSlot() && before.sameSlot(now);
+        if (now.occupiesSlot() && !keepsSlot
+                && !occupancy.occupy(now.patientId(), now.type(), now.key().dateTime(), requireFree)) {
+            return false;
+        }
+        if (before != null && before.occupiesSlot() && !keepsSlot) {
+            occupancy.release(before.patientId(), before.type(), before.key().dateTime());
+        }
+        indexed.put(id, now);
+        if (before == null || !before.key().equals(now.key())) {
+            if (before != null) byTime.remove(before.key());
+            byTime.add(now.key());
+        }
+        if (before == null || !before.patientId().equals(now.patientId()) || !before.key().equals(now.key())) {
+            if (before != null) removeFromPatient(before);
+            byPatient.compute(now.patientId(), (patientId, keys) -> {
+                if (keys == null) keys = new ConcurrentSkipListSet<>();
+                keys.add(now.key());
+                return keys;
+            });
+        }
+        if (before == null || before.status() != now.status() || !before.key().equals(now.key())) {
+            if (before != null) byStatus.get(before.status()).remove(before.key());
+            byStatus.get(now.status()).add(now.key());
+        }
+        return true;
+    }
+
+    /**
+     * Removes an appointment from every index.
+     */
+    void remove(String id) {
+        Indexed before = indexed.remove(id);
+        if (before == null) return;
+        if (before.occupiesSlot()) occupancy.release(before.patientId(), before.type(), before.key().dateTime());
+        byTime.remove(before.key());
+        removeFromPatient(before);
+        byStatus.get(before.status()).remove(before.key());
+    }
+
+    /** Returns the keys of a patient's appointments in chronological order. */
+    Collection<TimeKey> forPatient(String patientId) {
+        NavigableSet<TimeKey> keys = byPatient.get(patientId);
+        return keys == null ? Collections.emptySet() : keys;
+    }
+
+    /** Returns the keys of appointments at or after {@code from} and before {@code to}, in chronological order. */
+    Collection<TimeKey> between(LocalDateTime from, LocalDateTime to) {
+        // "" sorts before every real ID, so these bounds select exactly the times in [from, to).
+        return byTime.subSet(new TimeKey(from, ""), true, new TimeKey(to, ""), false);
+    }
+
+    /** Returns the keys of appointments with the given status, in chronological order. */
+    Collection<TimeKey> withStatus(Appointment.Status status) {
+        return byStatus.get(status);
+    }
+
+    /**
+     * Resolves index keys to the appointments currently stored in {@code appointments}, skipping any that were
+     * removed after the keys were read.
+     */
+    static List<Appointment> resolve(Collection<TimeKey> keys, Map<String, Appointment> appointments) {
+        List<Appointment> result = new ArrayList<>();
+        for (TimeKey key : keys) {
+            Appointment appointment = appointments.get(key.id());
+            if (appointment != null) result.add(appointment);
+        }
+        return result;
+    }
+
+    private void removeFromPatient(Indexed before) {
+        byPatient.computeIfPresent(before.patientId(), (patientId, keys) -> {
+            keys.remove(before.key());
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * Service interface for managing appointments.
+ */
+public interface AppointmentService {
+    /** Orders a listing can be paged in. Ties are always broken by ID, so the order is stable. */
+    enum SortKey {
+        /** By appointment ID. */
+        ID,
+        /** By date and time, then by appointment ID. */
+        DATE_TIME
+    }
+
+    /**
+     * Schedules a new appointment.
+     * @param appointment the appointment to schedule
+     * @throws IllegalArgumentException if the appointment is null or already exists
+     */
+    void scheduleAppointment(Appointment appointment);
+
+    /**
+     * Finds an appointment by its unique ID.
+     * @param id the appointment ID
+     * @return the Appointment if found, or null if not found
+     */
+    Appointment findAppointmentById(String id);
+
+    /**
+     * Returns a list of all scheduled appointments.
+     * @return list of appointments
+     */
+    List<Appointment> getAllAppointments();
+
+    /**
+     * Updates an existing appointment.
+     * @param appointment the appointment with updated information
+     * @throws IllegalArgumentException if the appointment is null or does not exist
+     */
+    void updateAppointment(Appointment appointment);
+
+    /**
+     * Cancels an appointment by its ID.
+     * @param id the appointment ID
+     * @return true if the appointment was cancelled, false if not found
+     */
+    boolean cancelAppointment(String id);
+
+    /**
+     * Deletes an appointment by its ID.
+     * @param id the appointment ID
+     * @return true if the appointment was deleted, false if not found
+     */
+    boolean deleteAppointment(String id);
+
+    /**
+     * Finds all appointments of a patient, oldest first.
+     * @param patientId the patient ID
+     * @return the patient's appointments in chronological order (empty if none)
+     * @throws IllegalArgumentException if the patient ID is null
+     */
+    List<Appointment> findAppointmentsByPatient(String patientId);
+
+    /**
+     * Finds all appointments whose date/time lies in the window {@code [from, to)}.
+     * @param from the start of the window (inclusive)
+     * @param to the end of the window (exclusive)
+     * @return the appointments in chronological order (empty if none)
+     * @throws IllegalArgumentException if either bound is null or {@code from} is after {@code to}
+     */
+    List<Appointment> findAppointmentsBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Finds all appointments with the given status.
+     * @param status the status to match
+     * @return the matching appointments in chronological order (empty if none)
+     * @throws IllegalArgumentException if the status is null
+     */
+    List<Appointment> findAppointmentsByStatus(Appointment.Status status);
+
+    /**
+     * Schedules an appointment only if neither its patient nor its type (the resource it uses) already has a
+     * scheduled appointment in the same 15-minute slot.
+     * @param appointment the appointment to schedule
+     * @return true if scheduled, false if it conflicts with an existing appointment
+     * @throws IllegalArgumentException if the appointment is null or already exists
+     */
+    boolean tryScheduleAppointment(Appointment appointment);
+
+    /**
+     * Schedules many appointments in one call, skipping any that conflict or already exist.
+     * @param appointments the appointments to schedule, in priority order
+     * @return the appointments that were not scheduled (empty if all were)
+     * @throws IllegalArgumentException if the list or any element is null
+     */
+    List<Appointment> scheduleAppointments(List<Appointment> appointments);
+
+    /**
+     * Finds the scheduled appointments that would conflict with a candidate: same 15-minute slot and same
+     * patient or same type. The candidate itself is never reported.
+     * @param candidate the appointment to check
+     * @return the conflicting appointments (empty if none)
+     * @throws IllegalArgumentException if the candidate is null
+     */
+    List<Appointment> findConflicts(Appointment candidate);
+
+    /**
+     * Finds the next free 15-minute slots within opening hours.
+     * @param patientId the patient who must be free, or null for any
+     * @param type the appointment type that must be free, or null for any
+     * @param after the earliest start time
+     * @param count the maximum number of slots to return
+     * @return the start times of free slots in chronological order
+     * @throws IllegalArgumentException if {@code after} is null or {@code count} is not positive
+     */
+    List<LocalDateTime> findFreeSlots(String patientId, String type, LocalDateTime after, int count);
+
+    /**
+     * Returns one page of appointments in a stable order. Pass the previous page's {@link Page#getNextCursor()} to
+     * continue; entries added or removed elsewhere in the listing do not shift the pages that follow.
+     * @param cursor the cursor from the previous page, or null to start at the beginning
+     * @param limit the maximum number of appointments on the page
+     * @param sortKey the order to list in; must match the order the cursor was created with
+     * @return the page, whose next cursor is null if there are no more appointments
+     * @throws IllegalArgumentException if the limit is not positive, the sort key is null or the cursor is invalid
+     */
+    Page<Appointment> page(String cursor, int limit, SortKey sortKey);
+
+    /**
+     * Returns the number of appointments without copying them.
+     * @return how many appointments there are
+     */
+    int count();
+
+    /**
+     * Returns how many appointments on a day have each status, without scanning the appointments.
+     * @param date the day
+     * @return the count for every status, 0 for statuses no appointment on that day has
+     * @throws IllegalArgumentException if the date is null
+     */
+    Map<Appointment.Status, Integer> countByStatus(LocalDate date);
+
+    /**
+     * Returns a stream of changes to appointments: one event per schedule, update, cancellation and deletion. Events
+     * are published as the change is applied, so a subscriber can keep a copy or an index current without rescanning.
+     * The stream is hot: a subscriber only sees changes made after it subscribed, and one that falls too far behind is
+     * failed.
+     * @return the change stream
+     */
+    Flow.Publisher<ChangeEvent> changes();
+}
@@ -0,0 +1,292 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * In-memory implementation of AppointmentService. Lookups by patient, time window and status are answered
+ * from secondary indexes and per-day status counts from a tally, all kept up to date on every
+ * schedule/update/cancel/delete, and scheduled appointments occupy 15-minute slots per patient and per type for
+ * conflict detection.
+ */
+public class AppointmentServiceImpl implements AppointmentService {
+    /** Free-slot searches only return slots between these times. */
+    public static final LocalTime OPENING_TIME = LocalTime.of(8, 0);
+    public static final LocalTime CLOSING_TIME = LocalTime.of(18, 0);
+
+    private final Map<String, Appointment> appointmentMap;
+    private final SlotOccupancy occupancy = new SlotOccupancy(OPENING_TIME, CLOSING_TIME);
+    private final AppointmentIndex index = new AppointmentIndex(occupancy);
+    private final SortedIndex<Appointment, AppointmentService.SortKey> sorted = new SortedIndex<>(AppointmentService.SortKey.class, Map.of(
+            AppointmentService.SortKey.ID, a -> "",
+            AppointmentService.SortKey.DATE_TIME, a -> SortedIndex.dateTime(a.getDateTime())));
+    private final Tally<Appointment, DayStatus> daily = Tally.counting(a -> new DayStatus(a.getDateTime().toLocalDate(), a.getStatus()));
+    private final ChangePublisher changes;
+
+    /** The group an appointment is counted in by {@link #countByStatus}. */
+    private record DayStatus(LocalDate day, Appointment.Status status) {
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap.
+     */
+    public AppointmentServiceImpl() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructs a service backed by the given empty map. Every mutation is a single atomic per-key map
+     * operation that also updates the indexes, so passing a concurrent map makes the service thread-safe.
+     */
+    protected AppointmentServiceImpl(Map<String, Appointment> appointmentMap) {
+        this(appointmentMap, new ChangePublisher());
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap that publishes its changes to a shared stream.
+     */
+    public AppointmentServiceImpl(ChangePublisher changes) {
+        this(new HashMap<>(), changes);
+    }
+
+    /**
+     * Constructs a service backed by the given empty map that publishes its changes to the given stream.
+     */
+    protected AppointmentServiceImpl(Map<String, Appointment> appointmentMap, ChangePublisher changes) {
+        if (changes == null) throw new IllegalArgumentException("Change publisher cannot be null");
+        this.appointmentMap = appointmentMap;
+        this.changes = changes;
+    }
+
+    /**
+     * Schedules a new appointment. Throws if appointment is null or already exists.
+     */
+    @Override
+    public void scheduleAppointment(Appointment appointment) {
+        if (appointment == null) throw new IllegalArgumentException("Appointment cannot be null");
+        appointmentMap.compute(appointment.getAppointmentId(), (id, existing) -> {
+            if (existing != null) throw new IllegalArgumentException("Appointment already exists");
+            index.put(appointment);
+            sorted.put(id, appointment);
+            daily.put(id, appointment);
+            changes.publish(ChangeEvent.EntityType.APPOINTMENT, ChangeEvent.Kind.CREATED, id);
+            return appointment;
+        });
+    }
+
+    /**
+     * Finds an appointment by its unique ID.
+     */
+    @Override
+    public Appointment findAppointmentById(String id) {
+        return id == null ? null : appointmentMap.get(id);
+    }
+
+    /**
+     * Returns a list of all scheduled appointments.
+     */
+    @Override
+    public List<Appointment> getAllAppointments() {
+        return new ArrayList<>(appointmentMap.values());
+    }
+
+    /**
+     * Updates an existing appointment. Throws if appointment is null or does not exist.
+     */
+    @Override
+    public void updateAppointment(Appointment appointment) {
+        if (appointment == null) throw new IllegalArgumentException("Appointment cannot be null");
+        Appointment updated = appointmentMap.computeIfPresent(appointment.getAppointmentId(), (id, existing) -> {
+            index.put(appointment);
+            sorted.put(id, appointment);
+            daily.put(id, appointment);
+            changes.publish(ChangeEvent.EntityType.APPOINTMENT, ChangeEvent.Kind.UPDATED, id);
+            return appointment;
+        });
+        if (updated == null) throw new IllegalArgumentException("Appointment does not exist");
+    }
+
+    /**
+     * Cancels an appointment by its ID. Returns true if cancelled, false if not found.
+     */
+    @Override
+    public boolean cancelAppointment(String id) {
+        if (id == null) return false;
+        boolean[] cancelled = new boolean[1];
+        appointmentMap.computeIfPresent(id, (key, appt) -> {
+            if (appt.getStatus() != Appointment.Status.CANCELLED) {
+                appt.cancel();
+                index.put(appt);
+                daily.put(key, appt);
+                changes.publish(ChangeEvent.EntityType.APPOINTMENT, ChangeEvent.Kind.UPDATED, key);
+                cancelled[0] = true;
+            }
+            return appt;
+        });
+        return cancelled[0];
+    }
+
+    /**
+     * Deletes an appointment by its ID. Returns true if deleted, false if not found.
+     */
+    @Override
+    public boolean deleteAppointment(String id) {
+        if (id == null) return false;
+        boolean[] deleted = new boolean[1];
+        appointmentMap.computeIfPresent(id, (key, appt) -> {
+            index.remove(key);
+            sorted.remove(key);
+            daily.remove(key);
+            changes.publish(ChangeEvent.EntityType.APPOINTMENT, ChangeEvent.Kind.DELETED, key);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Returns a patient's appointments in chronological order, using the patient index.
+     */
+    @Override
+    public List<Appointment> findAppointmentsByPatient(String patientId) {
+        if (patientId == null) throw new IllegalArgumentException("Patient ID cannot be null");
+        return AppointmentIndex.resolve(index.forPatient(patientId), appointmentMap);
+    }
+
+    /**
+     * Returns the appointments in {@code [from, to)} in chronological order, using the time index.
+     */
+    @Override
+    public List<Appointment> findAppointmentsBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) throw new IllegalArgumentException("Time window cannot be null");
+        if (from.isAfter(to)) throw new IllegalArgumentException("Window start cannot be after its end");
+        return AppointmentIndex.resolve(index.between(from, to), appointmentMap);
+    }
+
+    /**
+     * Returns the appointments with the given status in chronological order, using the status index.
+     */
+    @Override
+    public List<Appointment> findAppointmentsByStatus(Appointment.Status status) {
+        if (status == null) throw new IllegalArgumentException("Status cannot be null");
+        List<Appointment> found = AppointmentIndex.resolve(index.withStatus(status), appointmentMap);
+        // An appointment changed in place but not yet passed to updateAppointment is still indexed under its old status.
+        found.removeIf(a -> a.getStatus() != status);
+        return found;
+    }
+
+    /**
+     * Schedules an appointment unless its patient or type already has a scheduled appointment in the same
+     * 15-minute slot. The check and the booking are one atomic step.
+     */
+    @Override
+    public boolean tryScheduleAppointment(Appointment appointment) {
+        if (appointment == null) throw new IllegalArgumentException("Appointment cannot be null");
+        boolean[] scheduled = new boolean[1];
+        appointmentMap.compute(appointment.getAppointmentId(), (id, existing) -> {
+            if (existing != null) throw new IllegalArgumentException("Appointment already exists");
+            if (!index.put(appointment, true)) return null;
+            sorted.put(id, appointment);
+            daily.put(id, appointment);
+            changes.publish(ChangeEvent.EntityType.APPOINTMENT, ChangeEvent.Kind.CREATED, id);
+            scheduled[0] = true;
+            return appointment;
+        });
+        return scheduled[0];
+    }
+
+    /**
+     * Schedules each appointment with {@link #tryScheduleAppointment} and returns the ones that were rejected,
+     * either for a conflict (including one with an earlier appointment of the same batch) or a duplicate ID.
+     */
+    @Override
+    public List<Appointment> scheduleAppointments(List<Appointment> appointments) {
+        if (appointments == null || appointments.contains(null)) throw new IllegalArgumentException("Appointments cannot be null");
+        List<Appointment> rejected = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            try {
+                if (!tryScheduleAppointment(appointment)) rejected.add(appointment);
+            } catch (IllegalArgumentException e) {
+                rejected.add(appointment);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Returns the scheduled appointments that share the candidate's slot and its patient or type. The occupancy
+     * bitmaps answer the common no-conflict case in O(1); only an occupied slot is looked up in the time index.
+     */
+    @Override
+    public List<Appointment> findConflicts(Appointment candidate) {
+        if (candidate == null) throw new IllegalArgumentException("Appointment cannot be null");
+        String patientId = candidate.getPatient().getPatientId();
+        String type = SlotOccupancy.typeKey(candidate.getType());
+        if (occupancy.isFree(patientId, type, candidate.getDateTime())) return new ArrayList<>();
+        LocalDateTime slot = SlotOccupancy.slotStartOf(candidate.getDateTime());
+        List<Appointment> conflicts = AppointmentIndex.resolve(
+                index.between(slot, slot.plusMinutes(SlotOccupancy.SLOT_MINUTES)), appointmentMap);
+        conflicts.removeIf(a -> a.getAppointmentId().equals(candidate.getAppointmentId())
+                || a.getStatus() != Appointment.Status.SCHEDULED
+                || !(a.getPatient().getPatientId().equals(patientId) || SlotOccupancy.typeKey(a.getType()).equals(type)));
+        return conflicts;
+    }
+
+    /**
+     * Returns up to {@code count} free 15-minute slots at or after {@code after} within opening hours, looking at
+     * most a year ahead.
+     */
+    @Override
+    public List<LocalDateTime> findFreeSlots(String patientId, String type, LocalDateTime after, int count) {
+        if (after == null) throw new IllegalArgumentException("Start time cannot be null");
+        if (count <= 0) throw new IllegalArgumentException("Count must be positive");
+        return occupancy.findFreeSlots(patientId, type, after, count);
+    }
+
+    /**
+     * Returns one page of appointments in {@code sortKey} order, continuing after {@code cursor}.
+     */
+    @Override
+    public Page<Appointment> page(String cursor, int limit, AppointmentService.SortKey sortKey) {
+        return sorted.page(cursor, limit, sortKey, appointmentMap);
+    }
+
+    /**
+     * Returns the number of appointments.
+     */
+    @Override
+    public int count() {
+        return appointmentMap.size();
+    }
+
+    /**
+     * Returns how many appointments on {@code date} have each status, from the tally.
+     */
+    @Override
+    public Map<Appointment.Status, Integer> countByStatus(LocalDate date) {
+        if (date == null) throw new IllegalArgumentException("Date cannot be null");
+        Map<Appointment.Status, Integer> counts = new EnumMap<>(Appointment.Status.class);
+        for (Appointment.Status status : Appointment.Status.values()) {
+            counts.put(status, (int) daily.total(new DayStatus(date, status)));
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the stream of appointment changes, published as each change is applied.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return changes.only(ChangeEvent.EntityType.APPOINTMENT);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Objects;
+
+public class Bill {
+    public enum Status { PAID, UNPAID }
+
+    private final String id;
+    private final Patient patient;
+    private final LineItems lineItems;
+    private final Currency currency;
+    private final LocalDateTime issuedAt;
+    private Status status;
+    private long totalMinorUnits;
+    private String paymentReference;
+
+    /**
+     * Constructs a Bill in the default currency with the given id and patient.
+     * Initializes as UNPAID with empty line items.
+     */
+    public Bill(String id, Patient patient) {
+        this(id, patient, Money.DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Constructs a Bill in the given currency with the given id and patient, issued now. Initializes as UNPAID
+     * with empty line items. Validates that id, patient and currency are not null/blank.
+     */
+    public Bill(String id, Patient patient, Currency currency) {
+        this(id, patient, currency, LocalDateTime.now());
+    }
+
+    /**
+     * Constructs a Bill in the given currency with the given id and patient, issued at the given time, e.g. when
+     * restoring a stored bill. Initializes as UNPAID with empty line items.
+     */
+    public Bill(String id, Patient patient, Currency currency, LocalDateTime issuedAt) {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("ID cannot be null or blank");
+        if (patient == null) throw new IllegalArgumentException("Patient cannot be null");
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+        if (issuedAt == null) throw new IllegalArgumentException("Issue time cannot be null");
+        this.id = id;
+        this.patient = patient;
+        this.currency = currency;
+        this.issuedAt = issuedAt;
+        this.lineItems = new LineItems();
+        this.status = Status.UNPAID;
+        this.totalMinorUnits = 0;
+        this.paymentReference = null;
+    }
+
+    private Bill(Bill source) {
+        this.id = source.id;
+        this.patient = source.patient;
+        this.currency = source.currency;
+        this.issuedAt = source.issuedAt;
+        this.lineItems = source.lineItems.copy();
+        this.status = source.status;
+        this.totalMinorUnits = source.totalMinorUnits;
+        this.paymentReference = source.paymentReference;
+    }
+
+    /**
+     * Returns an independent copy of this bill, e.g. to encode it while the original keeps changing.
+     */
+    public Bill copy() {
+        return new Bill(this);
+    }
+
+    /**
+     * Returns the bill's unique ID.
+     */
+    public String getBillId() { return id; }
+
+    /**
+     * Returns the patient associated with this bill.
+     */
+    public Patient getPatient() { return patient; }
+
+    /**
+     * Returns an unmodifiable view of the line items. The items are stored compactly rather than as LineItem objects,
+     * so each {@code get} creates one; use {@link #getLineItemCount()} and the indexed getters to read items without
+     * allocating.
+     */
+    public List<LineItem> getLineItems() {
+        return new AbstractList<>() {
+            @Override
+            public LineItem get(int index) {
+                return new LineItem(lineItems.description(index), lineItems.amount(index), currency);
+            }
+
+            @Override
+            public int size() {
+                return lineItems.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the number of line items.
+     */
+    public int getLineItemCount() { return lineItems.size(); }
+
+    /**
+     * Returns the description of the line item at {@code index}, without allocating.
+     */
+    public String getLineItemDescription(int index) { return lineItems.description(index); }
+
+    /**
+     * Returns the amount of the line item at {@code index} in minor units of the bill's currency, without allocating.
+     */
+    public long getLineItemAmountMinorUnits(int index) { return lineItems.amount(index); }
+
+    /**
+     * Returns the currency of this bill and all its line items.
+     */
+    public Currency getCurrency() { return currency; }
+
+    /**
+     * Returns when the bill was issued; unpaid bills age from this time.
+     */
+    public LocalDateTime getIssuedAt() { return issuedAt; }
+
+    /**
+     * Returns the total amount for this bill.
+     */
+    public Money getTotalAmount() { return new Money(totalMinorUnits, currency); }
+
+    /**
+     * Returns the total amount in minor units of the bill's currency, without allocating.
+     */
+    public long getTotalMinorUnits() { return totalMinorUnits; }
+
+    /**
+     * Returns the status of the bill (PAID or UNPAID).
+     */
+    public Status getStatus() { return status; }
+
+    /**
+     * Returns the payment reference if paid, or null otherwise.
+     */
+    public String getPaymentReference() { return paymentReference; }
+
+    /**
+     * Adds a line item in the bill's currency and updates the total amount. Throws if the total would overflow.
+     */
+    public void addLineItem(LineItem item) {
+        if (item == null) throw new IllegalArgumentException("Line item cannot be null");
+        if (!item.getCurrency().equals(currency)) throw new IllegalArgumentException("Line item currency does not match the bill");
+        long total = Money.addExact(totalMinorUnits, item.getAmountMinorUnits());
+        lineItems.add(item.getDescription(), item.getAmountMinorUnits());
+        totalMinorUnits = total;
+    }
+
+    /**
+     * Marks the bill as paid and sets the payment reference.
+     */
+    public void markAsPaid(String paymentReference) {
+        if (status == Status.PAID) throw new IllegalStateException("Bill is already paid");
+        if (paymentReference == null || paymentReference.isBlank()) throw new IllegalArgumentException("Payment reference cannot be null or blank");
+        this.status = Status.PAID;
+        this.paymentReference = paymentReference;
+    }
+
+    /**
+     * Checks equality based on bill ID.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Bill bill = (Bill) o;
+        return id.equals(bill.id);
+    }
+
+    /**
+     * Returns the hash code for the bill, based on ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    /**
+     * Represents a line item in a bill (description and amount). The amount is kept as minor units and a
+     * currency rather than as a {@link Money}, so a line item is one object. A bill does not keep these objects: it
+     * stores its items compactly and creates a LineItem only when one is read through {@link Bill#getLineItems()}.
+     */
+    public static class LineItem {
+        private final String description;
+        private final long amountMinorUnits;
+        private final Currency currency;
+
+        /**
+         * Constructs a LineItem with the given description and amount.
+         * Validates that description is not null/blank and amount is positive.
+         */
+        public LineItem(String description, Money amount) {
+            if (description == null || description.isBlank()) throw new IllegalArgumentException("Description cannot be null or blank");
+            if (amount == null || !amount.isPositive()) throw new IllegalArgumentException("Amount must be positive");
+            this.description = description;
+            this.amountMinorUnits = amount.minorUnits();
+            this.currency = amount.currency();
+        }
+
+        /** Constructs a LineItem read back from a bill's storage, where it was validated when added. */
+        LineItem(String description, long amountMinorUnits, Currency currency) {
+            this.description = description;
+            this.amountMinorUnits = amountMinorUnits;
+            this.currency = currency;
+        }
+
+        /**
+         * Returns the description of the line item.
+         */
+        public String getDescription() { return description; }
+
+        /**
+         * Returns the amount of the line item.
+         */
+        public Money getAmount() { return new Money(amountMinorUnits, currency); }
+
+        /**
+         * Returns the amount in minor units of the line item's currency, without allocating.
+         */
+        public long getAmountMinorUnits() { return amountMinorUnits; }
+
+        /**
+         * Returns the currency of the amount.
+         */
+        public Currency getCurrency() { return currency; }
+    }
+} 
\ No newline at end of file
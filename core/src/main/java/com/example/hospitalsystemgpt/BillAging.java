@@ -0,0 +1,127 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Accounts-receivable aging kept incrementally: the unpaid total and count per {@link BillingService.AgingBucket}
+ * and currency, adjusted when a bill is created, changed, paid or deleted, and moved between buckets as bills age.
+ * <p>
+ * Aging is driven by a timer wheel of one slot per day. An unpaid bill sits in the slot of the day it next crosses a
+ * bucket boundary (31, 61 or 91 days after issue); bills over 90 days are in no slot. The daily pass, run by the first
+ * call on a new day, empties the slots of the days since the last pass and moves only those bills, so neither the
+ * pass nor a report depends on the number of open bills. The wheel has {@link #WHEEL_DAYS} slots; a bill due
+ * further ahead (issued in the future) is parked in the last slot in reach and rescheduled when that slot comes up.
+ * <p>
+ * Like {@link Tally}, the engine remembers what it last counted per ID, since bills are changed in place. All
+ * methods are synchronized; each is O(1) apart from the daily pass.
+ */
+final class BillAging {
+    /** Slots on the wheel, a power of two above the longest gap between two bucket boundaries. */
+    static final int WHEEL_DAYS = 64;
+    private static final BillingService.AgingBucket[] BUCKETS = BillingService.AgingBucket.values();
+
+    /** A counted bill; {@code slot} is its slot on the wheel, or -1 if it is over 90 days and in none. */
+    private record Aged(long issuedDay, long amount, Currency currency, BillingService.AgingBucket bucket, int slot) {
+    }
+
+    private record BucketCurrency(BillingService.AgingBucket bucket, Currency currency) {
+    }
+
+    private final Clock clock;
+    private final Map<String, Aged> aged = new HashMap<>();
+    private final List<Set<String>> wheel = new ArrayList<>(WHEEL_DAYS);
+    private final Map<BucketCurrency, long[]> totals = new HashMap<>();
+    private long today;
+
+    /** Creates an engine whose days are read from {@code clock}. */
+    BillAging(Clock clock) {
+        this.clock = clock;
+        for (int i = 0; i < WHEEL_DAYS; i++) wheel.add(new HashSet<>());
+        this.today = LocalDate.now(clock).toEpochDay();
+    }
+
+    /** Counts a new bill or recounts a changed one; paid bills are not counted. */
+    synchronized void put(String id, Bill bill) {
+        advance();
+        remove(id);
+        if (bill.getStatus() != Bill.Status.UNPAID) return;
+        long issuedDay = bill.getIssuedAt().toLocalDate().toEpochDay();
+        put(id, issuedDay, bill.getTotalMinorUnits(), bill.getCurrency());
+    }
+
+    /** Stops counting a bill. */
+    synchronized void remove(String id) {
+        Aged before = aged.remove(id);
+        if (before == null) return;
+        add(before, -1);
+        if (before.slot() >= 0) wheel.get(before.slot()).remove(id);
+    }
+
+    /** Returns the aging of the unpaid bills in {@code currency} as of today. */
+    synchronized BillingService.AgingReport report(Currency currency) {
+        advance();
+        Map<BillingService.AgingBucket, Money> amounts = new EnumMap<>(BillingService.AgingBucket.class);
+        Map<BillingService.AgingBucket, Integer> counts = new EnumMap<>(BillingService.AgingBucket.class);
+        for (BillingService.AgingBucket bucket : BUCKETS) {
+            long[] total = totals.get(new BucketCurrency(bucket, currency));
+            amounts.put(bucket, Money.ofMinor(total == null ? 0 : total[0], currency));
+            counts.put(bucket, total == null ? 0 : (int) total[1]);
+        }
+        return new BillingService.AgingReport(LocalDate.ofEpochDay(today), currency, amounts, counts);
+    }
+
+    /** Runs the daily pass for every day between the last pass and today. */
+    private void advance() {
+        long now = LocalDate.now(clock).toEpochDay();
+        while (today < now) {
+            today++;
+            Set<String> due = wheel.get(slot(today));
+            if (due.isEmpty()) continue;
+            wheel.set(slot(today), new HashSet<>());
+            for (String id : due) {
+                // A bill parked because it was due further ahead than the wheel reaches may go round again.
+                Aged before = aged.get(id);
+                add(before, -1);
+                put(id, before.issuedDay(), before.amount(), before.currency());
+            }
+        }
+    }
+
+    /**
+     * Counts an unpaid bill in its bucket as of today and puts it in the slot of the day it enters the next bucket,
+     * or the last slot in reach.
+     */
+    private void put(String id, long issuedDay, long amount, Currency currency) {
+        BillingService.AgingBucket bucket = BillingService.AgingBucket.forAge(today - issuedDay);
+        int slot = -1;
+        if (bucket != BillingService.AgingBucket.OVER_90) {
+            long dueDay = issuedDay + BUCKETS[bucket.ordinal() + 1].fromDays();
+            slot = slot(Math.min(dueDay, today + WHEEL_DAYS - 1));
+            wheel.get(slot).add(id);
+        }
+        Aged now = new Aged(issuedDay, amount, currency, bucket, slot);
+        aged.put(id, now);
+        add(now, 1);
+    }
+
+    private static int slot(long day) {
+        return (int) (day & (WHEEL_DAYS - 1));
+    }
+
+    private void add(Aged bill, int sign) {
+        BucketCurrency key = new BucketCurrency(bill.bucket(), bill.currency());
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0] += sign * bill.amount();
+        total[1] += sign;
+        if (total[1] == 0) totals.remove(key);
+    }
+}
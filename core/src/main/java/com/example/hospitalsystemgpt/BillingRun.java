@@ -0,0 +1,141 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * End-of-day billing: creates a bill for every completed appointment in a time window, with one line item priced
+ * from a tariff by the appointment's type. An appointment's bill has the ID {@link #billIdFor}, so appointments
+ * that already have a bill are skipped and running the same window again creates nothing twice.
+ * <p>
+ * The appointments in the window are split into partitions of {@link #PARTITION_SIZE}. Each partition builds its
+ * bills and hands them to {@link BillingService#createBills} as one batch, so a durable service waits for one group
+ * commit per partition rather than one per bill. With thread-safe services the partitions run in parallel on a
+ * fork-join pool; otherwise they run one after another on the calling thread.
+ */
+public final class BillingRun {
+    /** How many appointments a partition covers. */
+    static final int PARTITION_SIZE = 2_048;
+
+    /**
+     * What a run did.
+     * @param billed the number of bills created
+     * @param alreadyBilled the number of completed appointments skipped because they already had a bill
+     * @param unpriced the number of completed appointments skipped because the tariff has no price for their type
+     */
+    public record Result(int billed, int alreadyBilled, int unpriced) {
+        Result plus(Result other) {
+            return new Result(billed + other.billed, alreadyBilled + other.alreadyBilled, unpriced + other.unpriced);
+        }
+    }
+
+    private final AppointmentService appointments;
+    private final BillingService billing;
+    private final boolean parallel;
+    private final ForkJoinPool pool;
+    private final Map<String, Money> tariff = new HashMap<>();
+
+    /**
+     * Creates a run over the given services that prices appointments by type from {@code tariff}, on the common
+     * fork-join pool. Types are matched ignoring case and surrounding spaces.
+     * @throws IllegalArgumentException if the services or tariff are null, a price is not positive, or two types
+     * differ only in case or spacing
+     */
+    public BillingRun(HospitalServices services, Map<String, Money> tariff) {
+        this(services, tariff, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a run like {@link #BillingRun(HospitalServices, Map)} that uses {@code pool} for the partitions.
+     */
+    public BillingRun(HospitalServices services, Map<String, Money> tariff, ForkJoinPool pool) {
+        if (services == null) throw new IllegalArgumentException("Services cannot be null");
+        if (tariff == null) throw new IllegalArgumentException("Tariff cannot be null");
+        if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+        for (Map.Entry<String, Money> e : tariff.entrySet()) {
+            if (e.getKey() == null || e.getKey().isBlank()) throw new IllegalArgumentException("Tariff type cannot be null or blank");
+            if (e.getValue() == null || !e.getValue().isPositive()) throw new IllegalArgumentException("Tariff price must be positive");
+            if (this.tariff.put(SlotOccupancy.typeKey(e.getKey()), e.getValue()) != null) {
+                throw new IllegalArgumentException("Duplicate tariff type: " + e.getKey());
+            }
+        }
+        this.appointments = services.getAppointmentService();
+        this.billing = services.getBillingService();
+        this.parallel = services.isThreadSafe();
+        this.pool = pool;
+    }
+
+    /** Returns the ID of the bill a run creates for an appointment. */
+    public static String billIdFor(String appointmentId) {
+        return "B-" + appointmentId;
+    }
+
+    /**
+     * Bills every completed appointment whose date/time lies in {@code [from, to)} and has no bill yet.
+     * @throws IllegalArgumentException if either bound is null or {@code from} is after {@code to}
+     */
+    public Result run(LocalDateTime from, LocalDateTime to) {
+        List<Appointment> window = appointments.findAppointmentsBetween(from, to);
+        if (parallel) return pool.invoke(new Partition(window, 0, window.size()));
+        Result result = new Result(0, 0, 0);
+        for (int lo = 0; lo < window.size(); lo += PARTITION_SIZE) {
+            result = result.plus(bill(window, lo, Math.min(window.size(), lo + PARTITION_SIZE)));
+        }
+        return result;
+    }
+
+    /** Bills the completed appointments in {@code window[from, to)} as one batch. */
+    private Result bill(List<Appointment> window, int from, int to) {
+        List<Bill> batch = new ArrayList<>(to - from);
+        int alreadyBilled = 0;
+        int unpriced = 0;
+        for (int i = from; i < to; i++) {
+            Appointment appointment = window.get(i);
+            if (appointment.getStatus() != Appointment.Status.COMPLETED) continue;
+            String billId = billIdFor(appointment.getAppointmentId());
+            if (billing.findBillById(billId) != null) {
+                alreadyBilled++;
+                continue;
+            }
+            Money price = tariff.get(SlotOccupancy.typeKey(appointment.getType()));
+            if (price == null) {
+                unpriced++;
+                continue;
+            }
+            Bill bill = new Bill(billId, appointment.getPatient(), price.currency());
+            bill.addLineItem(new Bill.LineItem(appointment.getType() + " on " + appointment.getDateTime().toLocalDate(), price));
+            batch.add(bill);
+        }
+        // A bill created by someone else since the check above is rejected by the service and counted as billed already.
+        int rejected = batch.isEmpty() ? 0 : billing.createBills(batch).size();
+        return new Result(batch.size() - rejected, alreadyBilled + rejected, unpriced);
+    }
+
+    /** Splits a range of the window in halves until it fits one partition. */
+    private final class Partition extends RecursiveTask<Result> {
+        private final List<Appointment> window;
+        private final int from;
+        private final int to;
+
+        Partition(List<Appointment> window, int from, int to) {
+            this.window = window;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= PARTITION_SIZE) return bill(window, from, to);
+            int mid = (from + to) >>> 1;
+            Partition right = new Partition(window, mid, to);
+            right.fork();
+            Result left = new Partition(window, from, mid).compute();
+            return left.plus(right.join());
+        }
+    }
+}
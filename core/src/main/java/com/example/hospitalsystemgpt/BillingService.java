@@ -0,0 +1,252 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * Service interface for managing bills.
+ */
+public interface BillingService {
+    /** Orders a listing can be paged in. Ties are always broken by ID, so the order is stable. */
+    enum SortKey {
+        /** By bill ID. */
+        ID,
+        /** By patient ID, then by bill ID. */
+        PATIENT_ID,
+        /** By status (PAID before UNPAID), then by bill ID. */
+        STATUS
+    }
+
+    /**
+     * A payment of one bill, e.g. a row of a bank settlement.
+     * @param billId the ID of the bill paid
+     * @param reference the payment reference
+     * @param amount the amount paid
+     */
+    record Payment(String billId, String reference, Money amount) {
+        public Payment {
+            if (billId == null || billId.isBlank()) throw new IllegalArgumentException("Bill ID cannot be null or blank");
+            if (reference == null || reference.isBlank()) throw new IllegalArgumentException("Payment reference cannot be null or blank");
+            if (amount == null) throw new IllegalArgumentException("Amount cannot be null");
+        }
+    }
+
+    /** What became of a payment passed to {@link #applyPayments}. */
+    enum PaymentOutcome {
+        /** The bill was unpaid and the amount matched its total; the bill is now paid. */
+        PAID,
+        /** No bill has the payment's bill ID. */
+        UNMATCHED,
+        /** The bill was already paid with this payment's reference, e.g. the same settlement was imported twice. */
+        DUPLICATE,
+        /** The bill was already paid with another reference. */
+        ALREADY_PAID,
+        /** The amount or currency differs from the bill's total; the bill is left unpaid. */
+        AMOUNT_MISMATCH
+    }
+
+    /** The age brackets of unpaid bills in an {@link AgingReport}, by whole days since the bill was issued. */
+    enum AgingBucket {
+        /** Issued 0 to 30 days ago (or later than today). */
+        DAYS_0_30(0),
+        /** Issued 31 to 60 days ago. */
+        DAYS_31_60(31),
+        /** Issued 61 to 90 days ago. */
+        DAYS_61_90(61),
+        /** Issued more than 90 days ago. */
+        OVER_90(91);
+
+        private final int fromDays;
+
+        AgingBucket(int fromDays) {
+            this.fromDays = fromDays;
+        }
+
+        /** Returns the age in days at which a bill enters this bucket. */
+        public int fromDays() {
+            return fromDays;
+        }
+
+        /** Returns the bucket of a bill issued {@code days} days ago. */
+        public static AgingBucket forAge(long days) {
+            if (days >= OVER_90.fromDays) return OVER_90;
+            if (days >= DAYS_61_90.fromDays) return DAYS_61_90;
+            if (days >= DAYS_31_60.fromDays) return DAYS_31_60;
+            return DAYS_0_30;
+        }
+    }
+
+    /**
+     * Accounts-receivable aging: the unpaid bills in one currency, totalled and counted per {@link AgingBucket}.
+     * @param asOf the day the ages are counted to
+     * @param currency the currency of the bills
+     * @param totals the unpaid total per bucket, with every bucket present
+     * @param counts the number of unpaid bills per bucket, with every bucket present
+     */
+    record AgingReport(LocalDate asOf, Currency currency, Map<AgingBucket, Money> totals, Map<AgingBucket, Integer> counts) {
+        public AgingReport {
+            if (asOf == null) throw new IllegalArgumentException("Date cannot be null");
+            if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+            if (totals == null || totals.size() != AgingBucket.values().length) throw new IllegalArgumentException("Totals must cover every bucket");
+            if (counts == null || counts.size() != AgingBucket.values().length) throw new IllegalArgumentException("Counts must cover every bucket");
+            // EnumMaps iterate in bucket order, youngest first.
+            totals = Collections.unmodifiableMap(new EnumMap<>(totals));
+            counts = Collections.unmodifiableMap(new EnumMap<>(counts));
+        }
+
+        /** Returns the unpaid total of a bucket. */
+        public Money total(AgingBucket bucket) {
+            return totals.get(bucket);
+        }
+
+        /** Returns the number of unpaid bills in a bucket. */
+        public int count(AgingBucket bucket) {
+            return counts.get(bucket);
+        }
+    }
+
+    /**
+     * Creates a new bill.
+     * @param bill the bill to create
+     * @throws IllegalArgumentException if the bill is null or already exists
+     */
+    void createBill(Bill bill);
+
+    /**
+     * Creates many bills in one call, skipping any whose ID already exists.
+     * @param bills the bills to create
+     * @return the bills that were not created because their ID exists (empty if all were created)
+     * @throws IllegalArgumentException if the list or any element is null
+     */
+    List<Bill> createBills(List<Bill> bills);
+
+    /**
+     * Finds a bill by its unique ID.
+     * @param id the bill ID
+     * @return the Bill if found, or null if not found
+     */
+    Bill findBillById(String id);
+
+    /**
+     * Returns a list of all bills.
+     * @return list of bills
+     */
+    List<Bill> getAllBills();
+
+    /**
+     * Updates an existing bill.
+     * @param bill the bill with updated information
+     * @throws IllegalArgumentException if the bill is null or does not exist
+     */
+    void updateBill(Bill bill);
+
+    /**
+     * Marks a bill as paid with a payment reference.
+     * @param id the bill ID
+     * @param paymentReference the payment reference
+     * @throws IllegalArgumentException if the bill does not exist or is already paid
+     */
+    void markBillAsPaid(String id, String paymentReference);
+
+    /**
+     * Applies many payments in one call. A payment that cannot be applied is reported rather than thrown, so one bad
+     * payment does not stop the rest; only a payment whose amount equals the unpaid bill's total marks it paid.
+     * @param payments the payments, applied in order
+     * @return one outcome per payment, in the same order
+     * @throws IllegalArgumentException if the list or any element is null
+     */
+    List<PaymentOutcome> applyPayments(List<Payment> payments);
+
+    /**
+     * Adds a line item to an unpaid bill and updates the bill's totals in one step.
+     * @param id the bill ID
+     * @param item the line item, in the bill's currency
+     * @throws IllegalArgumentException if the bill does not exist or is already paid, the item is null or in
+     * another currency, or the total would overflow
+     */
+    void addLineItem(String id, Bill.LineItem item);
+
+    /**
+     * Deletes a bill by its ID.
+     * @param id the bill ID
+     * @return true if the bill was deleted, false if not found
+     */
+    boolean deleteBill(String id);
+
+    /**
+     * Returns one page of bills in a stable order. Pass the previous page's {@link Page#getNextCursor()} to
+     * continue; entries added or removed elsewhere in the listing do not shift the pages that follow.
+     * @param cursor the cursor from the previous page, or null to start at the beginning
+     * @param limit the maximum number of bills on the page
+     * @param sortKey the order to list in; must match the order the cursor was created with
+     * @return the page, whose next cursor is null if there are no more bills
+     * @throws IllegalArgumentException if the limit is not positive, the sort key is null or the cursor is invalid
+     */
+    Page<Bill> page(String cursor, int limit, SortKey sortKey);
+
+    /**
+     * Returns the number of bills without copying them.
+     * @return how many bills there are
+     */
+    int count();
+
+    /**
+     * Returns the sum of the totals of all unpaid bills in a currency, exactly and without scanning the bills.
+     * @param currency the currency of the bills to sum
+     * @return the unpaid total in that currency
+     * @throws IllegalArgumentException if the currency is null
+     */
+    Money getUnpaidTotal(Currency currency);
+
+    /**
+     * Returns the sum of the totals of all bills with a status in a currency, exactly and without scanning the bills.
+     * @param status the status of the bills to sum
+     * @param currency the currency of the bills to sum
+     * @return the total in that currency
+     * @throws IllegalArgumentException if the status or currency is null
+     */
+    Money getTotalByStatus(Bill.Status status, Currency currency);
+
+    /**
+     * Returns the number of bills with a status without scanning the bills.
+     * @param status the status to count
+     * @return how many bills have that status
+     * @throws IllegalArgumentException if the status is null
+     */
+    int countByStatus(Bill.Status status);
+
+    /**
+     * Returns what a patient owes: the sum of the totals of the patient's unpaid bills in a currency, exactly and
+     * without scanning the bills.
+     * @param patientId the patient's ID
+     * @param currency the currency of the bills to sum
+     * @return the outstanding balance in that currency, zero if the patient has no unpaid bills
+     * @throws IllegalArgumentException if the patient ID or currency is null
+     */
+    Money getOutstandingBalance(String patientId, Currency currency);
+
+    /**
+     * Returns the aging of the unpaid bills in a currency as of today. The bucket totals are kept as bills are created,
+     * changed and paid, and bills move to the next bucket in a daily pass over only the bills whose age crosses a
+     * bucket boundary that day, so the report does not scan the bills.
+     * @param currency the currency of the bills to report
+     * @return the aging report, with zero totals for empty buckets
+     * @throws IllegalArgumentException if the currency is null
+     */
+    AgingReport getAgingReport(Currency currency);
+
+    /**
+     * Returns a stream of changes to bills: one event per creation, update, payment and deletion. Events are published
+     * as the change is applied, so a subscriber can keep a copy or an index current without rescanning. The stream is
+     * hot: a subscriber only sees changes made after it subscribed, and one that falls too far behind is failed.
+     * @return the change stream
+     */
+    Flow.Publisher<ChangeEvent> changes();
+}
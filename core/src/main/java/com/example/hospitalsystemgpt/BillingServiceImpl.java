@@ -0,0 +1,317 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * In-memory implementation of BillingService. Totals per status and currency, counts per status, outstanding
+ * balances per patient and the aging buckets are kept by tallies that are updated on every
+ * create/update/payment/line item/delete, inside the same atomic map operation as the change itself.
+ */
+public class BillingServiceImpl implements BillingService {
+    private final Map<String, Bill> billMap;
+    private final SortedIndex<Bill, BillingService.SortKey> sorted = new SortedIndex<>(BillingService.SortKey.class, Map.of(
+            BillingService.SortKey.ID, b -> "",
+            BillingService.SortKey.PATIENT_ID, b -> b.getPatient().getPatientId(),
+            BillingService.SortKey.STATUS, b -> b.getStatus().name()));
+    private final Tally<Bill, StatusCurrency> totals = new Tally<>(b -> new StatusCurrency(b.getStatus(), b.getCurrency()), Bill::getTotalMinorUnits);
+    private final Tally<Bill, Bill.Status> counts = Tally.counting(Bill::getStatus);
+    private final Tally<Bill, PatientCurrency> balances = new Tally<>(
+            b -> b.getStatus() == Bill.Status.UNPAID ? new PatientCurrency(b.getPatient().getPatientId(), b.getCurrency()) : null,
+            Bill::getTotalMinorUnits);
+    private final BillAging aging;
+    private final ChangePublisher changes;
+
+    /** The group a bill's total is counted in. */
+    private record StatusCurrency(Bill.Status status, Currency currency) {
+    }
+
+    /** The group an unpaid bill's total is owed in. */
+    private record PatientCurrency(String patientId, Currency currency) {
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap.
+     */
+    public BillingServiceImpl() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructs a service backed by the given empty map. Every mutation is a single atomic per-key map
+     * operation that also updates the sort index, so passing a concurrent map makes the service thread-safe.
+     */
+    protected BillingServiceImpl(Map<String, Bill> billMap) {
+        this(billMap, new ChangePublisher());
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap that publishes its changes to a shared stream.
+     */
+    public BillingServiceImpl(ChangePublisher changes) {
+        this(new HashMap<>(), changes);
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap that publishes its changes to a shared stream and
+     * ages unpaid bills by the days of {@code clock}.
+     */
+    public BillingServiceImpl(ChangePublisher changes, Clock clock) {
+        this(new HashMap<>(), changes, clock);
+    }
+
+    /**
+     * Constructs a service backed by the given empty map that publishes its changes to the given stream.
+     */
+    protected BillingServiceImpl(Map<String, Bill> billMap, ChangePublisher changes) {
+        this(billMap, changes, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs a service backed by the given empty map that publishes its changes to the given stream and ages
+     * unpaid bills by the days of {@code clock}.
+     */
+    protected BillingServiceImpl(Map<String, Bill> billMap, ChangePublisher changes, Clock clock) {
+        if (changes == null) throw new IllegalArgumentException("Change publisher cannot be null");
+        if (clock == null) throw new IllegalArgumentException("Clock cannot be null");
+        this.billMap = billMap;
+        this.changes = changes;
+        this.aging = new BillAging(clock);
+    }
+
+    /**
+     * Creates a new bill. Throws if bill is null or already exists.
+     */
+    @Override
+    public void createBill(Bill bill) {
+        if (bill == null) throw new IllegalArgumentException("Bill cannot be null");
+        billMap.compute(bill.getBillId(), (id, existing) -> {
+            if (existing != null) throw new IllegalArgumentException("Bill already exists");
+            sorted.put(id, bill);
+            count(id, bill);
+            changes.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.CREATED, id);
+            return bill;
+        });
+    }
+
+    /**
+     * Creates each bill with {@link #createBill} and returns the ones that were rejected as duplicates, either of an
+     * existing bill or of an earlier bill in the same batch.
+     */
+    @Override
+    public List<Bill> createBills(List<Bill> bills) {
+        // contains(null) would throw on immutable lists, so nulls are looked for one by one.
+        if (bills == null || bills.stream().anyMatch(b -> b == null)) throw new IllegalArgumentException("Bills cannot be null");
+        List<Bill> rejected = new ArrayList<>();
+        for (Bill bill : bills) {
+            try {
+                createBill(bill);
+            } catch (IllegalArgumentException e) {
+                rejected.add(bill);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Finds a bill by its unique ID.
+     */
+    @Override
+    public Bill findBillById(String id) {
+        return id == null ? null : billMap.get(id);
+    }
+
+    /**
+     * Returns a list of all bills.
+     */
+    @Override
+    public List<Bill> getAllBills() {
+        return new ArrayList<>(billMap.values());
+    }
+
+    /**
+     * Updates an existing bill. Throws if bill is null or does not exist.
+     */
+    @Override
+    public void updateBill(Bill bill) {
+        if (bill == null) throw new IllegalArgumentException("Bill cannot be null");
+        Bill updated = billMap.computeIfPresent(bill.getBillId(), (id, existing) -> {
+            sorted.put(id, bill);
+            count(id, bill);
+            changes.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.UPDATED, id);
+            return bill;
+        });
+        if (updated == null) throw new IllegalArgumentException("Bill does not exist");
+    }
+
+    /**
+     * Marks a bill as paid with a payment reference. Throws if bill does not exist or is already paid.
+     */
+    @Override
+    public void markBillAsPaid(String id, String paymentReference) {
+        if (id == null) throw new IllegalArgumentException("Bill does not exist");
+        Bill bill = billMap.computeIfPresent(id, (key, existing) -> {
+            if (existing.getStatus() == Bill.Status.PAID) throw new IllegalArgumentException("Bill is already paid");
+            existing.markAsPaid(paymentReference);
+            sorted.put(key, existing);
+            count(key, existing);
+            changes.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.UPDATED, key);
+            return existing;
+        });
+        if (bill == null) throw new IllegalArgumentException("Bill does not exist");
+    }
+
+    /**
+     * Applies each payment in one atomic step per bill, reporting payments that cannot be applied instead of throwing.
+     */
+    @Override
+    public List<BillingService.PaymentOutcome> applyPayments(List<BillingService.Payment> payments) {
+        if (payments == null || payments.stream().anyMatch(p -> p == null)) throw new IllegalArgumentException("Payments cannot be null");
+        List<BillingService.PaymentOutcome> outcomes = new ArrayList<>(payments.size());
+        for (BillingService.Payment payment : payments) outcomes.add(applyPayment(payment));
+        return outcomes;
+    }
+
+    private BillingService.PaymentOutcome applyPayment(BillingService.Payment payment) {
+        BillingService.PaymentOutcome[] outcome = {BillingService.PaymentOutcome.UNMATCHED};
+        billMap.computeIfPresent(payment.billId(), (key, existing) -> {
+            if (existing.getStatus() == Bill.Status.PAID) {
+                outcome[0] = payment.reference().equals(existing.getPaymentReference())
+                        ? BillingService.PaymentOutcome.DUPLICATE : BillingService.PaymentOutcome.ALREADY_PAID;
+            } else if (payment.amount().minorUnits() != existing.getTotalMinorUnits() || !payment.amount().currency().equals(existing.getCurrency())) {
+                outcome[0] = BillingService.PaymentOutcome.AMOUNT_MISMATCH;
+            } else {
+                existing.markAsPaid(payment.reference());
+                sorted.put(key, existing);
+                count(key, existing);
+                changes.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.UPDATED, key);
+                outcome[0] = BillingService.PaymentOutcome.PAID;
+            }
+            return existing;
+        });
+        return outcome[0];
+    }
+
+    /**
+     * Adds a line item to an unpaid bill. Throws if the bill does not exist or is paid, or the item is invalid.
+     */
+    @Override
+    public void addLineItem(String id, Bill.LineItem item) {
+        if (id == null) throw new IllegalArgumentException("Bill does not exist");
+        if (item == null) throw new IllegalArgumentException("Line item cannot be null");
+        Bill bill = billMap.computeIfPresent(id, (key, existing) -> {
+            if (existing.getStatus() == Bill.Status.PAID) throw new IllegalArgumentException("Bill is already paid");
+            existing.addLineItem(item);
+            count(key, existing);
+            changes.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.UPDATED, key);
+            return existing;
+        });
+        if (bill == null) throw new IllegalArgumentException("Bill does not exist");
+    }
+
+    /**
+     * Deletes a bill by its ID. Returns true if deleted, false if not found.
+     */
+    @Override
+    public boolean deleteBill(String id) {
+        if (id == null) return false;
+        boolean[] deleted = new boolean[1];
+        billMap.computeIfPresent(id, (key, existing) -> {
+            sorted.remove(key);
+            totals.remove(key);
+            counts.remove(key);
+            balances.remove(key);
+            aging.remove(key);
+            changes.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.DELETED, key);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Returns one page of bills in {@code sortKey} order, continuing after {@code cursor}.
+     */
+    @Override
+    public Page<Bill> page(String cursor, int limit, BillingService.SortKey sortKey) {
+        return sorted.page(cursor, limit, sortKey, billMap);
+    }
+
+    /**
+     * Returns the number of bills.
+     */
+    @Override
+    public int count() {
+        return billMap.size();
+    }
+
+    /**
+     * Returns the total of all unpaid bills in {@code currency}, from the tally.
+     */
+    @Override
+    public Money getUnpaidTotal(Currency currency) {
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+        return getTotalByStatus(Bill.Status.UNPAID, currency);
+    }
+
+    /**
+     * Returns the total of the bills with {@code status} in {@code currency}, from the tally.
+     */
+    @Override
+    public Money getTotalByStatus(Bill.Status status, Currency currency) {
+        if (status == null) throw new IllegalArgumentException("Status cannot be null");
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+        return Money.ofMinor(totals.total(new StatusCurrency(status, currency)), currency);
+    }
+
+    /**
+     * Returns the number of bills with {@code status}, from the tally.
+     */
+    @Override
+    public int countByStatus(Bill.Status status) {
+        if (status == null) throw new IllegalArgumentException("Status cannot be null");
+        return (int) counts.total(status);
+    }
+
+    /**
+     * Returns the total of the patient's unpaid bills in {@code currency}, from the tally.
+     */
+    @Override
+    public Money getOutstandingBalance(String patientId, Currency currency) {
+        if (patientId == null) throw new IllegalArgumentException("Patient ID cannot be null");
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+        return Money.ofMinor(balances.total(new PatientCurrency(patientId, currency)), currency);
+    }
+
+    /**
+     * Returns the aging of the unpaid bills in {@code currency}, from the aging buckets.
+     */
+    @Override
+    public BillingService.AgingReport getAgingReport(Currency currency) {
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+        return aging.report(currency);
+    }
+
+    private void count(String id, Bill bill) {
+        totals.put(id, bill);
+        counts.put(id, bill);
+        balances.put(id, bill);
+        aging.put(id, bill);
+    }
+
+    /**
+     * Returns the stream of bill changes, published as each change is applied.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return changes.only(ChangeEvent.EntityType.BILL);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe AppointmentService backed by a ConcurrentHashMap. Reads are lock-free; each create/update/delete
+ * is one atomic map operation, so concurrent callers cannot lose updates or create the same ID twice.
+ */
+public class ConcurrentAppointmentServiceImpl extends AppointmentServiceImpl {
+    public ConcurrentAppointmentServiceImpl() {
+        super(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Constructs a thread-safe service that publishes its changes to a shared stream.
+     */
+    public ConcurrentAppointmentServiceImpl(ChangePublisher changes) {
+        super(new ConcurrentHashMap<>(), changes);
+    }
+}
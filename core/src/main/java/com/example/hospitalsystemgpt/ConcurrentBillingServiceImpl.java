@@ -0,0 +1,22 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe BillingService backed by a ConcurrentHashMap. Reads are lock-free; each create/update/delete
+ * is one atomic map operation, so concurrent callers cannot lose updates or create the same ID twice.
+ */
+public class ConcurrentBillingServiceImpl extends BillingServiceImpl {
+    public ConcurrentBillingServiceImpl() {
+        super(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Constructs a thread-safe service that publishes its changes to a shared stream.
+     */
+    public ConcurrentBillingServiceImpl(ChangePublisher changes) {
+        super(new ConcurrentHashMap<>(), changes);
+    }
+}
@@ -0,0 +1,395 @@
+package com.example.hospitalsystemgpt;
+
+/**
+ * Controller for coordinating hospital workflows between services and the GUI.
+ */
+public class HospitalController {
+    private final PatientService patientService;
+    private final AppointmentService appointmentService;
+    private final MedicalRecordService medicalRecordService;
+    private final BillingService billingService;
+    private final InventoryService inventoryService;
+
+    /**
+     * Constructs a HospitalController with all service dependencies.
+     */
+    public HospitalController(PatientService patientService,
+                             AppointmentService appointmentService,
+                             MedicalRecordService medicalRecordService,
+                             BillingService billingService,
+                             InventoryService inventoryService) {
+        this.patientService = patientService;
+        this.appointmentService = appointmentService;
+        this.medicalRecordService = medicalRecordService;
+        this.billingService = billingService;
+        this.inventoryService = inventoryService;
+    }
+
+    /** Registers a new patient. */
+    public void registerPatient(Patient patient) {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        patientService.registerPatient(patient);
+    }
+
+    /** Finds a patient by ID. */
+    public Patient findPatientById(String id) {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.findPatientById(id);
+    }
+
+    /** Gets all patients. */
+    public java.util.List<Patient> getAllPatients() {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.getAllPatients();
+    }
+
+    /** Searches patient names and IDs, best matches first. */
+    public java.util.List<Patient> searchPatients(String query, int limit) {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.searchPatients(query, limit);
+    }
+
+    /** Gets one page of patients in the given order, continuing after the cursor (null for the first page). */
+    public Page<Patient> pagePatients(String cursor, int limit, PatientService.SortKey sortKey) {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.page(cursor, limit, sortKey);
+    }
+
+    /** Counts the patients. */
+    public int countPatients() {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.count();
+    }
+
+    /** Counts the admitted patients. */
+    public int countAdmittedPatients() {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.countAdmitted();
+    }
+
+    /** Updates a patient. */
+    public void updatePatient(Patient patient) {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        patientService.updatePatient(patient);
+    }
+
+    /** Deletes a patient by ID. */
+    public boolean deletePatient(String id) {
+        if (patientService == null) throw new IllegalStateException("PatientService not initialized");
+        return patientService.deletePatient(id);
+    }
+
+    /** Schedules a new appointment. */
+    public void scheduleAppointment(Appointment appointment) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        appointmentService.scheduleAppointment(appointment);
+    }
+
+    /** Finds an appointment by ID. */
+    public Appointment findAppointmentById(String id) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.findAppointmentById(id);
+    }
+
+    /** Gets all appointments. */
+    public java.util.List<Appointment> getAllAppointments() {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.getAllAppointments();
+    }
+
+    /** Gets one page of appointments in the given order, continuing after the cursor (null for the first page). */
+    public Page<Appointment> pageAppointments(String cursor, int limit, AppointmentService.SortKey sortKey) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.page(cursor, limit, sortKey);
+    }
+
+    /** Counts the appointments. */
+    public int countAppointments() {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.count();
+    }
+
+    /** Counts the appointments on a day by status. */
+    public java.util.Map<Appointment.Status, Integer> countAppointmentsByStatus(java.time.LocalDate date) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.countByStatus(date);
+    }
+
+    /** Updates an appointment. */
+    public void updateAppointment(Appointment appointment) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        appointmentService.updateAppointment(appointment);
+    }
+
+    /** Cancels an appointment by ID. */
+    public boolean cancelAppointment(String id) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.cancelAppointment(id);
+    }
+
+    /** Deletes an appointment by ID. */
+    public boolean deleteAppointment(String id) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.deleteAppointment(id);
+    }
+
+    /** Schedules an appointment unless its patient or type is already booked in the same slot. */
+    public boolean tryScheduleAppointment(Appointment appointment) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.tryScheduleAppointment(appointment);
+    }
+
+    /** Schedules many appointments, returning the ones rejected for conflicts or duplicate IDs. */
+    public java.util.List<Appointment> scheduleAppointments(java.util.List<Appointment> appointments) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.scheduleAppointments(appointments);
+    }
+
+    /** Finds the scheduled appointments that conflict with a candidate. */
+    public java.util.List<Appointment> findAppointmentConflicts(Appointment candidate) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.findConflicts(candidate);
+    }
+
+    /** Finds the next free appointment slots for a patient and/or type. */
+    public java.util.List<java.time.LocalDateTime> findFreeAppointmentSlots(String patientId, String type, java.time.LocalDateTime after, int count) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.findFreeSlots(patientId, type, after, count);
+    }
+
+    /** Finds a patient's appointments in chronological order. */
+    public java.util.List<Appointment> findAppointmentsByPatient(String patientId) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.findAppointmentsByPatient(patientId);
+    }
+
+    /** Finds the appointments in the window [from, to) in chronological order. */
+    public java.util.List<Appointment> findAppointmentsBetween(java.time.LocalDateTime from, java.time.LocalDateTime to) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.findAppointmentsBetween(from, to);
+    }
+
+    /** Finds the appointments with the given status in chronological order. */
+    public java.util.List<Appointment> findAppointmentsByStatus(Appointment.Status status) {
+        if (appointmentService == null) throw new IllegalStateException("AppointmentService not initialized");
+        return appointmentService.findAppointmentsByStatus(status);
+    }
+
+    /** Adds a new medical record. */
+    public void addMedicalRecord(MedicalRecord record) {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        medicalRecordService.addMedicalRecord(record);
+    }
+
+    /** Finds a medical record by ID. */
+    public MedicalRecord findMedicalRecordById(String id) {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        return medicalRecordService.findMedicalRecordById(id);
+    }
+
+    /** Gets all medical records. */
+    public java.util.List<MedicalRecord> getAllMedicalRecords() {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        return medicalRecordService.getAllMedicalRecords();
+    }
+
+    /** Searches medical record diagnoses and notes, newest first. */
+    public java.util.List<MedicalRecord> searchMedicalRecords(String query, int limit) {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        return medicalRecordService.searchMedicalRecords(query, limit);
+    }
+
+    /** Gets one page of medical records in the given order, continuing after the cursor (null for the first page). */
+    public Page<MedicalRecord> pageMedicalRecords(String cursor, int limit, MedicalRecordService.SortKey sortKey) {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        return medicalRecordService.page(cursor, limit, sortKey);
+    }
+
+    /** Counts the medical records. */
+    public int countMedicalRecords() {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        return medicalRecordService.count();
+    }
+
+    /** Updates a medical record. */
+    public void updateMedicalRecord(MedicalRecord record) {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        medicalRecordService.updateMedicalRecord(record);
+    }
+
+    /** Deletes a medical record by ID. */
+    public boolean deleteMedicalRecord(String id) {
+        if (medicalRecordService == null) throw new IllegalStateException("MedicalRecordService not initialized");
+        return medicalRecordService.deleteMedicalRecord(id);
+    }
+
+    /** Creates a new bill. */
+    public void createBill(Bill bill) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        billingService.createBill(bill);
+    }
+
+    /** Creates many bills, returning the ones rejected for duplicate IDs. */
+    public java.util.List<Bill> createBills(java.util.List<Bill> bills) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.createBills(bills);
+    }
+
+    /** Finds a bill by ID. */
+    public Bill findBillById(String id) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.findBillById(id);
+    }
+
+    /** Gets all bills. */
+    public java.util.List<Bill> getAllBills() {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.getAllBills();
+    }
+
+    /** Gets one page of bills in the given order, continuing after the cursor (null for the first page). */
+    public Page<Bill> pageBills(String cursor, int limit, BillingService.SortKey sortKey) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.page(cursor, limit, sortKey);
+    }
+
+    /** Counts the bills. */
+    public int countBills() {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.count();
+    }
+
+    /** Returns the total of the unpaid bills in a currency. */
+    public Money getUnpaidBillTotal(java.util.Currency currency) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.getUnpaidTotal(currency);
+    }
+
+    /** Returns the total of the bills with a status in a currency. */
+    public Money getBillTotalByStatus(Bill.Status status, java.util.Currency currency) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.getTotalByStatus(status, currency);
+    }
+
+    /** Counts the bills with a status. */
+    public int countBillsByStatus(Bill.Status status) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.countByStatus(status);
+    }
+
+    /** Returns what a patient owes on unpaid bills in a currency. */
+    public Money getOutstandingBalance(String patientId, java.util.Currency currency) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.getOutstandingBalance(patientId, currency);
+    }
+
+    /** Returns the 0-30/31-60/61-90/90+ day aging of unpaid bills in a currency. */
+    public BillingService.AgingReport getBillAgingReport(java.util.Currency currency) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.getAgingReport(currency);
+    }
+
+    /** Updates a bill. */
+    public void updateBill(Bill bill) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        billingService.updateBill(bill);
+    }
+
+    /** Marks a bill as paid. */
+    public void markBillAsPaid(String billId, String paymentReference) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        billingService.markBillAsPaid(billId, paymentReference);
+    }
+
+    /** Applies many payments, returning what became of each. */
+    public java.util.List<BillingService.PaymentOutcome> applyPayments(java.util.List<BillingService.Payment> payments) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.applyPayments(payments);
+    }
+
+    /** Adds a line item to an unpaid bill. */
+    public void addLineItem(String billId, Bill.LineItem item) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        billingService.addLineItem(billId, item);
+    }
+
+    /** Deletes a bill by ID. */
+    public boolean deleteBill(String id) {
+        if (billingService == null) throw new IllegalStateException("BillingService not initialized");
+        return billingService.deleteBill(id);
+    }
+
+    /** Adds a new inventory item. */
+    public void addInventoryItem(InventoryItem item) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        inventoryService.addInventoryItem(item);
+    }
+
+    /** Finds an inventory item by ID. */
+    public InventoryItem findInventoryItemById(String id) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.findInventoryItemById(id);
+    }
+
+    /** Gets all inventory items. */
+    public java.util.List<InventoryItem> getAllInventoryItems() {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.getAllInventoryItems();
+    }
+
+    /** Gets one page of inventory items in the given order, continuing after the cursor (null for the first page). */
+    public Page<InventoryItem> pageInventoryItems(String cursor, int limit, InventoryService.SortKey sortKey) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.page(cursor, limit, sortKey);
+    }
+
+    /** Counts the inventory items. */
+    public int countInventoryItems() {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.count();
+    }
+
+    /** Counts the inventory items that are low on stock. */
+    public int countLowStockItems() {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.countLowStock();
+    }
+
+    /** Updates an inventory item. */
+    public void updateInventoryItem(InventoryItem item) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        inventoryService.updateInventoryItem(item);
+    }
+
+    /** Deletes an inventory item by ID. */
+    public boolean deleteInventoryItem(String id) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.deleteInventoryItem(id);
+    }
+
+    /** Reserves stock of an inventory item if enough is available. */
+    public boolean tryReserveStock(String id, int amount) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.tryReserve(id, amount);
+    }
+
+    /** Removes previously reserved units of an inventory item from stock. */
+    public void commitStockReservation(String id, int amount) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        inventoryService.commitReservation(id, amount);
+    }
+
+    /** Returns previously reserved units of an inventory item to the available stock. */
+    public void releaseStock(String id, int amount) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        inventoryService.release(id, amount);
+    }
+
+    /** Adjusts the stock of several inventory items, all or nothing. */
+    public boolean adjustStock(java.util.Map<String, Integer> deltas) {
+        if (inventoryService == null) throw new IllegalStateException("InventoryService not initialized");
+        return inventoryService.adjustStock(deltas);
+    }
+
+    // Add more methods as needed for viewing, updating, deleting, and cross-service workflows.
+} 
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+/**
+ * The five hospital services as one unit, plus a factory that picks between the single-threaded
+ * (HashMap-backed) and the thread-safe (ConcurrentHashMap-backed) implementations.
+ */
+public final class HospitalServices {
+    /** Which service implementations to use. */
+    public enum Concurrency {
+        /** HashMap-backed services; only safe when all calls come from one thread (e.g. the JavaFX thread). */
+        SINGLE_THREADED,
+        /** ConcurrentHashMap-backed services; safe for any number of concurrent callers. */
+        CONCURRENT
+    }
+
+    private final PatientService patientService;
+    private final AppointmentService appointmentService;
+    private final MedicalRecordService medicalRecordService;
+    private final BillingService billingService;
+    private final InventoryService inventoryService;
+    private final Concurrency concurrency;
+
+    /**
+     * Groups existing service instances. {@code concurrency} states whether all of them are thread-safe.
+     */
+    public HospitalServices(PatientService patientService,
+                            AppointmentService appointmentService,
+                            MedicalRecordService medicalRecordService,
+                            BillingService billingService,
+                            InventoryService inventoryService,
+                            Concurrency concurrency) {
+        if (patientService == null || appointmentService == null || medicalRecordService == null
+                || billingService == null || inventoryService == null) {
+            throw new IllegalArgumentException("Services cannot be null");
+        }
+        if (concurrency == null) throw new IllegalArgumentException("Concurrency cannot be null");
+        this.patientService = patientService;
+        this.appointmentService = appointmentService;
+        this.medicalRecordService = medicalRecordService;
+        this.billingService = billingService;
+        this.inventoryService = inventoryService;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Creates a fresh, empty set of in-memory services of the requested kind. They publish their changes to one
+     * shared stream, so a single dispatcher thread serves all five.
+     */
+    public static HospitalServices create(Concurrency concurrency) {
+        if (concurrency == null) throw new IllegalArgumentException("Concurrency cannot be null");
+        ChangePublisher changes = new ChangePublisher();
+        if (concurrency == Concurrency.CONCURRENT) {
+            return new HospitalServices(new ConcurrentPatientServiceImpl(changes), new ConcurrentAppointmentServiceImpl(changes),
+                    new ConcurrentMedicalRecordServiceImpl(changes), new ConcurrentBillingServiceImpl(changes),
+                    new ConcurrentInventoryServiceImpl(changes), concurrency);
+        }
+        return new HospitalServices(new PatientServiceImpl(changes), new AppointmentServiceImpl(changes),
+                new MedicalRecordServiceImpl(changes), new BillingServiceImpl(changes), new InventoryServiceImpl(changes), concurrency);
+    }
+
+    public PatientService getPatientService() { return patientService; }
+    public AppointmentService getAppointmentService() { return appointmentService; }
+    public MedicalRecordService getMedicalRecordService() { return medicalRecordService; }
+    public BillingService getBillingService() { return billingService; }
+    public InventoryService getInventoryService() { return inventoryService; }
+    public Concurrency getConcurrency() { return concurrency; }
+
+    /**
+     * Returns true if the services may be called from several threads at once.
+     */
+    public boolean isThreadSafe() { return concurrency == Concurrency.CONCURRENT; }
+
+    /**
+     * Creates a controller wired to these services.
+     */
+    public HospitalController createController() {
+        return new HospitalController(patientService, appointmentService, medicalRecordService, billingService, inventoryService);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.Arrays;
+
+/**
+ * An append-only, strictly increasing list of non-negative ints stored as variable-length deltas: one byte per
+ * entry for gaps below 128, so a posting list costs about a byte per entry instead of an object. Not thread-safe.
+ */
+final class IntPostings {
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private int last = -1;
+
+    /** Appends a value, which must be greater than every value already in the list. */
+    void add(int value) {
+        if (value <= last) throw new IllegalArgumentException("Postings must be strictly increasing");
+        int delta = value - last;
+        if (length + 5 > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        while ((delta & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        bytes[length++] = (byte) delta;
+        size++;
+        last = value;
+    }
+
+    /** Returns the number of values. */
+    int size() {
+        return size;
+    }
+
+    /** Returns the encoded size in bytes. */
+    int byteSize() {
+        return length;
+    }
+
+    /** Returns a cursor positioned before the first value. */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /** Forward-only reader. Must not be used after the list is changed. */
+    final class Cursor {
+        private int offset;
+        private int current = -1;
+
+        /** Moves to the next value and returns it, or -1 at the end. */
+        int next() {
+            if (offset >= length) return current = -1;
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return current += delta; // the first delta is relative to -1
+        }
+
+        /** Moves to the first value at or after {@code target} and returns it, or -1 at the end. */
+        int advance(int target) {
+            if (current >= target) return current;
+            int value;
+            do {
+                value = next();
+            } while (value >= 0 && value < target);
+            return value;
+        }
+    }
+}
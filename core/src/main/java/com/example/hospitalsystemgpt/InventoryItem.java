@@ -0,0 +1,193 @@
+package com.example.hospitalsystemgpt;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+public class InventoryItem {
+    private static final VarHandle STOCK;
+
+    static {
+        try {
+            STOCK = MethodHandles.lookup().findVarHandle(InventoryItem.class, "stock", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String id;
+    private String name;
+    /**
+     * Quantity on hand (low 32 bits) and quantity reserved (high 32 bits), packed so both change in one CAS.
+     * Reserved units are still on hand but can no longer be reserved or removed by anyone else.
+     */
+    private volatile long stock;
+    private Money unitPrice;
+
+    /**
+     * Constructs an InventoryItem with the given id, name, quantity, and unit price.
+     * Validates that id and name are not null/blank, quantity is non-negative, and unit price is positive.
+     */
+    public InventoryItem(String id, String name, int quantity, Money unitPrice) {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("ID cannot be null or blank");
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Name cannot be null or blank");
+        if (quantity < 0) throw new IllegalArgumentException("Quantity cannot be negative");
+        if (unitPrice == null || !unitPrice.isPositive()) throw new IllegalArgumentException("Unit price must be positive");
+        this.id = id;
+        this.name = name;
+        this.stock = pack(quantity, 0);
+        this.unitPrice = unitPrice;
+    }
+
+    /**
+     * Returns the inventory item's unique ID.
+     */
+    public String getItemId() { return id; }
+
+    /**
+     * Returns the name of the inventory item.
+     */
+    public String getName() { return name; }
+
+    /**
+     * Sets the name of the inventory item after validating it is not null or blank.
+     */
+    public void setName(String name) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("Name cannot be null or blank");
+        this.name = name;
+    }
+
+    /**
+     * Returns the current quantity in stock, including reserved units.
+     */
+    public int getQuantity() { return onHand(stock); }
+
+    /**
+     * Returns the quantity reserved but not yet committed.
+     */
+    public int getReservedQuantity() { return reserved(stock); }
+
+    /**
+     * Returns the quantity that can still be reserved or removed.
+     */
+    public int getAvailableQuantity() {
+        long s = stock;
+        return onHand(s) - reserved(s);
+    }
+
+    /**
+     * Returns the unit price of the item.
+     */
+    public Money getUnitPrice() { return unitPrice; }
+
+    /**
+     * Sets the unit price after validating it is positive.
+     */
+    public void setUnitPrice(Money unitPrice) {
+        if (unitPrice == null || !unitPrice.isPositive()) throw new IllegalArgumentException("Unit price must be positive");
+        this.unitPrice = unitPrice;
+    }
+
+    /**
+     * Adds the specified amount to the quantity in stock.
+     */
+    public void addStock(int amount) {
+        if (amount <= 0) throw new IllegalArgumentException("Amount to add must be positive");
+        for (long s = stock; ; s = stock) {
+            if (onHand(s) > Integer.MAX_VALUE - amount) throw new IllegalArgumentException("Quantity would overflow");
+            if (STOCK.weakCompareAndSet(this, s, pack(onHand(s) + amount, reserved(s)))) return;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Removes the specified amount from the quantity in stock. Reserved units cannot be removed.
+     */
+    public void removeStock(int amount) {
+        if (!tryRemoveStock(amount)) throw new IllegalArgumentException("Not enough stock to remove");
+    }
+
+    /**
+     * Removes the specified amount if that much is available (not reserved). Returns false, leaving the stock
+     * unchanged, if there is not enough.
+     */
+    public boolean tryRemoveStock(int amount) {
+        if (amount <= 0) throw new IllegalArgumentException("Amount to remove must be positive");
+        for (long s = stock; ; s = stock) {
+            if (onHand(s) - reserved(s) < amount) return false;
+            if (STOCK.weakCompareAndSet(this, s, pack(onHand(s) - amount, reserved(s)))) return true;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Reserves the specified amount if that much is available. Reserved units stay in stock until they are
+     * committed (dispensed) or released. Returns false, reserving nothing, if there is not enough.
+     */
+    public boolean tryReserve(int amount) {
+        if (amount <= 0) throw new IllegalArgumentException("Amount to reserve must be positive");
+        for (long s = stock; ; s = stock) {
+            if (onHand(s) - reserved(s) < amount) return false;
+            if (STOCK.weakCompareAndSet(this, s, pack(onHand(s), reserved(s) + amount))) return true;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Removes previously reserved units from stock. Throws if fewer than {@code amount} units are reserved.
+     */
+    public void commitReservation(int amount) {
+        if (amount <= 0) throw new IllegalArgumentException("Amount to commit must be positive");
+        for (long s = stock; ; s = stock) {
+            if (reserved(s) < amount) throw new IllegalStateException("Not enough reserved stock to commit");
+            if (STOCK.weakCompareAndSet(this, s, pack(onHand(s) - amount, reserved(s) - amount))) return;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns previously reserved units to the available stock. Throws if fewer than {@code amount} units are reserved.
+     */
+    public void release(int amount) {
+        if (amount <= 0) throw new IllegalArgumentException("Amount to release must be positive");
+        for (long s = stock; ; s = stock) {
+            if (reserved(s) < amount) throw new IllegalStateException("Not enough reserved stock to release");
+            if (STOCK.weakCompareAndSet(this, s, pack(onHand(s), reserved(s) - amount))) return;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns true if the quantity is less than or equal to the specified threshold.
+     */
+    public boolean isLowStock(int threshold) {
+        return getQuantity() <= threshold;
+    }
+
+    /**
+     * Checks equality based on item ID.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InventoryItem that = (InventoryItem) o;
+        return id.equals(that.id);
+    }
+
+    /**
+     * Returns the hash code for the inventory item, based on ID.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    private static long pack(int onHand, int reserved) {
+        return ((long) reserved << 32) | (onHand & 0xFFFF_FFFFL);
+    }
+
+    private static int onHand(long stock) { return (int) stock; }
+
+    private static int reserved(long stock) { return (int) (stock >>> 32); }
+}
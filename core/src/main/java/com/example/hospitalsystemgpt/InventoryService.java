@@ -0,0 +1,126 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * Service interface for managing inventory items.
+ */
+public interface InventoryService {
+    /** Items with this quantity on hand or less are low on stock. */
+    int LOW_STOCK_THRESHOLD = 10;
+
+    /** Orders a listing can be paged in. Ties are always broken by ID, so the order is stable. */
+    enum SortKey {
+        /** By item ID. */
+        ID,
+        /** By name, ignoring case, then by item ID. */
+        NAME
+    }
+
+    /**
+     * Adds a new inventory item.
+     * @param item the inventory item to add
+     * @throws IllegalArgumentException if the item is null or already exists
+     */
+    void addInventoryItem(InventoryItem item);
+
+    /**
+     * Finds an inventory item by its unique ID.
+     * @param id the item ID
+     * @return the InventoryItem if found, or null if not found
+     */
+    InventoryItem findInventoryItemById(String id);
+
+    /**
+     * Returns a list of all inventory items.
+     * @return list of inventory items
+     */
+    List<InventoryItem> getAllInventoryItems();
+
+    /**
+     * Updates an existing inventory item.
+     * @param item the inventory item with updated information
+     * @throws IllegalArgumentException if the item is null or does not exist
+     */
+    void updateInventoryItem(InventoryItem item);
+
+    /**
+     * Deletes an inventory item by its ID.
+     * @param id the item ID
+     * @return true if the item was deleted, false if not found
+     */
+    boolean deleteInventoryItem(String id);
+
+    /**
+     * Reserves stock of an item if enough is available. Reserved units stay in stock, but nobody else can
+     * reserve or remove them until they are committed or released.
+     * @param id the item ID
+     * @param amount the number of units to reserve
+     * @return true if the units were reserved, false if not enough stock is available
+     * @throws IllegalArgumentException if the item does not exist or the amount is not positive
+     */
+    boolean tryReserve(String id, int amount);
+
+    /**
+     * Removes previously reserved units from stock (e.g. once they have been dispensed).
+     * @param id the item ID
+     * @param amount the number of reserved units to remove
+     * @throws IllegalArgumentException if the item does not exist or the amount is not positive
+     * @throws IllegalStateException if fewer units are reserved
+     */
+    void commitReservation(String id, int amount);
+
+    /**
+     * Returns previously reserved units to the available stock.
+     * @param id the item ID
+     * @param amount the number of reserved units to release
+     * @throws IllegalArgumentException if the item does not exist or the amount is not positive
+     * @throws IllegalStateException if fewer units are reserved
+     */
+    void release(String id, int amount);
+
+    /**
+     * Adjusts the stock of several items in one call. Positive deltas add stock, negative deltas remove it.
+     * Either every adjustment is applied or none is.
+     * @param deltas the change in quantity per item ID
+     * @return true if all adjustments were applied, false if an item lacked enough available stock
+     * @throws IllegalArgumentException if the map is null, an item does not exist or a delta is zero
+     */
+    boolean adjustStock(Map<String, Integer> deltas);
+
+    /**
+     * Returns one page of inventory items in a stable order. Pass the previous page's {@link Page#getNextCursor()} to
+     * continue; entries added or removed elsewhere in the listing do not shift the pages that follow.
+     * @param cursor the cursor from the previous page, or null to start at the beginning
+     * @param limit the maximum number of inventory items on the page
+     * @param sortKey the order to list in; must match the order the cursor was created with
+     * @return the page, whose next cursor is null if there are no more inventory items
+     * @throws IllegalArgumentException if the limit is not positive, the sort key is null or the cursor is invalid
+     */
+    Page<InventoryItem> page(String cursor, int limit, SortKey sortKey);
+
+    /**
+     * Returns the number of inventory items without copying them.
+     * @return how many inventory items there are
+     */
+    int count();
+
+    /**
+     * Returns the number of items that are low on stock, without scanning the items.
+     * @return how many items have {@link #LOW_STOCK_THRESHOLD} or fewer units on hand
+     */
+    int countLowStock();
+
+    /**
+     * Returns a stream of changes to inventory items: one event per addition, update, deletion and stock movement.
+     * Events are published as the change is applied, so a subscriber can keep a copy or an index current without
+     * rescanning. The stream is hot: a subscriber only sees changes made after it subscribed, and one that falls too
+     * far behind is failed.
+     * @return the change stream
+     */
+    Flow.Publisher<ChangeEvent> changes();
+}
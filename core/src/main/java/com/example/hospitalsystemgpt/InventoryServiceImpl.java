@@ -0,0 +1,245 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * In-memory implementation of InventoryService. Stock movements change the item itself without a map update, so
+ * their change events are published, and the item recounted in the low-stock tally, just after the movement
+ * instead of within it.
+ */
+public class InventoryServiceImpl implements InventoryService {
+    private final Map<String, InventoryItem> itemMap;
+    private final SortedIndex<InventoryItem, InventoryService.SortKey> sorted = new SortedIndex<>(InventoryService.SortKey.class, Map.of(
+            InventoryService.SortKey.ID, i -> "",
+            InventoryService.SortKey.NAME, i -> SortedIndex.text(i.getName())));
+    private final Tally<InventoryItem, Boolean> lowStock = Tally.counting(i -> i.isLowStock(LOW_STOCK_THRESHOLD) ? Boolean.TRUE : null);
+    private final ChangePublisher changes;
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap.
+     */
+    public InventoryServiceImpl() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructs a service backed by the given empty map. Every mutation is a single atomic per-key map
+     * operation that also updates the sort index, so passing a concurrent map makes the service thread-safe.
+     */
+    protected InventoryServiceImpl(Map<String, InventoryItem> itemMap) {
+        this(itemMap, new ChangePublisher());
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap that publishes its changes to a shared stream.
+     */
+    public InventoryServiceImpl(ChangePublisher changes) {
+        this(new HashMap<>(), changes);
+    }
+
+    /**
+     * Constructs a service backed by the given empty map that publishes its changes to the given stream.
+     */
+    protected InventoryServiceImpl(Map<String, InventoryItem> itemMap, ChangePublisher changes) {
+        if (changes == null) throw new IllegalArgumentException("Change publisher cannot be null");
+        this.itemMap = itemMap;
+        this.changes = changes;
+    }
+
+    /**
+     * Adds a new inventory item. Throws if item is null or already exists.
+     */
+    @Override
+    public void addInventoryItem(InventoryItem item) {
+        if (item == null) throw new IllegalArgumentException("Inventory item cannot be null");
+        itemMap.compute(item.getItemId(), (id, existing) -> {
+            if (existing != null) throw new IllegalArgumentException("Inventory item already exists");
+            sorted.put(id, item);
+            lowStock.put(id, item);
+            changes.publish(ChangeEvent.EntityType.INVENTORY_ITEM, ChangeEvent.Kind.CREATED, id);
+            return item;
+        });
+    }
+
+    /**
+     * Finds an inventory item by its unique ID.
+     */
+    @Override
+    public InventoryItem findInventoryItemById(String id) {
+        return id == null ? null : itemMap.get(id);
+    }
+
+    /**
+     * Returns a list of all inventory items.
+     */
+    @Override
+    public List<InventoryItem> getAllInventoryItems() {
+        return new ArrayList<>(itemMap.values());
+    }
+
+    /**
+     * Updates an existing inventory item. Throws if item is null or does not exist.
+     */
+    @Override
+    public void updateInventoryItem(InventoryItem item) {
+        if (item == null) throw new IllegalArgumentException("Inventory item cannot be null");
+        InventoryItem updated = itemMap.computeIfPresent(item.getItemId(), (id, existing) -> {
+            sorted.put(id, item);
+            lowStock.put(id, item);
+            changes.publish(ChangeEvent.EntityType.INVENTORY_ITEM, ChangeEvent.Kind.UPDATED, id);
+            return item;
+        });
+        if (updated == null) throw new IllegalArgumentException("Inventory item does not exist");
+    }
+
+    /**
+     * Deletes an inventory item by its ID. Returns true if deleted, false if not found.
+     */
+    @Override
+    public boolean deleteInventoryItem(String id) {
+        if (id == null) return false;
+        boolean[] deleted = new boolean[1];
+        itemMap.computeIfPresent(id, (key, existing) -> {
+            sorted.remove(key);
+            lowStock.remove(key);
+            changes.publish(ChangeEvent.EntityType.INVENTORY_ITEM, ChangeEvent.Kind.DELETED, key);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Reserves stock of an item if enough is available. Lock-free: concurrent reservations of the same item
+     * are resolved by compare-and-set on the item's stock.
+     */
+    @Override
+    public boolean tryReserve(String id, int amount) {
+        if (!requireItem(id).tryReserve(amount)) return false;
+        stockChanged(id);
+        return true;
+    }
+
+    /**
+     * Removes previously reserved units of an item from stock.
+     */
+    @Override
+    public void commitReservation(String id, int amount) {
+        requireItem(id).commitReservation(amount);
+        stockChanged(id);
+    }
+
+    /**
+     * Returns previously reserved units of an item to the available stock.
+     */
+    @Override
+    public void release(String id, int amount) {
+        requireItem(id).release(amount);
+        stockChanged(id);
+    }
+
+    /**
+     * Adjusts the stock of several items, all or nothing. Every addition is checked for overflow before any stock
+     * changes. Removals are applied first because they can fail for lack of stock; if one does, the removals
+     * already made are added back. If an addition still overflows because another caller added to the same item
+     * in the meantime, every change already made is undone before the exception is rethrown. Other callers may
+     * briefly see the partially applied changes, but never a negative or over-reserved stock.
+     */
+    @Override
+    public boolean adjustStock(Map<String, Integer> deltas) {
+        if (deltas == null) throw new IllegalArgumentException("Stock adjustments cannot be null");
+        List<InventoryItem> removeFrom = new ArrayList<>();
+        List<Integer> removeAmounts = new ArrayList<>();
+        List<InventoryItem> addTo = new ArrayList<>();
+        List<Integer> addAmounts = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            InventoryItem item = requireItem(entry.getKey());
+            Integer delta = entry.getValue();
+            if (delta == null || delta == 0) throw new IllegalArgumentException("Stock adjustment cannot be zero");
+            if (delta == Integer.MIN_VALUE) throw new IllegalArgumentException("Stock adjustment is out of range");
+            if (delta < 0) {
+                removeFrom.add(item);
+                removeAmounts.add(-delta);
+            } else {
+                if (item.getQuantity() > Integer.MAX_VALUE - delta) throw new IllegalArgumentException("Quantity would overflow");
+                addTo.add(item);
+                addAmounts.add(delta);
+            }
+        }
+        for (int removed = 0; removed < removeFrom.size(); removed++) {
+            if (!removeFrom.get(removed).tryRemoveStock(removeAmounts.get(removed))) {
+                undoRemovals(removeFrom, removeAmounts, removed);
+                return false;
+            }
+        }
+        int added = 0;
+        try {
+            for (; added < addTo.size(); added++) addTo.get(added).addStock(addAmounts.get(added));
+        } catch (RuntimeException e) {
+            // A concurrent addition pushed an item past the checked limit; the failing addition changed nothing.
+            for (int i = 0; i < added; i++) addTo.get(i).removeStock(addAmounts.get(i));
+            undoRemovals(removeFrom, removeAmounts, removeFrom.size());
+            throw e;
+        }
+        for (String id : deltas.keySet()) stockChanged(id);
+        return true;
+    }
+
+    private void stockChanged(String id) {
+        // Recounted under the item's map entry, so a concurrent delete cannot be followed by a stale recount.
+        itemMap.computeIfPresent(id, (key, item) -> {
+            lowStock.put(key, item);
+            return item;
+        });
+        changes.publish(ChangeEvent.EntityType.INVENTORY_ITEM, ChangeEvent.Kind.UPDATED, id);
+    }
+
+    private InventoryItem requireItem(String id) {
+        InventoryItem item = findInventoryItemById(id);
+        if (item == null) throw new IllegalArgumentException("Inventory item does not exist");
+        return item;
+    }
+
+    private static void undoRemovals(List<InventoryItem> items, List<Integer> amounts, int count) {
+        for (int i = 0; i < count; i++) items.get(i).addStock(amounts.get(i));
+    }
+
+    /**
+     * Returns one page of inventory items in {@code sortKey} order, continuing after {@code cursor}.
+     */
+    @Override
+    public Page<InventoryItem> page(String cursor, int limit, InventoryService.SortKey sortKey) {
+        return sorted.page(cursor, limit, sortKey, itemMap);
+    }
+
+    /**
+     * Returns the number of inventory items.
+     */
+    @Override
+    public int count() {
+        return itemMap.size();
+    }
+
+    /**
+     * Returns the number of items at or below {@link #LOW_STOCK_THRESHOLD}, from the tally.
+     */
+    @Override
+    public int countLowStock() {
+        return (int) lowStock.total(Boolean.TRUE);
+    }
+
+    /**
+     * Returns the stream of inventory item changes, published as each change is applied.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return changes.only(ChangeEvent.EntityType.INVENTORY_ITEM);
+    }
+}
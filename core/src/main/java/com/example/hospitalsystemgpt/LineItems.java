@@ -0,0 +1,148 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.Arrays;
+
+/**
+ * The line items of one bill, stored as parallel primitive arrays rather than one object per item: each item is a
+ * description ID and an amount in minor units, both held in the narrowest array that fits every item so far. IDs
+ * start as {@code char}s and amounts as {@code int}s (up to about 21 million dollars in cents), and an array is
+ * widened to {@code int} or {@code long} the first time an item needs it. A typical item therefore takes 6 bytes
+ * instead of a {@link Bill.LineItem} object, its list slot and often its own copy of the description string.
+ * <p>
+ * Descriptions are dictionary-encoded per bill: each distinct description of the bill is kept once, so a charge
+ * repeated across the thousands of items of a long admission (or decoded from the log or JSON as separate strings)
+ * is stored once, and the dictionary goes away with the bill. Up to {@link #LINEAR_LOOKUP} descriptions are looked up
+ * by a linear scan; beyond that, by an open-addressing table of IDs.
+ * <p>
+ * Reading an item by index allocates nothing. Like the list it replaces, a container is not thread-safe: bills are
+ * changed under the billing service's per-bill map operations, and a reader racing a change must hold the same lock.
+ */
+final class LineItems {
+    private static final int FIRST_CAPACITY = 4;
+    /** The number of distinct descriptions up to which a lookup scans them instead of using the table. */
+    static final int LINEAR_LOOKUP = 8;
+    private static final char[] NO_NARROW_IDS = {};
+    private static final int[] NO_NARROW_AMOUNTS = {};
+    private static final String[] NO_DESCRIPTIONS = {};
+
+    private int size;
+    private char[] narrowIds = NO_NARROW_IDS;
+    private int[] wideIds;
+    private int[] narrowAmounts = NO_NARROW_AMOUNTS;
+    private long[] wideAmounts;
+    private String[] descriptions = NO_DESCRIPTIONS;
+    private int descriptionCount;
+    /** Description IDs plus one by hash, 0 for a free slot; null while lookups are linear. */
+    private int[] table;
+
+    /** Appends an item. */
+    void add(String description, long amountMinorUnits) {
+        int id = idOf(description);
+        if (size == capacity()) grow();
+        if (wideIds == null && id > Character.MAX_VALUE) widenIds();
+        if (wideIds != null) wideIds[size] = id;
+        else narrowIds[size] = (char) id;
+        if (wideAmounts == null && (amountMinorUnits > Integer.MAX_VALUE || amountMinorUnits < Integer.MIN_VALUE)) widenAmounts();
+        if (wideAmounts != null) wideAmounts[size] = amountMinorUnits;
+        else narrowAmounts[size] = (int) amountMinorUnits;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Returns the description of item {@code index}. */
+    String description(int index) {
+        checkIndex(index);
+        return descriptions[wideIds != null ? wideIds[index] : narrowIds[index]];
+    }
+
+    /** Returns the amount of item {@code index} in minor units. */
+    long amount(int index) {
+        checkIndex(index);
+        return wideAmounts != null ? wideAmounts[index] : narrowAmounts[index];
+    }
+
+    /** Returns an independent copy with the same items, sharing the (immutable) description strings. */
+    LineItems copy() {
+        LineItems copy = new LineItems();
+        copy.size = size;
+        copy.narrowIds = narrowIds == null ? null : Arrays.copyOf(narrowIds, size);
+        copy.wideIds = wideIds == null ? null : Arrays.copyOf(wideIds, size);
+        copy.narrowAmounts = narrowAmounts == null ? null : Arrays.copyOf(narrowAmounts, size);
+        copy.wideAmounts = wideAmounts == null ? null : Arrays.copyOf(wideAmounts, size);
+        copy.descriptions = Arrays.copyOf(descriptions, descriptionCount);
+        copy.descriptionCount = descriptionCount;
+        copy.table = table == null ? null : table.clone();
+        return copy;
+    }
+
+    /** Returns the bill-local ID of a description, adding it if it is new. */
+    private int idOf(String description) {
+        if (table == null) {
+            for (int id = 0; id < descriptionCount; id++) {
+                if (descriptions[id].equals(description)) return id;
+            }
+        } else {
+            int mask = table.length - 1;
+            for (int slot = spread(description.hashCode()) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                if (descriptions[table[slot] - 1].equals(description)) return table[slot] - 1;
+            }
+        }
+        if (descriptionCount == descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, descriptionCount == 0 ? 1 : descriptionCount * 2);
+        }
+        int id = descriptionCount++;
+        descriptions[id] = description;
+        if (table != null && descriptionCount * 2 <= table.length) insert(table, id);
+        else if (descriptionCount > LINEAR_LOOKUP) rehash();
+        return id;
+    }
+
+    /** Rebuilds the table at a size that keeps it at most half full. */
+    private void rehash() {
+        int[] rebuilt = new int[Integer.highestOneBit(descriptionCount) * 4];
+        for (int id = 0; id < descriptionCount; id++) insert(rebuilt, id);
+        table = rebuilt;
+    }
+
+    private void insert(int[] into, int id) {
+        int mask = into.length - 1;
+        int slot = spread(descriptions[id].hashCode()) & mask;
+        while (into[slot] != 0) slot = (slot + 1) & mask;
+        into[slot] = id + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Line item " + index + " of " + size);
+    }
+
+    private int capacity() {
+        return wideIds != null ? wideIds.length : narrowIds.length;
+    }
+
+    private void grow() {
+        int capacity = size == 0 ? FIRST_CAPACITY : size + (size >> 1);
+        if (wideIds != null) wideIds = Arrays.copyOf(wideIds, capacity);
+        else narrowIds = Arrays.copyOf(narrowIds, capacity);
+        if (wideAmounts != null) wideAmounts = Arrays.copyOf(wideAmounts, capacity);
+        else narrowAmounts = Arrays.copyOf(narrowAmounts, capacity);
+    }
+
+    private void widenIds() {
+        wideIds = new int[narrowIds.length];
+        for (int i = 0; i < size; i++) wideIds[i] = narrowIds[i];
+        narrowIds = null;
+    }
+
+    private void widenAmounts() {
+        wideAmounts = new long[narrowAmounts.length];
+        for (int i = 0; i < size; i++) wideAmounts[i] = narrowAmounts[i];
+        narrowAmounts = null;
+    }
+}
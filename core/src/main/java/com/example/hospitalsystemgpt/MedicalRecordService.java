@@ -0,0 +1,91 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Service interface for managing medical records.
+ */
+public interface MedicalRecordService {
+    /** Orders a listing can be paged in. Ties are always broken by ID, so the order is stable. */
+    enum SortKey {
+        /** By record ID. */
+        ID,
+        /** By record date, then by record ID. */
+        DATE,
+        /** By patient ID, then by record ID. */
+        PATIENT_ID
+    }
+
+    /**
+     * Adds a new medical record.
+     * @param record the medical record to add
+     * @throws IllegalArgumentException if the record is null or already exists
+     */
+    void addMedicalRecord(MedicalRecord record);
+
+    /**
+     * Finds a medical record by its unique ID.
+     * @param id the record ID
+     * @return the MedicalRecord if found, or null if not found
+     */
+    MedicalRecord findMedicalRecordById(String id);
+
+    /**
+     * Returns a list of all medical records.
+     * @return list of medical records
+     */
+    List<MedicalRecord> getAllMedicalRecords();
+
+    /**
+     * Updates an existing medical record.
+     * @param record the medical record with updated information
+     * @throws IllegalArgumentException if the record is null or does not exist
+     */
+    void updateMedicalRecord(MedicalRecord record);
+
+    /**
+     * Deletes a medical record by its ID.
+     * @param id the record ID
+     * @return true if the record was deleted, false if not found
+     */
+    boolean deleteMedicalRecord(String id);
+
+    /**
+     * Searches the diagnosis and notes of all records. Words are matched whole and ignoring case, and all words
+     * must occur ({@code chest pain}); {@code OR} separates alternatives ({@code asthma OR copd}, where AND binds
+     * tighter than OR) and double quotes match an exact phrase ({@code "chest pain"}).
+     * @param query the query; a query without words matches nothing
+     * @param limit the maximum number of records to return
+     * @return the matching records, newest record date first
+     * @throws IllegalArgumentException if the query is null or the limit is not positive
+     */
+    List<MedicalRecord> searchMedicalRecords(String query, int limit);
+
+    /**
+     * Returns one page of medical records in a stable order. Pass the previous page's {@link Page#getNextCursor()} to
+     * continue; entries added or removed elsewhere in the listing do not shift the pages that follow.
+     * @param cursor the cursor from the previous page, or null to start at the beginning
+     * @param limit the maximum number of medical records on the page
+     * @param sortKey the order to list in; must match the order the cursor was created with
+     * @return the page, whose next cursor is null if there are no more medical records
+     * @throws IllegalArgumentException if the limit is not positive, the sort key is null or the cursor is invalid
+     */
+    Page<MedicalRecord> page(String cursor, int limit, SortKey sortKey);
+
+    /**
+     * Returns the number of medical records without copying them.
+     * @return how many medical records there are
+     */
+    int count();
+
+    /**
+     * Returns a stream of changes to medical records: one event per addition, update and deletion. Events are published
+     * as the change is applied, so a subscriber can keep a copy or an index current without rescanning. The stream is
+     * hot: a subscriber only sees changes made after it subscribed, and one that falls too far behind is failed.
+     * @return the change stream
+     */
+    Flow.Publisher<ChangeEvent> changes();
+}
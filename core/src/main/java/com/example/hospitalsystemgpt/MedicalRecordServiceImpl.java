@@ -0,0 +1,152 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * In-memory implementation of MedicalRecordService. Diagnosis and notes searches are answered from a full-text
+ * index that is kept up to date on every add/update/delete.
+ */
+public class MedicalRecordServiceImpl implements MedicalRecordService {
+    private final Map<String, MedicalRecord> recordMap;
+    private final SortedIndex<MedicalRecord, MedicalRecordService.SortKey> sorted = new SortedIndex<>(MedicalRecordService.SortKey.class, Map.of(
+            MedicalRecordService.SortKey.ID, r -> "",
+            MedicalRecordService.SortKey.DATE, r -> SortedIndex.date(r.getDate()),
+            MedicalRecordService.SortKey.PATIENT_ID, r -> r.getPatient().getPatientId()));
+    private final MedicalRecordTextIndex text = new MedicalRecordTextIndex();
+    private final ChangePublisher changes;
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap.
+     */
+    public MedicalRecordServiceImpl() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructs a service backed by the given empty map. Every mutation is a single atomic per-key map
+     * operation that also updates the indexes, so passing a concurrent map makes the service thread-safe.
+     */
+    protected MedicalRecordServiceImpl(Map<String, MedicalRecord> recordMap) {
+        this(recordMap, new ChangePublisher());
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap that publishes its changes to a shared stream.
+     */
+    public MedicalRecordServiceImpl(ChangePublisher changes) {
+        this(new HashMap<>(), changes);
+    }
+
+    /**
+     * Constructs a service backed by the given empty map that publishes its changes to the given stream.
+     */
+    protected MedicalRecordServiceImpl(Map<String, MedicalRecord> recordMap, ChangePublisher changes) {
+        if (changes == null) throw new IllegalArgumentException("Change publisher cannot be null");
+        this.recordMap = recordMap;
+        this.changes = changes;
+    }
+
+    /**
+     * Adds a new medical record. Throws if record is null or already exists.
+     */
+    @Override
+    public void addMedicalRecord(MedicalRecord record) {
+        if (record == null) throw new IllegalArgumentException("Medical record cannot be null");
+        recordMap.compute(record.getRecordId(), (id, existing) -> {
+            if (existing != null) throw new IllegalArgumentException("Medical record already exists");
+            sorted.put(id, record);
+            text.put(record);
+            changes.publish(ChangeEvent.EntityType.MEDICAL_RECORD, ChangeEvent.Kind.CREATED, id);
+            return record;
+        });
+    }
+
+    /**
+     * Finds a medical record by its unique ID.
+     */
+    @Override
+    public MedicalRecord findMedicalRecordById(String id) {
+        return id == null ? null : recordMap.get(id);
+    }
+
+    /**
+     * Returns a list of all medical records.
+     */
+    @Override
+    public List<MedicalRecord> getAllMedicalRecords() {
+        return new ArrayList<>(recordMap.values());
+    }
+
+    /**
+     * Updates an existing medical record. Throws if record is null or does not exist.
+     */
+    @Override
+    public void updateMedicalRecord(MedicalRecord record) {
+        if (record == null) throw new IllegalArgumentException("Medical record cannot be null");
+        MedicalRecord updated = recordMap.computeIfPresent(record.getRecordId(), (id, existing) -> {
+            sorted.put(id, record);
+            text.put(record);
+            changes.publish(ChangeEvent.EntityType.MEDICAL_RECORD, ChangeEvent.Kind.UPDATED, id);
+            return record;
+        });
+        if (updated == null) throw new IllegalArgumentException("Medical record does not exist");
+    }
+
+    /**
+     * Deletes a medical record by its ID. Returns true if deleted, false if not found.
+     */
+    @Override
+    public boolean deleteMedicalRecord(String id) {
+        if (id == null) return false;
+        boolean[] deleted = new boolean[1];
+        recordMap.computeIfPresent(id, (key, existing) -> {
+            sorted.remove(key);
+            text.remove(key);
+            changes.publish(ChangeEvent.EntityType.MEDICAL_RECORD, ChangeEvent.Kind.DELETED, key);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Returns the newest records matching a full-text query over diagnosis and notes, using the text index.
+     */
+    @Override
+    public List<MedicalRecord> searchMedicalRecords(String query, int limit) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        return text.search(query, limit);
+    }
+
+    /**
+     * Returns one page of medical records in {@code sortKey} order, continuing after {@code cursor}.
+     */
+    @Override
+    public Page<MedicalRecord> page(String cursor, int limit, MedicalRecordService.SortKey sortKey) {
+        return sorted.page(cursor, limit, sortKey, recordMap);
+    }
+
+    /**
+     * Returns the number of medical records.
+     */
+    @Override
+    public int count() {
+        return recordMap.size();
+    }
+
+    /**
+     * Returns the stream of medical record changes, published as each change is applied.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return changes.only(ChangeEvent.EntityType.MEDICAL_RECORD);
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Full-text inverted index over medical record diagnoses and notes.
+ * <p>
+ * Text is split into case-folded words (runs of letters and digits). Each word maps to a
+ * {@link PositionalPostings} list of record ordinals with the word's positions, so a query never touches records
+ * that do not contain its words and phrases are checked from the positions alone. The notes are indexed after
+ * the diagnosis with a gap, so a phrase never spans the two.
+ * <p>
+ * Results are ranked by record date, newest first, so the index is partitioned into one segment per calendar
+ * month of record date. A query visits segments newest first, keeps the best matches in a bounded heap and stops
+ * as soon as the heap is full and the next segment can only hold older records, so a common word costs about one
+ * month of postings rather than the whole history.
+ * <p>
+ * Like {@link PatientSearchIndex}, ordinals only grow and postings are only appended to: replacing or deleting a
+ * record retires its ordinal, and a segment is rebuilt once its retired ordinals outnumber live ones.
+ * <p>
+ * Calls for the same record ID must not overlap; everything else is guarded by the index's monitor. The services
+ * update the index inside {@code ConcurrentHashMap.compute}, where parking on a {@code java.util.concurrent} lock
+ * would pin a virtual thread's carrier and could deadlock once every carrier is pinned; a monitor holder is never
+ * unmounted. A query holds the monitor while it walks the month segments, so searches run one at a time and queue
+ * behind each other and behind writes.
+ */
+final class MedicalRecordTextIndex {
+    private static final int FIELD_GAP = 2;
+    private static final int MIN_COMPACT = 1024;
+
+    private final NavigableMap<Integer, Segment> segments = new TreeMap<>();
+    /** Record ID to the segment it is in. */
+    private final Map<String, Segment> located = new HashMap<>();
+
+    /** A match: a record with the segment and ordinal it was found at, which break ties between equal dates. */
+    private record Hit(MedicalRecord record, long epochDay, int month, int ordinal) {
+        static final Comparator<Hit> RECENCY = Comparator.comparingLong(Hit::epochDay)
+                .thenComparingInt(Hit::month).thenComparingInt(Hit::ordinal);
+    }
+
+    /**
+     * Indexes a new record, or re-indexes a replaced one whose text or date changed.
+     */
+    synchronized void put(MedicalRecord record) {
+        String id = record.getRecordId();
+        Segment before = located.get(id);
+        if (before != null && before.replaceIfSameText(record)) return;
+        if (before != null) {
+            before.remove(id);
+            if (before.isEmpty()) segments.remove(before.month);
+        }
+        int month = monthOf(record.getDate());
+        Segment segment = segments.computeIfAbsent(month, Segment::new);
+        segment.add(record);
+        located.put(id, segment);
+    }
+
+    /** Removes a record from the index. */
+    synchronized void remove(String id) {
+        Segment segment = located.remove(id);
+        if (segment == null) return;
+        segment.remove(id);
+        if (segment.isEmpty()) segments.remove(segment.month);
+    }
+
+    /**
+     * Returns up to {@code limit} records matching the query, newest first (see
+     * {@link MedicalRecordService#searchMedicalRecords} for the syntax).
+     */
+    List<MedicalRecord> search(String query, int limit) {
+        List<List<String[]>> disjunction = parse(query);
+        if (disjunction.isEmpty()) return new ArrayList<>();
+        synchronized (this) {
+            // Min-heap on recency: the root is the oldest of the best 'limit' matches so far.
+            PriorityQueue<Hit> best = new PriorityQueue<>(Hit.RECENCY);
+            for (Segment segment : segments.descendingMap().values()) {
+                if (best.size() == limit && best.peek().epochDay() >= segment.lastEpochDay) break;
+                BitSet seen = disjunction.size() > 1 ? new BitSet() : null;
+                for (List<String[]> conjunction : disjunction) segment.collect(conjunction, limit, best, seen);
+            }
+            List<MedicalRecord> result = new ArrayList<>(best.size());
+            while (!best.isEmpty()) result.add(best.poll().record());
+            Collections.reverse(result);
+            return result;
+        }
+    }
+
+    private static int monthOf(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /** The postings of the records dated in one calendar month. */
+    private static final class Segment {
+        final int month;
+        final long lastEpochDay;
+        final Map<String, PositionalPostings> postings = new HashMap<>();
+        final Map<String, Integer> ordinals = new HashMap<>();
+        MedicalRecord[] records = new MedicalRecord[16];
+        long[] epochDays = new long[16];
+        int nextOrdinal;
+
+        Segment(int month) {
+            this.month = month;
+            this.lastEpochDay = LocalDate.of(month / 12, month % 12 + 1, 1).plusMonths(1).toEpochDay() - 1;
+        }
+
+        boolean isEmpty() {
+            return ordinals.isEmpty();
+        }
+
+        /** Swaps in a replacement record if nothing indexed changed; returns false if it must be re-indexed. */
+        boolean replaceIfSameText(MedicalRecord record) {
+            int ordinal = ordinals.get(record.getRecordId());
+            MedicalRecord before = records[ordinal];
+            if (!before.getDiagnosis().equals(record.getDiagnosis()) || !before.getNotes().equals(record.getNotes())
+                    || !before.getDate().equals(record.getDate())) return false;
+            records[ordinal] = record;
+            return true;
+        }
+
+        void add(MedicalRecord record) {
+            int ordinal = nextOrdinal++;
+            if (ordinal == records.length) {
+                records = Arrays.copyOf(records, ordinal * 2);
+                epochDays = Arrays.copyOf(epochDays, ordinal * 2);
+            }
+            records[ordinal] = record;
+            epochDays[ordinal] = record.getDate().toEpochDay();
+            ordinals.put(record.getRecordId(), ordinal);
+            List<String> diagnosis = tokenize(record.getDiagnosis());
+            List<String> notes = tokenize(record.getNotes());
+            Map<String, int[]> positions = new HashMap<>();
+            for (int i = 0; i < diagnosis.size(); i++) addPosition(positions, diagnosis.get(i), i);
+            for (int i = 0; i < notes.size(); i++) addPosition(positions, notes.get(i), diagnosis.size() + FIELD_GAP + i);
+            for (Map.Entry<String, int[]> e : positions.entrySet()) {
+                int[] p = e.getValue();
+                postings.computeIfAbsent(e.getKey(), t -> new PositionalPostings()).add(ordinal, Arrays.copyOfRange(p, 1, p[0] + 1), p[0]);
+            }
+        }
+
+        void remove(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) return;
+            records[ordinal] = null;
+            compactIfNeeded();
+        }
+
+        private void compactIfNeeded() {
+            int live = ordinals.size();
+            int retired = nextOrdinal - live;
+            if (retired < MIN_COMPACT || retired < live) return;
+            MedicalRecord[] old = records;
+            int count = nextOrdinal;
+            postings.clear();
+            ordinals.clear();
+            records = new MedicalRecord[Math.max(16, live * 2)];
+            epochDays = new long[records.length];
+            nextOrdinal = 0;
+            for (int i = 0; i < count; i++) {
+                if (old[i] != null) add(old[i]);
+            }
+        }
+
+        /** Adds this segment's records matching every clause to {@code best}, keeping at most {@code limit}. */
+        void collect(List<String[]> clauses, int limit, PriorityQueue<Hit> best, BitSet seen) {
+            List<String> terms = new ArrayList<>();
+            for (String[] clause : clauses) {
+                for (String term : clause) if (!terms.contains(term)) terms.add(term);
+            }
+            PositionalPostings[] lists = new PositionalPostings[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(terms.get(i));
+                if (lists[i] == null) return;
+            }
+            PositionalPostings.Cursor[] cursors = new PositionalPostings.Cursor[lists.length];
+            for (int i = 0; i < lists.length; i++) cursors[i] = lists[i].cursor();
+            // Drive the intersection from the shortest list; keep each term's cursor findable for phrase checks.
+            Integer[] order = new Integer[lists.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> lists[i].size()));
+            PositionalPostings.Cursor lead = cursors[order[0]];
+            int doc = lead.next();
+            while (doc >= 0) {
+                int k = 1;
+                for (; k < order.length; k++) {
+                    int d = cursors[order[k]].advance(doc);
+                    if (d < 0) return;
+                    if (d > doc) {
+                        doc = lead.advance(d);
+                        break;
+                    }
+                }
+                if (k < order.length) continue;
+                if (records[doc] != null && (seen == null || !seen.get(doc)) && phrasesMatch(clauses, terms, cursors)) {
+                    if (seen != null) seen.set(doc);
+                    offer(best, limit, doc);
+                }
+                doc = lead.next();
+            }
+        }
+
+        private void offer(PriorityQueue<Hit> best, int limit, int ordinal) {
+            if (best.size() == limit) {
+                Hit oldest = best.peek();
+                long day = epochDays[ordinal];
+                if (day < oldest.epochDay() || (day == oldest.epochDay()
+                        && (month < oldest.month() || (month == oldest.month() && ordinal < oldest.ordinal())))) return;
+                best.poll();
+            }
+            best.add(new Hit(records[ordinal], epochDays[ordinal], month, ordinal));
+        }
+    }
+
+    private static boolean phrasesMatch(List<String[]> clauses, List<String> terms, PositionalPostings.Cursor[] cursors) {
+        for (String[] clause : clauses) {
+            if (clause.length < 2) continue;
+            int[][] positions = new int[clause.length][];
+            for (int i = 0; i < clause.length; i++) positions[i] = cursors[terms.indexOf(clause[i])].positions();
+            if (!phraseMatches(positions)) return false;
+        }
+        return true;
+    }
+
+    /** Returns true if some position p of the first word has the i-th word at p + i for every i. */
+    private static boolean phraseMatches(int[][] positions) {
+        for (int start : positions[0]) {
+            boolean all = true;
+            for (int i = 1; i < positions.length && all; i++) all = Arrays.binarySearch(positions[i], start + i) >= 0;
+            if (all) return true;
+        }
+        return false;
+    }
+
+    /** Appends a position to the term's entry; element 0 of an entry holds its count. */
+    private static void addPosition(Map<String, int[]> positions, String term, int position) {
+        int[] p = positions.get(term);
+        if (p == null) {
+            p = new int[4];
+        } else if (p[0] + 1 == p.length) {
+            p = Arrays.copyOf(p, p.length * 2);
+        }
+        p[++p[0]] = position;
+        positions.put(term, p);
+    }
+
+    /**
+     * Parses a query into a disjunction of conjunctions of clauses; a clause is one word or a phrase of several.
+     * Words are ANDed, "OR" separates alternatives, double quotes make a phrase, and a token that splits into
+     * several words (e.g. "covid-19") is a phrase as well.
+     */
+    static List<List<String[]>> parse(String query) {
+        List<List<String[]>> disjunction = new ArrayList<>();
+        List<String[]> conjunction = new ArrayList<>();
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int end;
+            String token;
+            if (c == '"') {
+                end = query.indexOf('"', i + 1);
+                if (end < 0) end = query.length();
+                token = query.substring(i + 1, end);
+                end++;
+            } else {
+                end = i;
+                while (end < query.length() && !Character.isWhitespace(query.charAt(end))) end++;
+                token = query.substring(i, end);
+                if (token.equals("OR")) {
+                    if (!conjunction.isEmpty()) disjunction.add(conjunction);
+                    conjunction = new ArrayList<>();
+                    i = end;
+                    continue;
+                }
+            }
+            List<String> words = tokenize(token);
+            if (!words.isEmpty()) conjunction.add(words.toArray(new String[0]));
+            i = end;
+        }
+        if (!conjunction.isEmpty()) disjunction.add(conjunction);
+        return disjunction;
+    }
+
+    /** Splits text into case-folded words of letters and digits. */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.hospitalsystemgpt;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * An amount of money as a whole number of its currency's minor units (cents for US dollars), so sums are exact
+ * and cost one long addition. Arithmetic is overflow-checked: a result that does not fit in a long throws instead
+ * of wrapping. Amounts in different currencies are never combined.
+ * <p>
+ * Summing many amounts need not create a Money per step: {@link Total} accumulates minor units in place, and
+ * {@link Bill} and {@link Bill.LineItem} expose their amounts as minor units as well.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+    /** The currency of amounts created without one. */
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    public Money {
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+    }
+
+    /** Returns {@code minorUnits} of the default currency. */
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    /** Returns {@code minorUnits} of {@code currency}. */
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /** Returns zero in {@code currency}. */
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /** Parses a decimal amount such as {@code "12.5"} in the default currency. */
+    public static Money parse(String amount) {
+        return parse(amount, DEFAULT_CURRENCY);
+    }
+
+    /**
+     * Parses a decimal amount in {@code currency}. Throws if the text is not a number or has more decimal places
+     * than the currency has minor units.
+     */
+    public static Money parse(String amount, Currency currency) {
+        if (amount == null || amount.isBlank()) throw new IllegalArgumentException("Amount cannot be null or blank");
+        BigDecimal value;
+        try {
+            value = new BigDecimal(amount.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        return of(value, currency);
+    }
+
+    /** Converts a decimal amount, throwing rather than rounding if it has more decimal places than the currency. */
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null) throw new IllegalArgumentException("Amount cannot be null");
+        if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+        try {
+            return new Money(amount.movePointRight(fractionDigits(currency)).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is not a whole number of "
+                    + currency.getCurrencyCode() + " minor units or is out of range");
+        }
+    }
+
+    /** Returns this amount plus {@code other}, which must be in the same currency. */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /** Returns this amount minus {@code other}, which must be in the same currency. */
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        if (other.minorUnits == Long.MIN_VALUE) throw new IllegalArgumentException("Amount would overflow");
+        return new Money(addExact(minorUnits, -other.minorUnits), currency);
+    }
+
+    /** Returns this amount multiplied by {@code factor}, e.g. a unit price times a quantity. */
+    public Money times(long factor) {
+        long product = minorUnits * factor;
+        if (Math.multiplyHigh(minorUnits, factor) != (product >> 63)) throw new IllegalArgumentException("Amount would overflow");
+        return new Money(product, currency);
+    }
+
+    /** Returns -1, 0 or 1 as this amount is negative, zero or positive. */
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    /** Returns true if this amount is greater than zero. */
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    /** Returns the amount as a decimal in major units, e.g. 12.50 for 1250 cents. */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    /** Returns the amount in major units without the currency, e.g. {@code "12.50"}. */
+    public String toPlainString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /** Compares two amounts in the same currency. */
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /** Returns the amount with its currency code, e.g. {@code "USD 12.50"}. */
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + toPlainString();
+    }
+
+    /** Returns how many minor units make up one major unit of {@code currency}, as a power of ten. */
+    public static int fractionDigits(Currency currency) {
+        return Math.max(0, currency.getDefaultFractionDigits());
+    }
+
+    static long addExact(long a, long b) {
+        try {
+            return Math.addExact(a, b); // An intrinsic: one add and a branch on the overflow flag
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount would overflow");
+        }
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (other == null) throw new IllegalArgumentException("Amount cannot be null");
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency.getCurrencyCode() + " and " + other.currency.getCurrencyCode());
+        }
+    }
+
+    /**
+     * A running sum in one currency that adds in place, so totalling millions of amounts allocates nothing.
+     * Overflow-checked like {@link Money}. Not thread-safe.
+     */
+    public static final class Total {
+        private final Currency currency;
+        private long minorUnits;
+
+        public Total(Currency currency) {
+            if (currency == null) throw new IllegalArgumentException("Currency cannot be null");
+            this.currency = currency;
+        }
+
+        /** Adds an amount, which must be in this total's currency. */
+        public Total add(Money amount) {
+            if (amount == null) throw new IllegalArgumentException("Amount cannot be null");
+            return add(amount.minorUnits(), amount.currency());
+        }
+
+        /** Adds {@code minorUnits} of {@code currency}, which must be this total's currency. */
+        public Total add(long minorUnits, Currency currency) {
+            if (currency != this.currency && !this.currency.equals(currency)) {
+                throw new IllegalArgumentException("Currency mismatch: " + this.currency.getCurrencyCode() + " and " + currency);
+            }
+            this.minorUnits = addExact(this.minorUnits, minorUnits);
+            return this;
+        }
+
+        /** Returns the sum so far in minor units. */
+        public long minorUnits() {
+            return minorUnits;
+        }
+
+        /** Returns the sum so far. */
+        public Money toMoney() {
+            return new Money(minorUnits, currency);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a sorted listing, plus the cursor to fetch the page after it.
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * Constructs a page. {@code nextCursor} is null on the last page.
+     */
+    public Page(List<T> items, String nextCursor) {
+        if (items == null) throw new IllegalArgumentException("Items cannot be null");
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns the items on this page, in listing order.
+     */
+    public List<T> getItems() { return items; }
+
+    /**
+     * Returns the opaque cursor to pass to the next {@code page} call, or null if this is the last page.
+     */
+    public String getNextCursor() { return nextCursor; }
+
+    /**
+     * Returns true if there are more items after this page.
+     */
+    public boolean hasNext() { return nextCursor != null; }
+}
@@ -0,0 +1,189 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over patient names and IDs for type-ahead search.
+ * <p>
+ * Every patient gets an int ordinal. The name's words and the ID are normalized (lower case) and split into
+ * trigrams; each word is padded with two start markers, so "^^j" and "^jo" record that a word starts with "j" and
+ * "jo". A trigram maps to an {@link IntPostings} list of ordinals, about a byte per entry, so the index holds no
+ * per-patient objects besides the ordinal lookup. A query intersects the posting lists of its trigrams, then
+ * checks each candidate against the patient's current name and ID.
+ * <p>
+ * Ordinals only grow, so postings stay sorted and are only ever appended to: a rename or delete retires the old
+ * ordinal instead of editing postings, and the index is rebuilt once retired ordinals outnumber live ones.
+ * Like {@link AppointmentIndex}, calls for the same patient ID must not overlap; everything else is guarded by
+ * the index's monitor. The services update the index inside {@code ConcurrentHashMap.compute}, which holds a bin
+ * monitor; a {@code java.util.concurrent} lock parked on there pins a virtual thread's carrier, and once every
+ * carrier is pinned the lock holder can never be scheduled again. A monitor holder never unmounts, so it always
+ * finishes. Searches hold the monitor too while they intersect postings, so they run one at a time: concurrent
+ * type-ahead queries queue behind each other and behind writes.
+ */
+final class PatientSearchIndex {
+    private static final char START = '\u0002';
+    private static final int MIN_COMPACT = 1024;
+
+    private final Map<Long, IntPostings> postings = new HashMap<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private String[] ids = new String[16];
+    private String[] names = new String[16];
+    private int nextOrdinal;
+
+    /**
+     * Indexes a new patient, or re-indexes one whose name changed. Other changes need no work.
+     */
+    synchronized void put(Patient patient) {
+        String id = patient.getPatientId();
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null) {
+            if (names[ordinal].equals(patient.getPatientName())) return;
+            retire(ordinal);
+        }
+        add(id, patient.getPatientName());
+        compactIfNeeded();
+    }
+
+    /** Removes a patient from the index. */
+    synchronized void remove(String id) {
+        Integer ordinal = ordinals.remove(id);
+        if (ordinal == null) return;
+        retire(ordinal);
+        compactIfNeeded();
+    }
+
+    /**
+     * Returns up to {@code limit} patients from {@code patients} whose current name or ID contains the query,
+     * ignoring case: an exact ID match first, then patients with a name word or ID starting with the query, then
+     * other substring matches. Within a group, patients come in the order they were indexed. Queries shorter than
+     * three characters only match word and ID prefixes.
+     */
+    List<Patient> search(String query, int limit, Map<String, Patient> patients) {
+        String normalized = normalize(query.trim());
+        Set<Patient> found = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return new ArrayList<>();
+        Patient exact = patients.get(query.trim());
+        if (exact != null) found.add(exact);
+        String[] words = normalized.split("\\s+");
+        synchronized (this) {
+            collect(grams(words, true), normalized, true, limit, patients, found);
+            long[] inner = grams(words, false);
+            if (inner.length > 0) collect(inner, normalized, false, limit, patients, found);
+        }
+        return new ArrayList<>(found);
+    }
+
+    private void collect(long[] grams, String query, boolean prefix, int limit, Map<String, Patient> patients,
+                         Set<Patient> found) {
+        if (found.size() >= limit) return;
+        IntPostings.Cursor[] cursors = new IntPostings.Cursor[grams.length];
+        IntPostings[] lists = new IntPostings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) return;
+        }
+        // Drive the intersection from the shortest list.
+        Arrays.sort(lists, Comparator.comparingInt(IntPostings::size));
+        for (int i = 0; i < lists.length; i++) cursors[i] = lists[i].cursor();
+        int doc = cursors[0].next();
+        while (doc >= 0) {
+            int i = 1;
+            for (; i < cursors.length; i++) {
+                int d = cursors[i].advance(doc);
+                if (d < 0) return;
+                if (d > doc) {
+                    doc = cursors[0].advance(d);
+                    break;
+                }
+            }
+            if (i < cursors.length) continue;
+            String id = ids[doc];
+            Patient patient = id == null ? null : patients.get(id);
+            if (patient != null && matches(patient, query, prefix) && found.add(patient) && found.size() >= limit) return;
+            doc = cursors[0].next();
+        }
+    }
+
+    private static boolean matches(Patient patient, String query, boolean prefix) {
+        String name = normalize(patient.getPatientName());
+        String id = normalize(patient.getPatientId());
+        if (!prefix) return name.contains(query) || id.contains(query);
+        if (id.startsWith(query)) return true;
+        for (int at = name.indexOf(query); at >= 0; at = name.indexOf(query, at + 1)) {
+            if (at == 0 || Character.isWhitespace(name.charAt(at - 1))) return true;
+        }
+        return false;
+    }
+
+    private void add(String id, String name) {
+        int ordinal = nextOrdinal++;
+        if (ordinal == ids.length) {
+            ids = Arrays.copyOf(ids, ordinal * 2);
+            names = Arrays.copyOf(names, ordinal * 2);
+        }
+        ids[ordinal] = id;
+        names[ordinal] = name;
+        ordinals.put(id, ordinal);
+        String[] words = (normalize(name) + " " + normalize(id)).trim().split("\\s+");
+        for (long gram : grams(words, true)) postings.computeIfAbsent(gram, g -> new IntPostings()).add(ordinal);
+    }
+
+    private void retire(int ordinal) {
+        ids[ordinal] = null;
+        names[ordinal] = null;
+    }
+
+    private void compactIfNeeded() {
+        int live = ordinals.size();
+        int retired = nextOrdinal - live;
+        if (retired < MIN_COMPACT || retired < live) return;
+        String[] oldIds = ids;
+        String[] oldNames = names;
+        int count = nextOrdinal;
+        postings.clear();
+        ordinals.clear();
+        ids = new String[Math.max(16, live * 2)];
+        names = new String[ids.length];
+        nextOrdinal = 0;
+        for (int i = 0; i < count; i++) {
+            if (oldIds[i] != null) add(oldIds[i], oldNames[i]);
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of the words, as packed 16-bit chars. With {@code prefixes} each word is padded
+     * with start markers, which adds its one- and two-character prefixes; without, only trigrams inside words
+     * are returned.
+     */
+    private static long[] grams(String[] words, boolean prefixes) {
+        int max = 0;
+        for (String word : words) max += word.length() + 2;
+        long[] grams = new long[max];
+        int count = 0;
+        for (String word : words) {
+            if (word.isEmpty()) continue;
+            String padded = prefixes ? "" + START + START + word : word;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams[count++] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            }
+        }
+        Arrays.sort(grams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[i] != grams[distinct - 1]) grams[distinct++] = grams[i];
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Service interface for managing patients.
+ */
+public interface PatientService {
+    /** Orders a listing can be paged in. Ties are always broken by ID, so the order is stable. */
+    enum SortKey {
+        /** By patient ID. */
+        ID,
+        /** By name, ignoring case, then by patient ID. */
+        NAME
+    }
+
+    /**
+     * Registers a new patient.
+     * @param patient the patient to register
+     * @throws IllegalArgumentException if the patient is null or already exists
+     */
+    void registerPatient(Patient patient);
+
+    /**
+     * Finds a patient by their unique ID.
+     * @param id the patient ID
+     * @return the Patient if found, or null if not found
+     */
+    Patient findPatientById(String id);
+
+    /**
+     * Returns a list of all registered patients.
+     * @return list of patients
+     */
+    List<Patient> getAllPatients();
+
+    /**
+     * Updates an existing patient.
+     * @param patient the patient with updated information
+     * @throws IllegalArgumentException if the patient is null or does not exist
+     */
+    void updatePatient(Patient patient);
+
+    /**
+     * Deletes a patient by their ID.
+     * @param id the patient ID
+     * @return true if the patient was deleted, false if not found
+     */
+    boolean deletePatient(String id);
+
+    /**
+     * Searches patient names and IDs, ignoring case. An exact ID match comes first, then patients with a name
+     * word or ID starting with the query, then patients whose name or ID contains it elsewhere. Queries shorter
+     * than three characters only match prefixes. A patient renamed in place is found under its new name once it
+     * has been passed to {@link #updatePatient}.
+     * @param query the text to search for; a blank query matches nothing
+     * @param limit the maximum number of patients to return
+     * @return the matching patients, best matches first
+     * @throws IllegalArgumentException if the query is null or the limit is not positive
+     */
+    List<Patient> searchPatients(String query, int limit);
+
+    /**
+     * Returns one page of patients in a stable order. Pass the previous page's {@link Page#getNextCursor()} to
+     * continue; entries added or removed elsewhere in the listing do not shift the pages that follow.
+     * @param cursor the cursor from the previous page, or null to start at the beginning
+     * @param limit the maximum number of patients on the page
+     * @param sortKey the order to list in; must match the order the cursor was created with
+     * @return the page, whose next cursor is null if there are no more patients
+     * @throws IllegalArgumentException if the limit is not positive, the sort key is null or the cursor is invalid
+     */
+    Page<Patient> page(String cursor, int limit, SortKey sortKey);
+
+    /**
+     * Returns the number of patients without copying them.
+     * @return how many patients there are
+     */
+    int count();
+
+    /**
+     * Returns the number of admitted patients, without scanning the patients.
+     * @return how many patients are admitted
+     */
+    int countAdmitted();
+
+    /**
+     * Returns a stream of changes to patients: one event per registration, update and deletion. Events are published as
+     * the change is applied, so a subscriber can keep a copy or an index current without rescanning. The stream is hot:
+     * a subscriber only sees changes made after it subscribed, and one that falls too far behind is failed.
+     * @return the change stream
+     */
+    Flow.Publisher<ChangeEvent> changes();
+}
@@ -0,0 +1,163 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * In-memory implementation of PatientService. Name and ID searches are answered from a trigram index, and the
+ * admitted count from a tally, both kept up to date on every register/update/delete.
+ */
+public class PatientServiceImpl implements PatientService {
+    private final Map<String, Patient> patientMap;
+    private final SortedIndex<Patient, PatientService.SortKey> sorted = new SortedIndex<>(PatientService.SortKey.class, Map.of(
+            PatientService.SortKey.ID, p -> "",
+            PatientService.SortKey.NAME, p -> SortedIndex.text(p.getPatientName())));
+    private final PatientSearchIndex search = new PatientSearchIndex();
+    private final Tally<Patient, Boolean> admitted = Tally.counting(p -> p.isPatientAdmitted() ? Boolean.TRUE : null);
+    private final ChangePublisher changes;
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap.
+     */
+    public PatientServiceImpl() {
+        this(new HashMap<>());
+    }
+
+    /**
+     * Constructs a service backed by the given empty map. Every mutation is a single atomic per-key map
+     * operation that also updates the indexes, so passing a concurrent map makes the service thread-safe.
+     */
+    protected PatientServiceImpl(Map<String, Patient> patientMap) {
+        this(patientMap, new ChangePublisher());
+    }
+
+    /**
+     * Constructs a single-threaded service backed by a HashMap that publishes its changes to a shared stream.
+     */
+    public PatientServiceImpl(ChangePublisher changes) {
+        this(new HashMap<>(), changes);
+    }
+
+    /**
+     * Constructs a service backed by the given empty map that publishes its changes to the given stream.
+     */
+    protected PatientServiceImpl(Map<String, Patient> patientMap, ChangePublisher changes) {
+        if (changes == null) throw new IllegalArgumentException("Change publisher cannot be null");
+        this.patientMap = patientMap;
+        this.changes = changes;
+    }
+
+    /**
+     * Registers a new patient. Throws if patient is null or already exists.
+     */
+    @Override
+    public void registerPatient(Patient patient) {
+        if (patient == null) throw new IllegalArgumentException("Patient cannot be null");
+        patientMap.compute(patient.getPatientId(), (id, existing) -> {
+            if (existing != null) throw new IllegalArgumentException("Patient already exists");
+            sorted.put(id, patient);
+            search.put(patient);
+            admitted.put(id, patient);
+            changes.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.CREATED, id);
+            return patient;
+        });
+    }
+
+    /**
+     * Finds a patient by their unique ID.
+     */
+    @Override
+    public Patient findPatientById(String id) {
+        return id == null ? null : patientMap.get(id);
+    }
+
+    /**
+     * Returns a list of all registered patients.
+     */
+    @Override
+    public List<Patient> getAllPatients() {
+        return new ArrayList<>(patientMap.values());
+    }
+
+    /**
+     * Updates an existing patient. Throws if patient is null or does not exist.
+     */
+    @Override
+    public void updatePatient(Patient patient) {
+        if (patient == null) throw new IllegalArgumentException("Patient cannot be null");
+        Patient updated = patientMap.computeIfPresent(patient.getPatientId(), (id, existing) -> {
+            sorted.put(id, patient);
+            search.put(patient);
+            admitted.put(id, patient);
+            changes.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, id);
+            return patient;
+        });
+        if (updated == null) throw new IllegalArgumentException("Patient does not exist");
+    }
+
+    /**
+     * Deletes a patient by their ID. Returns true if deleted, false if not found.
+     */
+    @Override
+    public boolean deletePatient(String id) {
+        if (id == null) return false;
+        boolean[] deleted = new boolean[1];
+        patientMap.computeIfPresent(id, (key, existing) -> {
+            sorted.remove(key);
+            search.remove(key);
+            admitted.remove(key);
+            changes.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.DELETED, key);
+            deleted[0] = true;
+            return null;
+        });
+        return deleted[0];
+    }
+
+    /**
+     * Returns the best matches for {@code query} among patient names and IDs, using the trigram index.
+     */
+    @Override
+    public List<Patient> searchPatients(String query, int limit) {
+        if (query == null) throw new IllegalArgumentException("Query cannot be null");
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        return search.search(query, limit, patientMap);
+    }
+
+    /**
+     * Returns one page of patients in {@code sortKey} order, continuing after {@code cursor}.
+     */
+    @Override
+    public Page<Patient> page(String cursor, int limit, PatientService.SortKey sortKey) {
+        return sorted.page(cursor, limit, sortKey, patientMap);
+    }
+
+    /**
+     * Returns the number of patients.
+     */
+    @Override
+    public int count() {
+        return patientMap.size();
+    }
+
+    /**
+     * Returns the number of admitted patients, from the tally.
+     */
+    @Override
+    public int countAdmitted() {
+        return (int) admitted.total(Boolean.TRUE);
+    }
+
+    /**
+     * Returns the stream of patient changes, published as each change is applied.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return changes.only(ChangeEvent.EntityType.PATIENT);
+    }
+}
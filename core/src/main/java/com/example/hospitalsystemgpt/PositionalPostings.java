@@ -0,0 +1,115 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.Arrays;
+
+/**
+ * An append-only posting list of documents with the positions a term occurs at in each, for phrase queries.
+ * Like {@link IntPostings} everything is variable-length deltas in one byte array: per document the gap to the
+ * previous document, the byte length of its positions, then the gaps between positions. The length prefix lets
+ * a cursor skip a document's positions without decoding them. Not thread-safe.
+ */
+final class PositionalPostings {
+    private byte[] bytes = new byte[16];
+    private int length;
+    private int size;
+    private int lastDoc = -1;
+
+    /**
+     * Appends a document, which must be greater than every document already in the list, with the first
+     * {@code count} entries of {@code positions} (increasing).
+     */
+    void add(int doc, int[] positions, int count) {
+        if (doc <= lastDoc) throw new IllegalArgumentException("Documents must be strictly increasing");
+        int positionBytes = 0;
+        for (int i = 0, previous = -1; i < count; previous = positions[i++]) positionBytes += varintSize(positions[i] - previous);
+        ensure(10 + positionBytes);
+        writeVarint(doc - lastDoc);
+        writeVarint(positionBytes);
+        for (int i = 0, previous = -1; i < count; previous = positions[i++]) writeVarint(positions[i] - previous);
+        size++;
+        lastDoc = doc;
+    }
+
+    /** Returns the number of documents. */
+    int size() {
+        return size;
+    }
+
+    /** Returns a cursor positioned before the first document. */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private static int varintSize(int value) {
+        int n = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            n++;
+        }
+        return n;
+    }
+
+    /** Forward-only reader. Must not be used after the list is changed. */
+    final class Cursor {
+        private int offset;
+        private int current = -1;
+        private int positionsStart;
+        private int positionsEnd;
+
+        /** Moves to the next document and returns it, or -1 at the end. */
+        int next() {
+            if (offset >= length) return current = -1;
+            current += readVarint();
+            int positionBytes = readVarint();
+            positionsStart = offset;
+            positionsEnd = offset + positionBytes;
+            offset = positionsEnd;
+            return current;
+        }
+
+        /** Moves to the first document at or after {@code target} and returns it, or -1 at the end. */
+        int advance(int target) {
+            if (current >= target) return current;
+            int doc;
+            do {
+                doc = next();
+            } while (doc >= 0 && doc < target);
+            return doc;
+        }
+
+        /** Returns the positions of the term in the current document. */
+        int[] positions() {
+            int[] positions = new int[positionsEnd - positionsStart];
+            int count = 0;
+            int saved = offset;
+            offset = positionsStart;
+            for (int position = -1; offset < positionsEnd; ) positions[count++] = position += readVarint();
+            offset = saved;
+            return Arrays.copyOf(positions, count);
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-day occupancy bitmaps at 15-minute granularity, keyed by patient and by appointment type (the resource
+ * an appointment uses, e.g. a vaccination room). A day has 96 slots, stored as two longs per key, so checking,
+ * marking and clearing a slot is O(1) and scanning a day for free slots is a few bit operations.
+ * <p>
+ * An appointment occupies the slot its start time falls in. Plain scheduling may still double-book a slot
+ * (e.g. when restoring data); the extra occupants are counted separately so that releasing one of them does
+ * not free the slot. All changes to one day happen under that day's monitor; different days are independent.
+ * A day is dropped once its last slot is released, so the map only holds days with bookings.
+ */
+final class SlotOccupancy {
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    /** How far ahead {@link #findFreeSlots} looks before giving up. */
+    static final int SEARCH_DAYS = 366;
+
+    private static final class Day {
+        final Map<String, long[]> patients = new HashMap<>();
+        final Map<String, long[]> types = new HashMap<>();
+        /** Occupants beyond the first, per "p:" / "t:" key and slot; almost always empty. */
+        final Map<String, Integer> extra = new HashMap<>();
+        /** Set under the monitor once the day is dropped from the map; an occupier then fetches a new one. */
+        boolean removed;
+    }
+
+    private final Map<Long, Day> days = new ConcurrentHashMap<>();
+    private final long[] openMask;
+
+    /**
+     * Creates an empty occupancy map. Free-slot searches only return slots starting within {@code [opens, closes)}.
+     */
+    SlotOccupancy(LocalTime opens, LocalTime closes) {
+        openMask = new long[2];
+        for (int slot = slotOf(opens); slot < SLOTS_PER_DAY && slotStart(slot).isBefore(closes); slot++) set(openMask, slot);
+    }
+
+    /**
+     * Marks the slot at {@code dateTime} as used by the patient and the type. If {@code requireFree} is set and
+     * either is already using it, nothing is marked and false is returned.
+     */
+    boolean occupy(String patientId, String type, LocalDateTime dateTime, boolean requireFree) {
+        int slot = slotOf(dateTime.toLocalTime());
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        String typeKey = typeKey(type);
+        while (true) {
+            Day day = days.computeIfAbsent(epochDay, d -> new Day());
+            synchronized (day) {
+                if (day.removed) continue;
+                if (requireFree) {
+                    long[] patientBits = day.patients.get(patientId);
+                    long[] typeBits = day.types.get(typeKey);
+                    if ((patientBits != null && isSet(patientBits, slot)) || (typeBits != null && isSet(typeBits, slot))) return false;
+                }
+                mark(day, "p:" + patientId, day.patients.computeIfAbsent(patientId, k -> new long[2]), slot);
+                mark(day, "t:" + typeKey, day.types.computeIfAbsent(typeKey, k -> new long[2]), slot);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases one use of the slot at {@code dateTime} by the patient and the type.
+     */
+    void release(String patientId, String type, LocalDateTime dateTime) {
+        int slot = slotOf(dateTime.toLocalTime());
+        long epochDay = dateTime.toLocalDate().toEpochDay();
+        Day day = days.get(epochDay);
+        if (day == null) return;
+        String typeKey = typeKey(type);
+        synchronized (day) {
+            unmark(day, "p:" + patientId, day.patients, patientId, slot);
+            unmark(day, "t:" + typeKey, day.types, typeKey, slot);
+            if (day.patients.isEmpty() && day.types.isEmpty() && !day.removed) {
+                day.removed = true;
+                days.remove(epochDay, day);
+            }
+        }
+    }
+
+    /** Returns the number of days with at least one slot in use. */
+    int dayCount() {
+        return days.size();
+    }
+
+    /**
+     * Returns true if neither the patient nor the type uses the slot at {@code dateTime}.
+     */
+    boolean isFree(String patientId, String type, LocalDateTime dateTime) {
+        int slot = slotOf(dateTime.toLocalTime());
+        Day day = days.get(dateTime.toLocalDate().toEpochDay());
+        if (day == null) return true;
+        synchronized (day) {
+            long[] patientBits = patientId == null ? null : day.patients.get(patientId);
+            long[] typeBits = type == null ? null : day.types.get(typeKey(type));
+            return (patientBits == null || !isSet(patientBits, slot)) && (typeBits == null || !isSet(typeBits, slot));
+        }
+    }
+
+    /**
+     * Returns the start times of up to {@code count} slots at or after {@code after}, within opening hours, that
+     * neither the patient nor the type uses. A null patient or type is not constrained.
+     */
+    List<LocalDateTime> findFreeSlots(String patientId, String type, LocalDateTime after, int count) {
+        List<LocalDateTime> free = new ArrayList<>(count);
+        String typeKey = type == null ? null : typeKey(type);
+        LocalDate date = after.toLocalDate();
+        int firstSlot = slotOf(after.toLocalTime());
+        // Round up to the next slot boundary so a returned slot never starts before 'after'.
+        if (!slotStart(firstSlot).equals(after.toLocalTime())) firstSlot++;
+        for (int d = 0; d < SEARCH_DAYS && free.size() < count; d++, date = date.plusDays(1), firstSlot = 0) {
+            long lo = openMask[0], hi = openMask[1];
+            Day day = days.get(date.toEpochDay());
+            if (day != null) {
+                synchronized (day) {
+                    long[] patientBits = patientId == null ? null : day.patients.get(patientId);
+                    long[] typeBits = typeKey == null ? null : day.types.get(typeKey);
+                    if (patientBits != null) { lo &= ~patientBits[0]; hi &= ~patientBits[1]; }
+                    if (typeBits != null) { lo &= ~typeBits[0]; hi &= ~typeBits[1]; }
+                }
+            }
+            if (firstSlot >= 64) {
+                lo = 0;
+                hi &= firstSlot >= SLOTS_PER_DAY ? 0 : -1L << (firstSlot - 64);
+            } else {
+                lo &= -1L << firstSlot;
+            }
+            while (lo != 0 && free.size() < count) {
+                free.add(LocalDateTime.of(date, slotStart(Long.numberOfTrailingZeros(lo))));
+                lo &= lo - 1;
+            }
+            while (hi != 0 && free.size() < count) {
+                free.add(LocalDateTime.of(date, slotStart(64 + Long.numberOfTrailingZeros(hi))));
+                hi &= hi - 1;
+            }
+        }
+        return free;
+    }
+
+    /** Returns the start of the slot {@code dateTime} falls in. */
+    static LocalDateTime slotStartOf(LocalDateTime dateTime) {
+        return LocalDateTime.of(dateTime.toLocalDate(), slotStart(slotOf(dateTime.toLocalTime())));
+    }
+
+    /** Returns the key appointment types are compared by: case and surrounding spaces do not matter. */
+    static String typeKey(String type) {
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int slotOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    private static LocalTime slotStart(int slot) {
+        return LocalTime.of(slot * SLOT_MINUTES / 60, slot * SLOT_MINUTES % 60);
+    }
+
+    private static void mark(Day day, String key, long[] bits, int slot) {
+        if (isSet(bits, slot)) {
+            day.extra.merge(key + "@" + slot, 1, Integer::sum);
+        } else {
+            set(bits, slot);
+        }
+    }
+
+    private static void unmark(Day day, String key, Map<String, long[]> owners, String owner, int slot) {
+        long[] bits = owners.get(owner);
+        if (bits == null) return;
+        String extraKey = key + "@" + slot;
+        Integer extra = day.extra.get(extraKey);
+        if (extra != null) {
+            if (extra == 1) day.extra.remove(extraKey); else day.extra.put(extraKey, extra - 1);
+            return;
+        }
+        bits[slot >> 6] &= ~(1L << (slot & 63));
+        if (bits[0] == 0 && bits[1] == 0) owners.remove(owner);
+    }
+
+    private static boolean isSet(long[] bits, int slot) {
+        return (bits[slot >> 6] & (1L << (slot & 63))) != 0;
+    }
+
+    private static void set(long[] bits, int slot) {
+        bits[slot >> 6] |= 1L << (slot & 63);
+    }
+}
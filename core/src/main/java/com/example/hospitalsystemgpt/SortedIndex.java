@@ -0,0 +1,132 @@
+package com.example.hospitalsystemgpt;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Ordered views of one entity map, one per sort key, used to serve cursor-based pages.
+ * <p>
+ * Each view maps an order-preserving string ({@code sortValue + '\0' + id}) to the entity ID, so entries with
+ * equal sort values are ordered by ID and the order is total and stable. A cursor is the Base64 form of the sort
+ * key name and the last entry returned; the next page continues strictly after that entry with one O(log n)
+ * skip-list seek, so it is unaffected by inserts or deletes elsewhere in the listing.
+ * <p>
+ * Like {@link AppointmentIndex}, the index remembers the entries it last created per ID, and calls for the same
+ * ID must not overlap.
+ */
+final class SortedIndex<T, K extends Enum<K>> {
+    private static final char SEPARATOR = '\0';
+    private static final DateTimeFormatter SORTABLE_DATE_TIME = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS");
+
+    private final Class<K> keyType;
+    private final Map<K, Function<T, String>> sortValues;
+    private final Map<K, NavigableMap<String, String>> orders;
+    private final Map<String, Map<K, String>> indexed = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index. {@code sortValues} maps every sort key to a function giving an entity's order-preserving
+     * sort value (see {@link #text}, {@link #date}, {@link #dateTime}).
+     */
+    SortedIndex(Class<K> keyType, Map<K, Function<T, String>> sortValues) {
+        this.keyType = keyType;
+        this.sortValues = new EnumMap<>(sortValues);
+        this.orders = new EnumMap<>(keyType);
+        for (K key : keyType.getEnumConstants()) {
+            if (!sortValues.containsKey(key)) throw new IllegalArgumentException("No sort value for " + key);
+            orders.put(key, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /** Indexes a new entity or re-indexes a changed one. */
+    void put(String id, T entity) {
+        Map<K, String> now = new EnumMap<>(keyType);
+        for (Map.Entry<K, Function<T, String>> e : sortValues.entrySet()) {
+            now.put(e.getKey(), e.getValue().apply(entity) + SEPARATOR + id);
+        }
+        Map<K, String> before = indexed.put(id, now);
+        for (Map.Entry<K, String> e : now.entrySet()) {
+            String old = before == null ? null : before.get(e.getKey());
+            if (e.getValue().equals(old)) continue;
+            NavigableMap<String, String> order = orders.get(e.getKey());
+            if (old != null) order.remove(old);
+            order.put(e.getValue(), id);
+        }
+    }
+
+    /** Removes an entity from every view. */
+    void remove(String id) {
+        Map<K, String> before = indexed.remove(id);
+        if (before == null) return;
+        for (Map.Entry<K, String> e : before.entrySet()) orders.get(e.getKey()).remove(e.getValue());
+    }
+
+    /**
+     * Returns up to {@code limit} entities after {@code cursor} (or from the start if null) in {@code sortKey}
+     * order. IDs removed from {@code entities} since they were read from the view are skipped.
+     */
+    Page<T> page(String cursor, int limit, K sortKey, Map<String, T> entities) {
+        if (sortKey == null) throw new IllegalArgumentException("Sort key cannot be null");
+        if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+        NavigableMap<String, String> order = orders.get(sortKey);
+        NavigableMap<String, String> rest = cursor == null ? order : order.tailMap(decodeCursor(cursor, sortKey), false);
+        List<T> items = new ArrayList<>(Math.min(limit, 1024));
+        String last = null;
+        Iterator<Map.Entry<String, String>> it = rest.entrySet().iterator();
+        while (items.size() < limit && it.hasNext()) {
+            Map.Entry<String, String> entry = it.next();
+            T entity = entities.get(entry.getValue());
+            if (entity == null) continue;
+            items.add(entity);
+            last = entry.getKey();
+        }
+        boolean more = last != null && it.hasNext();
+        return new Page<>(items, more ? encodeCursor(sortKey, last) : null);
+    }
+
+    /** Sort value for text: case-insensitive, then case-sensitive so the order stays total. */
+    static String text(String value) {
+        return value.toLowerCase(Locale.ROOT) + SEPARATOR + value;
+    }
+
+    /** Sort value for a date. */
+    static String date(LocalDate value) {
+        return value.toString();
+    }
+
+    /** Sort value for a date and time, fixed width so string order matches time order. */
+    static String dateTime(LocalDateTime value) {
+        return SORTABLE_DATE_TIME.format(value);
+    }
+
+    private static String encodeCursor(Enum<?> sortKey, String position) {
+        String raw = sortKey.name() + SEPARATOR + position;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor, Enum<?> sortKey) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        int split = raw.indexOf(SEPARATOR);
+        if (split < 0 || !raw.substring(0, split).equals(sortKey.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to sort key " + sortKey);
+        }
+        return raw.substring(split + 1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Running totals over one entity map, grouped by a key derived from each entity, kept up to date on every
+ * create/update/delete so that reading a total never scans the entities.
+ * <p>
+ * Like {@link SortedIndex}, the tally remembers what it last counted per ID: entities are changed in place before
+ * they are updated, so the previous group and amount cannot be read from the entity itself. Unlike the indexes,
+ * calls for the same ID may overlap; each is applied atomically per ID, and the entity is measured inside that
+ * step, so the last call counts the latest state.
+ */
+final class Tally<T, G> {
+    private record Counted<G>(G group, long amount) {
+    }
+
+    private final Function<T, G> groupOf;
+    private final ToLongFunction<T> amountOf;
+    private final Map<String, Counted<G>> counted = new ConcurrentHashMap<>();
+    private final Map<G, Long> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a tally. {@code groupOf} gives the group an entity counts towards, or null if it counts towards
+     * none; {@code amountOf} gives the amount it adds to that group's total.
+     */
+    Tally(Function<T, G> groupOf, ToLongFunction<T> amountOf) {
+        this.groupOf = groupOf;
+        this.amountOf = amountOf;
+    }
+
+    /** Creates a tally counting each entity once towards its group. */
+    static <T, G> Tally<T, G> counting(Function<T, G> groupOf) {
+        return new Tally<>(groupOf, entity -> 1);
+    }
+
+    /** Counts a new entity or recounts a changed one. */
+    void put(String id, T entity) {
+        counted.compute(id, (key, before) -> {
+            G group = groupOf.apply(entity);
+            long amount = group == null ? 0 : amountOf.applyAsLong(entity);
+            Counted<G> now = group == null || amount == 0 ? null : new Counted<>(group, amount);
+            if (before != null && now != null && before.equals(now)) return before;
+            if (before != null) add(before.group(), -before.amount());
+            if (now != null) add(now.group(), now.amount());
+            return now;
+        });
+    }
+
+    /** Stops counting an entity. */
+    void remove(String id) {
+        counted.computeIfPresent(id, (key, before) -> {
+            add(before.group(), -before.amount());
+            return null;
+        });
+    }
+
+    /** Returns the total of a group, 0 if nothing counts towards it. */
+    long total(G group) {
+        Long total = totals.get(group);
+        return total == null ? 0 : total;
+    }
+
+    private void add(G group, long delta) {
+        // Groups whose total drops to zero are removed, so the map only holds groups that are counted.
+        totals.compute(group, (key, total) -> {
+            long sum = (total == null ? 0 : total) + delta;
+            return sum == 0 ? null : sum;
+        });
+    }
+}
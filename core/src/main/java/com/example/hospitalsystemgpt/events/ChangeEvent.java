@@ -0,0 +1,24 @@
+package com.example.hospitalsystemgpt.events;
+
+/**
+ * One change to one entity, as published by the services' {@code changes()} streams. The event names the entity
+ * rather than carrying it; consumers that need the new state look it up by ID.
+ *
+ * @param entityType what kind of entity changed
+ * @param kind whether it was created, updated or deleted
+ * @param entityId the entity's ID
+ * @param version the event's position in its stream; a later change to the same entity always has a larger one
+ */
+public record ChangeEvent(EntityType entityType, Kind kind, String entityId, long version) {
+    /** The entity kinds the services manage. */
+    public enum EntityType { PATIENT, APPOINTMENT, MEDICAL_RECORD, BILL, INVENTORY_ITEM }
+
+    /** What happened to the entity. Status changes, payments and stock movements are updates. */
+    public enum Kind { CREATED, UPDATED, DELETED }
+
+    public ChangeEvent {
+        if (entityType == null || kind == null || entityId == null) {
+            throw new IllegalArgumentException("Entity type, kind and ID cannot be null");
+        }
+    }
+}
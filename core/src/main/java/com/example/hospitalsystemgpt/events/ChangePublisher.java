@@ -0,0 +1,295 @@
+package com.example.hospitalsystemgpt.events;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Change-data-capture stream shared by the services. Writers {@link #publish} from inside their map updates, so
+ * events for one entity are claimed in the order its changes were applied; publishing claims a slot in a
+ * lock-free ring buffer and returns, and costs a single volatile read while nobody is subscribed.
+ * <p>
+ * One dispatcher thread reads the ring in sequence order and hands each event to every subscription's bounded
+ * buffer. Subscriptions honour {@link Flow.Subscription#request} and deliver on their own executor task, so a slow
+ * subscriber never holds up writers or other subscribers. A subscriber that lets its buffer fill up is failed with
+ * an {@link IllegalStateException} rather than silently missing events: it has lost track and must rescan.
+ * <p>
+ * The stream is hot: a subscriber sees the changes made after it subscribed. The dispatcher is a platform thread
+ * because writers that find the ring full wait for it while holding a map bin lock, which would pin a virtual
+ * thread and could starve a virtual dispatcher of carriers.
+ */
+public final class ChangePublisher implements Flow.Publisher<ChangeEvent>, AutoCloseable {
+    private static final System.Logger LOG = System.getLogger(ChangePublisher.class.getName());
+    /** Ring slots, and so the most events writers can be ahead of the dispatcher. */
+    public static final int DEFAULT_RING_SIZE = 4096;
+    /** Events buffered per subscriber beyond its outstanding demand before it is failed. */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int SPINS_BEFORE_PARKING = 100;
+
+    private final ChangeEvent[] ring;
+    /** Per slot: the sequence number of the event in it, once that event may be read. */
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    /** The next sequence number the dispatcher reads; slots below it are free. */
+    private volatile long consumed;
+    private final int bufferSize;
+    private final Executor executor;
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile Thread dispatcher;
+    private volatile boolean dispatcherParked;
+    private volatile boolean closed;
+
+    /**
+     * Creates a publisher with the default sizes that delivers to each subscriber on virtual threads.
+     */
+    public ChangePublisher() {
+        this(DEFAULT_RING_SIZE, DEFAULT_BUFFER_SIZE, task -> Thread.ofVirtual().name("change-subscriber").start(task));
+    }
+
+    /**
+     * Creates a publisher.
+     * @param ringSize ring slots; must be a power of two
+     * @param bufferSize events buffered per subscriber before it is failed
+     * @param executor runs the tasks that deliver to subscribers
+     */
+    public ChangePublisher(int ringSize, int bufferSize, Executor executor) {
+        if (ringSize <= 0 || Integer.bitCount(ringSize) != 1) throw new IllegalArgumentException("Ring size must be a power of two");
+        if (bufferSize <= 0) throw new IllegalArgumentException("Buffer size must be positive");
+        if (executor == null) throw new IllegalArgumentException("Executor cannot be null");
+        this.ring = new ChangeEvent[ringSize];
+        this.published = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) published.set(i, -1);
+        this.mask = ringSize - 1;
+        this.bufferSize = bufferSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Publishes a change. Never blocks unless the dispatcher is a whole ring behind, and does nothing while there
+     * are no subscribers or after {@link #close()}.
+     */
+    public void publish(ChangeEvent.EntityType entityType, ChangeEvent.Kind kind, String entityId) {
+        if (subscriptions.isEmpty() || closed) return;
+        long seq = claimed.getAndIncrement();
+        while (seq - consumed >= ring.length) {
+            if (closed) return;
+            Thread.yield();
+        }
+        int slot = (int) seq & mask;
+        ring[slot] = new ChangeEvent(entityType, kind, entityId, seq);
+        published.set(slot, seq);
+        if (dispatcherParked) LockSupport.unpark(dispatcher);
+    }
+
+    /** Subscribes to every change. */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ChangeEvent> subscriber) {
+        subscribe(subscriber, null);
+    }
+
+    /**
+     * Returns a view of this stream with only the changes to one type of entity.
+     */
+    public Flow.Publisher<ChangeEvent> only(ChangeEvent.EntityType entityType) {
+        if (entityType == null) throw new IllegalArgumentException("Entity type cannot be null");
+        return subscriber -> subscribe(subscriber, entityType);
+    }
+
+    /**
+     * Stops the dispatcher after it has handed out the events already published, and completes every subscriber
+     * once it has received them. Later subscribers are completed straight away.
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            thread = dispatcher;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Subscription subscription : subscriptions) subscription.complete();
+    }
+
+    private void subscribe(Flow.Subscriber<? super ChangeEvent> subscriber, ChangeEvent.EntityType filter) {
+        // The Flow specification requires a NullPointerException here.
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        Subscription subscription = new Subscription(subscriber, filter);
+        synchronized (this) {
+            if (!closed) {
+                subscriptions.add(subscription);
+                if (dispatcher == null) {
+                    dispatcher = Thread.ofPlatform().name("change-dispatcher").daemon().start(this::dispatch);
+                }
+            }
+        }
+        if (closed) subscription.complete();
+        else subscription.signal();
+    }
+
+    private void dispatch() {
+        long next = consumed;
+        int idle = 0;
+        while (true) {
+            int slot = (int) next & mask;
+            if (published.get(slot) == next) {
+                ChangeEvent event = ring[slot];
+                ring[slot] = null;
+                consumed = ++next;
+                for (Subscription subscription : subscriptions) subscription.offer(event);
+                idle = 0;
+            } else if (closed) {
+                return;
+            } else if (++idle < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+            } else {
+                // Writers read the flag after publishing, so either they see it and unpark, or this sees their event.
+                dispatcherParked = true;
+                if (published.get(slot) != next && !closed) LockSupport.parkNanos(this, 1_000_000);
+                dispatcherParked = false;
+                idle = 0;
+            }
+        }
+    }
+
+    /** One subscriber's buffer and demand. Signals to the subscriber are only ever sent by one task at a time. */
+    private final class Subscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super ChangeEvent> subscriber;
+        private final ChangeEvent.EntityType filter;
+        private final ArrayDeque<ChangeEvent> buffer = new ArrayDeque<>();
+        // Guarded by this.
+        private long demand;
+        private boolean subscribed;
+        private boolean scheduled;
+        private boolean completed;
+        private boolean cancelled;
+        private Throwable error;
+
+        Subscription(Flow.Subscriber<? super ChangeEvent> subscriber, ChangeEvent.EntityType filter) {
+            this.subscriber = subscriber;
+            this.filter = filter;
+        }
+
+        /** Buffers an event from the dispatcher, or fails the subscriber if its buffer is full. */
+        void offer(ChangeEvent event) {
+            if (filter != null && event.entityType() != filter) return;
+            synchronized (this) {
+                if (cancelled || error != null) return;
+                if (buffer.size() == bufferSize) {
+                    buffer.clear();
+                    error = new IllegalStateException("Subscriber fell more than " + bufferSize + " events behind");
+                } else {
+                    buffer.add(event);
+                    if (demand == 0) return;
+                }
+            }
+            signal();
+        }
+
+        void complete() {
+            synchronized (this) {
+                completed = true;
+            }
+            signal();
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (cancelled) return;
+                if (n <= 0) {
+                    buffer.clear();
+                    error = new IllegalArgumentException("Requested " + n + " events; requests must be positive");
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                buffer.clear();
+            }
+            subscriptions.remove(this);
+        }
+
+        /** Starts a delivery task unless one is already running; that one will see the new state. */
+        void signal() {
+            synchronized (this) {
+                if (scheduled || cancelled) return;
+                scheduled = true;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOG.log(System.Logger.Level.WARNING, "Cannot deliver change events; cancelling the subscription", e);
+                cancel();
+            }
+        }
+
+        @Override
+        public void run() {
+            boolean first;
+            synchronized (this) {
+                first = !subscribed;
+                subscribed = true;
+            }
+            if (first) subscriber.onSubscribe(this);
+            while (true) {
+                ChangeEvent event = null;
+                Throwable failure = null;
+                boolean complete = false;
+                synchronized (this) {
+                    if (cancelled) {
+                        scheduled = false;
+                        return;
+                    }
+                    if (error != null) {
+                        failure = error;
+                        cancelled = true;
+                    } else if (demand > 0 && !buffer.isEmpty()) {
+                        event = buffer.poll();
+                        demand--;
+                    } else if (completed && buffer.isEmpty()) {
+                        complete = true;
+                        cancelled = true;
+                    } else {
+                        scheduled = false;
+                        return;
+                    }
+                }
+                if (failure != null || complete) {
+                    subscriptions.remove(this);
+                    if (failure != null) subscriber.onError(failure);
+                    else subscriber.onComplete();
+                    return;
+                }
+                try {
+                    subscriber.onNext(event);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        buffer.clear();
+                        error = e;
+                    }
+                }
+            }
+        }
+    }
+}
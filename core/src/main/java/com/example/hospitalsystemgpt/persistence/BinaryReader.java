@@ -0,0 +1,53 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decoding counterparts of the {@link BinaryWriter} methods, reading from a {@link ByteBuffer}.
+ * Fixed-width values use the buffer's own getters (big-endian), matching the writer.
+ */
+public final class BinaryReader {
+    private BinaryReader() { }
+
+    public static boolean readBoolean(ByteBuffer in) { return in.get() != 0; }
+
+    public static int readVarInt(ByteBuffer in) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) return result;
+        }
+        throw new IllegalStateException("Malformed var-int");
+    }
+
+    public static long readVarLong(ByteBuffer in) {
+        long z = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            z |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return (z >>> 1) ^ -(z & 1);
+        }
+        throw new IllegalStateException("Malformed var-long");
+    }
+
+    /**
+     * Reads a string written by {@link BinaryWriter#writeString(String)}; returns null if a null was written.
+     */
+    public static String readString(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        int len = readVarInt(in);
+        if (len > in.remaining()) throw new IllegalStateException("String length exceeds record");
+        String s;
+        if (in.hasArray()) {
+            s = new String(in.array(), in.arrayOffset() + in.position(), len, StandardCharsets.UTF_8);
+            in.position(in.position() + len);
+        } else {
+            byte[] bytes = new byte[len];
+            in.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer used to encode log and snapshot records.
+ * Instances are reused between records (see {@link #reset()}) so encoding does not allocate per call.
+ */
+public final class BinaryWriter {
+    private byte[] buf;
+    private int size;
+
+    /**
+     * Constructs a writer with the given initial capacity in bytes.
+     */
+    public BinaryWriter(int initialCapacity) {
+        if (initialCapacity <= 0) throw new IllegalArgumentException("Initial capacity must be positive");
+        this.buf = new byte[initialCapacity];
+    }
+
+    /**
+     * Discards all written bytes, keeping the underlying array for reuse.
+     */
+    public void reset() { size = 0; }
+
+    /**
+     * Returns the number of bytes written since the last reset.
+     */
+    public int size() { return size; }
+
+    /**
+     * Returns the backing array. Only the first {@link #size()} bytes are valid.
+     */
+    public byte[] array() { return buf; }
+
+    public void writeByte(int v) {
+        ensure(1);
+        buf[size++] = (byte) v;
+    }
+
+    public void writeBoolean(boolean v) { writeByte(v ? 1 : 0); }
+
+    public void writeInt(int v) {
+        ensure(4);
+        buf[size++] = (byte) (v >>> 24);
+        buf[size++] = (byte) (v >>> 16);
+        buf[size++] = (byte) (v >>> 8);
+        buf[size++] = (byte) v;
+    }
+
+    public void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+
+    /**
+     * Writes an unsigned variable-length int (7 bits per byte, high bit set on continuation).
+     */
+    public void writeVarInt(int v) {
+        ensure(5);
+        while ((v & ~0x7F) != 0) {
+            buf[size++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[size++] = (byte) v;
+    }
+
+    /**
+     * Writes a variable-length long, zig-zag encoded so small negative values stay short.
+     */
+    public void writeVarLong(long v) {
+        ensure(10);
+        long z = (v << 1) ^ (v >> 63);
+        while ((z & ~0x7FL) != 0) {
+            buf[size++] = (byte) ((z & 0x7F) | 0x80);
+            z >>>= 7;
+        }
+        buf[size++] = (byte) z;
+    }
+
+    /**
+     * Writes a string as a var-int byte length followed by its UTF-8 bytes. A null string is written as length 0
+     * preceded by a presence flag.
+     */
+    public void writeString(String s) {
+        if (s == null) {
+            writeByte(0);
+            return;
+        }
+        writeByte(1);
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    public void writeBytes(byte[] src, int off, int len) {
+        ensure(len);
+        System.arraycopy(src, off, buf, size, len);
+        size += len;
+    }
+
+    private void ensure(int extra) {
+        int needed = size + extra;
+        if (needed > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(needed, buf.length << 1));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.AppointmentService;
+import com.example.hospitalsystemgpt.Page;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * AppointmentService that records every mutation in a write-ahead log before acknowledging it.
+ * Reads go straight to the in-memory delegate.
+ */
+public class DurableAppointmentService implements AppointmentService {
+    private final AppointmentService delegate;
+    private final WriteAheadLog log;
+    private final LockStripes stripes;
+
+    /**
+     * Constructs a durable service around an (already replayed) single-threaded in-memory delegate.
+     */
+    public DurableAppointmentService(AppointmentService delegate, WriteAheadLog log) {
+        this(delegate, log, false);
+    }
+
+    /**
+     * Constructs a durable service around an (already replayed) in-memory delegate. If the delegate is
+     * thread-safe, writes to different IDs are logged in parallel instead of one at a time.
+     */
+    public DurableAppointmentService(AppointmentService delegate, WriteAheadLog log, boolean threadSafeDelegate) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate cannot be null");
+        if (log == null) throw new IllegalArgumentException("Log cannot be null");
+        this.delegate = delegate;
+        this.log = log;
+        this.stripes = new LockStripes(threadSafeDelegate);
+    }
+
+    /**
+     * Schedules a new appointment and logs it.
+     */
+    @Override
+    public void scheduleAppointment(Appointment appointment) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(appointment == null ? null : appointment.getAppointmentId());
+        synchronized (stripe) {
+            delegate.scheduleAppointment(appointment);
+            seq = logPut(stripe, appointment);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Schedules an appointment if its slot is free and logs it.
+     */
+    @Override
+    public boolean tryScheduleAppointment(Appointment appointment) {
+        long seq = tryScheduleAndLog(appointment);
+        if (seq == 0) return false;
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Schedules each appointment whose slot is free and logs it, waiting for durability once for the whole batch.
+     */
+    @Override
+    public List<Appointment> scheduleAppointments(List<Appointment> appointments) {
+        if (appointments == null || appointments.contains(null)) throw new IllegalArgumentException("Appointments cannot be null");
+        List<Appointment> rejected = new ArrayList<>();
+        long lastSeq = 0;
+        for (Appointment appointment : appointments) {
+            try {
+                long seq = tryScheduleAndLog(appointment);
+                if (seq == 0) rejected.add(appointment); else lastSeq = Math.max(lastSeq, seq);
+            } catch (IllegalArgumentException e) {
+                rejected.add(appointment);
+            }
+        }
+        log.awaitDurable(lastSeq);
+        return rejected;
+    }
+
+    @Override
+    public List<Appointment> findConflicts(Appointment candidate) {
+        return delegate.findConflicts(candidate);
+    }
+
+    @Override
+    public List<LocalDateTime> findFreeSlots(String patientId, String type, LocalDateTime after, int count) {
+        return delegate.findFreeSlots(patientId, type, after, count);
+    }
+
+    @Override
+    public Appointment findAppointmentById(String id) {
+        return delegate.findAppointmentById(id);
+    }
+
+    @Override
+    public List<Appointment> getAllAppointments() {
+        return delegate.getAllAppointments();
+    }
+
+    @Override
+    public Page<Appointment> page(String cursor, int limit, AppointmentService.SortKey sortKey) {
+        return delegate.page(cursor, limit, sortKey);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Map<Appointment.Status, Integer> countByStatus(LocalDate date) {
+        return delegate.countByStatus(date);
+    }
+
+    /**
+     * Returns the delegate's change stream. Events are published when a change is applied in memory, which is
+     * just before it is durable.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return delegate.changes();
+    }
+
+    @Override
+    public List<Appointment> findAppointmentsByPatient(String patientId) {
+        return delegate.findAppointmentsByPatient(patientId);
+    }
+
+    @Override
+    public List<Appointment> findAppointmentsBetween(LocalDateTime from, LocalDateTime to) {
+        return delegate.findAppointmentsBetween(from, to);
+    }
+
+    @Override
+    public List<Appointment> findAppointmentsByStatus(Appointment.Status status) {
+        return delegate.findAppointmentsByStatus(status);
+    }
+
+    /**
+     * Updates an existing appointment and logs its new state.
+     */
+    @Override
+    public void updateAppointment(Appointment appointment) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(appointment == null ? null : appointment.getAppointmentId());
+        synchronized (stripe) {
+            delegate.updateAppointment(appointment);
+            seq = logPut(stripe, appointment);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Cancels an appointment and logs its cancelled state.
+     */
+    @Override
+    public boolean cancelAppointment(String id) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            if (!delegate.cancelAppointment(id)) return false;
+            seq = logPut(stripe, delegate.findAppointmentById(id));
+        }
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Deletes an appointment and logs the deletion if it existed.
+     */
+    @Override
+    public boolean deleteAppointment(String id) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            if (!delegate.deleteAppointment(id)) return false;
+            stripe.record.reset();
+            EntityCodec.encodeDelete(stripe.record, EntityCodec.APPOINTMENT, id);
+            seq = log.append(stripe.record);
+        }
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Copies the current contents. A single-threaded delegate is copied under its write lock so the copy never
+     * races a mutation; a thread-safe delegate is copied without blocking writers.
+     */
+    List<Appointment> copyForSnapshot() {
+        return stripes.read(() -> delegate.getAllAppointments());
+    }
+
+    /** Returns the log sequence number, or 0 if the appointment conflicted and was not scheduled. */
+    private long tryScheduleAndLog(Appointment appointment) {
+        LockStripes.Stripe stripe = stripes.forId(appointment == null ? null : appointment.getAppointmentId());
+        synchronized (stripe) {
+            if (!delegate.tryScheduleAppointment(appointment)) return 0;
+            return logPut(stripe, appointment);
+        }
+    }
+
+    private long logPut(LockStripes.Stripe stripe, Appointment appointment) {
+        stripe.record.reset();
+        EntityCodec.encodePut(stripe.record, appointment);
+        return log.append(stripe.record);
+    }
+}
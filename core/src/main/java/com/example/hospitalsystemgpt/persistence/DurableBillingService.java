@@ -0,0 +1,234 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * BillingService that records every mutation in a write-ahead log before acknowledging it.
+ * Reads go straight to the in-memory delegate.
+ */
+public class DurableBillingService implements BillingService {
+    private final BillingService delegate;
+    private final WriteAheadLog log;
+    private final LockStripes stripes;
+
+    /**
+     * Constructs a durable service around an (already replayed) single-threaded in-memory delegate.
+     */
+    public DurableBillingService(BillingService delegate, WriteAheadLog log) {
+        this(delegate, log, false);
+    }
+
+    /**
+     * Constructs a durable service around an (already replayed) in-memory delegate. If the delegate is
+     * thread-safe, writes to different IDs are logged in parallel instead of one at a time.
+     */
+    public DurableBillingService(BillingService delegate, WriteAheadLog log, boolean threadSafeDelegate) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate cannot be null");
+        if (log == null) throw new IllegalArgumentException("Log cannot be null");
+        this.delegate = delegate;
+        this.log = log;
+        this.stripes = new LockStripes(threadSafeDelegate);
+    }
+
+    /**
+     * Creates a new bill and logs it.
+     */
+    @Override
+    public void createBill(Bill bill) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(bill == null ? null : bill.getBillId());
+        synchronized (stripe) {
+            delegate.createBill(bill);
+            seq = logPut(stripe, bill);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Creates many bills, logging each one, and waits for durability once for the whole batch.
+     */
+    @Override
+    public List<Bill> createBills(List<Bill> bills) {
+        if (bills == null || bills.stream().anyMatch(b -> b == null)) throw new IllegalArgumentException("Bills cannot be null");
+        List<Bill> rejected = new ArrayList<>();
+        long lastSeq = 0;
+        for (Bill bill : bills) {
+            LockStripes.Stripe stripe = stripes.forId(bill.getBillId());
+            synchronized (stripe) {
+                try {
+                    delegate.createBill(bill);
+                } catch (IllegalArgumentException e) {
+                    rejected.add(bill);
+                    continue;
+                }
+                lastSeq = Math.max(lastSeq, logPut(stripe, bill));
+            }
+        }
+        log.awaitDurable(lastSeq);
+        return rejected;
+    }
+
+    @Override
+    public Bill findBillById(String id) {
+        return delegate.findBillById(id);
+    }
+
+    @Override
+    public List<Bill> getAllBills() {
+        return delegate.getAllBills();
+    }
+
+    @Override
+    public Page<Bill> page(String cursor, int limit, BillingService.SortKey sortKey) {
+        return delegate.page(cursor, limit, sortKey);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public Money getUnpaidTotal(Currency currency) {
+        return delegate.getUnpaidTotal(currency);
+    }
+
+    @Override
+    public Money getTotalByStatus(Bill.Status status, Currency currency) {
+        return delegate.getTotalByStatus(status, currency);
+    }
+
+    @Override
+    public int countByStatus(Bill.Status status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public Money getOutstandingBalance(String patientId, Currency currency) {
+        return delegate.getOutstandingBalance(patientId, currency);
+    }
+
+    @Override
+    public BillingService.AgingReport getAgingReport(Currency currency) {
+        return delegate.getAgingReport(currency);
+    }
+
+    /**
+     * Returns the delegate's change stream. Events are published when a change is applied in memory, which is
+     * just before it is durable.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return delegate.changes();
+    }
+
+    /**
+     * Updates an existing bill and logs its new state.
+     */
+    @Override
+    public void updateBill(Bill bill) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(bill == null ? null : bill.getBillId());
+        synchronized (stripe) {
+            delegate.updateBill(bill);
+            seq = logPut(stripe, bill);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Marks a bill as paid and logs its paid state.
+     */
+    @Override
+    public void markBillAsPaid(String id, String paymentReference) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            delegate.markBillAsPaid(id, paymentReference);
+            seq = logPut(stripe, delegate.findBillById(id));
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Applies many payments, logging each bill that becomes paid, and waits for durability once for the whole batch.
+     */
+    @Override
+    public List<BillingService.PaymentOutcome> applyPayments(List<BillingService.Payment> payments) {
+        if (payments == null || payments.stream().anyMatch(p -> p == null)) throw new IllegalArgumentException("Payments cannot be null");
+        List<BillingService.PaymentOutcome> outcomes = new ArrayList<>(payments.size());
+        long lastSeq = 0;
+        for (BillingService.Payment payment : payments) {
+            LockStripes.Stripe stripe = stripes.forId(payment.billId());
+            synchronized (stripe) {
+                BillingService.PaymentOutcome outcome = delegate.applyPayments(List.of(payment)).get(0);
+                if (outcome == BillingService.PaymentOutcome.PAID) lastSeq = Math.max(lastSeq, logPut(stripe, delegate.findBillById(payment.billId())));
+                outcomes.add(outcome);
+            }
+        }
+        log.awaitDurable(lastSeq);
+        return outcomes;
+    }
+
+    /**
+     * Adds a line item to an unpaid bill and logs the bill's new state.
+     */
+    @Override
+    public void addLineItem(String id, Bill.LineItem item) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            delegate.addLineItem(id, item);
+            seq = logPut(stripe, delegate.findBillById(id));
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Deletes a bill and logs the deletion if it existed.
+     */
+    @Override
+    public boolean deleteBill(String id) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            if (!delegate.deleteBill(id)) return false;
+            stripe.record.reset();
+            EntityCodec.encodeDelete(stripe.record, EntityCodec.BILL, id);
+            seq = log.append(stripe.record);
+        }
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Copies the current contents. A single-threaded delegate is listed under its write lock so the list never
+     * races a mutation; a thread-safe delegate is listed without blocking writers. Bills change in place (line
+     * items, payment), so each one is then copied under its ID's stripe and the snapshot never encodes a bill
+     * mid-change.
+     */
+    List<Bill> copyForSnapshot() {
+        List<Bill> copies = new ArrayList<>();
+        for (Bill bill : stripes.read(() -> delegate.getAllBills())) {
+            synchronized (stripes.forId(bill.getBillId())) {
+                copies.add(bill.copy());
+            }
+        }
+        return copies;
+    }
+
+    private long logPut(LockStripes.Stripe stripe, Bill bill) {
+        stripe.record.reset();
+        EntityCodec.encodePut(stripe.record, bill);
+        return log.append(stripe.record);
+    }
+}
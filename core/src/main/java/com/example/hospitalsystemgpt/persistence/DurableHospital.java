@@ -0,0 +1,270 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a data directory, rebuilds the in-memory services from the latest snapshot plus the write-ahead log
+ * records after it, and exposes durable versions of all five services that log every mutation.
+ * <p>
+ * A background thread periodically writes a new snapshot once enough records have accumulated and then deletes
+ * the log segments and older snapshots it covers, so startup replay stays bounded. Snapshots are fuzzy: each map
+ * is copied under its service's write lock at a slightly different moment (bills, which change in place, one at a
+ * time under their ID's lock), after the covered sequence number was read. Any mutation included in the copy but
+ * logged after that sequence number is simply re-applied on replay, which is harmless because log records carry
+ * full entity state.
+ */
+public class DurableHospital implements Closeable {
+    private static final System.Logger LOG = System.getLogger(DurableHospital.class.getName());
+
+    private final Path directory;
+    private final WriteAheadLog log;
+    private final long replayedRecords;
+    private final DurablePatientService patientService;
+    private final DurableAppointmentService appointmentService;
+    private final DurableMedicalRecordService medicalRecordService;
+    private final DurableBillingService billingService;
+    private final DurableInventoryService inventoryService;
+    private final HospitalServices services;
+    private final ScheduledExecutorService snapshotter;
+    private final Object snapshotLock = new Object();
+    private volatile long lastSnapshotSeq;
+
+    /**
+     * Opens the data directory with {@link PersistenceConfig#defaults()}.
+     */
+    public DurableHospital(Path directory) throws IOException {
+        this(directory, PersistenceConfig.defaults());
+    }
+
+    /**
+     * Opens the data directory over thread-safe in-memory services.
+     */
+    public DurableHospital(Path directory, PersistenceConfig config) throws IOException {
+        this(directory, config, HospitalServices.Concurrency.CONCURRENT);
+    }
+
+    /**
+     * Opens the data directory: loads the latest snapshot (if any), replays the log tail into fresh in-memory
+     * services of the given kind, wraps them and starts the background snapshotter.
+     */
+    public DurableHospital(Path directory, PersistenceConfig config, HospitalServices.Concurrency concurrency) throws IOException {
+        if (directory == null) throw new IllegalArgumentException("Directory cannot be null");
+        if (config == null) throw new IllegalArgumentException("Config cannot be null");
+        long started = System.nanoTime();
+        this.directory = directory;
+        HospitalServices memory = HospitalServices.create(concurrency);
+        PatientService patients = memory.getPatientService();
+        AppointmentService appointments = memory.getAppointmentService();
+        MedicalRecordService records = memory.getMedicalRecordService();
+        BillingService bills = memory.getBillingService();
+        InventoryService inventory = memory.getInventoryService();
+
+        Path latest = Snapshots.findLatest(directory);
+        Snapshots.LoadResult snapshot = latest == null
+                ? new Snapshots.LoadResult(0, 0)
+                : Snapshots.load(latest, patients, appointments, records, bills, inventory);
+        this.lastSnapshotSeq = snapshot.seq();
+
+        this.log = new WriteAheadLog(directory, config.getSyncPolicy(), config.getMaxBatchRecords(),
+                config.getMaxBatchDelayMillis(), config.getSegmentBytes());
+        try {
+            this.replayedRecords = log.replay(snapshot.seq(), (seq, payload) -> {
+                try {
+                    apply(payload, patients, appointments, records, bills, inventory);
+                } catch (RuntimeException e) {
+                    throw new IllegalStateException("Cannot apply log record " + seq, e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            log.close();
+            throw e;
+        }
+
+        boolean threadSafe = memory.isThreadSafe();
+        this.patientService = new DurablePatientService(patients, log, threadSafe);
+        this.appointmentService = new DurableAppointmentService(appointments, log, threadSafe);
+        this.medicalRecordService = new DurableMedicalRecordService(records, log, threadSafe);
+        this.billingService = new DurableBillingService(bills, log, threadSafe);
+        this.inventoryService = new DurableInventoryService(inventory, log, threadSafe);
+        this.services = new HospitalServices(patientService, appointmentService, medicalRecordService,
+                billingService, inventoryService, concurrency);
+
+        LOG.log(System.Logger.Level.INFO, "Started from {0} in {1} ms: {2} entities from snapshot at seq {3}, {4} log records replayed",
+                directory, (System.nanoTime() - started) / 1_000_000, snapshot.entities(), snapshot.seq(), replayedRecords);
+
+        if (config.getSnapshotIntervalMillis() > 0) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "snapshotter");
+                t.setDaemon(true);
+                return t;
+            });
+            long minRecords = config.getSnapshotMinRecords();
+            snapshotter.scheduleWithFixedDelay(() -> {
+                try {
+                    if (log.getLastSequence() - lastSnapshotSeq >= Math.max(1, minRecords)) snapshot();
+                } catch (IOException | RuntimeException e) {
+                    LOG.log(System.Logger.Level.WARNING, "Background snapshot failed", e);
+                }
+            }, config.getSnapshotIntervalMillis(), config.getSnapshotIntervalMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            snapshotter = null;
+        }
+    }
+
+    public PatientService getPatientService() { return patientService; }
+    public AppointmentService getAppointmentService() { return appointmentService; }
+    public MedicalRecordService getMedicalRecordService() { return medicalRecordService; }
+    public BillingService getBillingService() { return billingService; }
+    public InventoryService getInventoryService() { return inventoryService; }
+
+    /**
+     * Returns the five durable services as one unit.
+     */
+    public HospitalServices getServices() { return services; }
+
+    /**
+     * Returns the number of log records replayed after the snapshot when the directory was opened.
+     */
+    public long getReplayedRecords() { return replayedRecords; }
+
+    /**
+     * Returns the sequence number covered by the most recent snapshot (0 if none has been taken).
+     */
+    public long getLastSnapshotSeq() { return lastSnapshotSeq; }
+
+    /**
+     * Returns the number of write-ahead log segment files currently on disk.
+     */
+    public int getLogSegmentCount() { return log.getSegmentCount(); }
+
+    /**
+     * Creates a controller wired to the durable services.
+     */
+    public HospitalController createController() {
+        return services.createController();
+    }
+
+    /**
+     * Forces every mutation logged so far to disk, regardless of the sync policy.
+     */
+    public void sync() { log.sync(); }
+
+    /**
+     * Writes a snapshot of all services now, then deletes the log segments and older snapshots it covers.
+     * Writers are only held up while each map is copied, not while the snapshot is encoded and written.
+     * Returns the sequence number the snapshot covers.
+     */
+    public long snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            log.rollSegment();
+            long seq = log.getLastSequence();
+            // The snapshot must not cover records that could still be lost: replay would resume the log before them.
+            log.sync();
+            Snapshots.write(directory, seq,
+                    patientService.copyForSnapshot(),
+                    appointmentService.copyForSnapshot(),
+                    medicalRecordService.copyForSnapshot(),
+                    billingService.copyForSnapshot(),
+                    inventoryService.copyForSnapshot());
+            lastSnapshotSeq = seq;
+            int removed = log.deleteSegmentsThrough(seq);
+            Snapshots.deleteOlderThan(directory, seq);
+            LOG.log(System.Logger.Level.DEBUG, "Snapshot at seq {0} written, {1} log segments removed", seq, removed);
+            return seq;
+        }
+    }
+
+    /**
+     * Stops the snapshotter, flushes the log and closes it. The services must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.close();
+    }
+
+    /**
+     * Applies one mutation record to the in-memory services. PUT records upsert the full entity state,
+     * so applying a record twice gives the same result as applying it once.
+     */
+    static void apply(ByteBuffer in, PatientService patients, AppointmentService appointments,
+                      MedicalRecordService records, BillingService bills, InventoryService inventory) {
+        byte op = in.get();
+        byte type = in.get();
+        if (op == EntityCodec.OP_DELETE) {
+            String id = BinaryReader.readString(in);
+            switch (type) {
+                case EntityCodec.PATIENT -> patients.deletePatient(id);
+                case EntityCodec.APPOINTMENT -> appointments.deleteAppointment(id);
+                case EntityCodec.MEDICAL_RECORD -> records.deleteMedicalRecord(id);
+                case EntityCodec.BILL -> bills.deleteBill(id);
+                case EntityCodec.INVENTORY_ITEM -> inventory.deleteInventoryItem(id);
+                default -> throw new IllegalStateException("Unknown entity type " + type);
+            }
+            return;
+        }
+        if (op != EntityCodec.OP_PUT) throw new IllegalStateException("Unknown operation " + op);
+        switch (type) {
+            case EntityCodec.PATIENT -> {
+                Patient decoded = EntityCodec.readPatient(in);
+                Patient existing = patients.findPatientById(decoded.getPatientId());
+                if (existing == null) {
+                    patients.registerPatient(decoded);
+                } else {
+                    // Update in place so appointments, records and bills keep pointing at the same instance.
+                    existing.setPatientName(decoded.getPatientName());
+                    if (decoded.isPatientAdmitted()) existing.admitPatient(); else existing.dischargePatient();
+                    patients.updatePatient(existing);
+                }
+            }
+            case EntityCodec.APPOINTMENT -> {
+                Appointment appointment = EntityCodec.readAppointment(in, patients);
+                if (appointments.findAppointmentById(appointment.getAppointmentId()) == null) {
+                    appointments.scheduleAppointment(appointment);
+                } else {
+                    appointments.updateAppointment(appointment);
+                }
+            }
+            case EntityCodec.MEDICAL_RECORD -> {
+                MedicalRecord record = EntityCodec.readMedicalRecord(in, patients, appointments);
+                if (records.findMedicalRecordById(record.getRecordId()) == null) {
+                    records.addMedicalRecord(record);
+                } else {
+                    records.updateMedicalRecord(record);
+                }
+            }
+            case EntityCodec.BILL -> {
+                Bill bill = EntityCodec.readBill(in, patients);
+                if (bills.findBillById(bill.getBillId()) == null) {
+                    bills.createBill(bill);
+                } else {
+                    bills.updateBill(bill);
+                }
+            }
+            case EntityCodec.INVENTORY_ITEM -> {
+                InventoryItem item = EntityCodec.readInventoryItem(in);
+                if (inventory.findInventoryItemById(item.getItemId()) == null) {
+                    inventory.addInventoryItem(item);
+                } else {
+                    inventory.updateInventoryItem(item);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown entity type " + type);
+        }
+    }
+}
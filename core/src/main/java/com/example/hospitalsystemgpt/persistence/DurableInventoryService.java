@@ -0,0 +1,184 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.InventoryService;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+/**
+ * InventoryService that records every mutation in a write-ahead log before acknowledging it.
+ * Reads go straight to the in-memory delegate.
+ */
+public class DurableInventoryService implements InventoryService {
+    private final InventoryService delegate;
+    private final WriteAheadLog log;
+    private final LockStripes stripes;
+
+    /**
+     * Constructs a durable service around an (already replayed) single-threaded in-memory delegate.
+     */
+    public DurableInventoryService(InventoryService delegate, WriteAheadLog log) {
+        this(delegate, log, false);
+    }
+
+    /**
+     * Constructs a durable service around an (already replayed) in-memory delegate. If the delegate is
+     * thread-safe, writes to different IDs are logged in parallel instead of one at a time.
+     */
+    public DurableInventoryService(InventoryService delegate, WriteAheadLog log, boolean threadSafeDelegate) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate cannot be null");
+        if (log == null) throw new IllegalArgumentException("Log cannot be null");
+        this.delegate = delegate;
+        this.log = log;
+        this.stripes = new LockStripes(threadSafeDelegate);
+    }
+
+    /**
+     * Adds a new inventory item and logs it.
+     */
+    @Override
+    public void addInventoryItem(InventoryItem item) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(item == null ? null : item.getItemId());
+        synchronized (stripe) {
+            delegate.addInventoryItem(item);
+            seq = logPut(stripe, item);
+        }
+        log.awaitDurable(seq);
+    }
+
+    @Override
+    public InventoryItem findInventoryItemById(String id) {
+        return delegate.findInventoryItemById(id);
+    }
+
+    @Override
+    public List<InventoryItem> getAllInventoryItems() {
+        return delegate.getAllInventoryItems();
+    }
+
+    @Override
+    public Page<InventoryItem> page(String cursor, int limit, InventoryService.SortKey sortKey) {
+        return delegate.page(cursor, limit, sortKey);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public int countLowStock() {
+        return delegate.countLowStock();
+    }
+
+    /**
+     * Returns the delegate's change stream. Events are published when a change is applied in memory, which is
+     * just before it is durable.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return delegate.changes();
+    }
+
+    /**
+     * Updates an existing inventory item and logs its new state.
+     */
+    @Override
+    public void updateInventoryItem(InventoryItem item) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(item == null ? null : item.getItemId());
+        synchronized (stripe) {
+            delegate.updateInventoryItem(item);
+            seq = logPut(stripe, item);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Deletes an inventory item and logs the deletion if it existed.
+     */
+    @Override
+    public boolean deleteInventoryItem(String id) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            if (!delegate.deleteInventoryItem(id)) return false;
+            stripe.record.reset();
+            EntityCodec.encodeDelete(stripe.record, EntityCodec.INVENTORY_ITEM, id);
+            seq = log.append(stripe.record);
+        }
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Reserves stock. Reservations are in-flight state and are not logged; only committed changes are.
+     */
+    @Override
+    public boolean tryReserve(String id, int amount) {
+        return delegate.tryReserve(id, amount);
+    }
+
+    /**
+     * Removes reserved units from stock and logs the item's new quantity.
+     */
+    @Override
+    public void commitReservation(String id, int amount) {
+        delegate.commitReservation(id, amount);
+        log.awaitDurable(logCurrent(id));
+    }
+
+    /**
+     * Releases reserved units. Not logged, like the reservation itself.
+     */
+    @Override
+    public void release(String id, int amount) {
+        delegate.release(id, amount);
+    }
+
+    /**
+     * Adjusts the stock of several items and logs the new quantity of each.
+     */
+    @Override
+    public boolean adjustStock(Map<String, Integer> deltas) {
+        if (!delegate.adjustStock(deltas)) return false;
+        long seq = 0;
+        for (String id : deltas.keySet()) seq = Math.max(seq, logCurrent(id));
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Copies the current contents. A single-threaded delegate is copied under its write lock so the copy never
+     * races a mutation; a thread-safe delegate is copied without blocking writers.
+     */
+    List<InventoryItem> copyForSnapshot() {
+        return stripes.read(() -> delegate.getAllInventoryItems());
+    }
+
+    /**
+     * Logs the current state of an item after a lock-free stock change. Stock changes are compare-and-set on the
+     * item itself, so they need no lock; the record is written under the stripe lock and reads the state at that
+     * moment, so the last record for an item always reflects every change made before it. If the item was deleted
+     * in the meantime nothing is logged, so the deletion is never followed by a stale PUT. Returns the record's
+     * sequence number, or 0 if nothing was logged.
+     */
+    private long logCurrent(String id) {
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            InventoryItem current = delegate.findInventoryItemById(id);
+            return current == null ? 0 : logPut(stripe, current);
+        }
+    }
+
+    private long logPut(LockStripes.Stripe stripe, InventoryItem item) {
+        stripe.record.reset();
+        EntityCodec.encodePut(stripe.record, item);
+        return log.append(stripe.record);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.MedicalRecord;
+import com.example.hospitalsystemgpt.MedicalRecordService;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * MedicalRecordService that records every mutation in a write-ahead log before acknowledging it.
+ * Reads go straight to the in-memory delegate.
+ */
+public class DurableMedicalRecordService implements MedicalRecordService {
+    private final MedicalRecordService delegate;
+    private final WriteAheadLog log;
+    private final LockStripes stripes;
+
+    /**
+     * Constructs a durable service around an (already replayed) single-threaded in-memory delegate.
+     */
+    public DurableMedicalRecordService(MedicalRecordService delegate, WriteAheadLog log) {
+        this(delegate, log, false);
+    }
+
+    /**
+     * Constructs a durable service around an (already replayed) in-memory delegate. If the delegate is
+     * thread-safe, writes to different IDs are logged in parallel instead of one at a time.
+     */
+    public DurableMedicalRecordService(MedicalRecordService delegate, WriteAheadLog log, boolean threadSafeDelegate) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate cannot be null");
+        if (log == null) throw new IllegalArgumentException("Log cannot be null");
+        this.delegate = delegate;
+        this.log = log;
+        this.stripes = new LockStripes(threadSafeDelegate);
+    }
+
+    /**
+     * Adds a new medical record and logs it.
+     */
+    @Override
+    public void addMedicalRecord(MedicalRecord medicalRecord) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(medicalRecord == null ? null : medicalRecord.getRecordId());
+        synchronized (stripe) {
+            delegate.addMedicalRecord(medicalRecord);
+            seq = logPut(stripe, medicalRecord);
+        }
+        log.awaitDurable(seq);
+    }
+
+    @Override
+    public MedicalRecord findMedicalRecordById(String id) {
+        return delegate.findMedicalRecordById(id);
+    }
+
+    @Override
+    public List<MedicalRecord> getAllMedicalRecords() {
+        return delegate.getAllMedicalRecords();
+    }
+
+    @Override
+    public List<MedicalRecord> searchMedicalRecords(String query, int limit) {
+        return delegate.searchMedicalRecords(query, limit);
+    }
+
+    @Override
+    public Page<MedicalRecord> page(String cursor, int limit, MedicalRecordService.SortKey sortKey) {
+        return delegate.page(cursor, limit, sortKey);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    /**
+     * Returns the delegate's change stream. Events are published when a change is applied in memory, which is
+     * just before it is durable.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return delegate.changes();
+    }
+
+    /**
+     * Updates an existing medical record and logs its new state.
+     */
+    @Override
+    public void updateMedicalRecord(MedicalRecord medicalRecord) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(medicalRecord == null ? null : medicalRecord.getRecordId());
+        synchronized (stripe) {
+            delegate.updateMedicalRecord(medicalRecord);
+            seq = logPut(stripe, medicalRecord);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Deletes a medical record and logs the deletion if it existed.
+     */
+    @Override
+    public boolean deleteMedicalRecord(String id) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            if (!delegate.deleteMedicalRecord(id)) return false;
+            stripe.record.reset();
+            EntityCodec.encodeDelete(stripe.record, EntityCodec.MEDICAL_RECORD, id);
+            seq = log.append(stripe.record);
+        }
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Copies the current contents. A single-threaded delegate is copied under its write lock so the copy never
+     * races a mutation; a thread-safe delegate is copied without blocking writers.
+     */
+    List<MedicalRecord> copyForSnapshot() {
+        return stripes.read(() -> delegate.getAllMedicalRecords());
+    }
+
+    private long logPut(LockStripes.Stripe stripe, MedicalRecord medicalRecord) {
+        stripe.record.reset();
+        EntityCodec.encodePut(stripe.record, medicalRecord);
+        return log.append(stripe.record);
+    }
+}
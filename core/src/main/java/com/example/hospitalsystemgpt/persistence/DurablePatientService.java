@@ -0,0 +1,136 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.Patient;
+import com.example.hospitalsystemgpt.PatientService;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * PatientService that records every mutation in a write-ahead log before acknowledging it.
+ * Reads go straight to the in-memory delegate.
+ */
+public class DurablePatientService implements PatientService {
+    private final PatientService delegate;
+    private final WriteAheadLog log;
+    private final LockStripes stripes;
+
+    /**
+     * Constructs a durable service around an (already replayed) single-threaded in-memory delegate.
+     */
+    public DurablePatientService(PatientService delegate, WriteAheadLog log) {
+        this(delegate, log, false);
+    }
+
+    /**
+     * Constructs a durable service around an (already replayed) in-memory delegate. If the delegate is
+     * thread-safe, writes to different IDs are logged in parallel instead of one at a time.
+     */
+    public DurablePatientService(PatientService delegate, WriteAheadLog log, boolean threadSafeDelegate) {
+        if (delegate == null) throw new IllegalArgumentException("Delegate cannot be null");
+        if (log == null) throw new IllegalArgumentException("Log cannot be null");
+        this.delegate = delegate;
+        this.log = log;
+        this.stripes = new LockStripes(threadSafeDelegate);
+    }
+
+    /**
+     * Registers a new patient and logs it.
+     */
+    @Override
+    public void registerPatient(Patient patient) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(patient == null ? null : patient.getPatientId());
+        synchronized (stripe) {
+            delegate.registerPatient(patient);
+            seq = logPut(stripe, patient);
+        }
+        log.awaitDurable(seq);
+    }
+
+    @Override
+    public Patient findPatientById(String id) {
+        return delegate.findPatientById(id);
+    }
+
+    @Override
+    public List<Patient> getAllPatients() {
+        return delegate.getAllPatients();
+    }
+
+    @Override
+    public List<Patient> searchPatients(String query, int limit) {
+        return delegate.searchPatients(query, limit);
+    }
+
+    @Override
+    public Page<Patient> page(String cursor, int limit, PatientService.SortKey sortKey) {
+        return delegate.page(cursor, limit, sortKey);
+    }
+
+    @Override
+    public int count() {
+        return delegate.count();
+    }
+
+    @Override
+    public int countAdmitted() {
+        return delegate.countAdmitted();
+    }
+
+    /**
+     * Returns the delegate's change stream. Events are published when a change is applied in memory, which is
+     * just before it is durable.
+     */
+    @Override
+    public Flow.Publisher<ChangeEvent> changes() {
+        return delegate.changes();
+    }
+
+    /**
+     * Updates an existing patient and logs its new state.
+     */
+    @Override
+    public void updatePatient(Patient patient) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(patient == null ? null : patient.getPatientId());
+        synchronized (stripe) {
+            delegate.updatePatient(patient);
+            seq = logPut(stripe, patient);
+        }
+        log.awaitDurable(seq);
+    }
+
+    /**
+     * Deletes a patient and logs the deletion if it existed.
+     */
+    @Override
+    public boolean deletePatient(String id) {
+        long seq;
+        LockStripes.Stripe stripe = stripes.forId(id);
+        synchronized (stripe) {
+            if (!delegate.deletePatient(id)) return false;
+            stripe.record.reset();
+            EntityCodec.encodeDelete(stripe.record, EntityCodec.PATIENT, id);
+            seq = log.append(stripe.record);
+        }
+        log.awaitDurable(seq);
+        return true;
+    }
+
+    /**
+     * Copies the current contents. A single-threaded delegate is copied under its write lock so the copy never
+     * races a mutation; a thread-safe delegate is copied without blocking writers.
+     */
+    List<Patient> copyForSnapshot() {
+        return stripes.read(() -> delegate.getAllPatients());
+    }
+
+    private long logPut(LockStripes.Stripe stripe, Patient patient) {
+        stripe.record.reset();
+        EntityCodec.encodePut(stripe.record, patient);
+        return log.append(stripe.record);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.*;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+
+/**
+ * Compact binary encoding of the hospital entities and of the mutation records stored in the write-ahead log.
+ * <p>
+ * A mutation record is {@code op:byte, entityType:byte} followed by either the full entity state (PUT)
+ * or the entity ID (DELETE). Entities embed the patient/appointment they refer to, so a record can be
+ * decoded even if the referenced entity was deleted later; when the referenced entity is still known
+ * to the target service, the existing instance is reused so references stay shared as in memory.
+ * Amounts are stored exactly, as a currency code and a varint of minor units.
+ */
+public final class EntityCodec {
+    public static final byte OP_PUT = 1;
+    public static final byte OP_DELETE = 2;
+
+    public static final byte PATIENT = 1;
+    public static final byte APPOINTMENT = 2;
+    public static final byte MEDICAL_RECORD = 3;
+    public static final byte BILL = 4;
+    public static final byte INVENTORY_ITEM = 5;
+
+    private static final Appointment.Status[] APPOINTMENT_STATUSES = Appointment.Status.values();
+
+    private EntityCodec() { }
+
+    // --- Mutation records ---
+
+    public static void encodePut(BinaryWriter out, Patient patient) {
+        out.writeByte(OP_PUT);
+        out.writeByte(PATIENT);
+        writePatient(out, patient);
+    }
+
+    public static void encodePut(BinaryWriter out, Appointment appointment) {
+        out.writeByte(OP_PUT);
+        out.writeByte(APPOINTMENT);
+        writeAppointment(out, appointment);
+    }
+
+    public static void encodePut(BinaryWriter out, MedicalRecord record) {
+        out.writeByte(OP_PUT);
+        out.writeByte(MEDICAL_RECORD);
+        writeMedicalRecord(out, record);
+    }
+
+    public static void encodePut(BinaryWriter out, Bill bill) {
+        out.writeByte(OP_PUT);
+        out.writeByte(BILL);
+        writeBill(out, bill);
+    }
+
+    public static void encodePut(BinaryWriter out, InventoryItem item) {
+        out.writeByte(OP_PUT);
+        out.writeByte(INVENTORY_ITEM);
+        writeInventoryItem(out, item);
+    }
+
+    public static void encodeDelete(BinaryWriter out, byte entityType, String id) {
+        out.writeByte(OP_DELETE);
+        out.writeByte(entityType);
+        out.writeString(id);
+    }
+
+    // --- Entities ---
+
+    public static void writePatient(BinaryWriter out, Patient patient) {
+        out.writeString(patient.getPatientId());
+        out.writeString(patient.getPatientName());
+        out.writeVarLong(patient.getDateOfBirth().toEpochDay());
+        out.writeBoolean(patient.isPatientAdmitted());
+    }
+
+    /**
+     * Reads a patient. If {@code patients} already holds a patient with the same ID, that instance is returned.
+     */
+    public static Patient readPatient(ByteBuffer in, PatientService patients) {
+        Patient decoded = readPatient(in);
+        Patient existing = patients == null ? null : patients.findPatientById(decoded.getPatientId());
+        return existing != null ? existing : decoded;
+    }
+
+    public static Patient readPatient(ByteBuffer in) {
+        String id = BinaryReader.readString(in);
+        String name = BinaryReader.readString(in);
+        LocalDate dob = LocalDate.ofEpochDay(BinaryReader.readVarLong(in));
+        boolean admitted = BinaryReader.readBoolean(in);
+        Patient patient = new Patient(id, name, dob);
+        if (admitted) patient.admitPatient();
+        return patient;
+    }
+
+    public static void writeAppointment(BinaryWriter out, Appointment appointment) {
+        out.writeString(appointment.getAppointmentId());
+        writePatient(out, appointment.getPatient());
+        writeDateTime(out, appointment.getDateTime());
+        out.writeString(appointment.getType());
+        out.writeByte(appointment.getStatus().ordinal());
+    }
+
+    public static Appointment readAppointment(ByteBuffer in, PatientService patients) {
+        String id = BinaryReader.readString(in);
+        Patient patient = readPatient(in, patients);
+        LocalDateTime dateTime = readDateTime(in);
+        String type = BinaryReader.readString(in);
+        Appointment.Status status = APPOINTMENT_STATUSES[in.get()];
+        return Appointment.restore(id, patient, dateTime, type, status);
+    }
+
+    public static void writeMedicalRecord(BinaryWriter out, MedicalRecord record) {
+        out.writeString(record.getRecordId());
+        writePatient(out, record.getPatient());
+        writeAppointment(out, record.getAppointment());
+        out.writeString(record.getDiagnosis());
+        out.writeString(record.getNotes());
+        out.writeVarLong(record.getDate().toEpochDay());
+    }
+
+    public static MedicalRecord readMedicalRecord(ByteBuffer in, PatientService patients, AppointmentService appointments) {
+        String id = BinaryReader.readString(in);
+        Patient patient = readPatient(in, patients);
+        Appointment decoded = readAppointment(in, patients);
+        Appointment existing = appointments == null ? null : appointments.findAppointmentById(decoded.getAppointmentId());
+        String diagnosis = BinaryReader.readString(in);
+        String notes = BinaryReader.readString(in);
+        LocalDate date = LocalDate.ofEpochDay(BinaryReader.readVarLong(in));
+        return new MedicalRecord(id, patient, existing != null ? existing : decoded, diagnosis, notes, date);
+    }
+
+    public static void writeBill(BinaryWriter out, Bill bill) {
+        out.writeString(bill.getBillId());
+        writePatient(out, bill.getPatient());
+        out.writeString(bill.getCurrency().getCurrencyCode());
+        writeDateTime(out, bill.getIssuedAt());
+        int items = bill.getLineItemCount();
+        out.writeVarInt(items);
+        for (int i = 0; i < items; i++) {
+            out.writeString(bill.getLineItemDescription(i));
+            out.writeVarLong(bill.getLineItemAmountMinorUnits(i));
+        }
+        out.writeBoolean(bill.getStatus() == Bill.Status.PAID);
+        if (bill.getStatus() == Bill.Status.PAID) out.writeString(bill.getPaymentReference());
+    }
+
+    public static Bill readBill(ByteBuffer in, PatientService patients) {
+        String id = BinaryReader.readString(in);
+        Patient patient = readPatient(in, patients);
+        Currency currency = Currency.getInstance(BinaryReader.readString(in));
+        Bill bill = new Bill(id, patient, currency, readDateTime(in));
+        int count = BinaryReader.readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            String description = BinaryReader.readString(in);
+            bill.addLineItem(new Bill.LineItem(description, Money.ofMinor(BinaryReader.readVarLong(in), currency)));
+        }
+        if (BinaryReader.readBoolean(in)) bill.markAsPaid(BinaryReader.readString(in));
+        return bill;
+    }
+
+    public static void writeInventoryItem(BinaryWriter out, InventoryItem item) {
+        out.writeString(item.getItemId());
+        out.writeString(item.getName());
+        out.writeVarInt(item.getQuantity());
+        out.writeString(item.getUnitPrice().currency().getCurrencyCode());
+        out.writeVarLong(item.getUnitPrice().minorUnits());
+    }
+
+    public static InventoryItem readInventoryItem(ByteBuffer in) {
+        String id = BinaryReader.readString(in);
+        String name = BinaryReader.readString(in);
+        int quantity = BinaryReader.readVarInt(in);
+        Currency currency = Currency.getInstance(BinaryReader.readString(in));
+        return new InventoryItem(id, name, quantity, Money.ofMinor(BinaryReader.readVarLong(in), currency));
+    }
+
+    private static void writeDateTime(BinaryWriter out, LocalDateTime dateTime) {
+        out.writeVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        out.writeVarInt(dateTime.getNano());
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer in) {
+        long seconds = BinaryReader.readVarLong(in);
+        int nanos = BinaryReader.readVarInt(in);
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import java.util.function.Supplier;
+
+/**
+ * Write locks for the durable services, striped by entity ID. Each stripe also owns the buffer its writers
+ * encode log records into. Over a thread-safe delegate, writes to different IDs take different stripes and
+ * run in parallel while writes to the same ID stay ordered in the log exactly as they were applied.
+ * Over a single-threaded delegate there is only one stripe, so every write is serialized.
+ */
+final class LockStripes {
+    static final int STRIPES = 64;
+
+    /** A lock (the stripe object itself) plus the record buffer guarded by it. */
+    static final class Stripe {
+        final BinaryWriter record = new BinaryWriter(512);
+    }
+
+    private final Stripe[] stripes;
+    private final int shift;
+
+    LockStripes(boolean threadSafeDelegate) {
+        int count = threadSafeDelegate ? STRIPES : 1;
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) stripes[i] = new Stripe();
+        shift = 32 - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Returns the stripe for an entity ID. A null ID maps to the first stripe so the delegate can reject it.
+     */
+    Stripe forId(String id) {
+        if (id == null || stripes.length == 1) return stripes[0];
+        // Fibonacci hashing spreads similar IDs ("P001", "P002", ...) across stripes.
+        return stripes[(id.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    /**
+     * Runs a whole-map read. A single-threaded delegate must not be read while it is written, so the read holds
+     * the only stripe; a thread-safe delegate can be read without blocking writers.
+     */
+    <T> T read(Supplier<T> reader) {
+        if (stripes.length > 1) return reader.get();
+        synchronized (stripes[0]) {
+            return reader.get();
+        }
+    }
+}
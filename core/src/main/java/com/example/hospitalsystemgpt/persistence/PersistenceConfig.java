@@ -0,0 +1,53 @@
+package com.example.hospitalsystemgpt.persistence;
+
+/**
+ * Tuning settings for {@link DurableHospital}: write-ahead log batching and segmenting, and snapshot frequency.
+ */
+public final class PersistenceConfig {
+    private final WriteAheadLog.SyncPolicy syncPolicy;
+    private final int maxBatchRecords;
+    private final long maxBatchDelayMillis;
+    private final long segmentBytes;
+    private final long snapshotIntervalMillis;
+    private final long snapshotMinRecords;
+
+    /**
+     * Constructs a configuration.
+     * @param syncPolicy whether writers wait for their batch to be fsynced
+     * @param maxBatchRecords records per fsync batch before a flush is forced
+     * @param maxBatchDelayMillis longest time a record waits in a batch before it is flushed
+     * @param segmentBytes size after which a new log segment is started
+     * @param snapshotIntervalMillis how often the background snapshotter checks for work; 0 disables it
+     * @param snapshotMinRecords log records that must accumulate since the last snapshot before a new one is taken
+     */
+    public PersistenceConfig(WriteAheadLog.SyncPolicy syncPolicy, int maxBatchRecords, long maxBatchDelayMillis,
+                             long segmentBytes, long snapshotIntervalMillis, long snapshotMinRecords) {
+        if (syncPolicy == null) throw new IllegalArgumentException("Sync policy cannot be null");
+        if (maxBatchRecords <= 0) throw new IllegalArgumentException("Max batch records must be positive");
+        if (maxBatchDelayMillis < 0) throw new IllegalArgumentException("Max batch delay cannot be negative");
+        if (segmentBytes <= 0) throw new IllegalArgumentException("Segment size must be positive");
+        if (snapshotIntervalMillis < 0) throw new IllegalArgumentException("Snapshot interval cannot be negative");
+        if (snapshotMinRecords < 0) throw new IllegalArgumentException("Snapshot record threshold cannot be negative");
+        this.syncPolicy = syncPolicy;
+        this.maxBatchRecords = maxBatchRecords;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        this.segmentBytes = segmentBytes;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.snapshotMinRecords = snapshotMinRecords;
+    }
+
+    /**
+     * Group commit with a 2 ms batch window, 64 MB segments and a snapshot check every minute once
+     * 100,000 records have accumulated.
+     */
+    public static PersistenceConfig defaults() {
+        return new PersistenceConfig(WriteAheadLog.SyncPolicy.GROUP_COMMIT, 512, 2, 64L * 1024 * 1024, 60_000, 100_000);
+    }
+
+    public WriteAheadLog.SyncPolicy getSyncPolicy() { return syncPolicy; }
+    public int getMaxBatchRecords() { return maxBatchRecords; }
+    public long getMaxBatchDelayMillis() { return maxBatchDelayMillis; }
+    public long getSegmentBytes() { return segmentBytes; }
+    public long getSnapshotIntervalMillis() { return snapshotIntervalMillis; }
+    public long getSnapshotMinRecords() { return snapshotMinRecords; }
+}
@@ -0,0 +1,254 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes point-in-time images of all service maps ({@code snapshot-<seq>.snap}).
+ * <p>
+ * Layout: {@code magic:int, version:int, seq:long}, then one section per entity type
+ * ({@code type:byte, count:int}, then {@code count} entries of {@code length:varint, entity bytes}), then a
+ * trailing CRC32 of everything before it. Entities use the same encoding as log records, so a snapshot taken
+ * at sequence {@code seq} plus the log records after {@code seq} reproduce the live state.
+ * Files are written to a temporary name, fsynced and then renamed, so a crash never leaves a partial snapshot
+ * under a valid name. Loading maps the file read-only in windows of at most {@link #MAP_WINDOW_BYTES}.
+ */
+public final class Snapshots {
+    /** Sequence number the snapshot covers and the number of entities loaded from it. */
+    public record LoadResult(long seq, long entities) { }
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int MAGIC = 0x48534E50; // "HSNP"
+    private static final int VERSION = 3; // 2: amounts as minor units and currency instead of doubles; 3: bill issue time
+    private static final int HEADER_BYTES = 16;
+    static final long MAP_WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private Snapshots() { }
+
+    /**
+     * Writes a snapshot of the given entity lists, covering every log record up to and including {@code seq}.
+     * Returns the path of the finished snapshot file.
+     */
+    public static Path write(Path directory, long seq, List<Patient> patients, List<Appointment> appointments,
+                             List<MedicalRecord> records, List<Bill> bills, List<InventoryItem> items) throws IOException {
+        Path target = snapshotPath(directory, seq);
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        CRC32 crc = new CRC32();
+        try (OutputStream file = Files.newOutputStream(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(file, 1 << 16)) {
+            BinaryWriter chunk = new BinaryWriter(1 << 16);
+            BinaryWriter entity = new BinaryWriter(512);
+            chunk.writeInt(MAGIC);
+            chunk.writeInt(VERSION);
+            chunk.writeLong(seq);
+
+            chunk.writeByte(EntityCodec.PATIENT);
+            chunk.writeInt(patients.size());
+            for (Patient p : patients) {
+                entity.reset();
+                EntityCodec.writePatient(entity, p);
+                writeEntry(out, crc, chunk, entity);
+            }
+            chunk.writeByte(EntityCodec.APPOINTMENT);
+            chunk.writeInt(appointments.size());
+            for (Appointment a : appointments) {
+                entity.reset();
+                EntityCodec.writeAppointment(entity, a);
+                writeEntry(out, crc, chunk, entity);
+            }
+            chunk.writeByte(EntityCodec.MEDICAL_RECORD);
+            chunk.writeInt(records.size());
+            for (MedicalRecord r : records) {
+                entity.reset();
+                EntityCodec.writeMedicalRecord(entity, r);
+                writeEntry(out, crc, chunk, entity);
+            }
+            chunk.writeByte(EntityCodec.BILL);
+            chunk.writeInt(bills.size());
+            for (Bill b : bills) {
+                entity.reset();
+                EntityCodec.writeBill(entity, b);
+                writeEntry(out, crc, chunk, entity);
+            }
+            chunk.writeByte(EntityCodec.INVENTORY_ITEM);
+            chunk.writeInt(items.size());
+            for (InventoryItem i : items) {
+                entity.reset();
+                EntityCodec.writeInventoryItem(entity, i);
+                writeEntry(out, crc, chunk, entity);
+            }
+            drain(out, crc, chunk);
+            chunk.writeInt((int) crc.getValue());
+            out.write(chunk.array(), 0, chunk.size());
+        }
+        try (FileChannel ch = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            ch.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return target;
+    }
+
+    /**
+     * Loads a snapshot into empty in-memory services, verifying its checksum first.
+     * @throws IOException if the file is not a valid snapshot
+     */
+    public static LoadResult load(Path file, PatientService patients, AppointmentService appointments,
+                                  MedicalRecordService records, BillingService bills, InventoryService inventory) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_BYTES + 4) throw new IOException("Snapshot is truncated: " + file);
+            verifyChecksum(ch, size, file);
+
+            MappedInput in = new MappedInput(ch, size - 4);
+            ByteBuffer header = in.require(HEADER_BYTES);
+            if (header.getInt() != MAGIC) throw new IOException("Not a snapshot: " + file);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported snapshot version " + version);
+            long seq = header.getLong();
+            long entities = 0;
+            for (int section = 0; section < 5; section++) {
+                ByteBuffer sectionHeader = in.require(5);
+                byte type = sectionHeader.get();
+                int count = sectionHeader.getInt();
+                for (int i = 0; i < count; i++) {
+                    ByteBuffer entry = in.nextEntry();
+                    switch (type) {
+                        case EntityCodec.PATIENT -> patients.registerPatient(EntityCodec.readPatient(entry));
+                        case EntityCodec.APPOINTMENT -> appointments.scheduleAppointment(EntityCodec.readAppointment(entry, patients));
+                        case EntityCodec.MEDICAL_RECORD -> records.addMedicalRecord(EntityCodec.readMedicalRecord(entry, patients, appointments));
+                        case EntityCodec.BILL -> bills.createBill(EntityCodec.readBill(entry, patients));
+                        case EntityCodec.INVENTORY_ITEM -> inventory.addInventoryItem(EntityCodec.readInventoryItem(entry));
+                        default -> throw new IOException("Unknown snapshot section " + type);
+                    }
+                }
+                entities += count;
+            }
+            return new LoadResult(seq, entities);
+        }
+    }
+
+    /**
+     * Returns the snapshot with the highest sequence number in the directory, or null if there is none.
+     */
+    public static Path findLatest(Path directory) throws IOException {
+        List<Long> seqs = listSnapshots(directory);
+        return seqs.isEmpty() ? null : snapshotPath(directory, seqs.get(seqs.size() - 1));
+    }
+
+    /**
+     * Deletes every snapshot older than {@code seq}, plus leftover temporary files from interrupted writes.
+     * Must not run concurrently with {@link #write}.
+     */
+    public static void deleteOlderThan(Path directory, long seq) throws IOException {
+        for (long s : listSnapshots(directory)) {
+            if (s < seq) Files.deleteIfExists(snapshotPath(directory, s));
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX + TEMP_SUFFIX)) {
+            for (Path temp : stream) Files.deleteIfExists(temp);
+        }
+    }
+
+    private static Path snapshotPath(Path directory, long seq) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, seq, SUFFIX));
+    }
+
+    private static List<Long> listSnapshots(Path directory) throws IOException {
+        List<Long> found = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return found;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    found.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours.
+                }
+            }
+        }
+        found.sort(null);
+        return found;
+    }
+
+    private static void writeEntry(OutputStream out, CRC32 crc, BinaryWriter chunk, BinaryWriter entity) throws IOException {
+        chunk.writeVarInt(entity.size());
+        chunk.writeBytes(entity.array(), 0, entity.size());
+        if (chunk.size() >= (1 << 16)) drain(out, crc, chunk);
+    }
+
+    private static void drain(OutputStream out, CRC32 crc, BinaryWriter chunk) throws IOException {
+        crc.update(chunk.array(), 0, chunk.size());
+        out.write(chunk.array(), 0, chunk.size());
+        chunk.reset();
+    }
+
+    private static void verifyChecksum(FileChannel ch, long size, Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        long bodyBytes = size - 4;
+        for (long pos = 0; pos < bodyBytes; pos += MAP_WINDOW_BYTES) {
+            crc.update(ch.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(MAP_WINDOW_BYTES, bodyBytes - pos)));
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(4);
+        while (trailer.hasRemaining()) {
+            if (ch.read(trailer, bodyBytes + trailer.position()) < 0) throw new IOException("Snapshot is truncated: " + file);
+        }
+        if (trailer.flip().getInt() != (int) crc.getValue()) throw new IOException("Snapshot checksum mismatch: " + file);
+    }
+
+    /**
+     * Sequential reader over a memory-mapped file. The mapping slides forward in windows so files larger than
+     * a single mapping can be read; an entry is never split across windows.
+     */
+    private static final class MappedInput {
+        private final FileChannel channel;
+        private final long limit;
+        private long windowStart;
+        private MappedByteBuffer window;
+
+        MappedInput(FileChannel channel, long limit) throws IOException {
+            this.channel = channel;
+            this.limit = limit;
+            remap(0);
+        }
+
+        /** Returns a view of the next {@code bytes} bytes and advances past them. */
+        ByteBuffer require(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                long position = windowStart + window.position();
+                if (position + bytes > limit) throw new IOException("Snapshot is truncated");
+                remap(position);
+            }
+            ByteBuffer view = window.slice(window.position(), bytes);
+            window.position(window.position() + bytes);
+            return view;
+        }
+
+        /** Returns a view of the next length-prefixed entry and advances past it. */
+        ByteBuffer nextEntry() throws IOException {
+            if (window.remaining() < 5) remap(windowStart + window.position());
+            int length = BinaryReader.readVarInt(window);
+            return require(length);
+        }
+
+        private void remap(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW_BYTES, limit - position));
+        }
+    }
+}
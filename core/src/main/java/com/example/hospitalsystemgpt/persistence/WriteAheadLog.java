@@ -0,0 +1,502 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of service mutations with group commit, stored as a sequence of segment files.
+ * <p>
+ * Callers append encoded records into an in-memory batch; a single flusher thread writes the batch and
+ * issues one {@code fsync} for all records in it. A batch is flushed when it holds {@code maxBatchRecords}
+ * records or when its oldest record has waited {@code maxBatchDelayMillis}, whichever comes first.
+ * With {@link SyncPolicy#GROUP_COMMIT} callers block in {@link #awaitDurable(long)} until their batch is on disk;
+ * with {@link SyncPolicy#PERIODIC} they return immediately and at most one batch window is lost on a crash.
+ * <p>
+ * Records carry consecutive sequence numbers. Segment files are named after the sequence number of their first
+ * record ({@code wal-<seq>.log}); the active segment is rolled once it exceeds {@code segmentBytes}, and whole
+ * segments covered by a snapshot are removed with {@link #deleteSegmentsThrough(long)}.
+ * Each record is framed as {@code length:int, seq:long, crc32:int, payload}. On {@link #replay(long, RecordHandler)}
+ * a torn or corrupt tail of the last segment (from a crash mid-write) is detected by the length/CRC check and truncated.
+ */
+public final class WriteAheadLog implements Closeable {
+    /** How appending callers wait for durability. */
+    public enum SyncPolicy { GROUP_COMMIT, PERIODIC }
+
+    /** Receives each record found while replaying the log. */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void accept(long seq, ByteBuffer payload);
+    }
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final int MAGIC = 0x4857414C; // "HWAL"
+    private static final int VERSION = 3; // 2: amounts as minor units and currency instead of doubles; 3: bill issue time
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int FRAME_HEADER_BYTES = 16;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+    private static final int MAX_PENDING_BYTES = 16 * 1024 * 1024;
+    private static final ThreadLocal<CRC32> CRC = ThreadLocal.withInitial(CRC32::new);
+
+    private final Path directory;
+    private final SyncPolicy policy;
+    private final int maxBatchRecords;
+    private final long maxBatchDelayNanos;
+    private final long segmentBytes;
+
+    /** First sequence number of every segment on disk, oldest first. Guarded by itself. */
+    private final List<Long> segments = new ArrayList<>();
+    // Owned by the flusher thread once replay has finished.
+    private FileChannel channel;
+    private long channelBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+
+    private byte[] pending = new byte[64 * 1024];
+    private byte[] spare = new byte[64 * 1024];
+    private int pendingBytes;
+    private int pendingRecords;
+    private long firstPendingNanos;
+    private long lastAppendedSeq;
+    private long durableSeq;
+    private boolean syncRequested;
+    private boolean rollRequested;
+    private boolean closed;
+    private IOException failure;
+    private Thread flusher;
+
+    /**
+     * Opens the log in the given directory. {@link #replay(long, RecordHandler)} must be called before the first append.
+     * @param segmentBytes size after which the active segment file is closed and a new one started
+     */
+    public WriteAheadLog(Path directory, SyncPolicy policy, int maxBatchRecords, long maxBatchDelayMillis, long segmentBytes) throws IOException {
+        if (directory == null) throw new IllegalArgumentException("Directory cannot be null");
+        if (policy == null) throw new IllegalArgumentException("Sync policy cannot be null");
+        if (maxBatchRecords <= 0) throw new IllegalArgumentException("Max batch records must be positive");
+        if (maxBatchDelayMillis < 0) throw new IllegalArgumentException("Max batch delay cannot be negative");
+        if (segmentBytes <= FILE_HEADER_BYTES) throw new IllegalArgumentException("Segment size is too small");
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.policy = policy;
+        this.maxBatchRecords = maxBatchRecords;
+        this.maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+        this.segmentBytes = segmentBytes;
+        synchronized (segments) {
+            segments.addAll(listSegments(directory));
+        }
+    }
+
+    /**
+     * Returns the sync policy this log was opened with.
+     */
+    public SyncPolicy getSyncPolicy() { return policy; }
+
+    /**
+     * Feeds every intact record with a sequence number greater than {@code afterSeq} to the handler in append order,
+     * truncates any torn tail and starts the flusher so that appends are accepted. Records up to {@code afterSeq}
+     * (already covered by a snapshot) are skipped; if the log ends before {@code afterSeq}, appends continue in a new
+     * segment starting at {@code afterSeq + 1}. Returns the number of records passed to the handler.
+     */
+    public long replay(long afterSeq, RecordHandler handler) throws IOException {
+        if (handler == null) throw new IllegalArgumentException("Handler cannot be null");
+        if (afterSeq < 0) throw new IllegalArgumentException("Sequence number cannot be negative");
+        lock.lock();
+        try {
+            if (flusher != null) throw new IllegalStateException("Log has already been replayed");
+            if (closed) throw new IllegalStateException("Write-ahead log is closed");
+        } finally {
+            lock.unlock();
+        }
+
+        List<Long> firstSeqs;
+        synchronized (segments) {
+            firstSeqs = new ArrayList<>(segments);
+        }
+        if (!firstSeqs.isEmpty() && firstSeqs.get(0) > afterSeq + 1) {
+            throw new IOException("Log segments before sequence " + firstSeqs.get(0) + " are missing");
+        }
+
+        long replayed = 0;
+        long lastSeq = afterSeq;
+        long goodPosition = FILE_HEADER_BYTES;
+        long expectedSeq = afterSeq + 1;
+        CRC32 crc = CRC.get();
+        byte[] payload = new byte[4096];
+        for (int i = 0; i < firstSeqs.size(); i++) {
+            boolean lastSegment = i == firstSeqs.size() - 1;
+            Path path = segmentPath(firstSeqs.get(i));
+            expectedSeq = firstSeqs.get(i);
+            goodPosition = FILE_HEADER_BYTES;
+            try (InputStream raw = Files.newInputStream(path)) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16));
+                try {
+                    if (in.readInt() != MAGIC) throw new IOException("Not a write-ahead log segment: " + path);
+                    int version = in.readInt();
+                    if (version != VERSION) throw new IOException("Unsupported write-ahead log version " + version);
+                } catch (EOFException e) {
+                    if (!lastSegment) throw new IOException("Truncated log segment " + path, e);
+                    goodPosition = 0;
+                    break;
+                }
+                while (true) {
+                    int length;
+                    long seq;
+                    int checksum;
+                    try {
+                        length = in.readInt();
+                        seq = in.readLong();
+                        checksum = in.readInt();
+                        if (length < 0 || length > MAX_RECORD_BYTES || seq != expectedSeq) break;
+                        if (payload.length < length) payload = new byte[Math.max(length, payload.length << 1)];
+                        in.readFully(payload, 0, length);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if ((int) crc.getValue() != checksum) break;
+                    if (seq > afterSeq) {
+                        handler.accept(seq, ByteBuffer.wrap(payload, 0, length).slice());
+                        replayed++;
+                    }
+                    lastSeq = Math.max(lastSeq, seq);
+                    expectedSeq = seq + 1;
+                    goodPosition += FRAME_HEADER_BYTES + length;
+                }
+            }
+            if (!lastSegment && goodPosition < Files.size(path)) {
+                throw new IOException("Corrupt record in log segment " + path + " at offset " + goodPosition);
+            }
+        }
+
+        if (firstSeqs.isEmpty()) {
+            openSegment(lastSeq + 1);
+        } else {
+            long activeFirstSeq = firstSeqs.get(firstSeqs.size() - 1);
+            channel = FileChannel.open(segmentPath(activeFirstSeq), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (goodPosition < FILE_HEADER_BYTES) {
+                // The header itself was torn: start the segment over.
+                writeHeader(channel);
+                goodPosition = FILE_HEADER_BYTES;
+            } else if (goodPosition < channel.size()) {
+                channel.truncate(goodPosition);
+                channel.force(true);
+            }
+            channel.position(goodPosition);
+            channelBytes = goodPosition;
+            // The snapshot covers records that never reached the log: appending after the last record on disk
+            // would leave a gap, so continue in a new segment that starts right after the snapshot.
+            if (expectedSeq <= afterSeq) openSegment(afterSeq + 1);
+        }
+
+        lock.lock();
+        try {
+            lastAppendedSeq = lastSeq;
+            durableSeq = lastSeq;
+            flusher = new Thread(this::flushLoop, "wal-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        } finally {
+            lock.unlock();
+        }
+        return replayed;
+    }
+
+    /**
+     * Appends the bytes written to {@code record} as one log record and returns its sequence number.
+     * The record is durable once {@link #awaitDurable(long)} returns for that sequence number.
+     */
+    public long append(BinaryWriter record) {
+        int length = record.size();
+        if (length > MAX_RECORD_BYTES) throw new IllegalArgumentException("Record exceeds maximum size");
+        CRC32 crc = CRC.get();
+        crc.reset();
+        crc.update(record.array(), 0, length);
+        int checksum = (int) crc.getValue();
+
+        lock.lock();
+        try {
+            checkWritable();
+            while (pendingBytes >= MAX_PENDING_BYTES) {
+                spaceAvailable.awaitUninterruptibly();
+                checkWritable();
+            }
+            long seq = ++lastAppendedSeq;
+            int frameLength = FRAME_HEADER_BYTES + length;
+            if (pendingBytes + frameLength > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pendingBytes + frameLength, pending.length << 1));
+            }
+            ByteBuffer.wrap(pending, pendingBytes, FRAME_HEADER_BYTES).putInt(length).putLong(seq).putInt(checksum);
+            System.arraycopy(record.array(), 0, pending, pendingBytes + FRAME_HEADER_BYTES, length);
+            pendingBytes += frameLength;
+            if (pendingRecords++ == 0) {
+                firstPendingNanos = System.nanoTime();
+                workAvailable.signal();
+            } else if (pendingRecords >= maxBatchRecords) {
+                workAvailable.signal();
+            }
+            return seq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Under {@link SyncPolicy#GROUP_COMMIT}, blocks until the record with the given sequence number has been
+     * fsynced. Under {@link SyncPolicy#PERIODIC} returns immediately.
+     */
+    public void awaitDurable(long seq) {
+        if (policy == SyncPolicy.GROUP_COMMIT) waitFor(seq, false);
+    }
+
+    /**
+     * Flushes and fsyncs every record appended so far, regardless of the sync policy.
+     */
+    public void sync() {
+        lock.lock();
+        try {
+            waitFor(lastAppendedSeq, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sequence number of the last appended record (durable or not).
+     */
+    public long getLastSequence() {
+        lock.lock();
+        try {
+            return lastAppendedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Asks the flusher to start a new segment before it writes the next batch, so that everything appended
+     * so far ends up in segments that a later snapshot can cover completely.
+     */
+    public void rollSegment() {
+        lock.lock();
+        try {
+            rollRequested = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of segment files currently on disk.
+     */
+    public int getSegmentCount() {
+        synchronized (segments) {
+            return segments.size();
+        }
+    }
+
+    /**
+     * Deletes every segment whose records all have sequence numbers up to and including {@code seq}.
+     * The active segment is never deleted. Returns the number of segments removed.
+     */
+    public int deleteSegmentsThrough(long seq) throws IOException {
+        List<Long> doomed = new ArrayList<>();
+        synchronized (segments) {
+            // A segment ends right before the next one starts, so it is covered if the next starts at or before seq + 1.
+            while (segments.size() > 1 && segments.get(1) <= seq + 1) {
+                doomed.add(segments.remove(0));
+            }
+        }
+        for (long firstSeq : doomed) Files.deleteIfExists(segmentPath(firstSeq));
+        return doomed.size();
+    }
+
+    /**
+     * Flushes outstanding records, stops the flusher and closes the active segment.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread toJoin;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            toJoin = flusher;
+            workAvailable.signal();
+            spaceAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (toJoin != null) {
+            try {
+                toJoin.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (channel != null) {
+            try {
+                if (failure == null) channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+    }
+
+    private static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> found = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    found.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours.
+                }
+            }
+        }
+        found.sort(null);
+        return found;
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        FileChannel next = FileChannel.open(segmentPath(firstSeq),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        writeHeader(next);
+        next.position(FILE_HEADER_BYTES);
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+        channel = next;
+        channelBytes = FILE_HEADER_BYTES;
+        synchronized (segments) {
+            segments.add(firstSeq);
+        }
+    }
+
+    private static void writeHeader(FileChannel ch) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+        ch.truncate(0);
+        while (header.hasRemaining()) ch.write(header, header.position());
+        ch.force(true);
+    }
+
+    private void waitFor(long seq, boolean flushNow) {
+        lock.lock();
+        try {
+            while (durableSeq < seq) {
+                if (failure != null) throw new UncheckedIOException("Write-ahead log write failed", failure);
+                if (flusher == null || !flusher.isAlive()) throw new IllegalStateException("Write-ahead log is closed");
+                if (flushNow) {
+                    syncRequested = true;
+                    workAvailable.signal();
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkWritable() {
+        if (failure != null) throw new UncheckedIOException("Write-ahead log write failed", failure);
+        if (closed) throw new IllegalStateException("Write-ahead log is closed");
+        if (flusher == null) throw new IllegalStateException("Log must be replayed before appending");
+    }
+
+    private void flushLoop() {
+        while (true) {
+            byte[] batch;
+            int length;
+            long firstSeq;
+            long upTo;
+            boolean roll;
+            lock.lock();
+            try {
+                while (true) {
+                    if (pendingRecords == 0) {
+                        if (closed) return;
+                        workAvailable.awaitUninterruptibly();
+                        continue;
+                    }
+                    if (closed || syncRequested || pendingRecords >= maxBatchRecords) break;
+                    long waitNanos = firstPendingNanos + maxBatchDelayNanos - System.nanoTime();
+                    if (waitNanos <= 0) break;
+                    try {
+                        workAvailable.awaitNanos(waitNanos);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                batch = pending;
+                length = pendingBytes;
+                upTo = lastAppendedSeq;
+                firstSeq = upTo - pendingRecords + 1;
+                roll = rollRequested;
+                pending = spare;
+                spare = null;
+                pendingBytes = 0;
+                pendingRecords = 0;
+                syncRequested = false;
+                rollRequested = false;
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                if ((roll || channelBytes >= segmentBytes) && channelBytes > FILE_HEADER_BYTES) openSegment(firstSeq);
+                ByteBuffer buffer = ByteBuffer.wrap(batch, 0, length);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+                channelBytes += length;
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                spare = batch;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSeq = upTo;
+                }
+                flushed.signalAll();
+                spaceAvailable.signalAll();
+                if (error != null) return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.hospitalsystemgpt.settlement;
+
+import com.example.hospitalsystemgpt.BillingService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Imports a bank settlement file (see {@link SettlementFile} for the format) and marks the bills it pays as paid.
+ * <p>
+ * Rows are read as a stream and applied in batches of {@link #BATCH_SIZE} with {@link BillingService#applyPayments},
+ * so a durable service waits for one group commit per batch and memory use does not depend on the file's size. No
+ * row throws: every row that is not applied, or cannot be read, is written to a problem report and counted.
+ * Importing the same file twice pays nothing twice; the second import reports its rows as duplicates.
+ */
+public final class PaymentReconciler {
+    /** How many rows are read before the payments among them are applied in one call to the billing service. */
+    public static final int BATCH_SIZE = 4_096;
+    /** The first line of a problem report. */
+    public static final String PROBLEM_HEADER = "line,outcome,bill_id,reference,amount";
+    static final String MALFORMED = "MALFORMED";
+
+    /**
+     * What an import did.
+     * @param rows the number of payment rows read, including malformed ones
+     * @param paid rows that marked a bill as paid
+     * @param unmatched rows for a bill that does not exist
+     * @param duplicates rows for a bill already paid with the same reference
+     * @param alreadyPaid rows for a bill already paid with another reference
+     * @param amountMismatches rows whose amount or currency differs from the bill's total
+     * @param malformed rows that could not be read
+     */
+    public record Report(long rows, long paid, long unmatched, long duplicates, long alreadyPaid, long amountMismatches,
+                         long malformed) {
+        /** Returns the number of rows that were not applied. */
+        public long problems() {
+            return rows - paid;
+        }
+    }
+
+    private final BillingService billing;
+
+    public PaymentReconciler(BillingService billing) {
+        if (billing == null) throw new IllegalArgumentException("Billing service cannot be null");
+        this.billing = billing;
+    }
+
+    /**
+     * Imports {@code settlement}, writing one CSV line per problem row to {@code problems} (after
+     * {@link #PROBLEM_HEADER}), and returns the counts.
+     * @throws IOException if the settlement cannot be read or the report cannot be written
+     */
+    public Report reconcile(Path settlement, Appendable problems) throws IOException {
+        if (problems == null) throw new IllegalArgumentException("Problem report cannot be null");
+        problems.append(PROBLEM_HEADER).append('\n');
+        Batch batch = new Batch(problems);
+        try {
+            new SettlementFile(settlement).read(batch);
+            batch.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new Report(batch.rows, batch.counts[BillingService.PaymentOutcome.PAID.ordinal()],
+                batch.counts[BillingService.PaymentOutcome.UNMATCHED.ordinal()],
+                batch.counts[BillingService.PaymentOutcome.DUPLICATE.ordinal()],
+                batch.counts[BillingService.PaymentOutcome.ALREADY_PAID.ordinal()],
+                batch.counts[BillingService.PaymentOutcome.AMOUNT_MISMATCH.ordinal()], batch.malformed);
+    }
+
+    /** Collects rows until a batch is full, then applies it and reports its problems in line order. */
+    private final class Batch implements SettlementFile.Rows {
+        private final Appendable problems;
+        private final List<BillingService.Payment> payments = new ArrayList<>(BATCH_SIZE);
+        private final long[] lines = new long[BATCH_SIZE];
+        private final List<String> malformedTexts = new ArrayList<>();
+        private final long[] malformedLines = new long[BATCH_SIZE];
+        private final long[] counts = new long[BillingService.PaymentOutcome.values().length];
+        private long rows;
+        private long malformed;
+
+        Batch(Appendable problems) {
+            this.problems = problems;
+        }
+
+        @Override
+        public void payment(long line, BillingService.Payment payment) {
+            lines[payments.size()] = line;
+            payments.add(payment);
+            added();
+        }
+
+        @Override
+        public void malformed(long line, String text) {
+            malformedLines[malformedTexts.size()] = line;
+            malformedTexts.add(text);
+            malformed++;
+            added();
+        }
+
+        private void added() {
+            rows++;
+            if (payments.size() + malformedTexts.size() == BATCH_SIZE) flush();
+        }
+
+        void flush() {
+            List<BillingService.PaymentOutcome> outcomes = payments.isEmpty() ? List.of() : billing.applyPayments(payments);
+            int m = 0;
+            for (int i = 0; i < outcomes.size(); i++) {
+                for (; m < malformedTexts.size() && malformedLines[m] < lines[i]; m++) malformedProblem(m);
+                BillingService.PaymentOutcome outcome = outcomes.get(i);
+                counts[outcome.ordinal()]++;
+                if (outcome == BillingService.PaymentOutcome.PAID) continue;
+                BillingService.Payment payment = payments.get(i);
+                problem(lines[i], outcome.name(), payment.billId(), payment.reference(), payment.amount().toString());
+            }
+            for (; m < malformedTexts.size(); m++) malformedProblem(m);
+            payments.clear();
+            malformedTexts.clear();
+        }
+
+        private void malformedProblem(int m) {
+            problem(malformedLines[m], MALFORMED, "", "", quote(malformedTexts.get(m)));
+        }
+
+        private void problem(long line, String outcome, String billId, String reference, String detail) {
+            try {
+                problems.append(Long.toString(line)).append(',').append(outcome).append(',').append(billId).append(',')
+                        .append(reference).append(',').append(detail).append('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /** Quotes a malformed row's text as one CSV field. */
+    private static String quote(String text) {
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hospitalsystemgpt.settlement;
+
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Currency;
+
+/**
+ * Reads a bank settlement file: UTF-8 CSV with one payment per line, {@code reference,bill_id,amount[,currency]},
+ * and an optional header line starting with {@code reference}. The amount is a decimal in major units (e.g.
+ * {@code 120.50}); without a currency it is in {@link Money#DEFAULT_CURRENCY}. Fields are not quoted.
+ * <p>
+ * The file is memory-mapped one window at a time and parsed straight from the mapped bytes, so memory use does not
+ * grow with the file: only the strings of the current row are created.
+ */
+final class SettlementFile {
+    /** How much of the file is mapped at once. A line may not be longer than this. */
+    static final int WINDOW = 64 << 20;
+    private static final int MAX_FIELDS = 4;
+    private static final int MAX_AMOUNT_DIGITS = 18;
+    private static final int MAX_TEXT = 200;
+
+    /** Receives the rows of a file in order; lines are numbered from 1. */
+    interface Rows {
+        /** Called for a well-formed row. */
+        void payment(long line, BillingService.Payment payment);
+
+        /** Called for a row that cannot be read as a payment, with (the start of) its text. */
+        void malformed(long line, String text);
+    }
+
+    private final Path path;
+    private final int window;
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private byte[] scratch = new byte[64];
+    private Currency lastCurrency = Money.DEFAULT_CURRENCY;
+
+    SettlementFile(Path path) {
+        this(path, WINDOW);
+    }
+
+    /** Creates a reader that maps {@code window} bytes at a time. */
+    SettlementFile(Path path, int window) {
+        if (path == null) throw new IllegalArgumentException("Path cannot be null");
+        if (window <= 0) throw new IllegalArgumentException("Window must be positive");
+        this.path = path;
+        this.window = window;
+    }
+
+    /** Reads every line of the file and passes it to {@code rows}. Empty lines are skipped. */
+    void read(Rows rows) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long line = 0;
+            while (position < size) {
+                long length = Math.min(window, size - position);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                boolean last = position + length == size;
+                int start = 0;
+                for (int i = 0; i < length; i++) {
+                    if (mapped.get(i) != '\n') continue;
+                    row(mapped, start, i, ++line, rows);
+                    start = i + 1;
+                }
+                if (last) {
+                    if (start < length) row(mapped, start, (int) length, ++line, rows);
+                    break;
+                }
+                // The window ends inside a line; the next window starts at that line.
+                if (start == 0) throw new IOException("Line " + (line + 1) + " is longer than " + window + " bytes");
+                position += start;
+            }
+        }
+    }
+
+    private void row(ByteBuffer in, int from, int to, long line, Rows rows) {
+        if (to > from && in.get(to - 1) == '\r') to--;
+        if (to == from) return;
+        int fields = 0;
+        int start = from;
+        for (int i = from; i <= to; i++) {
+            if (i < to && in.get(i) != ',') continue;
+            if (fields == MAX_FIELDS) {
+                rows.malformed(line, text(in, from, to));
+                return;
+            }
+            fieldStart[fields] = start;
+            fieldEnd[fields] = i;
+            trim(in, fields);
+            fields++;
+            start = i + 1;
+        }
+        if (line == 1 && "reference".equalsIgnoreCase(string(in, 0))) return;
+        if (fields < 3) {
+            rows.malformed(line, text(in, from, to));
+            return;
+        }
+        Currency currency = fields == 4 && fieldEnd[3] > fieldStart[3] ? currency(in) : Money.DEFAULT_CURRENCY;
+        long minorUnits = currency == null ? -1 : minorUnits(in, Money.fractionDigits(currency));
+        if (minorUnits < 0 || fieldEnd[0] == fieldStart[0] || fieldEnd[1] == fieldStart[1]) {
+            rows.malformed(line, text(in, from, to));
+            return;
+        }
+        rows.payment(line, new BillingService.Payment(string(in, 1), string(in, 0), Money.ofMinor(minorUnits, currency)));
+    }
+
+    private void trim(ByteBuffer in, int field) {
+        while (fieldStart[field] < fieldEnd[field] && in.get(fieldStart[field]) == ' ') fieldStart[field]++;
+        while (fieldEnd[field] > fieldStart[field] && in.get(fieldEnd[field] - 1) == ' ') fieldEnd[field]--;
+    }
+
+    /** Parses the amount field into minor units, or returns -1 if it is not a non-negative amount in that precision. */
+    private long minorUnits(ByteBuffer in, int fractionDigits) {
+        long value = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (int i = fieldStart[2]; i < fieldEnd[2]; i++) {
+            byte b = in.get(i);
+            if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (b >= '0' && b <= '9') {
+                if (++digits > MAX_AMOUNT_DIGITS) return -1;
+                if (decimals >= 0 && ++decimals > fractionDigits) return -1;
+                value = value * 10 + (b - '0');
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0) return -1;
+        for (int d = Math.max(decimals, 0); d < fractionDigits; d++) {
+            if (value > Long.MAX_VALUE / 10) return -1;
+            value *= 10;
+        }
+        return value;
+    }
+
+    /** Returns the currency of the currency field, or null if it is not a known currency code. */
+    private Currency currency(ByteBuffer in) {
+        String code = string(in, 3);
+        // Settlements are usually in one currency, so the previous row's currency is checked first.
+        if (code.equals(lastCurrency.getCurrencyCode())) return lastCurrency;
+        try {
+            lastCurrency = Currency.getInstance(code);
+            return lastCurrency;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private String string(ByteBuffer in, int field) {
+        return decode(in, fieldStart[field], fieldEnd[field]);
+    }
+
+    private String text(ByteBuffer in, int from, int to) {
+        return decode(in, from, Math.min(to, from + MAX_TEXT));
+    }
+
+    private String decode(ByteBuffer in, int from, int to) {
+        int length = to - from;
+        if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+        in.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,9 @@
+module com.example.hospitalsystemgpt {
+    exports com.example.hospitalsystemgpt;
+    exports com.example.hospitalsystemgpt.events;
+    exports com.example.hospitalsystemgpt.persistence;
+    exports com.example.hospitalsystemgpt.settlement;
+
+    // The GUI's table columns read the models reflectively.
+    opens com.example.hospitalsystemgpt;
+}
@@ -0,0 +1,260 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AppointmentServiceImplTest {
+    private AppointmentService service;
+    private Patient patient;
+    private Appointment appt1;
+    private Appointment appt2;
+
+    @BeforeEach
+    void setUp() {
+        service = new AppointmentServiceImpl();
+        patient = new Patient("P001", "Alice", LocalDate.of(1990, 1, 1));
+        appt1 = new Appointment("A001", patient, LocalDateTime.now().plusDays(1), "Checkup");
+        appt2 = new Appointment("A002", patient, LocalDateTime.now().plusDays(2), "Consultation");
+    }
+
+    @Test
+    void scheduleAppointmentWorks() { // Tests scheduling a new appointment
+        service.scheduleAppointment(appt1);
+        assertEquals(appt1, service.findAppointmentById("A001"));
+    }
+
+    @Test
+    void scheduleNullAppointmentThrowsException() { // Tests that scheduling null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.scheduleAppointment(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void scheduleDuplicateAppointmentThrowsException() { // Tests that scheduling duplicate appointment throws exception
+        service.scheduleAppointment(appt1);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.scheduleAppointment(appt1));
+        assertTrue(ex.getMessage().contains("already exists"));
+    }
+
+    @Test
+    void findAppointmentByIdReturnsCorrectAppointment() { // Tests finding an appointment by ID
+        service.scheduleAppointment(appt1);
+        service.scheduleAppointment(appt2);
+        assertEquals(appt2, service.findAppointmentById("A002"));
+    }
+
+    @Test
+    void findAppointmentByIdReturnsNullIfNotFound() { // Tests finding a non-existent appointment returns null
+        assertNull(service.findAppointmentById("A999"));
+    }
+
+    @Test
+    void getAllAppointmentsReturnsAllScheduled() { // Tests getting all scheduled appointments
+        service.scheduleAppointment(appt1);
+        service.scheduleAppointment(appt2);
+        List<Appointment> appts = service.getAllAppointments();
+        assertEquals(2, appts.size());
+        assertTrue(appts.contains(appt1));
+        assertTrue(appts.contains(appt2));
+    }
+
+    @Test
+    void updateAppointmentWorks() { // Tests updating an existing appointment
+        service.scheduleAppointment(appt1);
+        Appointment updated = new Appointment("A001", patient, LocalDateTime.now().plusDays(3), "Updated");
+        service.updateAppointment(updated);
+        assertEquals("Updated", service.findAppointmentById("A001").getType());
+    }
+
+    @Test
+    void updateNullAppointmentThrowsException() { // Tests that updating null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updateAppointment(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void updateNonExistentAppointmentThrowsException() { // Tests that updating a non-existent appointment throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updateAppointment(appt1));
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void cancelAppointmentWorks() { // Tests cancelling an existing appointment
+        service.scheduleAppointment(appt1);
+        assertTrue(service.cancelAppointment("A001"));
+        assertEquals(Appointment.Status.CANCELLED, service.findAppointmentById("A001").getStatus());
+    }
+
+    @Test
+    void cancelNonExistentAppointmentReturnsFalse() { // Tests cancelling a non-existent appointment returns false
+        assertFalse(service.cancelAppointment("A999"));
+    }
+
+    @Test
+    void cancelAlreadyCancelledAppointmentReturnsFalse() { // Tests cancelling an already cancelled appointment returns false
+        service.scheduleAppointment(appt1);
+        service.cancelAppointment("A001");
+        assertFalse(service.cancelAppointment("A001"));
+    }
+
+    @Test
+    void deleteAppointmentWorks() { // Tests deleting an existing appointment
+        service.scheduleAppointment(appt1);
+        assertTrue(service.deleteAppointment("A001"));
+        assertNull(service.findAppointmentById("A001"));
+    }
+
+    @Test
+    void deleteNonExistentAppointmentReturnsFalse() { // Tests deleting a non-existent appointment returns false
+        assertFalse(service.deleteAppointment("A999"));
+    }
+
+    @Test
+    void findAppointmentsByPatientReturnsChronologicalList() { // Tests the patient index
+        Patient other = new Patient("P002", "Bob", LocalDate.of(1985, 5, 5));
+        service.scheduleAppointment(appt2);
+        service.scheduleAppointment(appt1);
+        service.scheduleAppointment(new Appointment("A003", other, LocalDateTime.now().plusDays(3), "Checkup"));
+        assertEquals(List.of(appt1, appt2), service.findAppointmentsByPatient("P001"));
+        assertTrue(service.findAppointmentsByPatient("P999").isEmpty());
+    }
+
+    @Test
+    void findAppointmentsBetweenIsHalfOpen() { // Tests that the time window includes its start but not its end
+        LocalDateTime day = LocalDate.now().plusDays(5).atStartOfDay();
+        Appointment atStart = new Appointment("A010", patient, day, "Checkup");
+        Appointment inside = new Appointment("A011", patient, day.plusHours(9), "Checkup");
+        Appointment atEnd = new Appointment("A012", patient, day.plusDays(1), "Checkup");
+        service.scheduleAppointment(atEnd);
+        service.scheduleAppointment(inside);
+        service.scheduleAppointment(atStart);
+        assertEquals(List.of(atStart, inside), service.findAppointmentsBetween(day, day.plusDays(1)));
+    }
+
+    @Test
+    void findAppointmentsBetweenRejectsInvalidWindow() { // Tests null and reversed windows
+        LocalDateTime now = LocalDateTime.now();
+        assertThrows(IllegalArgumentException.class, () -> service.findAppointmentsBetween(null, now));
+        assertThrows(IllegalArgumentException.class, () -> service.findAppointmentsBetween(now, now.minusHours(1)));
+    }
+
+    @Test
+    void findAppointmentsByStatusFollowsCancelAndUpdate() { // Tests that the status index tracks changes
+        service.scheduleAppointment(appt1);
+        service.scheduleAppointment(appt2);
+        service.cancelAppointment("A001");
+        appt2.complete();
+        service.updateAppointment(appt2);
+        assertEquals(List.of(appt1), service.findAppointmentsByStatus(Appointment.Status.CANCELLED));
+        assertEquals(List.of(appt2), service.findAppointmentsByStatus(Appointment.Status.COMPLETED));
+        assertTrue(service.findAppointmentsByStatus(Appointment.Status.SCHEDULED).isEmpty());
+    }
+
+    @Test
+    void updateWithReplacementReindexesAppointment() { // Tests that a replaced appointment moves in every index
+        service.scheduleAppointment(appt1);
+        Patient other = new Patient("P002", "Bob", LocalDate.of(1985, 5, 5));
+        LocalDateTime later = LocalDateTime.now().plusDays(10);
+        Appointment moved = new Appointment("A001", other, later, "Checkup");
+        service.updateAppointment(moved);
+        assertTrue(service.findAppointmentsByPatient("P001").isEmpty());
+        assertEquals(List.of(moved), service.findAppointmentsByPatient("P002"));
+        assertEquals(List.of(moved), service.findAppointmentsBetween(later, later.plusMinutes(1)));
+        assertTrue(service.findAppointmentsBetween(appt1.getDateTime(), appt1.getDateTime().plusMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void deleteRemovesAppointmentFromIndexes() { // Tests that deleted appointments are no longer found by any index
+        service.scheduleAppointment(appt1);
+        service.deleteAppointment("A001");
+        assertTrue(service.findAppointmentsByPatient("P001").isEmpty());
+        assertTrue(service.findAppointmentsByStatus(Appointment.Status.SCHEDULED).isEmpty());
+        assertTrue(service.findAppointmentsBetween(appt1.getDateTime(), appt1.getDateTime().plusMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void tryScheduleRejectsDoubleBookedPatient() { // Tests that a patient cannot have two appointments in one slot
+        LocalDateTime slot = LocalDate.now().plusDays(3).atTime(9, 0);
+        assertTrue(service.tryScheduleAppointment(new Appointment("A020", patient, slot, "Checkup")));
+        Appointment clash = new Appointment("A021", patient, slot.plusMinutes(10), "X-Ray");
+        assertFalse(service.tryScheduleAppointment(clash));
+        assertNull(service.findAppointmentById("A021"));
+        assertEquals(List.of("A020"), service.findConflicts(clash).stream().map(Appointment::getAppointmentId).toList());
+    }
+
+    @Test
+    void tryScheduleRejectsDoubleBookedType() { // Tests that a type (resource) cannot be used twice in one slot
+        LocalDateTime slot = LocalDate.now().plusDays(3).atTime(9, 0);
+        Patient other = new Patient("P002", "Bob", LocalDate.of(1985, 5, 5));
+        service.tryScheduleAppointment(new Appointment("A020", patient, slot, "MRI"));
+        assertFalse(service.tryScheduleAppointment(new Appointment("A021", other, slot, "mri")));
+        assertTrue(service.tryScheduleAppointment(new Appointment("A022", other, slot, "Checkup")));
+    }
+
+    @Test
+    void cancelledAppointmentFreesItsSlot() { // Tests that cancelling releases the occupied slot
+        LocalDateTime slot = LocalDate.now().plusDays(3).atTime(9, 0);
+        service.tryScheduleAppointment(new Appointment("A020", patient, slot, "Checkup"));
+        service.cancelAppointment("A020");
+        assertTrue(service.tryScheduleAppointment(new Appointment("A021", patient, slot, "Checkup")));
+    }
+
+    @Test
+    void findFreeSlotsReturnsNextOpenSlots() { // Tests the next-free-slot search through the service
+        LocalDateTime start = LocalDate.now().plusDays(3).atTime(9, 0);
+        service.tryScheduleAppointment(new Appointment("A020", patient, start, "Checkup"));
+        assertEquals(List.of(start.plusMinutes(15), start.plusMinutes(30)),
+                service.findFreeSlots("P001", "Checkup", start, 2));
+        assertThrows(IllegalArgumentException.class, () -> service.findFreeSlots("P001", null, start, 0));
+    }
+
+    @Test
+    void scheduleAppointmentsReturnsRejectedOnes() { // Tests a vaccination-drive style batch
+        LocalDateTime start = LocalDate.now().plusDays(3).atTime(8, 0);
+        List<Appointment> batch = new java.util.ArrayList<>();
+        List<LocalDateTime> slots = service.findFreeSlots(null, "Vaccination", start, 2_000);
+        for (int i = 0; i < slots.size(); i++) {
+            Patient p = new Patient("V" + i, "Patient " + i, LocalDate.of(1980, 1, 1));
+            batch.add(new Appointment("AV" + i, p, slots.get(i), "Vaccination"));
+        }
+        Appointment clash = new Appointment("AV-extra", patient, slots.get(0), "Vaccination");
+        batch.add(clash);
+        assertEquals(List.of(clash), service.scheduleAppointments(batch));
+        assertEquals(2_000, service.findAppointmentsByStatus(Appointment.Status.SCHEDULED).size());
+    }
+
+    @Test
+    void pageByDateTimeListsChronologically() { // Tests paging appointments by date and time
+        service.scheduleAppointment(appt2);
+        service.scheduleAppointment(appt1);
+        Page<Appointment> page = service.page(null, 1, AppointmentService.SortKey.DATE_TIME);
+        assertEquals(List.of(appt1), page.getItems());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void countByStatusFollowsEachDay() { // Tests that per-day status counts follow scheduling, completion, cancellation and deletion
+        LocalDate day = appt1.getDateTime().toLocalDate();
+        Appointment sameDay = new Appointment("A003", patient, appt1.getDateTime().plusMinutes(30), "Scan");
+        service.scheduleAppointment(appt1);
+        service.scheduleAppointment(sameDay);
+        service.scheduleAppointment(appt2);
+        assertEquals(Map.of(Appointment.Status.SCHEDULED, 2, Appointment.Status.COMPLETED, 0, Appointment.Status.CANCELLED, 0),
+                service.countByStatus(day));
+        appt1.complete();
+        service.updateAppointment(appt1);
+        service.cancelAppointment("A003");
+        assertEquals(Map.of(Appointment.Status.SCHEDULED, 0, Appointment.Status.COMPLETED, 1, Appointment.Status.CANCELLED, 1),
+                service.countByStatus(day));
+        service.deleteAppointment("A001");
+        assertEquals(0, service.countByStatus(day).get(Appointment.Status.COMPLETED));
+        assertEquals(1, service.countByStatus(appt2.getDateTime().toLocalDate()).get(Appointment.Status.SCHEDULED));
+        assertThrows(IllegalArgumentException.class, () -> service.countByStatus(null));
+    }
+}
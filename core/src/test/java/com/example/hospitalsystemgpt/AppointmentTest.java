@@ -140,4 +140,13 @@ public class AppointmentTest {
         Appointment appt = new Appointment("A016", patient, futureDateTime, "Checkup");
         assertFalse(appt.equals("not an appointment"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void restoreAllowsPastDateAndKeepsStatus() { // Tests that restore accepts a past date/time and the stored status
+        LocalDateTime past = LocalDateTime.now().minusDays(10);
+        Appointment appt = Appointment.restore("A017", patient, past, "Checkup", Appointment.Status.COMPLETED);
+        assertEquals(past, appt.getDateTime());
+        assertEquals(Appointment.Status.COMPLETED, appt.getStatus());
+        assertThrows(IllegalArgumentException.class, () -> Appointment.restore("A018", patient, past, "Checkup", null));
+    }
+}
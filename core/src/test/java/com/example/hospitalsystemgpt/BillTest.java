@@ -3,6 +3,7 @@ package com.example.hospitalsystemgpt;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,7 +21,7 @@ public class BillTest {
         Bill bill = new Bill("B001", patient);
         assertEquals("B001", bill.getBillId());
         assertEquals(patient, bill.getPatient());
-        assertEquals(0.0, bill.getTotalAmount());
+        assertEquals(Money.parse("0.0"), bill.getTotalAmount());
         assertEquals(Bill.Status.UNPAID, bill.getStatus());
         assertTrue(bill.getLineItems().isEmpty());
         assertNull(bill.getPaymentReference());
@@ -44,15 +45,24 @@ public class BillTest {
         assertTrue(ex.getMessage().contains("Patient"));
     }
 
+    @Test
+    void issueTimeDefaultsToNowAndCanBeGiven() { // Tests the bill's issue time
+        LocalDateTime before = LocalDateTime.now();
+        assertFalse(new Bill("B002", patient).getIssuedAt().isBefore(before));
+        LocalDateTime issued = LocalDateTime.of(2024, 3, 1, 9, 30);
+        assertEquals(issued, new Bill("B002", patient, Money.DEFAULT_CURRENCY, issued).getIssuedAt());
+        assertThrows(IllegalArgumentException.class, () -> new Bill("B002", patient, Money.DEFAULT_CURRENCY, null));
+    }
+
     @Test
     void addLineItemUpdatesTotal() { // Tests adding line items and updating total amount
         Bill bill = new Bill("B003", patient);
-        Bill.LineItem item1 = new Bill.LineItem("Consultation", 100.0);
-        Bill.LineItem item2 = new Bill.LineItem("X-Ray", 200.0);
+        Bill.LineItem item1 = new Bill.LineItem("Consultation", Money.parse("100.0"));
+        Bill.LineItem item2 = new Bill.LineItem("X-Ray", Money.parse("200.0"));
         bill.addLineItem(item1);
         bill.addLineItem(item2);
         assertEquals(2, bill.getLineItems().size());
-        assertEquals(300.0, bill.getTotalAmount());
+        assertEquals(Money.parse("300.0"), bill.getTotalAmount());
     }
 
     @Test
@@ -92,13 +102,53 @@ public class BillTest {
         assertTrue(ex.getMessage().contains("Payment reference"));
     }
 
+    @Test
+    void compactLineItemsReadBackExactly() { // Tests indexed reads, shared descriptions and amounts too large for an int
+        Bill bill = new Bill("B009", patient);
+        Bill other = new Bill("B010", patient);
+        for (int i = 0; i < 1000; i++) {
+            bill.addLineItem(new Bill.LineItem(new String("Room day " + i % 70), Money.ofMinor(100 + i)));
+            if (i < 5) other.addLineItem(new Bill.LineItem(new String("Room day " + i % 3), Money.ofMinor(1)));
+        }
+        bill.addLineItem(new Bill.LineItem("Surgery", Money.ofMinor(5_000_000_000L)));
+
+        assertEquals(1001, bill.getLineItemCount());
+        assertEquals("Room day 10", bill.getLineItemDescription(80));
+        assertSame(bill.getLineItemDescription(10), bill.getLineItemDescription(80)); // Stored once per bill
+        assertSame(other.getLineItemDescription(1), other.getLineItemDescription(4));
+        assertEquals("Room day 2", other.getLineItemDescription(2));
+        assertEquals(110, bill.getLineItemAmountMinorUnits(10));
+        assertEquals(5_000_000_000L, bill.getLineItemAmountMinorUnits(1000));
+        long sum = 0;
+        for (int i = 0; i < bill.getLineItemCount(); i++) sum += bill.getLineItemAmountMinorUnits(i);
+        assertEquals(bill.getTotalMinorUnits(), sum);
+        assertEquals(Money.ofMinor(999), bill.getLineItems().get(899).getAmount());
+        assertEquals("Surgery", bill.getLineItems().get(1000).getDescription());
+        assertThrows(IndexOutOfBoundsException.class, () -> bill.getLineItemAmountMinorUnits(1001));
+        assertThrows(IndexOutOfBoundsException.class, () -> other.getLineItemDescription(-1));
+    }
+
+    @Test
+    void compactLineItemsWidenDescriptionIds() { // Tests a bill with more distinct descriptions than char IDs can hold
+        Bill bill = new Bill("B011", patient);
+        int distinct = Character.MAX_VALUE + 10;
+        for (int i = 0; i < distinct; i++) bill.addLineItem(new Bill.LineItem("Charge " + i, Money.ofMinor(i + 1)));
+        bill.addLineItem(new Bill.LineItem(new String("Charge 42"), Money.ofMinor(1)));
+
+        assertEquals(distinct + 1, bill.getLineItemCount());
+        assertEquals("Charge 0", bill.getLineItemDescription(0));
+        assertEquals("Charge " + (distinct - 1), bill.getLineItemDescription(distinct - 1));
+        assertSame(bill.getLineItemDescription(42), bill.getLineItemDescription(distinct));
+        assertEquals(distinct, bill.getLineItemAmountMinorUnits(distinct - 1));
+    }
+
     @Test
     void getLineItemsReturnsUnmodifiableList() { // Tests that getLineItems returns an unmodifiable list
         Bill bill = new Bill("B009", patient);
-        Bill.LineItem item = new Bill.LineItem("Test", 50.0);
+        Bill.LineItem item = new Bill.LineItem("Test", Money.parse("50.0"));
         bill.addLineItem(item);
         List<Bill.LineItem> items = bill.getLineItems();
-        assertThrows(UnsupportedOperationException.class, () -> items.add(new Bill.LineItem("Other", 10.0)));
+        assertThrows(UnsupportedOperationException.class, () -> items.add(new Bill.LineItem("Other", Money.parse("10.0"))));
     }
 
     @Test
@@ -138,32 +188,32 @@ public class BillTest {
 
     @Test
     void validLineItemIsCreated() { // Tests valid construction and getters for LineItem
-        Bill.LineItem item = new Bill.LineItem("Lab Test", 75.0);
+        Bill.LineItem item = new Bill.LineItem("Lab Test", Money.parse("75.0"));
         assertEquals("Lab Test", item.getDescription());
-        assertEquals(75.0, item.getAmount());
+        assertEquals(Money.parse("75.0"), item.getAmount());
     }
 
     @Test
     void nullDescriptionThrowsException() { // Tests that null description is rejected in LineItem
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem(null, 10.0));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem(null, Money.parse("10.0")));
         assertTrue(ex.getMessage().contains("Description"));
     }
 
     @Test
     void blankDescriptionThrowsException() { // Tests that blank description is rejected in LineItem
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem("   ", 10.0));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem("   ", Money.parse("10.0")));
         assertTrue(ex.getMessage().contains("Description"));
     }
 
     @Test
     void zeroAmountThrowsException() { // Tests that zero amount is rejected in LineItem
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem("Service", 0.0));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem("Service", Money.parse("0.0")));
         assertTrue(ex.getMessage().contains("positive"));
     }
 
     @Test
     void negativeAmountThrowsException() { // Tests that negative amount is rejected in LineItem
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem("Service", -5.0));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new Bill.LineItem("Service", Money.parse("-5.0")));
         assertTrue(ex.getMessage().contains("positive"));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BillingRunTest {
+    private static final LocalDateTime DAY = LocalDate.of(2024, 3, 4).atStartOfDay();
+    private static final Map<String, Money> TARIFF = Map.of("Checkup", Money.parse("60.00"), "X-ray", Money.parse("90.50"));
+
+    private final Patient patient = new Patient("P1", "Alice", LocalDate.of(1990, 1, 1));
+
+    private static void add(HospitalServices services, String id, Patient patient, LocalDateTime at, String type, Appointment.Status status) {
+        services.getAppointmentService().scheduleAppointment(Appointment.restore(id, patient, at, type, status));
+    }
+
+    @Test
+    void billsCompletedAppointmentsInTheWindow() { // Tests which appointments are billed and how they are priced
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.SINGLE_THREADED);
+        add(services, "A1", patient, DAY.plusHours(9), "Checkup", Appointment.Status.COMPLETED);
+        add(services, "A2", patient, DAY.plusHours(10), " x-ray ", Appointment.Status.COMPLETED);
+        add(services, "A3", patient, DAY.plusHours(11), "Checkup", Appointment.Status.SCHEDULED);
+        add(services, "A4", patient, DAY.plusHours(12), "Checkup", Appointment.Status.CANCELLED);
+        add(services, "A5", patient, DAY.plusHours(13), "Surgery", Appointment.Status.COMPLETED);
+        add(services, "A6", patient, DAY.plusDays(1).plusHours(9), "Checkup", Appointment.Status.COMPLETED);
+
+        BillingRun.Result result = new BillingRun(services, TARIFF).run(DAY, DAY.plusDays(1));
+        assertEquals(new BillingRun.Result(2, 0, 1), result);
+        BillingService billing = services.getBillingService();
+        assertEquals(2, billing.count());
+        Bill xray = billing.findBillById(BillingRun.billIdFor("A2"));
+        assertEquals(Money.parse("90.50"), xray.getTotalAmount());
+        assertEquals(" x-ray  on 2024-03-04", xray.getLineItems().get(0).getDescription());
+        assertEquals(Money.parse("150.50"), billing.getOutstandingBalance("P1", Money.DEFAULT_CURRENCY));
+        assertNull(billing.findBillById(BillingRun.billIdFor("A6")));
+    }
+
+    @Test
+    void rerunIsIdempotent() { // Tests that running the same window again creates no bills
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.SINGLE_THREADED);
+        add(services, "A1", patient, DAY.plusHours(9), "Checkup", Appointment.Status.COMPLETED);
+        add(services, "A2", patient, DAY.plusHours(10), "X-ray", Appointment.Status.COMPLETED);
+        BillingRun run = new BillingRun(services, TARIFF);
+        assertEquals(new BillingRun.Result(2, 0, 0), run.run(DAY, DAY.plusDays(1)));
+        services.getBillingService().markBillAsPaid(BillingRun.billIdFor("A1"), "TX-1");
+        assertEquals(new BillingRun.Result(0, 2, 0), run.run(DAY, DAY.plusDays(1)));
+        assertEquals(2, services.getBillingService().count());
+    }
+
+    @Test
+    void parallelRunMatchesSequentialRun() { // Tests the fork-join path across many partitions
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+        int count = BillingRun.PARTITION_SIZE * 5 + 17;
+        for (int i = 0; i < count; i++) {
+            add(services, "A" + i, patient, DAY.plusSeconds(i), i % 3 == 0 ? "Surgery" : "Checkup", Appointment.Status.COMPLETED);
+        }
+        int unpriced = (count + 2) / 3;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BillingRun run = new BillingRun(services, TARIFF, pool);
+            assertEquals(new BillingRun.Result(count - unpriced, 0, unpriced), run.run(DAY, DAY.plusDays(1)));
+            assertEquals(new BillingRun.Result(0, count - unpriced, unpriced), run.run(DAY, DAY.plusDays(1)));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(Money.parse("60.00").times(count - unpriced), services.getBillingService().getUnpaidTotal(Money.DEFAULT_CURRENCY));
+    }
+
+    @Test
+    void invalidTariffThrowsException() { // Tests tariff validation
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.SINGLE_THREADED);
+        assertThrows(IllegalArgumentException.class, () -> new BillingRun(services, null));
+        assertThrows(IllegalArgumentException.class, () -> new BillingRun(services, Map.of("Checkup", Money.ofMinor(0))));
+        assertThrows(IllegalArgumentException.class, () -> new BillingRun(services, Map.of("Checkup", Money.ofMinor(1), "checkup ", Money.ofMinor(2))));
+        assertThrows(IllegalArgumentException.class, () -> new BillingRun(services, TARIFF).run(DAY, DAY.minusDays(1)));
+    }
+
+    @Test
+    void createBillsSkipsExistingIds() { // Tests the batch create used by the run
+        BillingService billing = new BillingServiceImpl();
+        Bill first = new Bill("B1", patient);
+        billing.createBill(first);
+        Bill duplicate = new Bill("B1", patient);
+        Bill fresh = new Bill("B2", patient);
+        assertEquals(List.of(duplicate), billing.createBills(List.of(duplicate, fresh)));
+        assertSame(first, billing.findBillById("B1"));
+        assertSame(fresh, billing.findBillById("B2"));
+        assertThrows(IllegalArgumentException.class, () -> billing.createBills(null));
+    }
+}
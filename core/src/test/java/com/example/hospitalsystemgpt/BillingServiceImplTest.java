@@ -0,0 +1,342 @@
+package com.example.hospitalsystemgpt;
+
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BillingServiceImplTest {
+    private BillingService service;
+    private Patient patient;
+    private Bill bill1;
+    private Bill bill2;
+
+    @BeforeEach
+    void setUp() {
+        service = new BillingServiceImpl();
+        patient = new Patient("P001", "Alice", LocalDate.of(1990, 1, 1));
+        bill1 = new Bill("B001", patient);
+        bill2 = new Bill("B002", patient);
+    }
+
+    @Test
+    void createBillWorks() { // Tests creating a new bill
+        service.createBill(bill1);
+        assertEquals(bill1, service.findBillById("B001"));
+    }
+
+    @Test
+    void createNullBillThrowsException() { // Tests that creating null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.createBill(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void createDuplicateBillThrowsException() { // Tests that creating duplicate bill throws exception
+        service.createBill(bill1);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.createBill(bill1));
+        assertTrue(ex.getMessage().contains("already exists"));
+    }
+
+    @Test
+    void findBillByIdReturnsCorrectBill() { // Tests finding a bill by ID
+        service.createBill(bill1);
+        service.createBill(bill2);
+        assertEquals(bill2, service.findBillById("B002"));
+    }
+
+    @Test
+    void findBillByIdReturnsNullIfNotFound() { // Tests finding a non-existent bill returns null
+        assertNull(service.findBillById("B999"));
+    }
+
+    @Test
+    void getAllBillsReturnsAllCreated() { // Tests getting all created bills
+        service.createBill(bill1);
+        service.createBill(bill2);
+        List<Bill> bills = service.getAllBills();
+        assertEquals(2, bills.size());
+        assertTrue(bills.contains(bill1));
+        assertTrue(bills.contains(bill2));
+    }
+
+    @Test
+    void updateBillWorks() { // Tests updating an existing bill
+        service.createBill(bill1);
+        Bill updated = new Bill("B001", patient);
+        updated.addLineItem(new Bill.LineItem("Service", Money.parse("100.0")));
+        service.updateBill(updated);
+        assertEquals(Money.parse("100.0"), service.findBillById("B001").getTotalAmount());
+    }
+
+    @Test
+    void updateNullBillThrowsException() { // Tests that updating null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updateBill(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void updateNonExistentBillThrowsException() { // Tests that updating a non-existent bill throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updateBill(bill1));
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void markBillAsPaidWorks() { // Tests marking a bill as paid
+        service.createBill(bill1);
+        service.markBillAsPaid("B001", "PAY123");
+        assertEquals(Bill.Status.PAID, service.findBillById("B001").getStatus());
+        assertEquals("PAY123", service.findBillById("B001").getPaymentReference());
+    }
+
+    @Test
+    void markBillAsPaidWithNullReferenceThrowsException() { // Tests that null payment reference throws exception
+        service.createBill(bill1);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.markBillAsPaid("B001", null));
+        assertTrue(ex.getMessage().contains("Payment reference"));
+    }
+
+    @Test
+    void markBillAsPaidWithBlankReferenceThrowsException() { // Tests that blank payment reference throws exception
+        service.createBill(bill1);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.markBillAsPaid("B001", "   "));
+        assertTrue(ex.getMessage().contains("Payment reference"));
+    }
+
+    @Test
+    void markBillAsPaidOnNonExistentBillThrowsException() { // Tests that marking a non-existent bill as paid throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.markBillAsPaid("B999", "PAY123"));
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void markBillAsPaidOnAlreadyPaidBillThrowsException() { // Tests that marking an already paid bill throws exception
+        service.createBill(bill1);
+        service.markBillAsPaid("B001", "PAY123");
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.markBillAsPaid("B001", "PAY456"));
+        assertTrue(ex.getMessage().contains("already paid"));
+    }
+
+    @Test
+    void deleteBillWorks() { // Tests deleting an existing bill
+        service.createBill(bill1);
+        assertTrue(service.deleteBill("B001"));
+        assertNull(service.findBillById("B001"));
+    }
+
+    @Test
+    void deleteNonExistentBillReturnsFalse() { // Tests deleting a non-existent bill returns false
+        assertFalse(service.deleteBill("B999"));
+    }
+
+    @Test
+    void pageByStatusFollowsPayment() { // Tests that paying a bill moves it in the status order
+        bill1.addLineItem(new Bill.LineItem("Consultation", Money.parse("50.0")));
+        bill2.addLineItem(new Bill.LineItem("X-Ray", Money.parse("80.0")));
+        service.createBill(bill1);
+        service.createBill(bill2);
+        service.markBillAsPaid("B002", "REF-1");
+        assertEquals(List.of(bill2, bill1), service.page(null, 10, BillingService.SortKey.STATUS).getItems());
+    }
+
+    @Test
+    void unpaidTotalFollowsLineItemsAndPayments() { // Tests that the unpaid total follows added line items, payments and deletions
+        service.createBill(bill1);
+        service.createBill(bill2);
+        bill1.addLineItem(new Bill.LineItem("Consultation", Money.parse("100.10")));
+        service.updateBill(bill1);
+        bill2.addLineItem(new Bill.LineItem("X-ray", Money.parse("50.20")));
+        service.updateBill(bill2);
+        assertEquals(Money.parse("150.30"), service.getUnpaidTotal(Money.DEFAULT_CURRENCY));
+        service.markBillAsPaid("B001", "TX-1");
+        assertEquals(Money.parse("50.20"), service.getUnpaidTotal(Money.DEFAULT_CURRENCY));
+        service.deleteBill("B002");
+        assertEquals(Money.zero(Money.DEFAULT_CURRENCY), service.getUnpaidTotal(Money.DEFAULT_CURRENCY));
+    }
+
+    @Test
+    void addLineItemUpdatesTheBill() { // Tests adding a line item through the service
+        service.createBill(bill1);
+        service.addLineItem("B001", new Bill.LineItem("Consultation", Money.parse("80.25")));
+        assertEquals(Money.parse("80.25"), service.findBillById("B001").getTotalAmount());
+        assertEquals(1, service.findBillById("B001").getLineItems().size());
+    }
+
+    @Test
+    void addLineItemToPaidOrMissingBillThrowsException() { // Tests that only existing unpaid bills take line items
+        service.createBill(bill1);
+        service.addLineItem("B001", new Bill.LineItem("Consultation", Money.parse("10.00")));
+        service.markBillAsPaid("B001", "TX-1");
+        Bill.LineItem item = new Bill.LineItem("X-ray", Money.parse("5.00"));
+        assertThrows(IllegalArgumentException.class, () -> service.addLineItem("B001", item));
+        assertThrows(IllegalArgumentException.class, () -> service.addLineItem("B999", item));
+        assertThrows(IllegalArgumentException.class, () -> service.addLineItem("B001", null));
+        assertEquals(Money.parse("10.00"), service.findBillById("B001").getTotalAmount());
+    }
+
+    @Test
+    void aggregatesFollowEveryChange() { // Tests totals and counts per status and balances per patient
+        Patient bob = new Patient("P002", "Bob", LocalDate.of(1985, 5, 5));
+        Bill bill3 = new Bill("B003", bob);
+        service.createBill(bill1);
+        service.createBill(bill2);
+        service.createBill(bill3);
+        service.addLineItem("B001", new Bill.LineItem("Consultation", Money.parse("100.10")));
+        service.addLineItem("B002", new Bill.LineItem("X-ray", Money.parse("50.20")));
+        service.addLineItem("B003", new Bill.LineItem("Lab panel", Money.parse("30.00")));
+        assertEquals(3, service.countByStatus(Bill.Status.UNPAID));
+        assertEquals(0, service.countByStatus(Bill.Status.PAID));
+        assertEquals(Money.parse("150.30"), service.getOutstandingBalance("P001", Money.DEFAULT_CURRENCY));
+        assertEquals(Money.parse("30.00"), service.getOutstandingBalance("P002", Money.DEFAULT_CURRENCY));
+
+        service.markBillAsPaid("B001", "TX-1");
+        assertEquals(Money.parse("50.20"), service.getOutstandingBalance("P001", Money.DEFAULT_CURRENCY));
+        assertEquals(Money.parse("100.10"), service.getTotalByStatus(Bill.Status.PAID, Money.DEFAULT_CURRENCY));
+        assertEquals(Money.parse("80.20"), service.getTotalByStatus(Bill.Status.UNPAID, Money.DEFAULT_CURRENCY));
+        assertEquals(2, service.countByStatus(Bill.Status.UNPAID));
+        assertEquals(1, service.countByStatus(Bill.Status.PAID));
+
+        service.deleteBill("B002");
+        service.deleteBill("B001");
+        assertEquals(Money.zero(Money.DEFAULT_CURRENCY), service.getOutstandingBalance("P001", Money.DEFAULT_CURRENCY));
+        assertEquals(Money.zero(Money.DEFAULT_CURRENCY), service.getTotalByStatus(Bill.Status.PAID, Money.DEFAULT_CURRENCY));
+        assertEquals(1, service.countByStatus(Bill.Status.UNPAID));
+        assertEquals(0, service.countByStatus(Bill.Status.PAID));
+        assertEquals(Money.zero(Currency.getInstance("EUR")), service.getOutstandingBalance("P002", Currency.getInstance("EUR")));
+        assertThrows(IllegalArgumentException.class, () -> service.getOutstandingBalance(null, Money.DEFAULT_CURRENCY));
+        assertThrows(IllegalArgumentException.class, () -> service.countByStatus(null));
+    }
+
+    @Test
+    void applyPaymentsReportsInsteadOfThrowing() { // Tests every payment outcome of the batch payment call
+        service.createBill(bill1);
+        service.createBill(bill2);
+        service.addLineItem("B001", new Bill.LineItem("Consultation", Money.parse("10.00")));
+        service.addLineItem("B002", new Bill.LineItem("X-ray", Money.parse("20.00")));
+        List<BillingService.PaymentOutcome> outcomes = service.applyPayments(List.of(
+                new BillingService.Payment("B001", "TX-1", Money.parse("10.00")),
+                new BillingService.Payment("B001", "TX-1", Money.parse("10.00")),
+                new BillingService.Payment("B001", "TX-2", Money.parse("10.00")),
+                new BillingService.Payment("B002", "TX-3", Money.parse("19.99")),
+                new BillingService.Payment("B404", "TX-4", Money.parse("1.00"))));
+        assertEquals(List.of(BillingService.PaymentOutcome.PAID, BillingService.PaymentOutcome.DUPLICATE,
+                BillingService.PaymentOutcome.ALREADY_PAID, BillingService.PaymentOutcome.AMOUNT_MISMATCH,
+                BillingService.PaymentOutcome.UNMATCHED), outcomes);
+        assertEquals("TX-1", service.findBillById("B001").getPaymentReference());
+        assertEquals(Bill.Status.UNPAID, service.findBillById("B002").getStatus());
+        assertEquals(1, service.countByStatus(Bill.Status.PAID));
+        // The paid bill is re-filed in the status order: PAID before UNPAID, whatever the IDs.
+        service.createBill(new Bill("A001", patient));
+        assertEquals(List.of("B001", "A001", "B002"), service.page(null, 10, BillingService.SortKey.STATUS).getItems().stream()
+                .map(Bill::getBillId).toList());
+        assertThrows(IllegalArgumentException.class, () -> new BillingService.Payment("B001", " ", Money.parse("1.00")));
+    }
+
+    /** A clock whose day the test moves forward. */
+    private static final class DayClock extends Clock {
+        private LocalDate day;
+
+        DayClock(LocalDate day) {
+            this.day = day;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+    }
+
+    private Bill issued(String id, LocalDate day, String amount) {
+        Bill bill = new Bill(id, patient, Money.DEFAULT_CURRENCY, day.atTime(10, 0));
+        bill.addLineItem(new Bill.LineItem("Consultation", Money.parse(amount)));
+        return bill;
+    }
+
+    private static Money aged(BillingService service, BillingService.AgingBucket bucket) {
+        return service.getAgingReport(Money.DEFAULT_CURRENCY).total(bucket);
+    }
+
+    @Test
+    void agingBucketsFollowIssueDatesAndPayments() { // Tests the aging report as bills are created, changed, paid and deleted
+        LocalDate today = LocalDate.of(2025, 6, 30);
+        BillingService aging = new BillingServiceImpl(new ChangePublisher(), new DayClock(today));
+        aging.createBill(issued("B1", today, "10.00"));
+        aging.createBill(issued("B2", today.minusDays(30), "20.00"));
+        aging.createBill(issued("B3", today.minusDays(31), "30.00"));
+        aging.createBill(issued("B4", today.minusDays(75), "40.00"));
+        aging.createBill(issued("B5", today.minusDays(91), "50.00"));
+        aging.createBill(issued("B6", today.minusDays(400), "60.00"));
+        aging.createBill(new Bill("B7", patient, Currency.getInstance("EUR"), today.atStartOfDay()));
+
+        BillingService.AgingReport report = aging.getAgingReport(Money.DEFAULT_CURRENCY);
+        assertEquals(today, report.asOf());
+        assertEquals(Money.parse("30.00"), report.total(BillingService.AgingBucket.DAYS_0_30));
+        assertEquals(2, report.count(BillingService.AgingBucket.DAYS_0_30));
+        assertEquals(Money.parse("30.00"), report.total(BillingService.AgingBucket.DAYS_31_60));
+        assertEquals(Money.parse("40.00"), report.total(BillingService.AgingBucket.DAYS_61_90));
+        assertEquals(Money.parse("110.00"), report.total(BillingService.AgingBucket.OVER_90));
+        assertEquals(2, report.count(BillingService.AgingBucket.OVER_90));
+        assertEquals(1, aging.getAgingReport(Currency.getInstance("EUR")).count(BillingService.AgingBucket.DAYS_0_30));
+
+        aging.addLineItem("B1", new Bill.LineItem("X-ray", Money.parse("5.00")));
+        aging.markBillAsPaid("B2", "TX-1");
+        aging.deleteBill("B5");
+        aging.updateBill(issued("B4", today.minusDays(10), "40.00"));
+        assertEquals(Money.parse("55.00"), aged(aging, BillingService.AgingBucket.DAYS_0_30));
+        assertEquals(Money.zero(Money.DEFAULT_CURRENCY), aged(aging, BillingService.AgingBucket.DAYS_61_90));
+        assertEquals(Money.parse("60.00"), aged(aging, BillingService.AgingBucket.OVER_90));
+        assertThrows(IllegalArgumentException.class, () -> aging.getAgingReport(null));
+    }
+
+    @Test
+    void agingMovesBillsAcrossBucketsDayByDay() { // Tests the daily pass, including days skipped and bills issued ahead
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        DayClock clock = new DayClock(start);
+        BillingService aging = new BillingServiceImpl(new ChangePublisher(), clock);
+        aging.createBill(issued("B1", start, "10.00"));
+        aging.createBill(issued("B2", start.plusDays(100), "20.00")); // Issued ahead of the clock, beyond the wheel
+
+        clock.day = start.plusDays(30);
+        assertEquals(Money.parse("30.00"), aged(aging, BillingService.AgingBucket.DAYS_0_30));
+        clock.day = start.plusDays(31);
+        assertEquals(Money.parse("10.00"), aged(aging, BillingService.AgingBucket.DAYS_31_60));
+        clock.day = start.plusDays(61);
+        assertEquals(Money.parse("10.00"), aged(aging, BillingService.AgingBucket.DAYS_61_90));
+        aging.createBill(issued("B3", start.plusDays(61), "5.00"));
+        clock.day = start.plusDays(250); // No report for months: the passes catch up
+        BillingService.AgingReport report = aging.getAgingReport(Money.DEFAULT_CURRENCY);
+        assertEquals(Money.parse("35.00"), report.total(BillingService.AgingBucket.OVER_90));
+        assertEquals(3, report.count(BillingService.AgingBucket.OVER_90));
+        aging.markBillAsPaid("B3", "TX-1");
+        assertEquals(2, aging.getAgingReport(Money.DEFAULT_CURRENCY).count(BillingService.AgingBucket.OVER_90));
+
+        // Every day between issue and 100 days later, the bucket is the one its age says.
+        clock.day = start;
+        BillingService daily = new BillingServiceImpl(new ChangePublisher(), clock);
+        daily.createBill(issued("B1", start.plusDays(3), "1.00"));
+        for (int day = 0; day <= 100; day++) {
+            clock.day = start.plusDays(day);
+            BillingService.AgingBucket expected = BillingService.AgingBucket.forAge(day - 3);
+            assertEquals(1, daily.getAgingReport(Money.DEFAULT_CURRENCY).count(expected), "day " + day);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers the concurrent service variants from many threads at once and checks that no create, update,
+ * cancel, payment or delete is lost or applied twice.
+ */
+public class ConcurrentServicesStressTest {
+    private static final int THREADS = 16;
+    private static final int IDS = 2_000;
+
+    private final HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+    private final Patient patient = new Patient("P000", "Alice", LocalDate.of(1990, 1, 1));
+
+    @Test
+    void concurrentCreatesOfSameIdHaveExactlyOneWinner() throws Exception { // Tests putIfAbsent semantics under contention
+        PatientService patients = services.getPatientService();
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                try {
+                    patients.registerPatient(new Patient("P" + i, "Patient " + thread, LocalDate.of(1990, 1, 1)));
+                    created.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(IDS, created.get());
+        assertEquals(IDS * (THREADS - 1), rejected.get());
+        assertEquals(IDS, patients.getAllPatients().size());
+    }
+
+    @Test
+    void concurrentCreatesOfDistinctIdsAreAllKept() throws Exception { // Tests that no insert is lost while the map resizes
+        InventoryService inventory = services.getInventoryService();
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                inventory.addInventoryItem(new InventoryItem("I" + thread + "-" + i, "Item", i, Money.parse("1.0")));
+            }
+        });
+        assertEquals(THREADS * IDS, inventory.getAllInventoryItems().size());
+    }
+
+    @Test
+    void concurrentCancelSucceedsOncePerAppointment() throws Exception { // Tests that cancel is an atomic check-and-set
+        AppointmentService appointments = services.getAppointmentService();
+        for (int i = 0; i < IDS; i++) {
+            appointments.scheduleAppointment(new Appointment("A" + i, patient, LocalDateTime.now().plusDays(1), "Checkup"));
+        }
+        AtomicInteger cancelled = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                if (appointments.cancelAppointment("A" + i)) cancelled.incrementAndGet();
+            }
+        });
+        assertEquals(IDS, cancelled.get());
+    }
+
+    @Test
+    void concurrentPaymentSucceedsOncePerBill() throws Exception { // Tests that a bill cannot be paid twice by racing callers
+        BillingService billing = services.getBillingService();
+        for (int i = 0; i < IDS; i++) {
+            Bill bill = new Bill("B" + i, patient);
+            bill.addLineItem(new Bill.LineItem("Consultation", Money.parse("50.0")));
+            billing.createBill(bill);
+        }
+        AtomicInteger paid = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                try {
+                    billing.markBillAsPaid("B" + i, "REF-" + thread);
+                    paid.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    assertTrue(e.getMessage().contains("already paid"));
+                }
+            }
+        });
+        assertEquals(IDS, paid.get());
+    }
+
+    @Test
+    void billingAggregatesStayExactUnderConcurrentChanges() throws Exception { // Tests the running totals with racing line items and payments
+        BillingService billing = services.getBillingService();
+        for (int i = 0; i < IDS; i++) billing.createBill(new Bill("B" + i, patient));
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                try {
+                    if (thread == 0 && i % 2 == 0) billing.markBillAsPaid("B" + i, "REF-" + i);
+                    else billing.addLineItem("B" + i, new Bill.LineItem("Consultation", Money.ofMinor(1)));
+                } catch (IllegalArgumentException e) {
+                    assertTrue(e.getMessage().contains("already paid"));
+                }
+            }
+        });
+        long unpaid = 0;
+        long paid = 0;
+        int unpaidCount = 0;
+        for (Bill bill : billing.getAllBills()) {
+            if (bill.getStatus() == Bill.Status.UNPAID) {
+                unpaid += bill.getTotalMinorUnits();
+                unpaidCount++;
+            } else {
+                paid += bill.getTotalMinorUnits();
+            }
+        }
+        assertEquals(unpaid, billing.getUnpaidTotal(Money.DEFAULT_CURRENCY).minorUnits());
+        assertEquals(unpaid, billing.getOutstandingBalance(patient.getPatientId(), Money.DEFAULT_CURRENCY).minorUnits());
+        assertEquals(paid, billing.getTotalByStatus(Bill.Status.PAID, Money.DEFAULT_CURRENCY).minorUnits());
+        assertEquals(unpaidCount, billing.countByStatus(Bill.Status.UNPAID));
+        assertEquals(IDS - unpaidCount, billing.countByStatus(Bill.Status.PAID));
+    }
+
+    @Test
+    void concurrentDeleteSucceedsOncePerRecord() throws Exception { // Tests that remove reports success to exactly one caller
+        MedicalRecordService records = services.getMedicalRecordService();
+        Appointment appointment = new Appointment("A0", patient, LocalDateTime.now().plusDays(1), "Checkup");
+        for (int i = 0; i < IDS; i++) {
+            records.addMedicalRecord(new MedicalRecord("R" + i, patient, appointment, "Flu", "Rest", LocalDate.now()));
+        }
+        AtomicInteger deleted = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                if (records.deleteMedicalRecord("R" + i)) deleted.incrementAndGet();
+            }
+        });
+        assertEquals(IDS, deleted.get());
+        assertTrue(records.getAllMedicalRecords().isEmpty());
+    }
+
+    @Test
+    void updateRacingDeleteNeverResurrectsEntity() throws Exception { // Tests that update cannot re-insert a deleted ID
+        InventoryService inventory = services.getInventoryService();
+        for (int i = 0; i < IDS; i++) inventory.addInventoryItem(new InventoryItem("I" + i, "Item", 1, Money.parse("1.0")));
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                if (thread == 0) {
+                    inventory.deleteInventoryItem("I" + i);
+                } else {
+                    try {
+                        inventory.updateInventoryItem(new InventoryItem("I" + i, "Item", 2, Money.parse("1.0")));
+                    } catch (IllegalArgumentException e) {
+                        assertTrue(e.getMessage().contains("does not exist"));
+                    }
+                }
+            }
+        });
+        assertTrue(inventory.getAllInventoryItems().isEmpty());
+    }
+
+    private static void runConcurrently(IntConsumer task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.accept(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void indexesStayConsistentUnderConcurrentChurn() throws Exception { // Tests the appointment indexes with racing writers
+        AppointmentService appointments = services.getAppointmentService();
+        LocalDateTime day = LocalDate.now().plusDays(1).atStartOfDay();
+        runConcurrently(thread -> {
+            for (int i = 0; i < IDS; i++) {
+                String id = "A" + (i % 200);
+                Appointment appointment = new Appointment(id, patient, day.plusMinutes(i % 200), "Checkup");
+                try {
+                    appointments.scheduleAppointment(appointment);
+                } catch (IllegalArgumentException e) {
+                    if (thread % 2 == 0) appointments.deleteAppointment(id); else appointments.cancelAppointment(id);
+                }
+            }
+        });
+        List<Appointment> all = appointments.getAllAppointments();
+        all.sort(java.util.Comparator.comparing(Appointment::getDateTime));
+        assertEquals(all, appointments.findAppointmentsByPatient(patient.getPatientId()));
+        assertEquals(all, appointments.findAppointmentsBetween(day, day.plusDays(1)));
+        int byStatus = 0;
+        for (Appointment.Status status : Appointment.Status.values()) {
+            for (Appointment a : appointments.findAppointmentsByStatus(status)) {
+                assertSame(a, appointments.findAppointmentById(a.getAppointmentId()));
+                byStatus++;
+            }
+        }
+        assertEquals(all.size(), byStatus);
+    }
+
+    @Test
+    void concurrentTryScheduleNeverDoubleBooks() throws Exception { // Tests the atomic slot check under contention
+        AppointmentService appointments = services.getAppointmentService();
+        LocalDateTime day = LocalDate.now().plusDays(2).atTime(8, 0);
+        AtomicInteger booked = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int slot = 0; slot < 40; slot++) {
+                String id = "A" + thread + "-" + slot;
+                if (appointments.tryScheduleAppointment(new Appointment(id, patient, day.plusMinutes(15L * slot), "Checkup"))) {
+                    booked.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(40, booked.get());
+        for (Appointment a : appointments.getAllAppointments()) assertTrue(appointments.findConflicts(a).isEmpty());
+    }
+}
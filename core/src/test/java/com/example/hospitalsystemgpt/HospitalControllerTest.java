@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class HospitalControllerTest {
@@ -79,4 +80,39 @@ public class HospitalControllerTest {
         verify(inventoryService).deleteInventoryItem("I001");
         assert(result);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void adjustStockDelegatesToService() { // Tests adjustStock delegates to InventoryService
+        java.util.Map<String, Integer> deltas = java.util.Map.of("I001", -2);
+        when(inventoryService.adjustStock(deltas)).thenReturn(true);
+        assertTrue(controller.adjustStock(deltas));
+        verify(inventoryService).adjustStock(deltas);
+    }
+
+    @Test
+    void tryReserveStockDelegatesToService() { // Tests tryReserveStock delegates to InventoryService
+        when(inventoryService.tryReserve("I001", 2)).thenReturn(true);
+        assertTrue(controller.tryReserveStock("I001", 2));
+        controller.commitStockReservation("I001", 2);
+        verify(inventoryService).commitReservation("I001", 2);
+    }
+
+    @Test
+    void findAppointmentsByPatientDelegatesToService() { // Tests findAppointmentsByPatient delegates to AppointmentService
+        controller.findAppointmentsByPatient("P001");
+        verify(appointmentService).findAppointmentsByPatient("P001");
+    }
+
+    @Test
+    void tryScheduleAppointmentDelegatesToService() { // Tests tryScheduleAppointment delegates to AppointmentService
+        Appointment appt = mock(Appointment.class);
+        when(appointmentService.tryScheduleAppointment(appt)).thenReturn(true);
+        assertTrue(controller.tryScheduleAppointment(appt));
+    }
+
+    @Test
+    void pagePatientsDelegatesToService() { // Tests pagePatients delegates to PatientService
+        controller.pagePatients(null, 50, PatientService.SortKey.NAME);
+        verify(patientService).page(null, 50, PatientService.SortKey.NAME);
+    }
+}
@@ -55,13 +55,13 @@ public class HospitalIntegrationTest {
         Patient patient = new Patient("p3", "Alice Brown", LocalDate.now().minusYears(40));
         patientService.registerPatient(patient);
         Bill bill = new Bill("b1", patient);
-        Bill.LineItem item1 = new Bill.LineItem("Consultation", 100.0);
-        Bill.LineItem item2 = new Bill.LineItem("Medication", 50.0);
+        Bill.LineItem item1 = new Bill.LineItem("Consultation", Money.parse("100.0"));
+        Bill.LineItem item2 = new Bill.LineItem("Medication", Money.parse("50.0"));
         bill.addLineItem(item1);
         bill.addLineItem(item2);
         billingService.createBill(bill);
         assertNotNull(billingService.findBillById("b1"));
-        assertEquals(150.0, billingService.findBillById("b1").getTotalAmount());
+        assertEquals(Money.parse("150.0"), billingService.findBillById("b1").getTotalAmount());
         billingService.markBillAsPaid("b1", "PAY123");
         assertEquals(Bill.Status.PAID, billingService.findBillById("b1").getStatus());
         assertEquals("PAY123", billingService.findBillById("b1").getPaymentReference());
@@ -69,7 +69,7 @@ public class HospitalIntegrationTest {
 
     @Test
     void testInventoryManagementWorkflow() {
-        InventoryItem item = new InventoryItem("i1", "Bandages", 100, 2.5);
+        InventoryItem item = new InventoryItem("i1", "Bandages", 100, Money.parse("2.5"));
         inventoryService.addInventoryItem(item);
         assertNotNull(inventoryService.findInventoryItemById("i1"));
         item.addStock(50);
@@ -0,0 +1,39 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HospitalServicesTest {
+
+    @Test
+    void createConcurrentUsesThreadSafeServices() { // Tests that CONCURRENT picks the ConcurrentHashMap-backed services
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+        assertTrue(services.isThreadSafe());
+        assertInstanceOf(ConcurrentPatientServiceImpl.class, services.getPatientService());
+        assertInstanceOf(ConcurrentAppointmentServiceImpl.class, services.getAppointmentService());
+        assertInstanceOf(ConcurrentMedicalRecordServiceImpl.class, services.getMedicalRecordService());
+        assertInstanceOf(ConcurrentBillingServiceImpl.class, services.getBillingService());
+        assertInstanceOf(ConcurrentInventoryServiceImpl.class, services.getInventoryService());
+    }
+
+    @Test
+    void createSingleThreadedUsesPlainServices() { // Tests that SINGLE_THREADED picks the HashMap-backed services
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.SINGLE_THREADED);
+        assertFalse(services.isThreadSafe());
+        assertEquals(PatientServiceImpl.class, services.getPatientService().getClass());
+        assertEquals(InventoryServiceImpl.class, services.getInventoryService().getClass());
+    }
+
+    @Test
+    void createNullConcurrencyThrowsException() { // Tests that a null concurrency choice is rejected
+        assertThrows(IllegalArgumentException.class, () -> HospitalServices.create(null));
+    }
+
+    @Test
+    void createControllerUsesTheseServices() { // Tests that the controller is wired to the grouped services
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+        services.createController().registerPatient(new Patient("P001", "Alice", java.time.LocalDate.of(1990, 1, 1)));
+        assertNotNull(services.getPatientService().findPatientById("P001"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntPostingsTest {
+    @Test
+    void roundTripsSmallAndLargeGaps() { // Tests encoding and decoding of one-byte and multi-byte deltas
+        IntPostings postings = new IntPostings();
+        int[] values = {0, 1, 127, 128, 300, 70_000, Integer.MAX_VALUE};
+        for (int v : values) postings.add(v);
+        IntPostings.Cursor cursor = postings.cursor();
+        List<Integer> read = new ArrayList<>();
+        for (int v = cursor.next(); v >= 0; v = cursor.next()) read.add(v);
+        assertEquals(List.of(0, 1, 127, 128, 300, 70_000, Integer.MAX_VALUE), read);
+        assertEquals(values.length, postings.size());
+    }
+
+    @Test
+    void advanceStopsAtFirstValueNotBelowTarget() { // Tests forward seeking
+        IntPostings postings = new IntPostings();
+        for (int v = 0; v < 100; v += 10) postings.add(v);
+        IntPostings.Cursor cursor = postings.cursor();
+        assertEquals(30, cursor.advance(25));
+        assertEquals(30, cursor.advance(30));
+        assertEquals(90, cursor.advance(90));
+        assertEquals(-1, cursor.advance(91));
+    }
+
+    @Test
+    void densePostingsUseOneBytePerEntry() { // Tests the compact encoding
+        IntPostings postings = new IntPostings();
+        for (int v = 0; v < 1000; v++) postings.add(v * 3);
+        assertEquals(1000, postings.byteSize());
+    }
+
+    @Test
+    void rejectsNonIncreasingValues() { // Tests that values must be appended in order
+        IntPostings postings = new IntPostings();
+        postings.add(5);
+        assertThrows(IllegalArgumentException.class, () -> postings.add(5));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.hospitalsystemgpt;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures reserve/commit throughput on inventory items from 1 to N threads, comparing the lock-free
+ * {@link InventoryItem} stock operations against the same operations behind one global lock.
+ * Two workloads are run: every thread dispensing the same hot item (saline), and threads spread over
+ * 64 items. Not a unit test; run it directly (the optional argument is the highest thread count):
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.example.hospitalsystemgpt.InventoryContentionBenchmark 16
+ * </pre>
+ */
+public class InventoryContentionBenchmark {
+    private static final long RUN_MILLIS = 1_000;
+    private static final int ITEMS = 64;
+
+    private interface Dispenser {
+        boolean dispense(InventoryItem item, int amount);
+    }
+
+    private static final Object GLOBAL_LOCK = new Object();
+
+    /** The baseline: the same check-then-act done under one lock shared by every item. */
+    private static boolean dispenseLocked(InventoryItem item, int amount) {
+        synchronized (GLOBAL_LOCK) {
+            if (!item.tryReserve(amount)) return false;
+            item.commitReservation(amount);
+            return true;
+        }
+    }
+
+    private static boolean dispenseLockFree(InventoryItem item, int amount) {
+        if (!item.tryReserve(amount)) return false;
+        item.commitReservation(amount);
+        return true;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-8s %-8s %16s %16s%n", "items", "threads", "global lock op/s", "lock-free op/s");
+        for (int items : new int[] {1, ITEMS}) {
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                run(items, threads, InventoryContentionBenchmark::dispenseLocked); // warm-up
+                long locked = run(items, threads, InventoryContentionBenchmark::dispenseLocked);
+                run(items, threads, InventoryContentionBenchmark::dispenseLockFree); // warm-up
+                long lockFree = run(items, threads, InventoryContentionBenchmark::dispenseLockFree);
+                System.out.printf("%-8d %-8d %,16d %,16d%n", items, threads,
+                        locked * 1000 / RUN_MILLIS, lockFree * 1000 / RUN_MILLIS);
+            }
+        }
+    }
+
+    private static long run(int itemCount, int threads, Dispenser dispenser) throws InterruptedException {
+        InventoryItem[] items = new InventoryItem[itemCount];
+        for (int i = 0; i < itemCount; i++) items[i] = new InventoryItem("I" + i, "Saline", Integer.MAX_VALUE / 2, Money.parse("3.0"));
+        LongAdder ops = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + RUN_MILLIS * 1_000_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long done = 0;
+                int next = seed;
+                while ((done & 1023) != 0 || System.nanoTime() < deadline) {
+                    InventoryItem item = items[next++ % items.length];
+                    // Top the item up instead of letting the run end on an empty shelf.
+                    if (!dispenser.dispense(item, 1)) item.addStock(1_000_000);
+                    done++;
+                }
+                ops.add(done);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread w : workers) w.join();
+        return ops.sum();
+    }
+}
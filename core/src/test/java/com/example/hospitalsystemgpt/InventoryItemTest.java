@@ -7,58 +7,58 @@ import static org.junit.jupiter.api.Assertions.*;
 public class InventoryItemTest {
     @Test
     void validInventoryItemIsCreated() { // Tests valid construction and all getter methods
-        InventoryItem item = new InventoryItem("I001", "Bandage", 10, 2.5);
+        InventoryItem item = new InventoryItem("I001", "Bandage", 10, Money.parse("2.5"));
         assertEquals("I001", item.getItemId());
         assertEquals("Bandage", item.getName());
         assertEquals(10, item.getQuantity());
-        assertEquals(2.5, item.getUnitPrice());
+        assertEquals(Money.parse("2.5"), item.getUnitPrice());
     }
 
     @Test
     void nullIdThrowsException() { // Tests that null ID is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem(null, "Bandage", 10, 2.5));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem(null, "Bandage", 10, Money.parse("2.5")));
         assertTrue(ex.getMessage().contains("ID"));
     }
 
     @Test
     void blankIdThrowsException() { // Tests that blank ID is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("   ", "Bandage", 10, 2.5));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("   ", "Bandage", 10, Money.parse("2.5")));
         assertTrue(ex.getMessage().contains("ID"));
     }
 
     @Test
     void nullNameThrowsException() { // Tests that null name is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I002", null, 10, 2.5));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I002", null, 10, Money.parse("2.5")));
         assertTrue(ex.getMessage().contains("Name"));
     }
 
     @Test
     void blankNameThrowsException() { // Tests that blank name is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I003", "   ", 10, 2.5));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I003", "   ", 10, Money.parse("2.5")));
         assertTrue(ex.getMessage().contains("Name"));
     }
 
     @Test
     void negativeQuantityThrowsException() { // Tests that negative quantity is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I004", "Bandage", -1, 2.5));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I004", "Bandage", -1, Money.parse("2.5")));
         assertTrue(ex.getMessage().contains("Quantity"));
     }
 
     @Test
     void zeroUnitPriceThrowsException() { // Tests that zero unit price is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I005", "Bandage", 10, 0.0));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I005", "Bandage", 10, Money.parse("0.0")));
         assertTrue(ex.getMessage().contains("Unit price"));
     }
 
     @Test
     void negativeUnitPriceThrowsException() { // Tests that negative unit price is rejected
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I006", "Bandage", 10, -1.0));
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> new InventoryItem("I006", "Bandage", 10, Money.parse("-1.0")));
         assertTrue(ex.getMessage().contains("Unit price"));
     }
 
     @Test
     void setNameWorksAndValidates() { // Tests setName with valid and invalid values
-        InventoryItem item = new InventoryItem("I007", "Bandage", 10, 2.5);
+        InventoryItem item = new InventoryItem("I007", "Bandage", 10, Money.parse("2.5"));
         item.setName("Gauze");
         assertEquals("Gauze", item.getName());
         assertThrows(IllegalArgumentException.class, () -> item.setName(null));
@@ -67,16 +67,16 @@ public class InventoryItemTest {
 
     @Test
     void setUnitPriceWorksAndValidates() { // Tests setUnitPrice with valid and invalid values
-        InventoryItem item = new InventoryItem("I008", "Bandage", 10, 2.5);
-        item.setUnitPrice(3.0);
-        assertEquals(3.0, item.getUnitPrice());
-        assertThrows(IllegalArgumentException.class, () -> item.setUnitPrice(0.0));
-        assertThrows(IllegalArgumentException.class, () -> item.setUnitPrice(-1.0));
+        InventoryItem item = new InventoryItem("I008", "Bandage", 10, Money.parse("2.5"));
+        item.setUnitPrice(Money.parse("3.0"));
+        assertEquals(Money.parse("3.0"), item.getUnitPrice());
+        assertThrows(IllegalArgumentException.class, () -> item.setUnitPrice(Money.parse("0.0")));
+        assertThrows(IllegalArgumentException.class, () -> item.setUnitPrice(Money.parse("-1.0")));
     }
 
     @Test
     void addStockWorksAndValidates() { // Tests addStock with valid and invalid values
-        InventoryItem item = new InventoryItem("I009", "Bandage", 10, 2.5);
+        InventoryItem item = new InventoryItem("I009", "Bandage", 10, Money.parse("2.5"));
         item.addStock(5);
         assertEquals(15, item.getQuantity());
         assertThrows(IllegalArgumentException.class, () -> item.addStock(0));
@@ -85,7 +85,7 @@ public class InventoryItemTest {
 
     @Test
     void removeStockWorksAndValidates() { // Tests removeStock with valid and invalid values
-        InventoryItem item = new InventoryItem("I010", "Bandage", 10, 2.5);
+        InventoryItem item = new InventoryItem("I010", "Bandage", 10, Money.parse("2.5"));
         item.removeStock(5);
         assertEquals(5, item.getQuantity());
         assertThrows(IllegalArgumentException.class, () -> item.removeStock(0));
@@ -95,41 +95,122 @@ public class InventoryItemTest {
 
     @Test
     void isLowStockWorks() { // Tests isLowStock method
-        InventoryItem item = new InventoryItem("I011", "Bandage", 3, 2.5);
+        InventoryItem item = new InventoryItem("I011", "Bandage", 3, Money.parse("2.5"));
         assertTrue(item.isLowStock(5));
         assertFalse(item.isLowStock(2));
     }
 
     @Test
     void equalsAndHashCodeBasedOnId() { // Tests equals and hashCode for InventoryItem objects
-        InventoryItem i1 = new InventoryItem("I012", "Bandage", 10, 2.5);
-        InventoryItem i2 = new InventoryItem("I012", "Other", 5, 1.0);
+        InventoryItem i1 = new InventoryItem("I012", "Bandage", 10, Money.parse("2.5"));
+        InventoryItem i2 = new InventoryItem("I012", "Other", 5, Money.parse("1.0"));
         assertEquals(i1, i2);
         assertEquals(i1.hashCode(), i2.hashCode());
     }
 
     @Test
     void notEqualsForDifferentId() { // Tests that items with different IDs are not equal
-        InventoryItem i1 = new InventoryItem("I013", "Bandage", 10, 2.5);
-        InventoryItem i2 = new InventoryItem("I014", "Bandage", 10, 2.5);
+        InventoryItem i1 = new InventoryItem("I013", "Bandage", 10, Money.parse("2.5"));
+        InventoryItem i2 = new InventoryItem("I014", "Bandage", 10, Money.parse("2.5"));
         assertNotEquals(i1, i2);
     }
 
     @Test
     void equalsReturnsTrueForSameObject() { // Tests equals returns true when comparing to self
-        InventoryItem i = new InventoryItem("I015", "Bandage", 10, 2.5);
+        InventoryItem i = new InventoryItem("I015", "Bandage", 10, Money.parse("2.5"));
         assertEquals(i, i);
     }
 
     @Test
     void equalsReturnsFalseForNull() { // Tests equals returns false when comparing to null
-        InventoryItem i = new InventoryItem("I016", "Bandage", 10, 2.5);
+        InventoryItem i = new InventoryItem("I016", "Bandage", 10, Money.parse("2.5"));
         assertNotEquals(i, null);
     }
 
     @Test
     void equalsReturnsFalseForDifferentClass() { // Tests equals returns false when comparing to different class
-        InventoryItem i = new InventoryItem("I017", "Bandage", 10, 2.5);
+        InventoryItem i = new InventoryItem("I017", "Bandage", 10, Money.parse("2.5"));
         assertNotEquals(i, "not an item");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void tryReserveHoldsStockWithoutRemovingIt() { // Tests that reserved units stay on hand but are no longer available
+        InventoryItem i = new InventoryItem("I018", "Saline", 10, Money.parse("3.0"));
+        assertTrue(i.tryReserve(4));
+        assertEquals(10, i.getQuantity());
+        assertEquals(4, i.getReservedQuantity());
+        assertEquals(6, i.getAvailableQuantity());
+    }
+
+    @Test
+    void tryReserveMoreThanAvailableReturnsFalse() { // Tests that an oversized reservation changes nothing
+        InventoryItem i = new InventoryItem("I019", "Saline", 10, Money.parse("3.0"));
+        assertTrue(i.tryReserve(8));
+        assertFalse(i.tryReserve(3));
+        assertEquals(8, i.getReservedQuantity());
+    }
+
+    @Test
+    void commitReservationRemovesReservedStock() { // Tests committing reserved units
+        InventoryItem i = new InventoryItem("I020", "Gloves", 10, Money.parse("0.5"));
+        i.tryReserve(4);
+        i.commitReservation(3);
+        assertEquals(7, i.getQuantity());
+        assertEquals(1, i.getReservedQuantity());
+    }
+
+    @Test
+    void releaseReturnsReservedStock() { // Tests releasing reserved units
+        InventoryItem i = new InventoryItem("I021", "Gloves", 10, Money.parse("0.5"));
+        i.tryReserve(4);
+        i.release(4);
+        assertEquals(10, i.getAvailableQuantity());
+        assertEquals(0, i.getReservedQuantity());
+    }
+
+    @Test
+    void commitOrReleaseMoreThanReservedThrowsException() { // Tests that unreserved units cannot be committed or released
+        InventoryItem i = new InventoryItem("I022", "Gloves", 10, Money.parse("0.5"));
+        i.tryReserve(2);
+        assertThrows(IllegalStateException.class, () -> i.commitReservation(3));
+        assertThrows(IllegalStateException.class, () -> i.release(3));
+    }
+
+    @Test
+    void removeStockCannotTakeReservedUnits() { // Tests that removeStock respects reservations
+        InventoryItem i = new InventoryItem("I023", "Gloves", 10, Money.parse("0.5"));
+        i.tryReserve(8);
+        assertThrows(IllegalArgumentException.class, () -> i.removeStock(3));
+        assertFalse(i.tryRemoveStock(3));
+        assertTrue(i.tryRemoveStock(2));
+        assertEquals(8, i.getQuantity());
+    }
+
+    @Test
+    void addStockOverflowThrowsException() { // Tests that stock cannot overflow
+        InventoryItem i = new InventoryItem("I024", "Gloves", Integer.MAX_VALUE - 1, Money.parse("0.5"));
+        assertThrows(IllegalArgumentException.class, () -> i.addStock(2));
+        assertEquals(Integer.MAX_VALUE - 1, i.getQuantity());
+    }
+
+    @Test
+    void concurrentDispensingNeverOversells() throws Exception { // Tests reserve/commit on a hot item from many threads
+        InventoryItem i = new InventoryItem("I025", "Saline", 10_000, Money.parse("3.0"));
+        int threads = 8;
+        java.util.concurrent.atomic.AtomicInteger dispensed = new java.util.concurrent.atomic.AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                while (i.tryReserve(3)) {
+                    i.commitReservation(3);
+                    dispensed.addAndGet(3);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) w.join();
+        assertEquals(9_999, dispensed.get());
+        assertEquals(1, i.getQuantity());
+        assertEquals(0, i.getReservedQuantity());
+    }
+}
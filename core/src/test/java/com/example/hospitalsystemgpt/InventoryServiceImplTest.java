@@ -0,0 +1,187 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InventoryServiceImplTest {
+    private InventoryService service;
+    private InventoryItem item1;
+    private InventoryItem item2;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventoryServiceImpl();
+        item1 = new InventoryItem("I001", "Bandage", 10, Money.parse("2.5"));
+        item2 = new InventoryItem("I002", "Gauze", 5, Money.parse("1.0"));
+    }
+
+    @Test
+    void addInventoryItemWorks() { // Tests adding a new inventory item
+        service.addInventoryItem(item1);
+        assertEquals(item1, service.findInventoryItemById("I001"));
+    }
+
+    @Test
+    void addNullInventoryItemThrowsException() { // Tests that adding null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.addInventoryItem(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void addDuplicateInventoryItemThrowsException() { // Tests that adding duplicate item throws exception
+        service.addInventoryItem(item1);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.addInventoryItem(item1));
+        assertTrue(ex.getMessage().contains("already exists"));
+    }
+
+    @Test
+    void findInventoryItemByIdReturnsCorrectItem() { // Tests finding an item by ID
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        assertEquals(item2, service.findInventoryItemById("I002"));
+    }
+
+    @Test
+    void findInventoryItemByIdReturnsNullIfNotFound() { // Tests finding a non-existent item returns null
+        assertNull(service.findInventoryItemById("I999"));
+    }
+
+    @Test
+    void getAllInventoryItemsReturnsAllAdded() { // Tests getting all added items
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        List<InventoryItem> items = service.getAllInventoryItems();
+        assertEquals(2, items.size());
+        assertTrue(items.contains(item1));
+        assertTrue(items.contains(item2));
+    }
+
+    @Test
+    void updateInventoryItemWorks() { // Tests updating an existing item
+        service.addInventoryItem(item1);
+        InventoryItem updated = new InventoryItem("I001", "Updated", 20, Money.parse("3.0"));
+        service.updateInventoryItem(updated);
+        assertEquals("Updated", service.findInventoryItemById("I001").getName());
+        assertEquals(20, service.findInventoryItemById("I001").getQuantity());
+        assertEquals(Money.parse("3.0"), service.findInventoryItemById("I001").getUnitPrice());
+    }
+
+    @Test
+    void updateNullInventoryItemThrowsException() { // Tests that updating null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updateInventoryItem(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void updateNonExistentInventoryItemThrowsException() { // Tests that updating a non-existent item throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updateInventoryItem(item1));
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void deleteInventoryItemWorks() { // Tests deleting an existing item
+        service.addInventoryItem(item1);
+        assertTrue(service.deleteInventoryItem("I001"));
+        assertNull(service.findInventoryItemById("I001"));
+    }
+
+    @Test
+    void deleteNonExistentInventoryItemReturnsFalse() { // Tests deleting a non-existent item returns false
+        assertFalse(service.deleteInventoryItem("I999"));
+    }
+
+    @Test
+    void tryReserveAndCommitWork() { // Tests reserving and committing stock through the service
+        service.addInventoryItem(item1);
+        assertTrue(service.tryReserve("I001", 4));
+        service.commitReservation("I001", 4);
+        assertEquals(6, service.findInventoryItemById("I001").getQuantity());
+    }
+
+    @Test
+    void releaseWorks() { // Tests releasing reserved stock through the service
+        service.addInventoryItem(item1);
+        service.tryReserve("I001", 4);
+        service.release("I001", 4);
+        assertEquals(10, service.findInventoryItemById("I001").getAvailableQuantity());
+    }
+
+    @Test
+    void tryReserveNonExistentItemThrowsException() { // Tests reserving stock of an unknown item
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.tryReserve("I999", 1));
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void adjustStockAppliesAllDeltas() { // Tests adding and removing stock of several items in one call
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        assertTrue(service.adjustStock(Map.of("I001", -4, "I002", 3)));
+        assertEquals(6, item1.getQuantity());
+        assertEquals(8, item2.getQuantity());
+    }
+
+    @Test
+    void adjustStockIsAllOrNothing() { // Tests that one short item leaves every item unchanged
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        assertFalse(service.adjustStock(Map.of("I001", -4, "I002", -6)));
+        assertEquals(10, item1.getQuantity());
+        assertEquals(5, item2.getQuantity());
+    }
+
+    @Test
+    void adjustStockOverflowChangesNothing() { // Tests that an overflowing last addition leaves earlier additions and removals unapplied
+        InventoryItem item3 = new InventoryItem("I003", "Swabs", Integer.MAX_VALUE - 1, Money.parse("0.1"));
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        service.addInventoryItem(item3);
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        deltas.put("I002", -2);
+        deltas.put("I001", 5);
+        deltas.put("I003", 2);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.adjustStock(deltas));
+        assertTrue(ex.getMessage().contains("overflow"));
+        assertEquals(10, item1.getQuantity());
+        assertEquals(5, item2.getQuantity());
+        assertEquals(Integer.MAX_VALUE - 1, item3.getQuantity());
+    }
+
+    @Test
+    void adjustStockRejectsInvalidInput() { // Tests null maps, unknown items and zero deltas
+        service.addInventoryItem(item1);
+        assertThrows(IllegalArgumentException.class, () -> service.adjustStock(null));
+        assertThrows(IllegalArgumentException.class, () -> service.adjustStock(Map.of("I999", 1)));
+        assertThrows(IllegalArgumentException.class, () -> service.adjustStock(Map.of("I001", 0)));
+        assertEquals(10, item1.getQuantity());
+    }
+
+    @Test
+    void pageByNameWalksAllItems() { // Tests paging inventory items by name with a cursor
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        Page<InventoryItem> first = service.page(null, 1, InventoryService.SortKey.NAME);
+        assertEquals(List.of(item1), first.getItems());
+        assertEquals(List.of(item2), service.page(first.getNextCursor(), 1, InventoryService.SortKey.NAME).getItems());
+    }
+
+    @Test
+    void lowStockCountFollowsStockMovements() { // Tests that the low-stock tally follows updates, stock movements and deletions
+        item1.addStock(1);
+        service.addInventoryItem(item1);
+        service.addInventoryItem(item2);
+        assertEquals(1, service.countLowStock()); // 11 Bandages, 5 Gauze
+        assertTrue(service.tryReserve("I001", 1));
+        service.commitReservation("I001", 1);
+        assertEquals(2, service.countLowStock());
+        assertTrue(service.adjustStock(Map.of("I002", 20)));
+        assertEquals(1, service.countLowStock());
+        service.deleteInventoryItem("I001");
+        assertEquals(0, service.countLowStock());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Measures {@link MedicalRecordService#searchMedicalRecords} latency on generated records whose diagnosis and
+ * notes draw words from a skewed vocabulary, so some words are very common and some rare. Not a unit test; run it
+ * directly (the optional argument is the number of records, default 1,000,000; give the JVM enough heap):
+ * <pre>
+ * mvn test-compile
+ * java -Xmx8g -cp target/classes:target/test-classes com.example.hospitalsystemgpt.MedicalRecordSearchBenchmark 5000000
+ * </pre>
+ */
+public class MedicalRecordSearchBenchmark {
+    private static final String[] DIAGNOSES = {"Hypertension", "Type 2 diabetes", "Chest pain", "Asthma", "COPD",
+            "Migraine", "Influenza", "Back pain", "Atrial fibrillation", "Pneumonia", "Covid-19", "Anemia"};
+    private static final String[] NOTE_WORDS = {"patient", "reports", "pain", "mild", "severe", "follow", "up",
+            "in", "two", "weeks", "prescribed", "rest", "fluids", "no", "fever", "chest", "on", "exertion", "stable",
+            "referred", "to", "cardiology", "blood", "pressure", "elevated", "night", "cough", "shortness", "breath"};
+    private static final String[] QUERIES = {"pain", "hypertension", "\"chest pain\"", "asthma OR copd",
+            "severe pain exertion", "\"atrial fibrillation\" cardiology", "covid-19", "nonexistent"};
+    private static final int LIMIT = 50;
+    private static final int RUNS = 20;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        MedicalRecordServiceImpl service = new MedicalRecordServiceImpl();
+        Patient patient = new Patient("P1", "Bench Patient", LocalDate.of(1980, 1, 1));
+        Appointment appointment = new Appointment("A1", patient, LocalDateTime.now().plusDays(1), "Checkup");
+        LocalDate today = LocalDate.now();
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            // Squaring the random index skews the choice towards the first words.
+            String diagnosis = DIAGNOSES[skewed(random, DIAGNOSES.length)];
+            StringBuilder notes = new StringBuilder();
+            for (int w = 8 + random.nextInt(8); w > 0; w--) notes.append(NOTE_WORDS[skewed(random, NOTE_WORDS.length)]).append(' ');
+            service.addMedicalRecord(new MedicalRecord("MR" + i, patient, appointment, diagnosis, notes.toString(),
+                    today.minusDays(random.nextInt(3650))));
+        }
+        System.out.printf("Indexed %,d records in %,d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%-36s %6s %12s%n", "query", "hits", "ms/op");
+        for (String query : QUERIES) {
+            int hits = 0;
+            for (int i = 0; i < RUNS; i++) hits = service.searchMedicalRecords(query, LIMIT).size(); // warm-up
+            long t0 = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) service.searchMedicalRecords(query, LIMIT);
+            System.out.printf("%-36s %6d %12.2f%n", query, hits, (System.nanoTime() - t0) / RUNS / 1e6);
+        }
+    }
+
+    private static int skewed(Random random, int n) {
+        double r = random.nextDouble();
+        return (int) (r * r * n);
+    }
+}
@@ -98,4 +98,69 @@ public class MedicalRecordServiceImplTest {
     void deleteNonExistentMedicalRecordReturnsFalse() { // Tests deleting a non-existent record returns false
         assertFalse(service.deleteMedicalRecord("MR999"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void pageByDateListsOldestFirst() { // Tests paging medical records by date
+        MedicalRecord older = new MedicalRecord("MR003", patient, appointment, "Flu", "Rest", today.minusDays(3));
+        service.addMedicalRecord(record1);
+        service.addMedicalRecord(older);
+        assertEquals(List.of(older, record1), service.page(null, 10, MedicalRecordService.SortKey.DATE).getItems());
+    }
+
+    private MedicalRecord record(String id, String diagnosis, String notes, int daysAgo) {
+        return new MedicalRecord(id, patient, appointment, diagnosis, notes, today.minusDays(daysAgo));
+    }
+
+    @Test
+    void searchMatchesAllWordsNewestFirst() { // Tests AND queries over diagnosis and notes, ranked by date
+        MedicalRecord old = record("MR010", "Chest pain", "Suspected angina", 30);
+        MedicalRecord recent = record("MR011", "Angina", "Chest PAIN on exertion", 1);
+        MedicalRecord other = record("MR012", "Back pain", "", 2);
+        service.addMedicalRecord(old);
+        service.addMedicalRecord(recent);
+        service.addMedicalRecord(other);
+        assertEquals(List.of(recent, old), service.searchMedicalRecords("pain angina", 10));
+        assertEquals(List.of(recent, other, old), service.searchMedicalRecords("PAIN", 10));
+        assertEquals(List.of(recent), service.searchMedicalRecords("pain", 1));
+        assertTrue(service.searchMedicalRecords("pai", 10).isEmpty());
+    }
+
+    @Test
+    void searchSupportsOrAndPhrases() { // Tests OR alternatives and quoted phrases
+        MedicalRecord chestPain = record("MR010", "Chest pain", "", 3);
+        MedicalRecord painChest = record("MR011", "Pain in chest", "", 2);
+        MedicalRecord asthma = record("MR012", "Asthma", "", 1);
+        service.addMedicalRecord(chestPain);
+        service.addMedicalRecord(painChest);
+        service.addMedicalRecord(asthma);
+        assertEquals(List.of(chestPain), service.searchMedicalRecords("\"chest pain\"", 10));
+        assertEquals(List.of(asthma, chestPain), service.searchMedicalRecords("asthma OR \"chest pain\"", 10));
+        assertEquals(List.of(asthma, painChest, chestPain), service.searchMedicalRecords("asthma OR chest", 10));
+        assertTrue(service.searchMedicalRecords("\"pain asthma\"", 10).isEmpty());
+    }
+
+    @Test
+    void phraseDoesNotSpanDiagnosisAndNotes() { // Tests that the notes are indexed separately from the diagnosis
+        service.addMedicalRecord(record("MR010", "Migraine", "Severe headache", 1));
+        assertTrue(service.searchMedicalRecords("\"migraine severe\"", 10).isEmpty());
+        assertEquals(1, service.searchMedicalRecords("\"severe headache\"", 10).size());
+    }
+
+    @Test
+    void searchFollowsUpdatesAndDeletes() { // Tests that the text index tracks updateMedicalRecord and deleteMedicalRecord
+        service.addMedicalRecord(record1);
+        MedicalRecord corrected = new MedicalRecord("MR001", patient, appointment, "Influenza", "Rest", today);
+        service.updateMedicalRecord(corrected);
+        assertTrue(service.searchMedicalRecords("flu", 10).isEmpty());
+        assertEquals(List.of(corrected), service.searchMedicalRecords("influenza", 10));
+        service.deleteMedicalRecord("MR001");
+        assertTrue(service.searchMedicalRecords("influenza", 10).isEmpty());
+    }
+
+    @Test
+    void searchRejectsInvalidArguments() { // Tests validation of query and limit
+        assertThrows(IllegalArgumentException.class, () -> service.searchMedicalRecords(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.searchMedicalRecords("flu", 0));
+        assertTrue(service.searchMedicalRecords(" - ", 10).isEmpty());
+    }
+}
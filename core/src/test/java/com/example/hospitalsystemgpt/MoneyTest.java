@@ -0,0 +1,75 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void parseIsExactInMinorUnits() { // Tests parsing into minor units and formatting back
+        assertEquals(1250, Money.parse("12.5").minorUnits());
+        assertEquals(Money.parse("12.50"), Money.parse("12.5"));
+        assertEquals("12.50", Money.parse("12.5").toPlainString());
+        assertEquals("USD 0.10", Money.parse("0.1").toString());
+        assertEquals(1200, Money.parse("1200", JPY).minorUnits());
+        assertEquals(new BigDecimal("1200"), Money.parse("1200", JPY).toBigDecimal());
+    }
+
+    @Test
+    void parseRejectsFractionsOfMinorUnits() { // Tests that amounts are never rounded silently
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("0.125"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1.5", JPY));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("ten"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse(" "));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1e30"));
+    }
+
+    @Test
+    void arithmeticIsExactWhereDoublesDrift() { // Tests that adding tenths stays exact
+        Money total = Money.zero(Money.DEFAULT_CURRENCY);
+        double drifting = 0;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(Money.parse("0.10"));
+            drifting += 0.10;
+        }
+        assertEquals(Money.parse("1.00"), total);
+        assertNotEquals(1.0, drifting);
+        assertEquals(Money.parse("0.30"), Money.parse("1.00").minus(Money.parse("0.70")));
+        assertEquals(Money.parse("7.50"), Money.parse("2.50").times(3));
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() { // Tests overflow checks in every operation
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> max.plus(Money.ofMinor(1)));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(Long.MIN_VALUE).minus(Money.ofMinor(1)));
+        assertThrows(IllegalArgumentException.class, () -> max.times(2));
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(Long.MIN_VALUE).times(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Money.Total(Money.DEFAULT_CURRENCY).add(max).add(Money.ofMinor(1)));
+        assertEquals(Money.ofMinor(-Long.MAX_VALUE), max.times(-1));
+    }
+
+    @Test
+    void currenciesAreNeverMixed() { // Tests that amounts in different currencies cannot be combined
+        Money yen = Money.parse("100", JPY);
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1.00").plus(yen));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1.00").compareTo(yen));
+        assertThrows(IllegalArgumentException.class, () -> new Money.Total(Money.DEFAULT_CURRENCY).add(yen));
+        Bill bill = new Bill("B1", new Patient("P1", "Alice", java.time.LocalDate.of(1990, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> bill.addLineItem(new Bill.LineItem("Visit", yen)));
+    }
+
+    @Test
+    void totalAccumulatesInPlace() { // Tests the allocation-free running total
+        Money.Total total = new Money.Total(Money.DEFAULT_CURRENCY);
+        for (int i = 0; i < 1000; i++) total.add(Money.parse("0.01"));
+        total.add(250, Money.DEFAULT_CURRENCY);
+        assertEquals(1250, total.minorUnits());
+        assertEquals(Money.parse("12.50"), total.toMoney());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.hospitalsystemgpt;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Measures {@link PatientService#searchPatients} latency on a large generated population against a full
+ * case-insensitive scan of {@link PatientService#getAllPatients}. Not a unit test; run it directly (the optional
+ * argument is the number of patients, default 1,000,000; use -Xmx4g or more for 5,000,000):
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.example.hospitalsystemgpt.PatientSearchBenchmark 5000000
+ * </pre>
+ */
+public class PatientSearchBenchmark {
+    private static final String[] FIRST = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "Omar", "Fatima", "Wei", "Aiko", "Carlos", "Sofia", "Ivan", "Olga"};
+    private static final String[] LAST = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Hassan", "Khan", "Chen", "Tanaka", "Lopez", "Rossi", "Petrov", "Novak", "Okafor", "Silva"};
+    private static final String[] QUERIES = {"j", "jo", "joh", "john sm", "hassan", "P0012345", "ssa", "zzz"};
+    private static final int LIMIT = 50;
+    private static final int RUNS = 200;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        PatientServiceImpl service = new PatientServiceImpl();
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            // A numeric suffix makes most names distinct, as real full names mostly are.
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + random.nextInt(10_000);
+            service.registerPatient(new Patient(String.format("P%07d", i), name, LocalDate.of(1950 + random.nextInt(70), 1, 1)));
+        }
+        System.out.printf("Registered %,d patients in %,d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%-10s %8s %14s %14s%n", "query", "hits", "index us/op", "scan us/op");
+        for (String query : QUERIES) {
+            int hits = 0;
+            for (int i = 0; i < RUNS; i++) hits = service.searchPatients(query, LIMIT).size(); // warm-up
+            long t0 = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) service.searchPatients(query, LIMIT);
+            long indexed = (System.nanoTime() - t0) / RUNS / 1000;
+            long t1 = System.nanoTime();
+            for (int i = 0; i < 3; i++) scan(service, query);
+            long scanned = (System.nanoTime() - t1) / 3 / 1000;
+            System.out.printf("%-10s %8d %,14d %,14d%n", query, hits, indexed, scanned);
+        }
+    }
+
+    /** The previous approach: lower-case and test every patient. */
+    private static int scan(PatientService service, String query) {
+        String lower = query.toLowerCase();
+        int hits = 0;
+        for (Patient p : service.getAllPatients()) {
+            if (p.getPatientName().toLowerCase().contains(lower) || p.getPatientId().toLowerCase().contains(lower)) hits++;
+        }
+        return hits;
+    }
+}
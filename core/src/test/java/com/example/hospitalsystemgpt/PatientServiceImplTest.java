@@ -0,0 +1,193 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientServiceImplTest {
+    private PatientService service;
+    private Patient patient1;
+    private Patient patient2;
+
+    @BeforeEach
+    void setUp() {
+        service = new PatientServiceImpl();
+        patient1 = new Patient("P001", "Alice", LocalDate.of(1990, 1, 1));
+        patient2 = new Patient("P002", "Bob", LocalDate.of(1985, 5, 5));
+    }
+
+    @Test
+    void registerPatientWorks() { // Tests registering a new patient
+        service.registerPatient(patient1);
+        assertEquals(patient1, service.findPatientById("P001"));
+    }
+
+    @Test
+    void registerNullPatientThrowsException() { // Tests that registering null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.registerPatient(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void registerDuplicatePatientThrowsException() { // Tests that registering duplicate patient throws exception
+        service.registerPatient(patient1);
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.registerPatient(patient1));
+        assertTrue(ex.getMessage().contains("already exists"));
+    }
+
+    @Test
+    void findPatientByIdReturnsCorrectPatient() { // Tests finding a patient by ID
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        assertEquals(patient2, service.findPatientById("P002"));
+    }
+
+    @Test
+    void findPatientByIdReturnsNullIfNotFound() { // Tests finding a non-existent patient returns null
+        assertNull(service.findPatientById("P999"));
+    }
+
+    @Test
+    void getAllPatientsReturnsAllRegistered() { // Tests getting all registered patients
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        List<Patient> patients = service.getAllPatients();
+        assertEquals(2, patients.size());
+        assertTrue(patients.contains(patient1));
+        assertTrue(patients.contains(patient2));
+    }
+
+    @Test
+    void updatePatientWorks() { // Tests updating an existing patient
+        service.registerPatient(patient1);
+        Patient updated = new Patient("P001", "Alice Updated", LocalDate.of(1990, 1, 1));
+        service.updatePatient(updated);
+        assertEquals("Alice Updated", service.findPatientById("P001").getPatientName());
+    }
+
+    @Test
+    void updateNullPatientThrowsException() { // Tests that updating null throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updatePatient(null));
+        assertTrue(ex.getMessage().contains("null"));
+    }
+
+    @Test
+    void updateNonExistentPatientThrowsException() { // Tests that updating a non-existent patient throws exception
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> service.updatePatient(patient1));
+        assertTrue(ex.getMessage().contains("does not exist"));
+    }
+
+    @Test
+    void deletePatientWorks() { // Tests deleting an existing patient
+        service.registerPatient(patient1);
+        assertTrue(service.deletePatient("P001"));
+        assertNull(service.findPatientById("P001"));
+    }
+
+    @Test
+    void deleteNonExistentPatientReturnsFalse() { // Tests deleting a non-existent patient returns false
+        assertFalse(service.deletePatient("P999"));
+    }
+
+    @Test
+    void pageByNameFollowsUpdates() { // Tests paging by name, including a rename passed to updatePatient
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        patient1.setPatientName("Zoe");
+        service.updatePatient(patient1);
+        Page<Patient> first = service.page(null, 1, PatientService.SortKey.NAME);
+        assertEquals(List.of(patient2), first.getItems());
+        Page<Patient> second = service.page(first.getNextCursor(), 1, PatientService.SortKey.NAME);
+        assertEquals(List.of(patient1), second.getItems());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void pageSkipsDeletedPatients() { // Tests that deleted patients are no longer listed
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        service.deletePatient("P001");
+        assertEquals(List.of(patient2), service.page(null, 10, PatientService.SortKey.ID).getItems());
+    }
+
+    @Test
+    void countFollowsRegistrationsAndDeletions() { // Tests that count matches the registered patients
+        assertEquals(0, service.count());
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        service.deletePatient("P001");
+        assertEquals(1, service.count());
+    }
+
+    @Test
+    void admittedCountFollowsInPlaceChanges() { // Tests that the admitted tally follows admissions, discharges and deletions
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        patient1.admitPatient();
+        service.updatePatient(patient1);
+        patient2.admitPatient();
+        service.updatePatient(patient2);
+        service.updatePatient(patient2);
+        assertEquals(2, service.countAdmitted());
+        patient1.dischargePatient();
+        service.updatePatient(patient1);
+        service.deletePatient("P002");
+        assertEquals(0, service.countAdmitted());
+    }
+
+    @Test
+    void searchRanksExactIdThenPrefixThenSubstring() { // Tests search matching and ranking on names and IDs
+        Patient carla = new Patient("P010", "Carla Lice", LocalDate.of(1970, 3, 3));
+        Patient malice = new Patient("P011", "Malice Grey", LocalDate.of(1980, 4, 4));
+        service.registerPatient(malice);
+        service.registerPatient(carla);
+        service.registerPatient(patient1);
+        assertEquals(List.of(patient1, malice), service.searchPatients("ALIC", 10));
+        assertEquals(List.of(carla, malice, patient1), service.searchPatients("lic", 10));
+        assertEquals(List.of(patient1), service.searchPatients("p001", 10));
+        assertEquals(List.of(malice, carla), service.searchPatients("P01", 10));
+        assertEquals(List.of(carla), service.searchPatients("lic", 1));
+    }
+
+    @Test
+    void shortSearchMatchesPrefixesOnly() { // Tests that one- and two-character queries match word starts
+        service.registerPatient(patient1);
+        service.registerPatient(patient2);
+        assertEquals(List.of(patient2), service.searchPatients("b", 10));
+        assertTrue(service.searchPatients("li", 10).isEmpty());
+        assertTrue(service.searchPatients("  ", 10).isEmpty());
+    }
+
+    @Test
+    void searchFollowsRenamesAndDeletes() { // Tests that the search index tracks updatePatient and deletePatient
+        service.registerPatient(patient1);
+        patient1.setPatientName("Zelda");
+        service.updatePatient(patient1);
+        assertTrue(service.searchPatients("alice", 10).isEmpty());
+        assertEquals(List.of(patient1), service.searchPatients("zel", 10));
+        service.deletePatient("P001");
+        assertTrue(service.searchPatients("zel", 10).isEmpty());
+    }
+
+    @Test
+    void searchSurvivesManyRenames() { // Tests the index rebuild after many retired entries
+        for (int i = 0; i < 3000; i++) service.registerPatient(new Patient("R" + i, "Name" + i, LocalDate.of(1990, 1, 1)));
+        for (int i = 0; i < 3000; i++) {
+            Patient p = service.findPatientById("R" + i);
+            p.setPatientName("Renamed" + i);
+            service.updatePatient(p);
+        }
+        assertEquals(List.of(service.findPatientById("R2999")), service.searchPatients("renamed2999", 10));
+        assertTrue(service.searchPatients("name1", 10).isEmpty());
+        assertEquals(5, service.searchPatients("renamed", 5).size());
+    }
+
+    @Test
+    void searchRejectsInvalidArguments() { // Tests validation of query and limit
+        assertThrows(IllegalArgumentException.class, () -> service.searchPatients(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.searchPatients("a", 0));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionalPostingsTest {
+    @Test
+    void roundTripsDocumentsAndPositions() { // Tests decoding documents and their positions
+        PositionalPostings postings = new PositionalPostings();
+        postings.add(3, new int[] {0, 7, 300}, 3);
+        postings.add(200, new int[] {5, 0}, 1);
+        PositionalPostings.Cursor cursor = postings.cursor();
+        assertEquals(3, cursor.next());
+        assertArrayEquals(new int[] {0, 7, 300}, cursor.positions());
+        assertEquals(200, cursor.next());
+        assertArrayEquals(new int[] {5}, cursor.positions());
+        assertEquals(-1, cursor.next());
+    }
+
+    @Test
+    void advanceSkipsPositionsOfPassedDocuments() { // Tests seeking past documents without reading their positions
+        PositionalPostings postings = new PositionalPostings();
+        for (int doc = 0; doc < 50; doc++) postings.add(doc * 2, new int[] {doc, doc + 1}, 2);
+        PositionalPostings.Cursor cursor = postings.cursor();
+        assertEquals(40, cursor.advance(39));
+        assertArrayEquals(new int[] {20, 21}, cursor.positions());
+        assertEquals(-1, cursor.advance(99));
+        assertEquals(50, postings.size());
+    }
+
+    @Test
+    void rejectsNonIncreasingDocuments() { // Tests that documents must be appended in order
+        PositionalPostings postings = new PositionalPostings();
+        postings.add(1, new int[] {0}, 1);
+        assertThrows(IllegalArgumentException.class, () -> postings.add(1, new int[] {0}, 1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlotOccupancyTest {
+    private final SlotOccupancy occupancy = new SlotOccupancy(LocalTime.of(8, 0), LocalTime.of(18, 0));
+    private final LocalDate day = LocalDate.of(2030, 3, 4);
+
+    @Test
+    void occupyMarksWholeSlot() { // Tests that any time inside a 15-minute slot maps to the same slot
+        assertTrue(occupancy.occupy("P001", "Checkup", day.atTime(9, 5), true));
+        assertFalse(occupancy.isFree("P001", null, day.atTime(9, 14)));
+        assertTrue(occupancy.isFree("P001", null, day.atTime(9, 15)));
+    }
+
+    @Test
+    void occupyRequiringFreeRejectsPatientOrTypeClash() { // Tests both conflict keys
+        occupancy.occupy("P001", "Checkup", day.atTime(10, 0), true);
+        assertFalse(occupancy.occupy("P001", "X-Ray", day.atTime(10, 0), true));
+        assertFalse(occupancy.occupy("P002", " checkup ", day.atTime(10, 0), true));
+        assertTrue(occupancy.occupy("P002", "X-Ray", day.atTime(10, 0), true));
+    }
+
+    @Test
+    void releaseKeepsSlotWhileDoubleBooked() { // Tests that a double-booked slot stays taken until every occupant leaves
+        occupancy.occupy("P001", "Checkup", day.atTime(11, 0), false);
+        occupancy.occupy("P001", "Checkup", day.atTime(11, 0), false);
+        occupancy.release("P001", "Checkup", day.atTime(11, 0));
+        assertFalse(occupancy.isFree("P001", "Checkup", day.atTime(11, 0)));
+        occupancy.release("P001", "Checkup", day.atTime(11, 0));
+        assertTrue(occupancy.isFree("P001", "Checkup", day.atTime(11, 0)));
+    }
+
+    @Test
+    void releasingLastSlotDropsTheDay() { // Tests that a day with no bookings left is not kept, and can be booked again
+        occupancy.occupy("P001", "Checkup", day.atTime(9, 0), true);
+        occupancy.occupy("P002", "X-Ray", day.atTime(10, 0), true);
+        occupancy.occupy("P001", "Checkup", day.plusDays(1).atTime(9, 0), true);
+        occupancy.release("P001", "Checkup", day.atTime(9, 0));
+        assertEquals(2, occupancy.dayCount());
+        occupancy.release("P002", "X-Ray", day.atTime(10, 0));
+        occupancy.release("P001", "Checkup", day.plusDays(1).atTime(9, 0));
+        assertEquals(0, occupancy.dayCount());
+        assertTrue(occupancy.occupy("P001", "Checkup", day.atTime(9, 0), true));
+        assertFalse(occupancy.isFree("P001", null, day.atTime(9, 0)));
+    }
+
+    @Test
+    void findFreeSlotsSkipsTakenSlotsAndClosedHours() { // Tests the free-slot search across a day boundary
+        occupancy.occupy("P001", "Checkup", day.atTime(17, 30), true);
+        List<LocalDateTime> free = occupancy.findFreeSlots("P001", "Checkup", day.atTime(17, 10), 3);
+        assertEquals(List.of(day.atTime(17, 15), day.atTime(17, 45), day.plusDays(1).atTime(8, 0)), free);
+    }
+
+    @Test
+    void findFreeSlotsStartsAtExactSlotBoundary() { // Tests that a slot starting exactly at 'after' is returned
+        assertEquals(List.of(day.atTime(8, 0)), occupancy.findFreeSlots(null, null, day.atTime(8, 0), 1));
+        assertEquals(List.of(day.plusDays(1).atTime(8, 0)), occupancy.findFreeSlots(null, null, day.atTime(23, 50), 1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hospitalsystemgpt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortedIndexTest {
+    private final Map<String, Patient> patients = new HashMap<>();
+    private SortedIndex<Patient, PatientService.SortKey> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SortedIndex<>(PatientService.SortKey.class, Map.of(
+                PatientService.SortKey.ID, p -> "",
+                PatientService.SortKey.NAME, p -> SortedIndex.text(p.getPatientName())));
+        add("P003", "carol");
+        add("P001", "Bob");
+        add("P002", "alice");
+        add("P004", "Bob");
+    }
+
+    @Test
+    void pagesFollowSortKeyWithIdTieBreak() { // Tests name order ignoring case, with equal names ordered by ID
+        assertEquals(List.of("P002", "P001", "P004", "P003"), collect(PatientService.SortKey.NAME, 3));
+        assertEquals(List.of("P001", "P002", "P003", "P004"), collect(PatientService.SortKey.ID, 1));
+    }
+
+    @Test
+    void lastPageHasNoCursor() { // Tests that the final page reports no continuation
+        Page<Patient> page = index.page(null, 4, PatientService.SortKey.ID, patients);
+        assertEquals(4, page.getItems().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void cursorIsStableAcrossInsertsAndDeletes() { // Tests that changes before the cursor do not shift later pages
+        Page<Patient> first = index.page(null, 2, PatientService.SortKey.ID, patients);
+        add("P000", "zed");
+        remove("P001");
+        Page<Patient> second = index.page(first.getNextCursor(), 2, PatientService.SortKey.ID, patients);
+        assertEquals(List.of("P003", "P004"), second.getItems().stream().map(Patient::getPatientId).toList());
+    }
+
+    @Test
+    void reindexedEntityMoves() { // Tests that a renamed entity moves to its new position
+        Patient carol = patients.get("P003");
+        carol.setPatientName("Aaron");
+        index.put("P003", carol);
+        assertEquals("P003", index.page(null, 1, PatientService.SortKey.NAME, patients).getItems().get(0).getPatientId());
+    }
+
+    @Test
+    void invalidArgumentsThrowException() { // Tests bad limits, garbage cursors and cursors from another sort key
+        assertThrows(IllegalArgumentException.class, () -> index.page(null, 0, PatientService.SortKey.ID, patients));
+        assertThrows(IllegalArgumentException.class, () -> index.page(null, 1, null, patients));
+        assertThrows(IllegalArgumentException.class, () -> index.page("%%%", 1, PatientService.SortKey.ID, patients));
+        String byName = index.page(null, 1, PatientService.SortKey.NAME, patients).getNextCursor();
+        assertThrows(IllegalArgumentException.class, () -> index.page(byName, 1, PatientService.SortKey.ID, patients));
+    }
+
+    private void add(String id, String name) {
+        Patient p = new Patient(id, name, LocalDate.of(1990, 1, 1));
+        patients.put(id, p);
+        index.put(id, p);
+    }
+
+    private void remove(String id) {
+        patients.remove(id);
+        index.remove(id);
+    }
+
+    private List<String> collect(PatientService.SortKey key, int pageSize) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<Patient> page = index.page(cursor, pageSize, key, patients);
+            page.getItems().forEach(p -> ids.add(p.getPatientId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
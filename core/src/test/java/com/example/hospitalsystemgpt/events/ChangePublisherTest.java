@@ -0,0 +1,207 @@
+package com.example.hospitalsystemgpt.events;
+
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangePublisherTest {
+    private final ChangePublisher publisher = new ChangePublisher(64, 8, Runnable::run);
+
+    /** Collects what it is sent, requesting {@code initial} events up front. */
+    private static final class Recorder implements Flow.Subscriber<ChangeEvent> {
+        final LinkedBlockingQueue<ChangeEvent> events = new LinkedBlockingQueue<>();
+        final CompletableFuture<Throwable> terminated = new CompletableFuture<>();
+        final CountDownLatch subscribed = new CountDownLatch(1);
+        final long initial;
+        volatile Flow.Subscription subscription;
+
+        Recorder(long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+            if (initial > 0) subscription.request(initial);
+        }
+
+        @Override
+        public void onNext(ChangeEvent item) {
+            events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminated.complete(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.complete(null);
+        }
+
+        ChangeEvent next() throws InterruptedException {
+            ChangeEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "No event arrived");
+            return event;
+        }
+
+        List<ChangeEvent> take(int n) throws InterruptedException {
+            List<ChangeEvent> taken = new ArrayList<>();
+            for (int i = 0; i < n; i++) taken.add(next());
+            return taken;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    @Test
+    void deliversEventsInOrderWithVersions() throws Exception { // Tests ordering and increasing versions
+        Recorder recorder = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(recorder);
+        publisher.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.CREATED, "P1");
+        publisher.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, "P1");
+        publisher.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.DELETED, "P1");
+        List<ChangeEvent> events = recorder.take(3);
+        assertEquals(List.of(ChangeEvent.Kind.CREATED, ChangeEvent.Kind.UPDATED, ChangeEvent.Kind.DELETED),
+                events.stream().map(ChangeEvent::kind).toList());
+        assertTrue(events.get(0).version() < events.get(1).version());
+        assertTrue(events.get(1).version() < events.get(2).version());
+    }
+
+    @Test
+    void honoursDemand() throws Exception { // Tests that nothing is sent beyond what was requested
+        Recorder recorder = new Recorder(2);
+        publisher.subscribe(recorder);
+        assertTrue(recorder.subscribed.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) publisher.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.UPDATED, "B" + i);
+        assertEquals("B0", recorder.next().entityId());
+        assertEquals("B1", recorder.next().entityId());
+        assertNull(recorder.events.poll(100, TimeUnit.MILLISECONDS));
+        recorder.subscription.request(3);
+        assertEquals(List.of("B2", "B3", "B4"), recorder.take(3).stream().map(ChangeEvent::entityId).toList());
+    }
+
+    @Test
+    void filteredViewSeesOneEntityType() throws Exception { // Tests only(entityType)
+        Recorder bills = new Recorder(Long.MAX_VALUE);
+        publisher.only(ChangeEvent.EntityType.BILL).subscribe(bills);
+        publisher.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.CREATED, "P1");
+        publisher.publish(ChangeEvent.EntityType.BILL, ChangeEvent.Kind.CREATED, "B1");
+        assertEquals("B1", bills.next().entityId());
+        assertNull(bills.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void failsSubscriberThatFallsBehind() throws Exception { // Tests the bounded per-subscriber buffer
+        Recorder idle = new Recorder(0);
+        publisher.subscribe(idle);
+        assertTrue(idle.subscribed.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 9; i++) publisher.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, "P" + i);
+        assertInstanceOf(IllegalStateException.class, idle.terminated.get(5, TimeUnit.SECONDS));
+        assertTrue(idle.events.isEmpty());
+    }
+
+    @Test
+    void rejectsNonPositiveRequests() throws Exception { // Tests the Flow rule for request(0)
+        Recorder recorder = new Recorder(0);
+        publisher.subscribe(recorder);
+        assertTrue(recorder.subscribed.await(5, TimeUnit.SECONDS));
+        recorder.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, recorder.terminated.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancelAndCloseStopDelivery() throws Exception { // Tests cancellation and completion on close
+        Recorder cancelled = new Recorder(Long.MAX_VALUE);
+        Recorder open = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(cancelled);
+        publisher.subscribe(open);
+        assertTrue(cancelled.subscribed.await(5, TimeUnit.SECONDS));
+        cancelled.subscription.cancel();
+        publisher.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.CREATED, "P1");
+        assertEquals("P1", open.next().entityId());
+        publisher.close();
+        assertNull(open.terminated.get(5, TimeUnit.SECONDS));
+        assertTrue(cancelled.events.isEmpty());
+
+        Recorder late = new Recorder(1);
+        publisher.subscribe(late);
+        assertNull(late.terminated.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void concurrentWritersLoseNothing() throws Exception { // Tests the multi-producer ring under contention
+        ChangePublisher shared = new ChangePublisher(16, 100_000, Runnable::run);
+        try {
+            Recorder recorder = new Recorder(Long.MAX_VALUE);
+            shared.subscribe(recorder);
+            int writers = 4, perWriter = 5_000;
+            List<Thread> threads = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int id = w;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perWriter; i++) shared.publish(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, id + "-" + i);
+                }));
+            }
+            for (Thread thread : threads) thread.join();
+            Set<String> ids = new HashSet<>();
+            long lastVersion = -1;
+            for (ChangeEvent event : recorder.take(writers * perWriter)) {
+                assertTrue(ids.add(event.entityId()));
+                assertTrue(event.version() > lastVersion);
+                lastVersion = event.version();
+            }
+        } finally {
+            shared.close();
+        }
+    }
+
+    @Test
+    void servicesPublishTheirChanges() throws Exception { // Tests the events emitted by service mutations
+        HospitalServices services = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+        Recorder patients = new Recorder(Long.MAX_VALUE);
+        Recorder items = new Recorder(Long.MAX_VALUE);
+        services.getPatientService().changes().subscribe(patients);
+        services.getInventoryService().changes().subscribe(items);
+        assertTrue(patients.subscribed.await(5, TimeUnit.SECONDS));
+
+        Patient alice = new Patient("P1", "Alice", LocalDate.of(1990, 1, 1));
+        services.getPatientService().registerPatient(alice);
+        alice.setPatientName("Alice Smith");
+        services.getPatientService().updatePatient(alice);
+        services.getPatientService().deletePatient("P1");
+        assertFalse(services.getPatientService().deletePatient("P1"));
+        assertEquals(List.of(new ChangeEvent(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.CREATED, "P1", 0),
+                        new ChangeEvent(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, "P1", 1),
+                        new ChangeEvent(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.DELETED, "P1", 2)),
+                patients.take(3));
+
+        services.getInventoryService().addInventoryItem(new InventoryItem("I1", "Gauze", 10, Money.parse("1.0")));
+        assertTrue(services.getInventoryService().tryReserve("I1", 4));
+        assertFalse(services.getInventoryService().tryReserve("I1", 40));
+        assertEquals(List.of(ChangeEvent.Kind.CREATED, ChangeEvent.Kind.UPDATED), items.take(2).stream().map(ChangeEvent::kind).toList());
+        assertNull(items.events.poll(100, TimeUnit.MILLISECONDS));
+        assertNull(patients.events.poll(10, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import com.example.hospitalsystemgpt.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableHospitalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void stateSurvivesRestart() throws IOException { // Tests that every service is rebuilt from the log after reopening
+        LocalDateTime when = LocalDateTime.now().plusDays(1).withNano(0);
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            HospitalController controller = hospital.createController();
+            Patient patient = new Patient("P001", "Alice", LocalDate.of(1990, 1, 1));
+            controller.registerPatient(patient);
+            patient.admitPatient();
+            controller.updatePatient(patient);
+            Appointment appt = new Appointment("A001", patient, when, "Checkup");
+            controller.scheduleAppointment(appt);
+            controller.scheduleAppointment(new Appointment("A002", patient, when.plusHours(1), "Consultation"));
+            controller.cancelAppointment("A002");
+            controller.addMedicalRecord(new MedicalRecord("MR001", patient, appt, "Flu", "Rest", LocalDate.now()));
+            Bill bill = new Bill("B001", patient);
+            bill.addLineItem(new Bill.LineItem("Consultation", Money.parse("120.5")));
+            controller.createBill(bill);
+            controller.markBillAsPaid("B001", "PAY-1");
+            controller.addInventoryItem(new InventoryItem("I001", "Saline", 40, Money.parse("3.25")));
+            controller.addInventoryItem(new InventoryItem("I002", "Gloves", 10, Money.parse("0.5")));
+            controller.deleteInventoryItem("I002");
+        }
+
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            HospitalController controller = hospital.createController();
+            Patient patient = controller.findPatientById("P001");
+            assertTrue(patient.isPatientAdmitted());
+            Appointment appt = controller.findAppointmentById("A001");
+            assertEquals(when, appt.getDateTime());
+            assertSame(patient, appt.getPatient());
+            assertEquals(Appointment.Status.CANCELLED, controller.findAppointmentById("A002").getStatus());
+            MedicalRecord record = controller.findMedicalRecordById("MR001");
+            assertSame(appt, record.getAppointment());
+            Bill bill = controller.findBillById("B001");
+            assertEquals(Money.parse("120.5"), bill.getTotalAmount());
+            assertEquals(Bill.Status.PAID, bill.getStatus());
+            assertEquals("PAY-1", bill.getPaymentReference());
+            assertEquals(40, controller.findInventoryItemById("I001").getQuantity());
+            assertNull(controller.findInventoryItemById("I002"));
+            assertEquals(11, hospital.getReplayedRecords());
+        }
+    }
+
+    @Test
+    void batchBillingSurvivesRestart() throws IOException { // Tests that batch creates, issue times, line items and batch payments are logged
+        Patient patient = new Patient("P001", "Alice", LocalDate.of(1990, 1, 1));
+        LocalDateTime issued = LocalDateTime.now().minusDays(40).withNano(0);
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            BillingService billing = hospital.getBillingService();
+            hospital.getPatientService().registerPatient(patient);
+            billing.createBills(List.of(new Bill("B1", patient), new Bill("B2", patient, Money.DEFAULT_CURRENCY, issued)));
+            billing.addLineItem("B1", new Bill.LineItem("Consultation", Money.parse("80.00")));
+            billing.addLineItem("B2", new Bill.LineItem("X-ray", Money.parse("45.00")));
+            billing.applyPayments(List.of(new BillingService.Payment("B1", "TX-1", Money.parse("80.00")),
+                    new BillingService.Payment("B2", "TX-2", Money.parse("1.00"))));
+        }
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            BillingService billing = hospital.getBillingService();
+            assertEquals("TX-1", billing.findBillById("B1").getPaymentReference());
+            assertEquals(Bill.Status.UNPAID, billing.findBillById("B2").getStatus());
+            assertEquals(Money.parse("45.00"), billing.getOutstandingBalance("P001", Money.DEFAULT_CURRENCY));
+            assertEquals(issued, billing.findBillById("B2").getIssuedAt());
+            assertEquals(Money.parse("45.00"), billing.getAgingReport(Money.DEFAULT_CURRENCY).total(BillingService.AgingBucket.DAYS_31_60));
+        }
+    }
+
+    @Test
+    void rejectedMutationIsNotLogged() throws IOException { // Tests that a failed register leaves nothing in the log
+        try (DurableHospital hospital = new DurableHospital(dir, new PersistenceConfig(WriteAheadLog.SyncPolicy.PERIODIC, 64, 5, 1024 * 1024, 0, 0))) {
+            PatientService patients = hospital.getPatientService();
+            patients.registerPatient(new Patient("P001", "Alice", LocalDate.of(1990, 1, 1)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> patients.registerPatient(new Patient("P001", "Other", LocalDate.of(1991, 1, 1))));
+            assertFalse(patients.deletePatient("P999"));
+        }
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            assertEquals(1, hospital.getReplayedRecords());
+            assertEquals("Alice", hospital.getPatientService().findPatientById("P001").getPatientName());
+        }
+    }
+
+    @Test
+    void snapshotBoundsReplayAndTruncatesLog() throws IOException { // Tests that startup loads the snapshot and replays only the tail
+        PersistenceConfig config = new PersistenceConfig(WriteAheadLog.SyncPolicy.GROUP_COMMIT, 1, 0, 256, 0, 0);
+        try (DurableHospital hospital = new DurableHospital(dir, config)) {
+            PatientService patients = hospital.getPatientService();
+            for (int i = 0; i < 50; i++) {
+                patients.registerPatient(new Patient("P" + i, "Patient " + i, LocalDate.of(1980, 1, 1).plusDays(i)));
+            }
+            hospital.sync();
+            int segmentsBefore = hospital.getLogSegmentCount();
+            assertEquals(50, hospital.snapshot());
+            patients.deletePatient("P0");
+            patients.registerPatient(new Patient("P50", "Patient 50", LocalDate.of(2000, 1, 1)));
+            hospital.sync();
+            assertTrue(hospital.getLogSegmentCount() < segmentsBefore);
+        }
+        try (DurableHospital hospital = new DurableHospital(dir, config)) {
+            assertEquals(50, hospital.getLastSnapshotSeq());
+            assertEquals(2, hospital.getReplayedRecords());
+            assertEquals(50, hospital.getPatientService().getAllPatients().size());
+            assertNull(hospital.getPatientService().findPatientById("P0"));
+            assertNotNull(hospital.getPatientService().findPatientById("P50"));
+        }
+    }
+
+    @Test
+    void writesAfterSnapshotAheadOfLogSurvive() throws IOException { // Tests that a snapshot covering records lost from the log leaves no gap for later writes
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) patients.add(new Patient("P" + i, "Patient " + i, LocalDate.of(1980, 1, i)));
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            for (Patient patient : patients.subList(0, 3)) hospital.getPatientService().registerPatient(patient);
+        }
+        // A crash after the snapshot at 5 was written but before records 4 and 5 reached the log.
+        Snapshots.write(dir, 5, patients, List.of(), List.of(), List.of(), List.of());
+
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            assertEquals(0, hospital.getReplayedRecords());
+            hospital.getPatientService().registerPatient(new Patient("P6", "Patient 6", LocalDate.of(1980, 1, 6)));
+        }
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            assertEquals(1, hospital.getReplayedRecords());
+            assertEquals(6, hospital.getPatientService().count());
+            assertNotNull(hospital.getPatientService().findPatientById("P6"));
+        }
+    }
+
+    @Test
+    void backgroundSnapshotterRuns() throws Exception { // Tests that the periodic snapshotter takes a snapshot once the threshold is reached
+        PersistenceConfig config = new PersistenceConfig(WriteAheadLog.SyncPolicy.PERIODIC, 64, 1, 1024 * 1024, 10, 5);
+        try (DurableHospital hospital = new DurableHospital(dir, config)) {
+            for (int i = 0; i < 5; i++) {
+                hospital.getInventoryService().addInventoryItem(new InventoryItem("I" + i, "Item " + i, i, Money.parse("1.0")));
+            }
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (hospital.getLastSnapshotSeq() < 5 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+            assertEquals(5, hospital.getLastSnapshotSeq());
+        }
+        try (DurableHospital hospital = new DurableHospital(dir, config)) {
+            assertEquals(0, hospital.getReplayedRecords());
+            assertEquals(4, hospital.getInventoryService().findInventoryItemById("I4").getQuantity());
+        }
+    }
+
+    @Test
+    void concurrentWritesAreAllLogged() throws Exception { // Tests that striped writers over concurrent services lose no records
+        int threads = 8;
+        int perThread = 250;
+        try (DurableHospital hospital = new DurableHospital(dir, PersistenceConfig.defaults(),
+                HospitalServices.Concurrency.CONCURRENT)) {
+            InventoryService inventory = hospital.getInventoryService();
+            Thread[] writers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        InventoryItem item = new InventoryItem("I" + thread + "-" + i, "Item", i, Money.parse("1.0"));
+                        inventory.addInventoryItem(item);
+                        item.addStock(1);
+                        inventory.updateInventoryItem(item);
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) writer.join();
+        }
+
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            assertEquals(threads * perThread, hospital.getInventoryService().getAllInventoryItems().size());
+            assertEquals(2L * threads * perThread, hospital.getReplayedRecords());
+            assertEquals(perThread, hospital.getInventoryService().findInventoryItemById("I3-" + (perThread - 1)).getQuantity());
+        }
+    }
+
+    @Test
+    void snapshotCopiesBillsApartFromLiveOnes() throws IOException { // Tests that a bill changed after the copy (even widening its amounts) leaves the copy intact
+        try (DurableHospital hospital = new DurableHospital(dir, PersistenceConfig.defaults(),
+                HospitalServices.Concurrency.CONCURRENT)) {
+            Patient patient = new Patient("P1", "Long Stay", LocalDate.of(1950, 1, 1));
+            hospital.getPatientService().registerPatient(patient);
+            DurableBillingService billing = (DurableBillingService) hospital.getBillingService();
+            billing.createBill(new Bill("B1", patient));
+            billing.addLineItem("B1", new Bill.LineItem("Bed day", Money.ofMinor(100)));
+
+            Bill copy = billing.copyForSnapshot().get(0);
+            billing.addLineItem("B1", new Bill.LineItem("Surgery", Money.ofMinor(5_000_000_000L)));
+            billing.markBillAsPaid("B1", "TX-1");
+
+            assertEquals(1, copy.getLineItemCount());
+            assertEquals(100, copy.getLineItemAmountMinorUnits(0));
+            assertEquals("Bed day", copy.getLineItemDescription(0));
+            assertEquals(Bill.Status.UNPAID, copy.getStatus());
+            assertEquals(2, billing.findBillById("B1").getLineItemCount());
+        }
+    }
+
+    @Test
+    void committedStockChangesSurviveRestart() throws IOException { // Tests that commits and batch adjustments are logged
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            InventoryService inventory = hospital.getInventoryService();
+            inventory.addInventoryItem(new InventoryItem("I001", "Saline", 40, Money.parse("3.25")));
+            inventory.addInventoryItem(new InventoryItem("I002", "Gloves", 10, Money.parse("0.5")));
+            assertTrue(inventory.tryReserve("I001", 5));
+            inventory.commitReservation("I001", 5);
+            assertTrue(inventory.tryReserve("I001", 7)); // in flight when the app stops
+            assertTrue(inventory.adjustStock(java.util.Map.of("I001", -10, "I002", 5)));
+        }
+
+        try (DurableHospital hospital = new DurableHospital(dir)) {
+            InventoryItem saline = hospital.getInventoryService().findInventoryItemById("I001");
+            assertEquals(25, saline.getQuantity());
+            assertEquals(0, saline.getReservedQuantity());
+            assertEquals(15, hospital.getInventoryService().findInventoryItemById("I002").getQuantity());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.hospitalsystemgpt.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteAheadLogTest {
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = files.filter(f -> f.getFileName().toString().startsWith("wal-")).toList();
+            assertEquals(1, segments.size());
+            return segments.get(0);
+        }
+    }
+
+    private static BinaryWriter record(String text) {
+        BinaryWriter w = new BinaryWriter(16);
+        w.writeString(text);
+        return w;
+    }
+
+    private List<String> replayAll(WriteAheadLog log) throws IOException {
+        List<String> out = new ArrayList<>();
+        log.replay(0, (seq, payload) -> out.add(BinaryReader.readString(payload)));
+        return out;
+    }
+
+    @Test
+    void appendedRecordsAreReplayedInOrder() throws IOException { // Tests that records survive a close/reopen in append order
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 8, 1, SEGMENT_BYTES)) {
+            assertEquals(0, log.replay(0, (seq, payload) -> fail("empty log")));
+            for (int i = 0; i < 100; i++) log.awaitDurable(log.append(record("r" + i)));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 8, 1, SEGMENT_BYTES)) {
+            List<String> replayed = replayAll(log);
+            assertEquals(100, replayed.size());
+            assertEquals("r0", replayed.get(0));
+            assertEquals("r99", replayed.get(99));
+            assertEquals(100, log.getLastSequence());
+        }
+    }
+
+    @Test
+    void appendBeforeReplayThrowsException() throws IOException { // Tests that appends are rejected until the log is replayed
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.PERIODIC, 8, 1, SEGMENT_BYTES)) {
+            Exception ex = assertThrows(IllegalStateException.class, () -> log.append(record("x")));
+            assertTrue(ex.getMessage().contains("replayed"));
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnReplay() throws IOException { // Tests that a partially written last record is dropped
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.PERIODIC, 8, 1, SEGMENT_BYTES)) {
+            replayAll(log);
+            log.append(record("first"));
+            log.append(record("second"));
+            log.sync();
+        }
+        Path file = onlySegment();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(ch.size() - 3);
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.PERIODIC, 8, 1, SEGMENT_BYTES)) {
+            assertEquals(List.of("first"), replayAll(log));
+            log.append(record("third"));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.PERIODIC, 8, 1, SEGMENT_BYTES)) {
+            assertEquals(List.of("first", "third"), replayAll(log));
+        }
+    }
+
+    @Test
+    void corruptRecordStopsReplay() throws IOException { // Tests that a CRC mismatch ends replay at the last intact record
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.PERIODIC, 8, 1, SEGMENT_BYTES)) {
+            replayAll(log);
+            log.append(record("good"));
+            log.append(record("bad"));
+        }
+        Path file = onlySegment();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] { 'X' }), ch.size() - 1);
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.PERIODIC, 8, 1, SEGMENT_BYTES)) {
+            assertEquals(List.of("good"), replayAll(log));
+        }
+    }
+
+    @Test
+    void concurrentGroupCommitKeepsEveryRecord() throws Exception { // Tests that concurrent writers sharing fsync batches lose nothing
+        int threads = 8;
+        int perThread = 2_000;
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 256, 2, SEGMENT_BYTES)) {
+            replayAll(log);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                int id = t;
+                pool.submit(() -> {
+                    BinaryWriter w = new BinaryWriter(16);
+                    for (int i = 0; i < perThread; i++) {
+                        w.reset();
+                        w.writeString(id + ":" + i);
+                        log.awaitDurable(log.append(w));
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 256, 2, SEGMENT_BYTES)) {
+            assertEquals(threads * perThread, replayAll(log).size());
+        }
+    }
+
+    @Test
+    void segmentsRollAndCoveredSegmentsAreDeleted() throws IOException { // Tests segment rolling, truncation and replay after a snapshot point
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 1, 0, 64)) {
+            replayAll(log);
+            for (int i = 0; i < 10; i++) log.awaitDurable(log.append(record("r" + i)));
+            assertTrue(log.getSegmentCount() > 1);
+            log.rollSegment();
+            log.awaitDurable(log.append(record("r10")));
+            assertTrue(log.deleteSegmentsThrough(10) > 0);
+            assertEquals(1, log.getSegmentCount());
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 1, 0, 64)) {
+            List<String> tail = new ArrayList<>();
+            log.replay(10, (seq, payload) -> tail.add(BinaryReader.readString(payload)));
+            assertEquals(List.of("r10"), tail);
+            assertEquals(11, log.append(record("r11")) - 1);
+        }
+    }
+
+    @Test
+    void missingSegmentsAreReported() throws IOException { // Tests that replay refuses a log whose early segments are gone
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 1, 0, 64)) {
+            replayAll(log);
+            for (int i = 0; i < 10; i++) log.awaitDurable(log.append(record("r" + i)));
+            log.deleteSegmentsThrough(5);
+        }
+        try (WriteAheadLog log = new WriteAheadLog(dir, WriteAheadLog.SyncPolicy.GROUP_COMMIT, 1, 0, 64)) {
+            assertThrows(IOException.class, () -> log.replay(0, (seq, payload) -> { }));
+        }
+    }
+}
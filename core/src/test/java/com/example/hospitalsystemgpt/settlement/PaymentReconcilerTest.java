@@ -0,0 +1,114 @@
+package com.example.hospitalsystemgpt.settlement;
+
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.BillingServiceImpl;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaymentReconcilerTest {
+    @TempDir
+    Path dir;
+
+    private final BillingService billing = new BillingServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        Patient patient = new Patient("P1", "Alice", LocalDate.of(1990, 1, 1));
+        for (int i = 1; i <= 4; i++) {
+            Bill bill = new Bill("B" + i, patient);
+            bill.addLineItem(new Bill.LineItem("Consultation", Money.parse(i + "0.50")));
+            billing.createBill(bill);
+        }
+        billing.markBillAsPaid("B4", "TX-OLD");
+    }
+
+    private Path settlement(String... lines) throws IOException {
+        return Files.writeString(dir.resolve("settlement.csv"), String.join("\n", lines));
+    }
+
+    @Test
+    void reportsEveryOutcomeWithoutThrowing() throws IOException { // Tests each row outcome and the problem report
+        Path file = settlement("reference,bill_id,amount,currency",
+                "TX-1,B1,10.50,USD",
+                "TX-2,B2,20.5",
+                "TX-2,B2,20.50",
+                "TX-3,B3,99.00",
+                "TX-4,B4,40.50",
+                "TX-5,B9,1.00",
+                "TX-6,B3,30.505",
+                "garbage",
+                "",
+                "TX-7,B3,30.50,EUR");
+        StringBuilder problems = new StringBuilder();
+        PaymentReconciler.Report report = new PaymentReconciler(billing).reconcile(file, problems);
+
+        assertEquals(new PaymentReconciler.Report(9, 2, 1, 1, 1, 2, 2), report);
+        assertEquals(7, report.problems());
+        assertEquals(Bill.Status.PAID, billing.findBillById("B1").getStatus());
+        assertEquals("TX-2", billing.findBillById("B2").getPaymentReference());
+        assertEquals(Bill.Status.UNPAID, billing.findBillById("B3").getStatus());
+        assertEquals(String.join("\n", PaymentReconciler.PROBLEM_HEADER,
+                "4,DUPLICATE,B2,TX-2,USD 20.50",
+                "5,AMOUNT_MISMATCH,B3,TX-3,USD 99.00",
+                "6,ALREADY_PAID,B4,TX-4,USD 40.50",
+                "7,UNMATCHED,B9,TX-5,USD 1.00",
+                "8,MALFORMED,,,\"TX-6,B3,30.505\"",
+                "9,MALFORMED,,,\"garbage\"",
+                "11,AMOUNT_MISMATCH,B3,TX-7,EUR 30.50") + "\n", problems.toString());
+    }
+
+    @Test
+    void reimportPaysNothingTwice() throws IOException { // Tests that importing the same settlement again only reports duplicates
+        Path file = settlement("TX-1,B1,10.50\r", "TX-2,B2,20.50\r", "");
+        PaymentReconciler reconciler = new PaymentReconciler(billing);
+        assertEquals(new PaymentReconciler.Report(2, 2, 0, 0, 0, 0, 0), reconciler.reconcile(file, new StringBuilder()));
+        assertEquals(new PaymentReconciler.Report(2, 0, 0, 2, 0, 0, 0), reconciler.reconcile(file, new StringBuilder()));
+        assertEquals(Money.parse("30.50"), billing.getUnpaidTotal(Money.DEFAULT_CURRENCY));
+    }
+
+    @Test
+    void manyBatchesAndWindowsReadEveryRow() throws IOException { // Tests batching and lines that cross mapped windows
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < PaymentReconciler.BATCH_SIZE * 2 + 5; i++) lines.add("TX-" + i + ",X" + i + "," + i + ".01");
+        Path file = settlement(lines.toArray(String[]::new));
+        assertEquals(new PaymentReconciler.Report(lines.size(), 0, lines.size(), 0, 0, 0, 0),
+                new PaymentReconciler(billing).reconcile(file, new StringBuilder()));
+
+        List<Long> read = new ArrayList<>();
+        new SettlementFile(file, 37).read(new SettlementFile.Rows() {
+            @Override
+            public void payment(long line, BillingService.Payment payment) {
+                assertEquals("TX-" + (line - 1), payment.reference());
+                read.add(line);
+            }
+
+            @Override
+            public void malformed(long line, String text) {
+                fail("Line " + line + " is well-formed: " + text);
+            }
+        });
+        assertEquals(lines.size(), read.size());
+        assertThrows(IOException.class, () -> new SettlementFile(file, 8).read(new SettlementFile.Rows() {
+            @Override
+            public void payment(long line, BillingService.Payment payment) {
+            }
+
+            @Override
+            public void malformed(long line, String text) {
+            }
+        }));
+    }
+}
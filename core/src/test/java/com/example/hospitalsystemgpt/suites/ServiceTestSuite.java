@@ -9,6 +9,13 @@ import org.junit.platform.suite.api.Suite;
     com.example.hospitalsystemgpt.AppointmentServiceImplTest.class,
     com.example.hospitalsystemgpt.MedicalRecordServiceImplTest.class,
     com.example.hospitalsystemgpt.BillingServiceImplTest.class,
-    com.example.hospitalsystemgpt.InventoryServiceImplTest.class
+    com.example.hospitalsystemgpt.InventoryServiceImplTest.class,
+    com.example.hospitalsystemgpt.HospitalServicesTest.class,
+    com.example.hospitalsystemgpt.ConcurrentServicesStressTest.class,
+    com.example.hospitalsystemgpt.SlotOccupancyTest.class,
+    com.example.hospitalsystemgpt.SortedIndexTest.class,
+    com.example.hospitalsystemgpt.IntPostingsTest.class,
+    com.example.hospitalsystemgpt.PositionalPostingsTest.class,
+    com.example.hospitalsystemgpt.events.ChangePublisherTest.class
 })
 public class ServiceTestSuite {} 
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.example.hospitalsystemgpt.gui;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A column of per-row action buttons that costs nothing extra to scroll. Each cell builds its buttons once and
+ * keeps them: showing another row only flips the buttons' visibility and disabled state, which allocates nothing
+ * and leaves the scene graph alone. The buttons are styled by style class from {@code actions.css}, which is
+ * parsed once and shared, rather than by inline styles that are parsed per button. Clicks are handled by one
+ * handler on the table, which finds the row from the button that was clicked, instead of one handler per button.
+ */
+final class ActionColumn {
+    /** The style sheet with the button styles; added to the table the column is shown in. */
+    static final String STYLESHEET = Objects.requireNonNull(ActionColumn.class.getResource("actions.css"),
+            "actions.css is missing").toExternalForm();
+
+    /**
+     * One button in the column.
+     * @param label the button text
+     * @param styleClass the button's style class in {@code actions.css}, e.g. {@code action-edit}
+     * @param handler called with the row's entity when the button is clicked
+     * @param shown whether a row shows the button
+     * @param enabled whether a row's button can be clicked
+     */
+    record Action<T>(String label, String styleClass, Consumer<T> handler, Predicate<T> shown, Predicate<T> enabled) {
+        Action {
+            if (label == null || styleClass == null || handler == null) throw new IllegalArgumentException("Label, style class and handler cannot be null");
+            if (shown == null || enabled == null) throw new IllegalArgumentException("Predicates cannot be null");
+        }
+
+        /** Returns this action, shown only for rows matching {@code condition}. */
+        Action<T> shownWhen(Predicate<T> condition) {
+            return new Action<>(label, styleClass, handler, condition, enabled);
+        }
+
+        /** Returns this action, enabled only for rows matching {@code condition}. */
+        Action<T> enabledWhen(Predicate<T> condition) {
+            return new Action<>(label, styleClass, handler, shown, condition);
+        }
+    }
+
+    private ActionColumn() {
+    }
+
+    /** Returns an action that every row shows, enabled. */
+    static <T> Action<T> action(String label, String styleClass, Consumer<T> handler) {
+        return new Action<>(label, styleClass, handler, row -> true, row -> true);
+    }
+
+    /** Creates the column, with its buttons in the order given. */
+    @SafeVarargs
+    static <T> TableColumn<T, Void> create(String title, Action<T>... actions) {
+        List<Action<T>> list = List.of(actions);
+        TableColumn<T, Void> column = new TableColumn<>(title);
+        column.setSortable(false);
+        column.setCellFactory(col -> new Cell<>(list));
+        EventHandler<ActionEvent> onAction = event -> handle(column, event);
+        column.tableViewProperty().addListener((obs, oldTable, table) -> {
+            if (oldTable != null) oldTable.removeEventHandler(ActionEvent.ACTION, onAction);
+            if (table != null) {
+                table.addEventHandler(ActionEvent.ACTION, onAction);
+                if (!table.getStylesheets().contains(STYLESHEET)) table.getStylesheets().add(STYLESHEET);
+            }
+        });
+        return column;
+    }
+
+    /** Runs the action of a clicked button in one of {@code column}'s cells. */
+    @SuppressWarnings("unchecked")
+    private static <T> void handle(TableColumn<T, Void> column, ActionEvent event) {
+        if (!(event.getTarget() instanceof Button button) || !(button.getUserData() instanceof Action<?> action)) return;
+        for (Node node = button.getParent(); node != null; node = node.getParent()) {
+            if (node instanceof Cell<?> cell) {
+                if (cell.getTableColumn() != column) return;
+                T row = ((Cell<T>) cell).row();
+                if (row != null) ((Action<T>) action).handler().accept(row);
+                event.consume();
+                return;
+            }
+        }
+    }
+
+    /** A cell whose buttons are created once, when the table creates the cell. */
+    private static final class Cell<T> extends TableCell<T, Void> {
+        private final List<Action<T>> actions;
+        private final HBox bar = new HBox();
+        private final Button[] buttons;
+
+        Cell(List<Action<T>> actions) {
+            this.actions = actions;
+            this.buttons = new Button[actions.size()];
+            bar.getStyleClass().add("action-bar");
+            for (int i = 0; i < buttons.length; i++) {
+                Action<T> action = actions.get(i);
+                Button button = new Button(action.label());
+                button.getStyleClass().addAll("action-button", action.styleClass());
+                button.setUserData(action);
+                buttons[i] = button;
+            }
+            bar.getChildren().setAll(buttons);
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            setGraphic(bar);
+            bar.setVisible(false);
+        }
+
+        /** Returns the entity of this cell's row, or null if the row is empty or still loading. */
+        T row() {
+            TableView<T> table = getTableView();
+            int index = getIndex();
+            if (isEmpty() || table == null || index < 0 || index >= table.getItems().size()) return null;
+            return table.getItems().get(index);
+        }
+
+        @Override
+        protected void updateItem(Void item, boolean empty) {
+            super.updateItem(item, empty);
+            T row = empty ? null : row();
+            bar.setVisible(row != null);
+            if (row == null) return;
+            for (int i = 0; i < buttons.length; i++) {
+                Action<T> action = actions.get(i);
+                boolean shown = action.shown().test(row);
+                buttons[i].setVisible(shown);
+                buttons[i].setManaged(shown);
+                buttons[i].setDisable(!action.enabled().test(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hospitalsystemgpt.gui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Runs the search behind one search box off the UI thread. Each keystroke restarts a short debounce delay; only
+ * the text typed last is searched. A newer keystroke cancels a search that has not started and makes a running
+ * one stop at its next cancellation check, and results of a superseded search are never delivered.
+ * <p>
+ * {@link #submit} must always be called from the same thread (the JavaFX Application Thread); results and errors
+ * are handed to the result executor ({@code Platform::runLater}).
+ */
+final class BackgroundSearch<T> {
+    /** Runs one search; should call {@link #filter} or check {@code cancelled} regularly. */
+    @FunctionalInterface
+    interface Query<T> {
+        List<T> run(String text, BooleanSupplier cancelled);
+    }
+
+    /** How many items {@link #filter} tests between cancellation checks. */
+    static final int CHECK_INTERVAL = 1024;
+
+    private final ScheduledExecutorService executor;
+    private final Executor resultExecutor;
+    private final long debounceMillis;
+    private final Query<T> query;
+    private final Consumer<List<T>> onResult;
+    private final Consumer<Exception> onError;
+    private final SearchLatency latency;
+    private final AtomicLong generation = new AtomicLong();
+    private ScheduledFuture<?> pending;
+
+    BackgroundSearch(ScheduledExecutorService executor, Executor resultExecutor, long debounceMillis, Query<T> query,
+                     Consumer<List<T>> onResult, Consumer<Exception> onError, SearchLatency latency) {
+        if (executor == null || resultExecutor == null) throw new IllegalArgumentException("Executors cannot be null");
+        if (query == null || onResult == null || onError == null) throw new IllegalArgumentException("Callbacks cannot be null");
+        if (latency == null) throw new IllegalArgumentException("Latency cannot be null");
+        if (debounceMillis < 0) throw new IllegalArgumentException("Debounce delay cannot be negative");
+        this.executor = executor;
+        this.resultExecutor = resultExecutor;
+        this.debounceMillis = debounceMillis;
+        this.query = query;
+        this.onResult = onResult;
+        this.onError = onError;
+        this.latency = latency;
+    }
+
+    /**
+     * Schedules a search for {@code text}, superseding any earlier one. Called on every keystroke.
+     */
+    void submit(String text) {
+        long typedAt = System.nanoTime();
+        long gen = generation.incrementAndGet();
+        if (pending != null) pending.cancel(false);
+        pending = executor.schedule(() -> run(text, gen, typedAt), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Supersedes any pending or running search without starting a new one, e.g. when the screen is left.
+     */
+    void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) pending.cancel(false);
+        pending = null;
+    }
+
+    /** Returns the latency metric this search records into. */
+    SearchLatency getLatency() {
+        return latency;
+    }
+
+    private void run(String text, long gen, long typedAt) {
+        BooleanSupplier cancelled = () -> generation.get() != gen;
+        if (cancelled.getAsBoolean()) return;
+        List<T> result;
+        try {
+            result = query.run(text, cancelled);
+        } catch (CancellationException e) {
+            return;
+        } catch (Exception e) {
+            resultExecutor.execute(() -> {
+                if (!cancelled.getAsBoolean()) onError.accept(e);
+            });
+            return;
+        }
+        resultExecutor.execute(() -> {
+            if (cancelled.getAsBoolean()) return;
+            onResult.accept(result);
+            latency.record(System.nanoTime() - typedAt);
+        });
+    }
+
+    /**
+     * Returns the items matching {@code filter}, checking for cancellation every {@value #CHECK_INTERVAL} items.
+     * Throws CancellationException when cancelled.
+     */
+    static <T> List<T> filter(Collection<T> items, Predicate<? super T> filter, BooleanSupplier cancelled) {
+        List<T> matches = new ArrayList<>();
+        int checked = 0;
+        for (T item : items) {
+            if (++checked % CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) throw new CancellationException();
+            if (filter.test(item)) matches.add(item);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns true if {@code text} contains {@code query} ignoring case, without allocating a lower-cased copy.
+     */
+    static boolean containsIgnoreCase(String text, String query) {
+        if (text == null) return false;
+        int last = text.length() - query.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, query, 0, query.length())) return true;
+        }
+        return false;
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.hospitalsystemgpt.gui;
 
 import com.example.hospitalsystemgpt.*;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.persistence.DurableHospital;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -19,41 +25,128 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.util.Callback;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class HospitalApp extends Application {
     // --- Backend Services ---
-    private final PatientService patientService = new PatientServiceImpl();
-    private final AppointmentService appointmentService = new AppointmentServiceImpl();
-    private final MedicalRecordService medicalRecordService = new MedicalRecordServiceImpl();
-    private final BillingService billingService = new BillingServiceImpl();
-    private final InventoryService inventoryService = new InventoryServiceImpl();
+    // Run with -Dhospital.dataDir=<dir> to keep data across restarts (write-ahead log); otherwise in-memory only.
+    private final DurableHospital durableHospital = openDurableHospital();
+    private final HospitalServices services = durableHospital != null
+            ? durableHospital.getServices()
+            : HospitalServices.create(HospitalServices.Concurrency.CONCURRENT);
+    private final PatientService patientService = services.getPatientService();
+    private final AppointmentService appointmentService = services.getAppointmentService();
+    private final MedicalRecordService medicalRecordService = services.getMedicalRecordService();
+    private final BillingService billingService = services.getBillingService();
+    private final InventoryService inventoryService = services.getInventoryService();
 
     // --- Controller ---
     private final HospitalController controller = new HospitalController(
             patientService, appointmentService, medicalRecordService, billingService, inventoryService
     );
 
-    // --- Observable Lists for TableViews ---
-    private final ObservableList<Patient> patientList = FXCollections.observableArrayList();
-    private final ObservableList<Appointment> appointmentList = FXCollections.observableArrayList();
-    private final ObservableList<MedicalRecord> recordList = FXCollections.observableArrayList();
-    private final ObservableList<Bill> billList = FXCollections.observableArrayList();
-    private final ObservableList<InventoryItem> inventoryList = FXCollections.observableArrayList();
+    // --- Background search ---
+    // Searches run on one daemon thread so typing never waits for a scan; see BackgroundSearch.
+    private static final long SEARCH_DEBOUNCE_MILLIS = 150;
+    private static final int PATIENT_SEARCH_LIMIT = 1000;
+    private static final int RECORD_SEARCH_LIMIT = 1000;
+    private final ScheduledExecutorService searchExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "hospital-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final SearchLatency searchLatency = new SearchLatency();
+    private BackgroundSearch<?> activeSearch; // Only accessed on the FX thread
+
+    // --- Rows for TableViews ---
+    // Kept current from the services' change streams, one row per change; see LiveList.
+    private final LiveList<Patient> patientList = follow(new LiveList<>(Patient::getPatientId,
+            controller::findPatientById, controller::getAllPatients, Platform::runLater), patientService.changes());
+    private final LiveList<Appointment> appointmentList = follow(new LiveList<>(Appointment::getAppointmentId,
+            controller::findAppointmentById, controller::getAllAppointments, Platform::runLater), appointmentService.changes());
+    private final LiveList<MedicalRecord> recordList = follow(new LiveList<>(MedicalRecord::getRecordId,
+            controller::findMedicalRecordById, controller::getAllMedicalRecords, Platform::runLater), medicalRecordService.changes());
+    private final LiveList<Bill> billList = follow(new LiveList<>(Bill::getBillId,
+            controller::findBillById, controller::getAllBills, Platform::runLater), billingService.changes());
+    private final LiveList<InventoryItem> inventoryList = follow(new LiveList<>(InventoryItem::getItemId,
+            controller::findInventoryItemById, controller::getAllInventoryItems, Platform::runLater), inventoryService.changes());
+
+    // --- Paged rows for large listings ---
+    // Above this many rows a screen pages its table from the service instead of holding every row; see PagedList.
+    private static final int PAGED_TABLE_THRESHOLD = 10_000;
+    private final ExecutorService pageLoader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "hospital-pages");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final PagedList<Patient, PatientService.SortKey> patientPages = follow(new PagedList<>(controller::pagePatients,
+            controller::countPatients, Patient::getPatientId, controller::findPatientById, PatientService.SortKey.ID,
+            PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_CACHED_PAGES, pageLoader, Platform::runLater), patientService.changes());
+    private final PagedList<Appointment, AppointmentService.SortKey> appointmentPages = follow(new PagedList<>(controller::pageAppointments,
+            controller::countAppointments, Appointment::getAppointmentId, controller::findAppointmentById, AppointmentService.SortKey.ID,
+            PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_CACHED_PAGES, pageLoader, Platform::runLater), appointmentService.changes());
+    private final PagedList<MedicalRecord, MedicalRecordService.SortKey> recordPages = follow(new PagedList<>(controller::pageMedicalRecords,
+            controller::countMedicalRecords, MedicalRecord::getRecordId, controller::findMedicalRecordById, MedicalRecordService.SortKey.ID,
+            PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_CACHED_PAGES, pageLoader, Platform::runLater), medicalRecordService.changes());
+    private final PagedList<Bill, BillingService.SortKey> billPages = follow(new PagedList<>(controller::pageBills,
+            controller::countBills, Bill::getBillId, controller::findBillById, BillingService.SortKey.ID,
+            PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_CACHED_PAGES, pageLoader, Platform::runLater), billingService.changes());
+    private final PagedList<InventoryItem, InventoryService.SortKey> inventoryPages = follow(new PagedList<>(controller::pageInventoryItems,
+            controller::countInventoryItems, InventoryItem::getItemId, controller::findInventoryItemById, InventoryService.SortKey.ID,
+            PagedList.DEFAULT_PAGE_SIZE, PagedList.DEFAULT_CACHED_PAGES, pageLoader, Platform::runLater), inventoryService.changes());
+
+    // --- Operations dashboard ---
+    // Created on first use, on the FX thread; its tiles read the services' tallies, see OperationsDashboard.
+    private OperationsDashboard operations;
 
     // --- Constants ---
     private static final String BUTTON_STYLE_PRIMARY = "-fx-background-color: #222; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 24 8 24; -fx-font-size: 15px; -fx-background-radius: 8;";
-    private static final String BUTTON_STYLE_VIEW = "-fx-background-color: #fff; -fx-border-color: #bbb; -fx-border-radius: 4; -fx-background-radius: 4;";
-    private static final String BUTTON_STYLE_EDIT = "-fx-background-color: #eef; -fx-border-color: #99f; -fx-border-radius: 4; -fx-background-radius: 4;";
-    private static final String BUTTON_STYLE_DELETE = "-fx-background-color: #fee; -fx-border-color: #f99; -fx-border-radius: 4; -fx-background-radius: 4;";
-    private static final String BUTTON_STYLE_ACTION1 = "-fx-background-color: #e0ffe0; -fx-border-color: #8f8; -fx-border-radius: 4; -fx-background-radius: 4;"; // Greenish (Admit, Complete)
-    private static final String BUTTON_STYLE_ACTION2 = "-fx-background-color: #e0e0ff; -fx-border-color: #99f; -fx-border-radius: 4; -fx-background-radius: 4;"; // Bluish (Discharge, Cancel)
-    private static final String BUTTON_STYLE_ACTION3 = "-fx-background-color: #fff0e0; -fx-border-color: #f90; -fx-border-radius: 4; -fx-background-radius: 4;"; // Orangish (Mark Paid)
+
+    private static <T> LiveList<T> follow(LiveList<T> list, Flow.Publisher<ChangeEvent> changes) {
+        list.follow(changes);
+        return list;
+    }
+
+    private static <T, K extends Enum<K>> PagedList<T, K> follow(PagedList<T, K> list, Flow.Publisher<ChangeEvent> changes) {
+        list.follow(changes);
+        return list;
+    }
+
+    private static DurableHospital openDurableHospital() {
+        String dataDir = System.getProperty("hospital.dataDir");
+        if (dataDir == null || dataDir.isBlank()) return null;
+        try {
+            return new DurableHospital(Path.of(dataDir));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to open data directory " + dataDir, ex);
+        }
+    }
+
+    // Flushes and closes the write-ahead log (if any) when the application exits.
+    @Override
+    public void stop() throws IOException {
+        searchExecutor.shutdownNow();
+        pageLoader.shutdownNow();
+        if (durableHospital != null) durableHospital.close();
+    }
 
     //Entry point for the JavaFX application. Shows the role selection screen where the user chooses Doctor or Admin.
     @Override
@@ -101,16 +194,19 @@ public class HospitalApp extends Application {
         inventoryBtn.setOnAction(e -> showInventory(stage, role));
         logoutBtn.setOnAction(e -> start(stage));
 
+        if (operations == null) operations = new OperationsDashboard(controller, Clock.systemDefaultZone());
         VBox dash;
         if (role.equals("Admin")) {
-            dash = new VBox(12, dashLabel, billingBtn, inventoryBtn, logoutBtn);
+            dash = new VBox(12, dashLabel, operations.view(), billingBtn, inventoryBtn, logoutBtn);
         } else {
-            dash = new VBox(12, dashLabel, patientBtn, apptBtn, recordBtn, logoutBtn);
+            dash = new VBox(12, dashLabel, operations.view(), patientBtn, apptBtn, recordBtn, logoutBtn);
         }
         dash.setStyle("-fx-alignment: center; -fx-padding: 40; -fx-background-color: #f0f0f0;");
 
+        Scene scene = new Scene(dash, 920, 560);
         stage.setTitle("Hospital System - " + role + " Dashboard");
-        stage.setScene(new Scene(dash, 400, 350));
+        stage.setScene(scene);
+        operations.runWhileShown(stage, scene);
     }
 
     // --- Common UI Building Blocks ---
@@ -149,6 +245,56 @@ public class HospitalApp extends Application {
         return searchAddRow;
     }
 
+    /* Runs the given search in the background whenever the search field changes and shows the results in the list.
+     Also shows the search box's input latency (keystroke to results on screen) next to the field.*/
+    private <T> void bindSearch(TextField searchField, TableView<T> table, BackgroundSearch.Query<T> query, LiveList<T> list,
+                                Runnable showAll, String what) {
+        Label latencyLabel = new Label();
+        latencyLabel.setStyle("-fx-text-fill: #888; -fx-font-size: 11px;");
+        latencyLabel.setTooltip(new Tooltip("Search latency: keystroke to results"));
+        if (searchField.getParent() instanceof HBox searchBox) searchBox.getChildren().add(latencyLabel);
+        BackgroundSearch<T> search = new BackgroundSearch<>(searchExecutor, Platform::runLater, SEARCH_DEBOUNCE_MILLIS, query,
+                results -> {
+                    list.showSubset(results);
+                    PagedList.detach(table);
+                    list.attach(table);
+                    // The latency is recorded once the results are applied, so read it on the next FX runnable.
+                    Platform.runLater(() -> latencyLabel.setText(searchLatency.summary()));
+                },
+                ex -> showError("Failed to filter " + what + ": " + ex.getMessage()),
+                searchLatency);
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> {
+            // An empty search box shows every row again, without a search.
+            if (newVal.isEmpty()) {
+                search.cancel();
+                showAll.run();
+            } else {
+                search.submit(newVal);
+            }
+        });
+        // Only one management screen is shown at a time: drop late results of the previous screen's search.
+        if (activeSearch != null) activeSearch.cancel();
+        activeSearch = search;
+    }
+
+    /* Shows every row in a table: large listings are paged from the service (PagedList), smaller ones are held in
+     memory and kept current (LiveList). */
+    private <T> void showAllRows(TableView<T> table, LiveList<T> live, PagedList<T, ?> paged, Runnable loadLive) {
+        if (paged.refresh() > PAGED_TABLE_THRESHOLD) {
+            live.clear();
+            paged.attach(table);
+        } else {
+            PagedList.detach(table);
+            loadLive.run();
+            live.attach(table);
+        }
+    }
+
+    // Cell value for a row that may still be loading (see PagedList): blank until the row arrives.
+    private static <S, V> Callback<TableColumn.CellDataFeatures<S, V>, ObservableValue<V>> loadedRow(Function<S, ObservableValue<V>> value) {
+        return data -> data.getValue() == null ? null : value.apply(data.getValue());
+    }
+
     // Helper to extract the search field from the SearchAddBar HBox
     private TextField getSearchFieldFromBar(HBox searchAddBar) {
         if (searchAddBar != null && searchAddBar.getChildren().get(0) instanceof HBox searchBox && searchBox.getChildren().size() > 1 && searchBox.getChildren().get(1) instanceof TextField) {
@@ -177,9 +323,9 @@ public class HospitalApp extends Application {
         VBox root = createMainScreenLayout(topBar, searchAddRow, table);
 
         // Logic
-        refreshPatientList();
+        showAllRows(table, patientList, patientPages, this::refreshPatientList);
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> filterPatientList(newVal));
+            bindSearch(searchField, table, this::searchPatients, patientList, () -> showAllRows(table, patientList, patientPages, this::refreshPatientList), "patients");
         }
 
         stage.setTitle("Hospital System - Patient Management");
@@ -187,22 +333,24 @@ public class HospitalApp extends Application {
     }
 
     private TableView<Patient> createPatientTable() {
-        TableView<Patient> table = new TableView<>(patientList);
+        TableView<Patient> table = new TableView<>();
         table.setPrefHeight(420);
         TableColumn<Patient, String> idCol = new TableColumn<>("ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("patientId"));
         idCol.setPrefWidth(80);
+        idCol.setUserData(PatientService.SortKey.ID); // The service sorts by this column in a paged table (PagedList)
         TableColumn<Patient, String> nameCol = new TableColumn<>("Name");
         nameCol.setCellValueFactory(new PropertyValueFactory<>("patientName"));
         nameCol.setPrefWidth(180);
+        nameCol.setUserData(PatientService.SortKey.NAME);
         TableColumn<Patient, LocalDate> dobCol = new TableColumn<>("Date of Birth");
         dobCol.setCellValueFactory(new PropertyValueFactory<>("dateOfBirth"));
         dobCol.setPrefWidth(120);
         TableColumn<Patient, Integer> ageCol = new TableColumn<>("Age");
-        ageCol.setCellValueFactory(cellData -> new SimpleIntegerProperty(cellData.getValue().getPatientAge()).asObject());
+        ageCol.setCellValueFactory(loadedRow(row -> new SimpleIntegerProperty(row.getPatientAge()).asObject()));
         ageCol.setPrefWidth(60);
         TableColumn<Patient, String> admittedCol = new TableColumn<>("Admitted");
-        admittedCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().isPatientAdmitted() ? "Yes" : "No"));
+        admittedCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.isPatientAdmitted() ? "Yes" : "No")));
         admittedCol.setPrefWidth(80);
         TableColumn<Patient, Void> actionsCol = createPatientActionsColumn();
         actionsCol.setPrefWidth(320);
@@ -216,69 +364,27 @@ public class HospitalApp extends Application {
     }
 
     private TableColumn<Patient, Void> createPatientActionsColumn() {
-        TableColumn<Patient, Void> actionsCol = new TableColumn<>("Actions");
-        actionsCol.setCellFactory(col -> new TableCell<>() {
-            private final Button viewBtn = new Button("View");
-            private final Button editBtn = new Button("Edit");
-            private final Button deleteBtn = new Button("Delete");
-            private final Button admitBtn = new Button("Admit");
-            private final Button dischargeBtn = new Button("Discharge");
-            {
-                viewBtn.setOnAction(e -> showPatientDetails(getTableView().getItems().get(getIndex())));
-                editBtn.setOnAction(e -> showEditPatientDialog(getTableView().getItems().get(getIndex())));
-                deleteBtn.setOnAction(e -> deletePatientAction(getTableView().getItems().get(getIndex())));
-                admitBtn.setOnAction(e -> admitPatientAction(getTableView().getItems().get(getIndex())));
-                dischargeBtn.setOnAction(e -> dischargePatientAction(getTableView().getItems().get(getIndex())));
-                viewBtn.setStyle(BUTTON_STYLE_VIEW);
-                editBtn.setStyle(BUTTON_STYLE_EDIT);
-                deleteBtn.setStyle(BUTTON_STYLE_DELETE);
-                admitBtn.setStyle(BUTTON_STYLE_ACTION1);
-                dischargeBtn.setStyle(BUTTON_STYLE_ACTION2);
-            }
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || getIndex() < 0 || getIndex() >= getTableView().getItems().size()) {
-                    setGraphic(null);
-                } else {
-                    Patient p = getTableView().getItems().get(getIndex());
-                    HBox box = new HBox(6, viewBtn, editBtn, deleteBtn);
-                    if (p.isPatientAdmitted()) {
-                        box.getChildren().add(dischargeBtn);
-                    } else {
-                        box.getChildren().add(admitBtn);
-                    }
-                    setGraphic(box);
-                }
-            }
-        });
-        return actionsCol;
+        return ActionColumn.create("Actions",
+                ActionColumn.action("View", "action-view", this::showPatientDetails),
+                ActionColumn.action("Edit", "action-edit", this::showEditPatientDialog),
+                ActionColumn.action("Delete", "action-delete", this::deletePatientAction),
+                ActionColumn.action("Discharge", "action-neutral", this::dischargePatientAction).shownWhen(Patient::isPatientAdmitted),
+                ActionColumn.action("Admit", "action-positive", this::admitPatientAction).shownWhen(p -> !p.isPatientAdmitted()));
     }
 
     private void refreshPatientList() {
         try {
-            patientList.setAll(controller.getAllPatients());
+            patientList.showAll(controller.getAllPatients());
         } catch (Exception ex) {
             showError("Failed to load patients: " + ex.getMessage());
             patientList.clear();
         }
     }
 
-    private void filterPatientList(String searchText) {
-        try {
-            List<Patient> allPatients = controller.getAllPatients();
-            if (searchText == null || searchText.isEmpty()) {
-                patientList.setAll(allPatients);
-            } else {
-                String lowerCaseFilter = searchText.toLowerCase();
-                patientList.setAll(allPatients.stream()
-                        .filter(p -> p.getPatientName().toLowerCase().contains(lowerCaseFilter) ||
-                                     p.getPatientId().toLowerCase().contains(lowerCaseFilter))
-                        .collect(Collectors.toList()));
-            }
-        } catch (Exception ex) {
-            showError("Failed to filter patients: " + ex.getMessage());
-        }
+    // Runs on the search thread (see bindSearch). Answered from the patient search index, so no scan to cancel.
+    private List<Patient> searchPatients(String searchText, BooleanSupplier cancelled) {
+        if (searchText == null || searchText.isBlank()) return controller.getAllPatients();
+        return controller.searchPatients(searchText, PATIENT_SEARCH_LIMIT);
     }
 
     private void showPatientDetails(Patient patient) {
@@ -338,7 +444,6 @@ public class HospitalApp extends Application {
         result.ifPresent(patient -> {
             try {
                 controller.registerPatient(patient);
-                refreshPatientList();
             } catch (Exception ex) {
                 showError("Failed to add patient: " + ex.getMessage());
             }
@@ -368,7 +473,6 @@ public class HospitalApp extends Application {
             try {
                 patient.setPatientName(newName); // Update local object
                 controller.updatePatient(patient); // Persist change via controller/service
-                refreshPatientList(); // Refresh the table view
             } catch (Exception ex) {
                 showError("Failed to update patient name: " + ex.getMessage());
                  refreshPatientList(); // Refresh to show original state
@@ -387,9 +491,7 @@ public class HospitalApp extends Application {
             if (response == ButtonType.YES) {
                 try {
                     boolean deleted = controller.deletePatient(patient.getPatientId());
-                    if (deleted) {
-                        refreshPatientList();
-                    } else {
+                    if (!deleted) {
                         showError("Patient could not be found or deleted.");
                     }
                 } catch (Exception ex) {
@@ -403,7 +505,6 @@ public class HospitalApp extends Application {
         try {
             patient.admitPatient(); // Update local state
             controller.updatePatient(patient); // Persist change
-            refreshPatientList(); // Refresh table
         } catch (Exception ex) {
             showError("Failed to admit patient: " + ex.getMessage());
             refreshPatientList(); // Refresh to show original state
@@ -414,7 +515,6 @@ public class HospitalApp extends Application {
          try {
             patient.dischargePatient(); // Update local state
             controller.updatePatient(patient); // Persist change
-            refreshPatientList(); // Refresh table
         } catch (Exception ex) {
             showError("Failed to discharge patient: " + ex.getMessage());
             refreshPatientList(); // Refresh to show original state
@@ -431,9 +531,9 @@ public class HospitalApp extends Application {
         VBox root = createMainScreenLayout(topBar, searchAddRow, table);
 
         // Logic
-        refreshAppointmentList();
+        showAllRows(table, appointmentList, appointmentPages, this::refreshAppointmentList);
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> filterAppointmentList(newVal));
+            bindSearch(searchField, table, this::searchAppointments, appointmentList, () -> showAllRows(table, appointmentList, appointmentPages, this::refreshAppointmentList), "appointments");
         }
 
         stage.setTitle("Hospital System - Appointment Scheduling");
@@ -441,24 +541,26 @@ public class HospitalApp extends Application {
     }
 
     private TableView<Appointment> createAppointmentTable() {
-        TableView<Appointment> table = new TableView<>(appointmentList);
+        TableView<Appointment> table = new TableView<>();
         table.setPrefHeight(420);
 
         TableColumn<Appointment, String> idCol = new TableColumn<>("Appt ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("appointmentId"));
         idCol.setPrefWidth(80);
+        idCol.setUserData(AppointmentService.SortKey.ID);
 
         TableColumn<Appointment, String> patientNameCol = new TableColumn<>("Patient Name");
-        patientNameCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPatient().getPatientName()));
+        patientNameCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getPatient().getPatientName())));
         patientNameCol.setPrefWidth(150);
 
         TableColumn<Appointment, String> patientIdCol = new TableColumn<>("Patient ID");
-        patientIdCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPatient().getPatientId()));
+        patientIdCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getPatient().getPatientId())));
         patientIdCol.setPrefWidth(80);
 
         TableColumn<Appointment, LocalDateTime> dateTimeCol = new TableColumn<>("Date & Time");
         dateTimeCol.setCellValueFactory(new PropertyValueFactory<>("dateTime"));
         dateTimeCol.setPrefWidth(150);
+        dateTimeCol.setUserData(AppointmentService.SortKey.DATE_TIME);
 
         TableColumn<Appointment, String> typeCol = new TableColumn<>("Type");
         typeCol.setCellValueFactory(new PropertyValueFactory<>("type"));
@@ -480,77 +582,54 @@ public class HospitalApp extends Application {
     }
 
     private TableColumn<Appointment, Void> createAppointmentActionsColumn() {
-        TableColumn<Appointment, Void> actionsCol = new TableColumn<>("Actions");
-        actionsCol.setCellFactory(col -> new TableCell<>() {
-            private final Button editBtn = new Button("Edit");
-            private final Button completeBtn = new Button("Complete");
-            private final Button cancelBtn = new Button("Cancel");
-            private final Button deleteBtn = new Button("Delete");
-            {
-                editBtn.setOnAction(e -> showEditAppointmentDialog(getTableView().getItems().get(getIndex())));
-                completeBtn.setOnAction(e -> completeAppointmentAction(getTableView().getItems().get(getIndex())));
-                cancelBtn.setOnAction(e -> cancelAppointmentAction(getTableView().getItems().get(getIndex())));
-                deleteBtn.setOnAction(e -> deleteAppointmentAction(getTableView().getItems().get(getIndex())));
-                editBtn.setStyle(BUTTON_STYLE_EDIT);
-                completeBtn.setStyle(BUTTON_STYLE_ACTION1);
-                cancelBtn.setStyle(BUTTON_STYLE_ACTION2);
-                deleteBtn.setStyle(BUTTON_STYLE_DELETE);
-            }
-
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || getIndex() < 0 || getIndex() >= getTableView().getItems().size()) {
-                    setGraphic(null);
-                } else {
-                    Appointment appt = getTableView().getItems().get(getIndex());
-                    HBox box = new HBox(6);
-                    if (appt.getStatus() == Appointment.Status.SCHEDULED) {
-                        box.getChildren().addAll(editBtn, completeBtn, cancelBtn);
-                    } else {
-                         // Optionally add edit button even for completed/cancelled if desired
-                         // box.getChildren().add(editBtn);
-                    }
-                    box.getChildren().add(deleteBtn);
-                    setGraphic(box);
-
-                    // Disable buttons based on status
-                    editBtn.setDisable(appt.getStatus() != Appointment.Status.SCHEDULED);
-                    completeBtn.setDisable(appt.getStatus() != Appointment.Status.SCHEDULED);
-                    cancelBtn.setDisable(appt.getStatus() != Appointment.Status.SCHEDULED);
-                }
-            }
-        });
+        Predicate<Appointment> scheduled = a -> a.getStatus() == Appointment.Status.SCHEDULED;
+        TableColumn<Appointment, Void> actionsCol = ActionColumn.create("Actions",
+                ActionColumn.action("Edit", "action-edit", this::showEditAppointmentDialog).shownWhen(scheduled),
+                ActionColumn.action("Complete", "action-positive", this::completeAppointmentAction).shownWhen(scheduled),
+                ActionColumn.action("Cancel", "action-neutral", this::cancelAppointmentAction).shownWhen(scheduled),
+                ActionColumn.action("Delete", "action-delete", this::deleteAppointmentAction));
         actionsCol.setPrefWidth(320); // Adjust width slightly
         return actionsCol;
     }
 
     private void refreshAppointmentList() {
         try {
-            appointmentList.setAll(controller.getAllAppointments());
+            appointmentList.showAll(controller.getAllAppointments());
         } catch (Exception ex) {
             showError("Failed to load appointments: " + ex.getMessage());
             appointmentList.clear();
         }
     }
 
-    private void filterAppointmentList(String searchText) {
+    // Runs on the search thread (see bindSearch).
+    private List<Appointment> searchAppointments(String searchText, BooleanSupplier cancelled) {
+        if (searchText == null || searchText.isEmpty()) return controller.getAllAppointments();
+        List<Appointment> indexed = findIndexedAppointments(searchText.trim());
+        if (indexed != null) return indexed;
+        return BackgroundSearch.filter(controller.getAllAppointments(),
+                a -> BackgroundSearch.containsIgnoreCase(a.getPatient().getPatientName(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(a.getPatient().getPatientId(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(a.getAppointmentId(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(a.getType(), searchText),
+                cancelled);
+    }
+
+    /**
+     * Answers searches that one of the appointment indexes covers without scanning every appointment:
+     * an exact patient ID, a date (yyyy-MM-dd, the day view) or a status name. Returns null otherwise.
+     */
+    private List<Appointment> findIndexedAppointments(String text) {
+        if (controller.findPatientById(text) != null) return controller.findAppointmentsByPatient(text);
         try {
-            List<Appointment> allAppointments = controller.getAllAppointments();
-            if (searchText == null || searchText.isEmpty()) {
-                appointmentList.setAll(allAppointments);
-            } else {
-                String lowerCaseFilter = searchText.toLowerCase();
-                appointmentList.setAll(allAppointments.stream()
-                        .filter(a -> a.getPatient().getPatientName().toLowerCase().contains(lowerCaseFilter) ||
-                                     a.getPatient().getPatientId().toLowerCase().contains(lowerCaseFilter) ||
-                                     a.getAppointmentId().toLowerCase().contains(lowerCaseFilter) ||
-                                     a.getType().toLowerCase().contains(lowerCaseFilter))
-                        .collect(Collectors.toList()));
-            }
-        } catch (Exception ex) {
-            showError("Failed to filter appointments: " + ex.getMessage());
+            LocalDate day = LocalDate.parse(text);
+            return controller.findAppointmentsBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        } catch (java.time.format.DateTimeParseException ignored) {
+            // Not a date
+        }
+        for (Appointment.Status status : Appointment.Status.values()) {
+            if (status.name().equalsIgnoreCase(text)) return controller.findAppointmentsByStatus(status);
         }
+        return null;
     }
 
     private void showAddAppointmentDialog() {
@@ -559,7 +638,7 @@ public class HospitalApp extends Application {
         dialog.setHeaderText("Enter Appointment Details");
 
         // Controls
-        ComboBox<Patient> patientCombo = new ComboBox<>(patientList); // Use existing patient list
+        ComboBox<Patient> patientCombo = new ComboBox<>(patientList.items()); // Use existing patient list
         patientCombo.setPromptText("Select Patient");
         DatePicker datePicker = new DatePicker(LocalDate.now());
         // Basic Time Picker (Consider a better control for real apps)
@@ -623,7 +702,7 @@ public class HospitalApp extends Application {
 
         // Refresh patient list for the combo box before showing
         refreshPatientList();
-        if (patientList.isEmpty()) {
+        if (patientList.items().isEmpty()) {
              showError("Cannot schedule appointment: No patients registered.");
              return;
         }
@@ -631,19 +710,33 @@ public class HospitalApp extends Application {
         Optional<Appointment> result = dialog.showAndWait();
         result.ifPresent(appointment -> {
             try {
-                controller.scheduleAppointment(appointment);
-                refreshAppointmentList();
+                if (!controller.tryScheduleAppointment(appointment)) {
+                    showError(describeConflict(appointment));
+                    return;
+                }
             } catch (Exception ex) {
                 showError("Failed to schedule appointment: " + ex.getMessage());
             }
         });
     }
 
+    /** Builds the message shown when a new appointment clashes with existing ones, suggesting free slots. */
+    private String describeConflict(Appointment appointment) {
+        String clashes = controller.findAppointmentConflicts(appointment).stream()
+                .map(a -> a.getAppointmentId() + " (" + a.getPatient().getPatientName() + ", " + a.getType() + ")")
+                .collect(Collectors.joining(", "));
+        String free = controller.findFreeAppointmentSlots(appointment.getPatient().getPatientId(), appointment.getType(),
+                        appointment.getDateTime(), 3).stream()
+                .map(t -> t.toLocalDate() + " " + t.toLocalTime())
+                .collect(Collectors.joining(", "));
+        return "This time slot is already taken by " + clashes + "."
+                + (free.isEmpty() ? "" : "\nNext free slots: " + free);
+    }
+
     private void completeAppointmentAction(Appointment appointment) {
         try {
             appointment.complete(); // Update local state
             controller.updateAppointment(appointment); // Persist change
-            refreshAppointmentList(); // Refresh table
         } catch (IllegalStateException ise) {
              showError("Cannot complete appointment: " + ise.getMessage());
              refreshAppointmentList(); // Refresh just in case state was inconsistent
@@ -657,9 +750,7 @@ public class HospitalApp extends Application {
     private void cancelAppointmentAction(Appointment appointment) {
          try {
             boolean cancelled = controller.cancelAppointment(appointment.getAppointmentId()); // Use controller/service
-            if (cancelled) {
-                refreshAppointmentList(); // Refresh table
-            } else {
+            if (!cancelled) {
                  showError("Could not cancel appointment (already cancelled or completed?).");
                  refreshAppointmentList(); // Ensure view is up-to-date
             }
@@ -683,9 +774,7 @@ public class HospitalApp extends Application {
             if (response == ButtonType.YES) {
                 try {
                     boolean deleted = controller.deleteAppointment(appointment.getAppointmentId());
-                    if (deleted) {
-                        refreshAppointmentList();
-                    } else {
+                    if (!deleted) {
                         showError("Appointment could not be found or deleted.");
                     }
                 } catch (Exception ex) {
@@ -772,7 +861,6 @@ public class HospitalApp extends Application {
         result.ifPresent(updatedAppointment -> {
             try {
                 controller.updateAppointment(updatedAppointment);
-                refreshAppointmentList();
             } catch (Exception ex) {
                 showError("Failed to update appointment: " + ex.getMessage());
                 refreshAppointmentList(); // Refresh to show original state
@@ -783,16 +871,16 @@ public class HospitalApp extends Application {
     // --- Medical Records ---
     private void showMedicalRecords(Stage stage, String role) {
          HBox topBar = createTopBar("Medical Records", stage, role);
-         HBox searchAddRow = createSearchAddBar("Search records by patient or diagnosis...", "Add a new medical record", e -> showAddMedicalRecordDialog());
+         HBox searchAddRow = createSearchAddBar("Search diagnosis and notes (\"phrase\", OR) or patient...", "Add a new medical record", e -> showAddMedicalRecordDialog());
          TextField searchField = getSearchFieldFromBar(searchAddRow);
 
          TableView<MedicalRecord> table = createMedicalRecordTable();
          VBox root = createMainScreenLayout(topBar, searchAddRow, table);
 
          // Logic
-         refreshMedicalRecordList();
+         showAllRows(table, recordList, recordPages, this::refreshMedicalRecordList);
          if (searchField != null) {
-             searchField.textProperty().addListener((obs, oldVal, newVal) -> filterMedicalRecordList(newVal));
+             bindSearch(searchField, table, this::searchMedicalRecords, recordList, () -> showAllRows(table, recordList, recordPages, this::refreshMedicalRecordList), "medical records");
          }
 
          stage.setTitle("Hospital System - Medical Records");
@@ -800,28 +888,31 @@ public class HospitalApp extends Application {
     }
 
      private TableView<MedicalRecord> createMedicalRecordTable() {
-        TableView<MedicalRecord> table = new TableView<>(recordList);
+        TableView<MedicalRecord> table = new TableView<>();
         table.setPrefHeight(420);
 
         TableColumn<MedicalRecord, String> idCol = new TableColumn<>("Record ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("recordId"));
         idCol.setPrefWidth(100);
+        idCol.setUserData(MedicalRecordService.SortKey.ID);
 
         TableColumn<MedicalRecord, String> patientNameCol = new TableColumn<>("Patient Name");
-        patientNameCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPatient().getPatientName()));
+        patientNameCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getPatient().getPatientName())));
         patientNameCol.setPrefWidth(150);
 
         TableColumn<MedicalRecord, String> patientIdCol = new TableColumn<>("Patient ID");
-        patientIdCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPatient().getPatientId()));
+        patientIdCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getPatient().getPatientId())));
         patientIdCol.setPrefWidth(100);
+        patientIdCol.setUserData(MedicalRecordService.SortKey.PATIENT_ID);
 
         TableColumn<MedicalRecord, String> apptIdCol = new TableColumn<>("Appt ID");
-        apptIdCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getAppointment().getAppointmentId()));
+        apptIdCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getAppointment().getAppointmentId())));
         apptIdCol.setPrefWidth(100);
 
         TableColumn<MedicalRecord, LocalDate> dateCol = new TableColumn<>("Date");
         dateCol.setCellValueFactory(new PropertyValueFactory<>("date"));
         dateCol.setPrefWidth(120);
+        dateCol.setUserData(MedicalRecordService.SortKey.DATE);
 
         TableColumn<MedicalRecord, String> diagnosisCol = new TableColumn<>("Diagnosis");
         diagnosisCol.setCellValueFactory(new PropertyValueFactory<>("diagnosis"));
@@ -839,61 +930,36 @@ public class HospitalApp extends Application {
         return table;
     }
 
-      private TableColumn<MedicalRecord, Void> createMedicalRecordActionsColumn() {
-        TableColumn<MedicalRecord, Void> actionsCol = new TableColumn<>("Actions");
-        actionsCol.setCellFactory(col -> new TableCell<>() {
-            private final Button viewBtn = new Button("View Details");
-            private final Button editBtn = new Button("Edit");
-            private final Button deleteBtn = new Button("Delete");
-            {
-                viewBtn.setOnAction(e -> showMedicalRecordDetails(getTableView().getItems().get(getIndex())));
-                editBtn.setOnAction(e -> showEditMedicalRecordDialog(getTableView().getItems().get(getIndex())));
-                deleteBtn.setOnAction(e -> deleteMedicalRecordAction(getTableView().getItems().get(getIndex())));
-                viewBtn.setStyle(BUTTON_STYLE_VIEW);
-                editBtn.setStyle(BUTTON_STYLE_EDIT);
-                deleteBtn.setStyle(BUTTON_STYLE_DELETE);
-            }
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || getIndex() < 0 || getIndex() >= getTableView().getItems().size()) {
-                    setGraphic(null);
-                } else {
-                    HBox box = new HBox(6, viewBtn, editBtn, deleteBtn);
-                    setGraphic(box);
-                }
-            }
-        });
-         actionsCol.setPrefWidth(230);
+    private TableColumn<MedicalRecord, Void> createMedicalRecordActionsColumn() {
+        TableColumn<MedicalRecord, Void> actionsCol = ActionColumn.create("Actions",
+                ActionColumn.action("View Details", "action-view", this::showMedicalRecordDetails),
+                ActionColumn.action("Edit", "action-edit", this::showEditMedicalRecordDialog),
+                ActionColumn.action("Delete", "action-delete", this::deleteMedicalRecordAction));
+        actionsCol.setPrefWidth(230);
         return actionsCol;
     }
 
     private void refreshMedicalRecordList() {
         try {
-            recordList.setAll(controller.getAllMedicalRecords());
+            recordList.showAll(controller.getAllMedicalRecords());
         } catch (Exception ex) {
             showError("Failed to load medical records: " + ex.getMessage());
             recordList.clear();
         }
     }
 
-    private void filterMedicalRecordList(String searchText) {
-        try {
-            List<MedicalRecord> allRecords = controller.getAllMedicalRecords();
-            if (searchText == null || searchText.isEmpty()) {
-                recordList.setAll(allRecords);
-            } else {
-                String lowerCaseFilter = searchText.toLowerCase();
-                recordList.setAll(allRecords.stream()
-                        .filter(r -> r.getPatient().getPatientName().toLowerCase().contains(lowerCaseFilter) ||
-                                     r.getPatient().getPatientId().toLowerCase().contains(lowerCaseFilter) ||
-                                     r.getRecordId().toLowerCase().contains(lowerCaseFilter) ||
-                                     r.getDiagnosis().toLowerCase().contains(lowerCaseFilter))
-                        .collect(Collectors.toList()));
-            }
-        } catch (Exception ex) {
-            showError("Failed to filter medical records: " + ex.getMessage());
-        }
+    /* Runs on the search thread (see bindSearch). Full-text matches in diagnosis and notes come first, newest
+     first, followed by records whose patient or record ID matches the text.*/
+    private List<MedicalRecord> searchMedicalRecords(String searchText, BooleanSupplier cancelled) {
+        if (searchText == null || searchText.isEmpty()) return controller.getAllMedicalRecords();
+        java.util.LinkedHashSet<MedicalRecord> found = new java.util.LinkedHashSet<>(
+                controller.searchMedicalRecords(searchText, RECORD_SEARCH_LIMIT));
+        found.addAll(BackgroundSearch.filter(controller.getAllMedicalRecords(),
+                r -> BackgroundSearch.containsIgnoreCase(r.getPatient().getPatientName(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(r.getPatient().getPatientId(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(r.getRecordId(), searchText),
+                cancelled));
+        return new java.util.ArrayList<>(found);
     }
 
      private void showMedicalRecordDetails(MedicalRecord record) {
@@ -968,7 +1034,6 @@ public class HospitalApp extends Application {
         result.ifPresent(updatedRecord -> {
             try {
                 controller.updateMedicalRecord(updatedRecord);
-                refreshMedicalRecordList();
             } catch (Exception ex) {
                 showError("Failed to update medical record: " + ex.getMessage());
                 refreshMedicalRecordList(); // Refresh to show original state
@@ -982,8 +1047,8 @@ public class HospitalApp extends Application {
         dialog.setHeaderText("Enter Record Details");
 
         // Controls
-        ComboBox<Patient> patientCombo = new ComboBox<>(patientList); patientCombo.setPromptText("Select Patient");
-        ComboBox<Appointment> appointmentCombo = new ComboBox<>(appointmentList); appointmentCombo.setPromptText("Select Related Appointment");
+        ComboBox<Patient> patientCombo = new ComboBox<>(patientList.items()); patientCombo.setPromptText("Select Patient");
+        ComboBox<Appointment> appointmentCombo = new ComboBox<>(appointmentList.items()); appointmentCombo.setPromptText("Select Related Appointment");
         DatePicker datePicker = new DatePicker(LocalDate.now());
         TextField diagnosisField = new TextField(); diagnosisField.setPromptText("Diagnosis");
         TextArea notesArea = new TextArea(); notesArea.setPromptText("Notes (Optional)");
@@ -992,9 +1057,7 @@ public class HospitalApp extends Application {
          // Filter appointments based on selected patient
         patientCombo.valueProperty().addListener((obs, oldPatient, newPatient) -> {
             if (newPatient != null) {
-                List<Appointment> patientAppointments = appointmentList.stream()
-                        .filter(a -> a.getPatient().equals(newPatient))
-                        .collect(Collectors.toList());
+                List<Appointment> patientAppointments = controller.findAppointmentsByPatient(newPatient.getPatientId());
                 appointmentCombo.setItems(FXCollections.observableArrayList(patientAppointments));
                 appointmentCombo.setDisable(patientAppointments.isEmpty());
                  if (patientAppointments.isEmpty()) {
@@ -1066,7 +1129,7 @@ public class HospitalApp extends Application {
          // Refresh lists needed for combo boxes
         refreshPatientList();
         refreshAppointmentList(); // Need appointments to link
-        if (patientList.isEmpty() || appointmentList.isEmpty()) {
+        if (patientList.items().isEmpty() || appointmentList.items().isEmpty()) {
              showError("Cannot add record: Patients or Appointments are missing.");
              return;
         }
@@ -1076,7 +1139,6 @@ public class HospitalApp extends Application {
         result.ifPresent(record -> {
             try {
                 controller.addMedicalRecord(record);
-                refreshMedicalRecordList();
             } catch (Exception ex) {
                 showError("Failed to add medical record: " + ex.getMessage());
             }
@@ -1095,9 +1157,7 @@ public class HospitalApp extends Application {
             if (response == ButtonType.YES) {
                 try {
                     boolean deleted = controller.deleteMedicalRecord(record.getRecordId());
-                    if (deleted) {
-                        refreshMedicalRecordList();
-                    } else {
+                    if (!deleted) {
                         showError("Medical record could not be found or deleted.");
                     }
                 } catch (Exception ex) {
@@ -1122,58 +1182,90 @@ public class HospitalApp extends Application {
 
         TableView<Bill> table = createBillingTable();
         VBox root = createMainScreenLayout(topBar, searchAddRow, table);
+        // The summary reads the billing service's running totals, so it never scans the bills.
+        Label summary = new Label();
+        summary.setStyle("-fx-font-size: 14px;");
+        root.getChildren().add(summary);
+        Runnable refreshSummary = () -> summary.setText(billingSummary(table.getSelectionModel().getSelectedItem()));
+        table.getSelectionModel().selectedItemProperty().addListener((obs, o, n) -> refreshSummary.run());
+        refreshSummary.run();
+        Timeline summaryUpdates = new Timeline(new KeyFrame(OperationsDashboard.FRAME, e -> refreshSummary.run()));
+        summaryUpdates.setCycleCount(Animation.INDEFINITE);
 
         // Logic
-        refreshBillList();
+        showAllRows(table, billList, billPages, this::refreshBillList);
         if (searchField != null) {
-            searchField.textProperty().addListener((obs, oldVal, newVal) -> filterBillList(newVal));
+            bindSearch(searchField, table, this::searchBills, billList, () -> showAllRows(table, billList, billPages, this::refreshBillList), "bills");
         }
 
         stage.setTitle("Hospital System - Billing");
-        stage.setScene(new Scene(root, 1100, 600));
+        Scene scene = new Scene(root, 1100, 600);
+        stage.setScene(scene);
+        OperationsDashboard.playWhileShown(summaryUpdates, stage, scene);
+    }
+
+    private String billingSummary(Bill selected) {
+        String text = String.format("Unpaid: %s (%d bills)    Paid: %s (%d bills)",
+                formatMoney(controller.getUnpaidBillTotal(Money.DEFAULT_CURRENCY)), controller.countBillsByStatus(Bill.Status.UNPAID),
+                formatMoney(controller.getBillTotalByStatus(Bill.Status.PAID, Money.DEFAULT_CURRENCY)), controller.countBillsByStatus(Bill.Status.PAID));
+        BillingService.AgingReport aging = controller.getBillAgingReport(Money.DEFAULT_CURRENCY);
+        text += String.format("\nAged 0-30 / 31-60 / 61-90 / 90+ days: %s / %s / %s / %s",
+                formatMoney(aging.total(BillingService.AgingBucket.DAYS_0_30)), formatMoney(aging.total(BillingService.AgingBucket.DAYS_31_60)),
+                formatMoney(aging.total(BillingService.AgingBucket.DAYS_61_90)), formatMoney(aging.total(BillingService.AgingBucket.OVER_90)));
+        if (selected == null) return text;
+        Patient patient = selected.getPatient();
+        return text + "    " + patient.getPatientName() + " owes: "
+                + formatMoney(controller.getOutstandingBalance(patient.getPatientId(), selected.getCurrency()));
     }
 
     private TableView<Bill> createBillingTable() {
-        TableView<Bill> table = new TableView<>(billList);
+        TableView<Bill> table = new TableView<>();
         table.setPrefHeight(420);
 
         TableColumn<Bill, String> idCol = new TableColumn<>("Bill ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("billId"));
         idCol.setPrefWidth(100);
+        idCol.setUserData(BillingService.SortKey.ID);
 
         TableColumn<Bill, String> patientNameCol = new TableColumn<>("Patient Name");
-        patientNameCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPatient().getPatientName()));
+        patientNameCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getPatient().getPatientName())));
         patientNameCol.setPrefWidth(150);
 
         TableColumn<Bill, String> patientIdCol = new TableColumn<>("Patient ID");
-        patientIdCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getPatient().getPatientId()));
+        patientIdCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getPatient().getPatientId())));
         patientIdCol.setPrefWidth(100);
+        patientIdCol.setUserData(BillingService.SortKey.PATIENT_ID);
 
-        TableColumn<Bill, Double> amountCol = new TableColumn<>("Total Amount");
+        TableColumn<Bill, Money> amountCol = new TableColumn<>("Total Amount");
         amountCol.setCellValueFactory(new PropertyValueFactory<>("totalAmount"));
         amountCol.setPrefWidth(120);
         // Format as currency
-        amountCol.setCellFactory(tc -> new TableCell<Bill, Double>() {
+        amountCol.setCellFactory(tc -> new TableCell<Bill, Money>() {
             @Override
-            protected void updateItem(Double price, boolean empty) {
+            protected void updateItem(Money price, boolean empty) {
                 super.updateItem(price, empty);
                 if (empty || price == null) {
                     setText(null);
                 } else {
-                    setText(String.format("$%.2f", price));
+                    setText(formatMoney(price));
                 }
             }
         });
 
 
+        TableColumn<Bill, String> issuedCol = new TableColumn<>("Issued");
+        issuedCol.setCellValueFactory(loadedRow(row -> new SimpleStringProperty(row.getIssuedAt().toLocalDate().toString())));
+        issuedCol.setPrefWidth(100);
+
         TableColumn<Bill, String> statusCol = new TableColumn<>("Status");
         statusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
         statusCol.setPrefWidth(100);
+        statusCol.setUserData(BillingService.SortKey.STATUS);
 
         TableColumn<Bill, Void> actionsCol = createBillingActionsColumn();
         actionsCol.setPrefWidth(350); // Wider for more actions
 
-        table.getColumns().setAll(idCol, patientNameCol, patientIdCol, amountCol, statusCol, actionsCol);
+        table.getColumns().setAll(idCol, patientNameCol, patientIdCol, amountCol, issuedCol, statusCol, actionsCol);
         table.setPlaceholder(new Label("No bills generated yet"));
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
         table.setStyle("-fx-background-color: #f8f8f8; -fx-border-color: #cccccc; -fx-border-radius: 5; -fx-background-radius: 5;");
@@ -1181,72 +1273,35 @@ public class HospitalApp extends Application {
         return table;
     }
 
-     private TableColumn<Bill, Void> createBillingActionsColumn() {
-        TableColumn<Bill, Void> actionsCol = new TableColumn<>("Actions");
-        actionsCol.setCellFactory(col -> new TableCell<>() {
-            private final Button viewBtn = new Button("View Items");
-            private final Button addLineItemBtn = new Button("Add Item");
-            private final Button markPaidBtn = new Button("Mark Paid");
-            private final Button deleteBtn = new Button("Delete");
-            {
-                viewBtn.setOnAction(e -> showBillDetails(getTableView().getItems().get(getIndex())));
-                addLineItemBtn.setOnAction(e -> showAddLineItemDialog(getTableView().getItems().get(getIndex())));
-                markPaidBtn.setOnAction(e -> markBillPaidAction(getTableView().getItems().get(getIndex())));
-                deleteBtn.setOnAction(e -> deleteBillAction(getTableView().getItems().get(getIndex())));
-
-                viewBtn.setStyle(BUTTON_STYLE_VIEW);
-                addLineItemBtn.setStyle(BUTTON_STYLE_EDIT); // Reuse edit style
-                markPaidBtn.setStyle(BUTTON_STYLE_ACTION3); // Orangish
-                deleteBtn.setStyle(BUTTON_STYLE_DELETE);
-            }
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || getIndex() < 0 || getIndex() >= getTableView().getItems().size()) {
-                    setGraphic(null);
-                } else {
-                    Bill bill = getTableView().getItems().get(getIndex());
-                    HBox box = new HBox(6, viewBtn);
-                    if (bill.getStatus() == Bill.Status.UNPAID) {
-                        box.getChildren().addAll(addLineItemBtn, markPaidBtn);
-                    }
-                    box.getChildren().add(deleteBtn);
-                    setGraphic(box);
-
-                    // Disable buttons based on status
-                    addLineItemBtn.setDisable(bill.getStatus() == Bill.Status.PAID);
-                    markPaidBtn.setDisable(bill.getStatus() == Bill.Status.PAID || bill.getTotalAmount() <= 0); // Don't mark empty bill paid
-                }
-            }
-        });
-        return actionsCol;
+    private TableColumn<Bill, Void> createBillingActionsColumn() {
+        Predicate<Bill> unpaid = b -> b.getStatus() == Bill.Status.UNPAID;
+        return ActionColumn.create("Actions",
+                ActionColumn.action("View Items", "action-view", this::showBillDetails),
+                ActionColumn.action("Add Item", "action-edit", this::showAddLineItemDialog).shownWhen(unpaid),
+                // Don't mark an empty bill paid
+                ActionColumn.action("Mark Paid", "action-payment", this::markBillPaidAction).shownWhen(unpaid)
+                        .enabledWhen(b -> b.getTotalAmount().isPositive()),
+                ActionColumn.action("Delete", "action-delete", this::deleteBillAction));
     }
 
      private void refreshBillList() {
         try {
-            billList.setAll(controller.getAllBills());
+            billList.showAll(controller.getAllBills());
         } catch (Exception ex) {
             showError("Failed to load bills: " + ex.getMessage());
             billList.clear();
         }
     }
 
-    private void filterBillList(String searchText) {
-        try {
-            List<Bill> allBills = controller.getAllBills();
-            if (searchText == null || searchText.isEmpty()) {
-                billList.setAll(allBills);
-            } else {
-                String lowerCaseFilter = searchText.toLowerCase();
-                billList.setAll(allBills.stream()
-                        .filter(b -> b.getPatient().getPatientName().toLowerCase().contains(lowerCaseFilter) ||
-                                     b.getPatient().getPatientId().toLowerCase().contains(lowerCaseFilter) ||
-                                     b.getBillId().toLowerCase().contains(lowerCaseFilter))
-                        .collect(Collectors.toList()));
-            }
-        } catch (Exception ex) {
-            showError("Failed to filter bills: " + ex.getMessage());
-        }
+    // Runs on the search thread (see bindSearch).
+    private List<Bill> searchBills(String searchText, BooleanSupplier cancelled) {
+        List<Bill> allBills = controller.getAllBills();
+        if (searchText == null || searchText.isEmpty()) return allBills;
+        return BackgroundSearch.filter(allBills,
+                b -> BackgroundSearch.containsIgnoreCase(b.getPatient().getPatientName(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(b.getPatient().getPatientId(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(b.getBillId(), searchText),
+                cancelled);
     }
 
      private void showBillDetails(Bill bill) {
@@ -1269,11 +1324,11 @@ public class HospitalApp extends Application {
             content.append("  (No items added yet)\n");
         } else {
             for (Bill.LineItem item : bill.getLineItems()) {
-                content.append(String.format("  - %s: $%.2f\n", item.getDescription(), item.getAmount()));
+                content.append(String.format("  - %s: %s\n", item.getDescription(), formatMoney(item.getAmount())));
             }
         }
         content.append("\n--------------------\n");
-        content.append(String.format("Total Amount: $%.2f\n", bill.getTotalAmount()));
+        content.append(String.format("Total Amount: %s\n", formatMoney(bill.getTotalAmount())));
 
         textArea.setText(content.toString());
         textArea.setPrefRowCount(15);
@@ -1290,7 +1345,7 @@ public class HospitalApp extends Application {
          dialog.setTitle("Create New Bill");
          dialog.setHeaderText("Select Patient for New Bill");
 
-         ComboBox<Patient> patientCombo = new ComboBox<>(patientList);
+         ComboBox<Patient> patientCombo = new ComboBox<>(patientList.items());
          patientCombo.setPromptText("Select Patient");
 
          VBox vbox = new VBox(10, new Label("Patient:"), patientCombo);
@@ -1308,7 +1363,7 @@ public class HospitalApp extends Application {
 
          // Refresh patient list
          refreshPatientList();
-         if (patientList.isEmpty()) {
+         if (patientList.items().isEmpty()) {
               showError("Cannot create bill: No patients registered.");
               return;
          }
@@ -1317,10 +1372,9 @@ public class HospitalApp extends Application {
          Optional<Patient> result = dialog.showAndWait();
          result.ifPresent(patient -> {
              try {
-                 String id = "B" + (controller.getAllBills().size() + 101); // Simple ID
+                 String id = "B" + (controller.countBills() + 101); // Simple ID
                  Bill newBill = new Bill(id, patient); // Creates an empty, unpaid bill
                  controller.createBill(newBill);
-                 refreshBillList();
              } catch (Exception ex) {
                  showError("Failed to create bill: " + ex.getMessage());
              }
@@ -1360,8 +1414,8 @@ public class HospitalApp extends Application {
              boolean disabled = descriptionField.getText().trim().isEmpty() ||
                                 amountField.getText().trim().isEmpty();
              try {
-                 if (!disabled) Double.parseDouble(amountField.getText()); // Check if valid double
-             } catch (NumberFormatException e) {
+                 if (!disabled) Money.parse(amountField.getText(), bill.getCurrency()); // Check if valid amount
+             } catch (IllegalArgumentException e) {
                  disabled = true;
              }
              okButton.setDisable(disabled);
@@ -1374,11 +1428,8 @@ public class HospitalApp extends Application {
              if (dialogButton == ButtonType.OK) {
                  try {
                      String description = descriptionField.getText().trim();
-                     double amount = Double.parseDouble(amountField.getText());
+                     Money amount = Money.parse(amountField.getText(), bill.getCurrency());
                      return new Bill.LineItem(description, amount);
-                 } catch (NumberFormatException e) {
-                     showError("Invalid amount format.");
-                     return null;
                  } catch (IllegalArgumentException e) {
                       showError("Invalid input: " + e.getMessage());
                       return null;
@@ -1390,9 +1441,7 @@ public class HospitalApp extends Application {
          Optional<Bill.LineItem> result = dialog.showAndWait();
          result.ifPresent(lineItem -> {
              try {
-                 bill.addLineItem(lineItem); // Add to local object
-                 controller.updateBill(bill); // Persist change
-                 refreshBillList(); // Refresh table
+                 controller.addLineItem(bill.getBillId(), lineItem); // Updates the bill and its totals in one step
              } catch (Exception ex) {
                  showError("Failed to add line item: " + ex.getMessage());
                  refreshBillList();
@@ -1405,7 +1454,7 @@ public class HospitalApp extends Application {
              showError("Bill is already marked as paid.");
              return;
          }
-          if (bill.getTotalAmount() <= 0) {
+          if (!bill.getTotalAmount().isPositive()) {
              showError("Cannot mark an empty or zero-amount bill as paid.");
              return;
          }
@@ -1424,7 +1473,6 @@ public class HospitalApp extends Application {
              }
              try {
                  controller.markBillAsPaid(bill.getBillId(), reference.trim()); // Use controller/service
-                 refreshBillList(); // Refresh table
              } catch (IllegalArgumentException | IllegalStateException e) {
                  showError("Could not mark bill as paid: " + e.getMessage());
                  refreshBillList();
@@ -1446,9 +1494,7 @@ public class HospitalApp extends Application {
             if (response == ButtonType.YES) {
                 try {
                     boolean deleted = controller.deleteBill(bill.getBillId());
-                    if (deleted) {
-                        refreshBillList();
-                    } else {
+                    if (!deleted) {
                         showError("Bill could not be found or deleted.");
                     }
                 } catch (Exception ex) {
@@ -1475,9 +1521,9 @@ public class HospitalApp extends Application {
          VBox root = createMainScreenLayout(topBar, searchAddRow, table);
 
          // Logic
-         refreshInventoryList();
+         showAllRows(table, inventoryList, inventoryPages, this::refreshInventoryList);
          if (searchField != null) {
-             searchField.textProperty().addListener((obs, oldVal, newVal) -> filterInventoryList(newVal));
+             bindSearch(searchField, table, this::searchInventory, inventoryList, () -> showAllRows(table, inventoryList, inventoryPages, this::refreshInventoryList), "inventory");
          }
 
          stage.setTitle("Hospital System - Inventory");
@@ -1485,33 +1531,35 @@ public class HospitalApp extends Application {
     }
 
      private TableView<InventoryItem> createInventoryTable() {
-        TableView<InventoryItem> table = new TableView<>(inventoryList);
+        TableView<InventoryItem> table = new TableView<>();
         table.setPrefHeight(420);
 
         TableColumn<InventoryItem, String> idCol = new TableColumn<>("Item ID");
         idCol.setCellValueFactory(new PropertyValueFactory<>("itemId"));
         idCol.setPrefWidth(100);
+        idCol.setUserData(InventoryService.SortKey.ID);
 
         TableColumn<InventoryItem, String> nameCol = new TableColumn<>("Name");
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         nameCol.setPrefWidth(250);
+        nameCol.setUserData(InventoryService.SortKey.NAME);
 
         TableColumn<InventoryItem, Integer> quantityCol = new TableColumn<>("Quantity");
         quantityCol.setCellValueFactory(new PropertyValueFactory<>("quantity"));
         quantityCol.setPrefWidth(100);
 
-        TableColumn<InventoryItem, Double> priceCol = new TableColumn<>("Unit Price");
+        TableColumn<InventoryItem, Money> priceCol = new TableColumn<>("Unit Price");
         priceCol.setCellValueFactory(new PropertyValueFactory<>("unitPrice"));
         priceCol.setPrefWidth(120);
          // Format as currency
-        priceCol.setCellFactory(tc -> new TableCell<InventoryItem, Double>() {
+        priceCol.setCellFactory(tc -> new TableCell<InventoryItem, Money>() {
             @Override
-            protected void updateItem(Double price, boolean empty) {
+            protected void updateItem(Money price, boolean empty) {
                 super.updateItem(price, empty);
                 if (empty || price == null) {
                     setText(null);
                 } else {
-                    setText(String.format("$%.2f", price));
+                    setText(formatMoney(price));
                 }
             }
         });
@@ -1527,66 +1575,34 @@ public class HospitalApp extends Application {
         return table;
     }
 
-     private TableColumn<InventoryItem, Void> createInventoryActionsColumn() {
-        TableColumn<InventoryItem, Void> actionsCol = new TableColumn<>("Actions");
-        actionsCol.setCellFactory(col -> new TableCell<>() {
-            private final Button editBtn = new Button("Edit");
-            private final Button deleteBtn = new Button("Delete");
-            private final Button addStockBtn = new Button("+ Stock");
-            private final Button removeStockBtn = new Button("- Stock");
-             {
-                editBtn.setOnAction(e -> showEditInventoryItemDialog(getTableView().getItems().get(getIndex())));
-                deleteBtn.setOnAction(e -> deleteInventoryItemAction(getTableView().getItems().get(getIndex())));
-                addStockBtn.setOnAction(e -> showUpdateStockDialog(getTableView().getItems().get(getIndex()), true)); // true for add
-                removeStockBtn.setOnAction(e -> showUpdateStockDialog(getTableView().getItems().get(getIndex()), false)); // false for remove
-
-                editBtn.setStyle(BUTTON_STYLE_EDIT);
-                deleteBtn.setStyle(BUTTON_STYLE_DELETE);
-                addStockBtn.setStyle(BUTTON_STYLE_ACTION1); // Greenish
-                removeStockBtn.setStyle(BUTTON_STYLE_ACTION2); // Bluish
-            }
-            @Override
-            protected void updateItem(Void item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty) {
-                    setGraphic(null);
-                } else {
-                    InventoryItem invItem = getTableView().getItems().get(getIndex());
-                    HBox box = new HBox(6, editBtn, deleteBtn, addStockBtn, removeStockBtn);
-                    // Disable remove stock if quantity is 0
-                    removeStockBtn.setDisable(invItem.getQuantity() <= 0);
-                    setGraphic(box);
-                }
-            }
-        });
-        return actionsCol;
+    private TableColumn<InventoryItem, Void> createInventoryActionsColumn() {
+        return ActionColumn.create("Actions",
+                ActionColumn.action("Edit", "action-edit", this::showEditInventoryItemDialog),
+                ActionColumn.action("Delete", "action-delete", this::deleteInventoryItemAction),
+                ActionColumn.action("+ Stock", "action-positive", (InventoryItem item) -> showUpdateStockDialog(item, true)),
+                // Disable remove stock if quantity is 0
+                ActionColumn.action("- Stock", "action-neutral", (InventoryItem item) -> showUpdateStockDialog(item, false))
+                        .enabledWhen(item -> item.getQuantity() > 0));
     }
 
 
     private void refreshInventoryList() {
         try {
-            inventoryList.setAll(controller.getAllInventoryItems());
+            inventoryList.showAll(controller.getAllInventoryItems());
         } catch (Exception ex) {
             showError("Failed to load inventory: " + ex.getMessage());
             inventoryList.clear();
         }
     }
 
-     private void filterInventoryList(String searchText) {
-        try {
-            List<InventoryItem> allItems = controller.getAllInventoryItems();
-            if (searchText == null || searchText.isEmpty()) {
-                inventoryList.setAll(allItems);
-            } else {
-                String lowerCaseFilter = searchText.toLowerCase();
-                inventoryList.setAll(allItems.stream()
-                        .filter(i -> i.getName().toLowerCase().contains(lowerCaseFilter) ||
-                                     i.getItemId().toLowerCase().contains(lowerCaseFilter))
-                        .collect(Collectors.toList()));
-            }
-        } catch (Exception ex) {
-            showError("Failed to filter inventory: " + ex.getMessage());
-        }
+    // Runs on the search thread (see bindSearch).
+    private List<InventoryItem> searchInventory(String searchText, BooleanSupplier cancelled) {
+        List<InventoryItem> allItems = controller.getAllInventoryItems();
+        if (searchText == null || searchText.isEmpty()) return allItems;
+        return BackgroundSearch.filter(allItems,
+                i -> BackgroundSearch.containsIgnoreCase(i.getName(), searchText) ||
+                     BackgroundSearch.containsIgnoreCase(i.getItemId(), searchText),
+                cancelled);
     }
 
      private void showAddInventoryItemDialog() {
@@ -1617,9 +1633,9 @@ public class HospitalApp extends Application {
              try {
                  if (!disabled) {
                      Integer.parseInt(quantityField.getText());
-                     Double.parseDouble(priceField.getText());
+                     Money.parse(priceField.getText());
                  }
-             } catch (NumberFormatException e) {
+             } catch (IllegalArgumentException e) {
                  disabled = true;
              }
              okButton.setDisable(disabled);
@@ -1634,7 +1650,7 @@ public class HospitalApp extends Application {
                 try {
                     String name = nameField.getText().trim();
                     int quantity = Integer.parseInt(quantityField.getText());
-                    double price = Double.parseDouble(priceField.getText());
+                    Money price = Money.parse(priceField.getText());
                     String id = "INV" + (controller.getAllInventoryItems().size() + 101); // Simple ID
                     return new InventoryItem(id, name, quantity, price);
                 } catch (NumberFormatException e) {
@@ -1652,7 +1668,6 @@ public class HospitalApp extends Application {
         result.ifPresent(item -> {
             try {
                 controller.addInventoryItem(item);
-                refreshInventoryList();
             } catch (Exception ex) {
                 showError("Failed to add inventory item: " + ex.getMessage());
             }
@@ -1665,7 +1680,7 @@ public class HospitalApp extends Application {
         dialog.setHeaderText("Edit Details for Item ID: " + item.getItemId());
 
         TextField nameField = new TextField(item.getName());
-        TextField priceField = new TextField(String.format("%.2f", item.getUnitPrice()));
+        TextField priceField = new TextField(item.getUnitPrice().toPlainString());
 
         // Numeric validation
         priceField.textProperty().addListener((obs, ov, nv) -> { if (!nv.matches("\\d*([.]\\d{0,2})?")) priceField.setText(ov); });
@@ -1683,9 +1698,9 @@ public class HospitalApp extends Application {
                                 priceField.getText().trim().isEmpty();
              try {
                  if (!disabled) {
-                     Double.parseDouble(priceField.getText());
+                     Money.parse(priceField.getText(), item.getUnitPrice().currency());
                  }
-             } catch (NumberFormatException e) {
+             } catch (IllegalArgumentException e) {
                  disabled = true;
              }
              okButton.setDisable(disabled);
@@ -1698,16 +1713,13 @@ public class HospitalApp extends Application {
             if (dialogButton == ButtonType.OK) {
                 try {
                     String newName = nameField.getText().trim();
-                    double newPrice = Double.parseDouble(priceField.getText());
+                    Money newPrice = Money.parse(priceField.getText(), item.getUnitPrice().currency());
 
                     // Apply changes locally first for validation by setters
                     item.setName(newName);
                     item.setUnitPrice(newPrice);
 
                     return item; // Return the modified item
-                } catch (NumberFormatException e) {
-                    showError("Invalid number format for price.");
-                    return null;
                 } catch (IllegalArgumentException e) {
                     showError("Invalid input: " + e.getMessage());
                     return null;
@@ -1720,7 +1732,6 @@ public class HospitalApp extends Application {
         result.ifPresent(updatedItem -> {
             try {
                 controller.updateInventoryItem(updatedItem);
-                refreshInventoryList();
             } catch (Exception ex) {
                 showError("Failed to update inventory item: " + ex.getMessage());
                 refreshInventoryList(); // Refresh to show original state
@@ -1780,13 +1791,10 @@ public class HospitalApp extends Application {
          Optional<Integer> result = dialog.showAndWait();
          result.ifPresent(amount -> {
              try {
-                 if (isAdding) {
-                     item.addStock(amount);
-                 } else {
-                     item.removeStock(amount);
+                 // Atomic on the item, so a concurrent dispense elsewhere cannot drive stock negative
+                 if (!controller.adjustStock(Map.of(item.getItemId(), isAdding ? amount : -amount))) {
+                     showError("Failed to update stock: Not enough stock to remove");
                  }
-                 controller.updateInventoryItem(item); // Persist change
-                 refreshInventoryList();
              } catch (IllegalArgumentException e) {
                  showError("Failed to update stock: " + e.getMessage());
                  refreshInventoryList(); // Refresh view
@@ -1809,9 +1817,7 @@ public class HospitalApp extends Application {
             if (response == ButtonType.YES) {
                 try {
                     boolean deleted = controller.deleteInventoryItem(item.getItemId());
-                    if (deleted) {
-                        refreshInventoryList();
-                    } else {
+                    if (!deleted) {
                         showError("Inventory item could not be found or deleted.");
                     }
                 } catch (Exception ex) {
@@ -1824,6 +1830,11 @@ public class HospitalApp extends Application {
 
 
     // --- Utility ---
+    // Amounts in the default currency show its symbol, others their currency code.
+    private static String formatMoney(Money amount) {
+        return amount.currency().equals(Money.DEFAULT_CURRENCY) ? "$" + amount.toPlainString() : amount.toString();
+    }
+
     private void showError(String msg) {
         Alert alert = new Alert(Alert.AlertType.ERROR, msg, ButtonType.OK);
         alert.setTitle("Error");
@@ -0,0 +1,185 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
+import javafx.scene.control.TableView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The rows behind one table, kept current from a service's change stream. Each change touches only the row of the
+ * entity that changed: an update replaces that row in place, a new entity is appended and a deleted one removed, so
+ * admitting one patient or paying one bill costs the same however many rows the table holds. Changes arriving
+ * between two UI pulses are coalesced by ID and applied in one runnable on the UI executor
+ * ({@code Platform::runLater}), which looks up each entity's current state once.
+ * <p>
+ * The list shows either everything ({@link #showAll}) or a search result ({@link #showSubset}). A search result only
+ * follows the rows it holds: new entities are not added to it, since they may not match the search. Apart from
+ * {@link #onNext} and the other subscriber callbacks, every method must be called on the UI thread.
+ */
+final class LiveList<T> implements Flow.Subscriber<ChangeEvent> {
+    private static final System.Logger LOG = System.getLogger(LiveList.class.getName());
+
+    private final Function<T, String> idOf;
+    private final Function<String, T> lookup;
+    private final Supplier<List<T>> loadAll;
+    private final Executor uiExecutor;
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    private final SortedList<T> sorted = new SortedList<>(items);
+    /** Row of each shown entity in {@link #items}. */
+    private final Map<String, Integer> positions = new HashMap<>();
+    private boolean complete;
+    private Flow.Publisher<ChangeEvent> source;
+
+    // Guarded by pending.
+    private final LinkedHashSet<String> pending = new LinkedHashSet<>();
+    private boolean flushScheduled;
+    private boolean resync;
+
+    /**
+     * @param idOf returns an entity's ID
+     * @param lookup returns the current state of the entity with an ID, or null if it no longer exists
+     * @param loadAll returns every entity, to start over after missing changes
+     * @param uiExecutor runs updates on the UI thread
+     */
+    LiveList(Function<T, String> idOf, Function<String, T> lookup, Supplier<List<T>> loadAll, Executor uiExecutor) {
+        if (idOf == null || lookup == null || loadAll == null) throw new IllegalArgumentException("Functions cannot be null");
+        if (uiExecutor == null) throw new IllegalArgumentException("Executor cannot be null");
+        this.idOf = idOf;
+        this.lookup = lookup;
+        this.loadAll = loadAll;
+        this.uiExecutor = uiExecutor;
+    }
+
+    /**
+     * Starts following a change stream. Subscribe before the first {@link #showAll} so no change falls in between.
+     */
+    void follow(Flow.Publisher<ChangeEvent> publisher) {
+        if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
+        if (source != null) throw new IllegalStateException("Already following a change stream");
+        source = publisher;
+        publisher.subscribe(this);
+    }
+
+    /** Returns the rows in the order they were loaded, e.g. for a combo box. */
+    ObservableList<T> items() {
+        return items;
+    }
+
+    /**
+     * Shows the rows in a table, sorted by the table's sort order. The table sorts a view of the rows, not the rows
+     * themselves, so sorting never moves an entity away from the row its changes are applied to.
+     */
+    void attach(TableView<T> table) {
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sorted);
+    }
+
+    /** Shows every entity; entities created from now on are appended. */
+    void showAll(List<T> all) {
+        replace(all, true);
+    }
+
+    /** Shows a search result; from now on only these rows are updated or removed. */
+    void showSubset(List<T> subset) {
+        replace(subset, false);
+    }
+
+    /** Empties the list, e.g. after it failed to load. */
+    void clear() {
+        replace(List.of(), false);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ChangeEvent event) {
+        synchronized (pending) {
+            pending.add(event.entityId());
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        uiExecutor.execute(this::flush);
+    }
+
+    /**
+     * Called when this list fell too far behind the change stream: follows it again and reloads, since changes
+     * were missed.
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        LOG.log(System.Logger.Level.WARNING, "Missed changes; reloading the list", throwable);
+        synchronized (pending) {
+            resync = true;
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        uiExecutor.execute(this::flush);
+    }
+
+    @Override
+    public void onComplete() {
+        // The services have shut down; the rows stay as they are.
+    }
+
+    /** Applies the changes collected since the last flush. */
+    private void flush() {
+        List<String> ids;
+        boolean reload;
+        synchronized (pending) {
+            ids = new ArrayList<>(pending);
+            pending.clear();
+            reload = resync;
+            resync = false;
+            flushScheduled = false;
+        }
+        if (reload) {
+            // Follow again first, so that nothing changed during the reload is missed.
+            source.subscribe(this);
+            if (complete) {
+                showAll(loadAll.get());
+                return;
+            }
+            ids = new ArrayList<>(positions.keySet());
+        }
+        for (String id : ids) apply(id, lookup.apply(id));
+    }
+
+    /** Brings the row of one entity up to date with its current state, or removes it if it was deleted. */
+    private void apply(String id, T current) {
+        Integer row = positions.get(id);
+        if (current == null) {
+            if (row == null) return;
+            items.remove((int) row);
+            positions.remove(id);
+            // Rows after it moved up by one; removals are rare, so renumbering them beats a linked structure.
+            for (int i = row; i < items.size(); i++) positions.put(idOf.apply(items.get(i)), i);
+        } else if (row != null) {
+            // Replacing a row with itself still updates its cells, for entities that were changed in place.
+            items.set(row, current);
+        } else if (complete) {
+            positions.put(id, items.size());
+            items.add(current);
+        }
+    }
+
+    private void replace(List<T> rows, boolean all) {
+        complete = all;
+        positions.clear();
+        for (int i = 0; i < rows.size(); i++) positions.put(idOf.apply(rows.get(i)), i);
+        items.setAll(rows);
+    }
+}
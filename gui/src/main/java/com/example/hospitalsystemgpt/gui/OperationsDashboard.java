@@ -0,0 +1,150 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.InventoryService;
+import com.example.hospitalsystemgpt.Money;
+import eu.hansolo.tilesfx.Tile;
+import eu.hansolo.tilesfx.TileBuilder;
+import eu.hansolo.tilesfx.chart.ChartData;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Live operational figures on TilesFX tiles: admitted patients, today's appointments by status, the unpaid bill
+ * total and the number of items low on stock. The tiles are redrawn at a fixed frame rate from a {@link Snapshot}
+ * of the services' tallies, which are kept up to date on every change, so a frame costs a handful of constant-time
+ * reads however many entities there are; no collection is listed or scanned.
+ */
+final class OperationsDashboard {
+    /** How often the figures are read and the tiles redrawn. */
+    static final Duration FRAME = Duration.millis(250);
+
+    private static final double TILE_SIZE = 200;
+
+    /**
+     * The figures shown in one frame.
+     * @param admitted the number of admitted patients
+     * @param appointmentsToday today's appointments by status
+     * @param unpaidTotal the total of the unpaid bills in {@link Money#DEFAULT_CURRENCY}
+     * @param lowStock the number of items at or below {@link InventoryService#LOW_STOCK_THRESHOLD}
+     */
+    record Snapshot(int admitted, Map<Appointment.Status, Integer> appointmentsToday, Money unpaidTotal, int lowStock) {
+        Snapshot {
+            appointmentsToday = Map.copyOf(appointmentsToday);
+        }
+
+        /** Reads the figures from the controller's counters. */
+        static Snapshot of(HospitalController controller, LocalDate today) {
+            return new Snapshot(controller.countAdmittedPatients(), controller.countAppointmentsByStatus(today),
+                    controller.getUnpaidBillTotal(Money.DEFAULT_CURRENCY), controller.countLowStockItems());
+        }
+    }
+
+    private final HospitalController controller;
+    private final Clock clock;
+    private final Tile census;
+    private final Tile appointments;
+    private final Map<Appointment.Status, ChartData> appointmentData = new EnumMap<>(Appointment.Status.class);
+    private final Tile unpaid;
+    private final Tile lowStock;
+    private final HBox view;
+    private final Timeline timeline = new Timeline(new KeyFrame(FRAME, e -> refresh()));
+    private Snapshot shown;
+
+    OperationsDashboard(HospitalController controller, Clock clock) {
+        if (controller == null || clock == null) throw new IllegalArgumentException("Controller and clock cannot be null");
+        this.controller = controller;
+        this.clock = clock;
+        census = numberTile("Admitted Patients", "", 0);
+        appointmentData.put(Appointment.Status.SCHEDULED, new ChartData("Scheduled", 0, Tile.BLUE));
+        appointmentData.put(Appointment.Status.COMPLETED, new ChartData("Completed", 0, Tile.GREEN));
+        appointmentData.put(Appointment.Status.CANCELLED, new ChartData("Cancelled", 0, Tile.GRAY));
+        appointments = TileBuilder.create()
+                .skinType(Tile.SkinType.DONUT_CHART)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title("Today's Appointments")
+                .chartData(appointmentData.values().toArray(ChartData[]::new))
+                .animated(false)
+                .build();
+        unpaid = numberTile("Unpaid Bills", "$", 2);
+        lowStock = numberTile("Low Stock Items", "", 0);
+        lowStock.setDescription("At or below " + InventoryService.LOW_STOCK_THRESHOLD + " units");
+        view = new HBox(10, census, appointments, unpaid, lowStock);
+        timeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    private static Tile numberTile(String title, String unit, int decimals) {
+        return TileBuilder.create()
+                .skinType(Tile.SkinType.NUMBER)
+                .prefSize(TILE_SIZE, TILE_SIZE)
+                .title(title)
+                .unit(unit)
+                .decimals(decimals)
+                .maxValue(Double.MAX_VALUE)
+                .animated(false)
+                .build();
+    }
+
+    /** Returns the tiles, laid out in a row. */
+    Node view() {
+        return view;
+    }
+
+    /**
+     * Refreshes the tiles at the frame rate for as long as {@code scene} is shown on {@code stage}; the scene is
+     * expected to contain {@link #view()}.
+     */
+    void runWhileShown(Stage stage, Scene scene) {
+        refresh();
+        playWhileShown(timeline, stage, scene);
+    }
+
+    /** Plays {@code timeline} until {@code stage} shows a scene other than {@code scene}. */
+    static void playWhileShown(Timeline timeline, Stage stage, Scene scene) {
+        timeline.play();
+        stage.sceneProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> obs, Scene oldScene, Scene newScene) {
+                if (newScene == scene) return;
+                timeline.stop();
+                stage.sceneProperty().removeListener(this);
+            }
+        });
+    }
+
+    /** Reads the figures and redraws the tiles whose figures changed since the last frame. */
+    void refresh() {
+        Snapshot now = Snapshot.of(controller, LocalDate.now(clock));
+        if (now.equals(shown)) return;
+        if (shown == null || now.admitted() != shown.admitted()) census.setValue(now.admitted());
+        if (shown == null || !now.appointmentsToday().equals(shown.appointmentsToday())) {
+            int total = 0;
+            for (Map.Entry<Appointment.Status, ChartData> e : appointmentData.entrySet()) {
+                int count = now.appointmentsToday().getOrDefault(e.getKey(), 0);
+                e.getValue().setValue(count);
+                total += count;
+            }
+            appointments.setDescription(total + " in total");
+        }
+        if (shown == null || !now.unpaidTotal().equals(shown.unpaidTotal())) unpaid.setValue(now.unpaidTotal().toBigDecimal().doubleValue());
+        if (shown == null || now.lowStock() != shown.lowStock()) {
+            lowStock.setValue(now.lowStock());
+            lowStock.setValueColor(now.lowStock() > 0 ? Tile.RED : Tile.FOREGROUND);
+        }
+        shown = now;
+    }
+}
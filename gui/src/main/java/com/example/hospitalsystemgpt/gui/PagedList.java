@@ -0,0 +1,353 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * A table's rows read from a service a page at a time, for listings too large to hold in memory. Only the pages
+ * the table asks for are fetched, plus the next page in the direction of scrolling; the most recently used pages
+ * are cached and older ones dropped, so memory stays bounded by the cache however long the listing is.
+ * <p>
+ * A row that is not loaded yet reads as null and its page is fetched on the loader executor; once the page
+ * arrives its rows are reported as replaced and the table draws them. The service sorts: the table's sort column
+ * selects the service's sort key, and a descending sort reads the ascending listing from the end, which the cheap
+ * service count makes possible. Columns whose {@link TableColumn#getUserData() user data} is not a sort key
+ * cannot be sorted.
+ * <p>
+ * Pages are fetched with the services' cursors. The cursor of every page boundary passed is remembered, so a page
+ * far down is reached by walking from the nearest boundary seen before, and only once per sort order. Updates to
+ * cached rows are applied in place from the change stream; additions and deletions shift every later row, so
+ * they recount and reload the listing, at most once per UI pulse.
+ * <p>
+ * The loader executor must run one task at a time. Apart from the subscriber callbacks, every method must be
+ * called on the UI thread.
+ */
+final class PagedList<T, K extends Enum<K>> extends ObservableListBase<T> implements Flow.Subscriber<ChangeEvent> {
+    /** Fetches one page of a listing; see the services' {@code page} methods. */
+    @FunctionalInterface
+    interface Pager<T, K> {
+        Page<T> page(String cursor, int limit, K sortKey);
+    }
+
+    /** Rows fetched at a time. */
+    static final int DEFAULT_PAGE_SIZE = 200;
+    /** Pages kept in memory. */
+    static final int DEFAULT_CACHED_PAGES = 16;
+
+    private static final System.Logger LOG = System.getLogger(PagedList.class.getName());
+    private static final Object RESTORE_TABLE = new Object();
+
+    private final Pager<T, K> pager;
+    private final IntSupplier counter;
+    private final Function<T, String> idOf;
+    private final Function<String, T> lookup;
+    private final K defaultKey;
+    private final int pageSize;
+    private final int cachedPages;
+    private final Executor loader;
+    private final Executor uiExecutor;
+    private final LinkedHashMap<Integer, List<T>> pages;
+    private final Set<Integer> requested = new HashSet<>();
+    private int size;
+    private K sortKey;
+    private boolean ascending = true;
+    private Flow.Publisher<ChangeEvent> source;
+    /** Incremented whenever the rows are renumbered; loads for an older generation are dropped. */
+    private volatile int generation;
+    /** The page read last, to read ahead in the direction of scrolling and to skip loads scrolled past. */
+    private volatile int lastPage;
+
+    // Only used on the loader executor.
+    private final TreeMap<Integer, String> cursors = new TreeMap<>();
+    private int cursorsGeneration = -1;
+
+    // Guarded by pendingUpdates.
+    private final LinkedHashSet<String> pendingUpdates = new LinkedHashSet<>();
+    private boolean pendingReload;
+    private boolean resubscribe;
+    private boolean flushScheduled;
+
+    /**
+     * Creates an empty list; call {@link #refresh} to count the rows.
+     * @param pager fetches pages, e.g. {@code controller::pagePatients}
+     * @param counter counts the rows cheaply, e.g. {@code controller::countPatients}
+     * @param idOf returns an entity's ID
+     * @param lookup returns the current state of the entity with an ID, or null if it no longer exists
+     * @param defaultKey the sort key used while the table is not sorted
+     * @param pageSize rows fetched at a time
+     * @param cachedPages pages kept in memory
+     * @param loader runs the fetches, one at a time
+     * @param uiExecutor runs updates on the UI thread
+     */
+    PagedList(Pager<T, K> pager, IntSupplier counter, Function<T, String> idOf, Function<String, T> lookup, K defaultKey,
+              int pageSize, int cachedPages, Executor loader, Executor uiExecutor) {
+        if (pager == null || counter == null || idOf == null || lookup == null) throw new IllegalArgumentException("Functions cannot be null");
+        if (defaultKey == null) throw new IllegalArgumentException("Default sort key cannot be null");
+        if (pageSize <= 0 || cachedPages <= 0) throw new IllegalArgumentException("Page size and cached pages must be positive");
+        if (loader == null || uiExecutor == null) throw new IllegalArgumentException("Executors cannot be null");
+        this.pager = pager;
+        this.counter = counter;
+        this.idOf = idOf;
+        this.lookup = lookup;
+        this.defaultKey = defaultKey;
+        this.sortKey = defaultKey;
+        this.pageSize = pageSize;
+        this.cachedPages = cachedPages;
+        this.loader = loader;
+        this.uiExecutor = uiExecutor;
+        this.pages = new LinkedHashMap<>(cachedPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /** Starts following a change stream, to keep the cached rows current. */
+    void follow(Flow.Publisher<ChangeEvent> publisher) {
+        if (publisher == null) throw new IllegalArgumentException("Publisher cannot be null");
+        if (source != null) throw new IllegalStateException("Already following a change stream");
+        source = publisher;
+        publisher.subscribe(this);
+    }
+
+    /**
+     * Counts the rows again and drops every cached page, so the rows are read afresh.
+     * @return the number of rows
+     */
+    int refresh() {
+        generation++;
+        pages.clear();
+        requested.clear();
+        int before = size;
+        size = counter.getAsInt();
+        if (before > 0 || size > 0) {
+            beginChange();
+            nextReplace(0, size, Collections.nCopies(before, null));
+            endChange();
+        }
+        return size;
+    }
+
+    /** Orders the rows by a sort key of the service, reading them afresh if the order changed. */
+    void sortBy(K key, boolean ascending) {
+        if (key == null) throw new IllegalArgumentException("Sort key cannot be null");
+        if (key == sortKey && ascending == this.ascending) return;
+        sortKey = key;
+        this.ascending = ascending;
+        refresh();
+    }
+
+    /**
+     * Shows the rows in a table and lets the service sort them. Columns with a sort key as user data stay
+     * sortable; the others are made unsortable until {@link #detach}.
+     */
+    void attach(TableView<T> table) {
+        detach(table);
+        Class<K> keyType = defaultKey.getDeclaringClass();
+        List<TableColumn<T, ?>> madeUnsortable = new ArrayList<>();
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            if (!keyType.isInstance(column.getUserData()) && column.isSortable()) {
+                column.setSortable(false);
+                madeUnsortable.add(column);
+            }
+        }
+        table.getSortOrder().removeAll(madeUnsortable);
+        Callback<TableView<T>, Boolean> policy = table.getSortPolicy();
+        table.getProperties().put(RESTORE_TABLE, (Runnable) () -> {
+            madeUnsortable.forEach(column -> column.setSortable(true));
+            table.setSortPolicy(policy);
+        });
+        table.setItems(this);
+        table.setSortPolicy(t -> {
+            TableColumn<T, ?> column = t.getSortOrder().isEmpty() ? null : t.getSortOrder().get(0);
+            if (column == null) sortBy(defaultKey, true);
+            else sortBy(keyType.cast(column.getUserData()), column.getSortType() == TableColumn.SortType.ASCENDING);
+            return true;
+        });
+    }
+
+    /** Undoes {@link #attach} on a table, if it was attached to a paged list. */
+    static void detach(TableView<?> table) {
+        Object restore = table.getProperties().remove(RESTORE_TABLE);
+        if (restore instanceof Runnable runnable) runnable.run();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Returns the row, or null while its page is being fetched. */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int row = ascending ? index : size - 1 - index;
+        int page = row / pageSize;
+        List<T> rows = pages.get(page);
+        if (rows == null) {
+            lastPage = page;
+            request(page);
+            return null;
+        }
+        int ahead = page >= lastPage ? page + 1 : page - 1;
+        lastPage = page;
+        if (ahead >= 0 && (long) ahead * pageSize < size && !pages.containsKey(ahead)) request(ahead);
+        int offset = row % pageSize;
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    private void request(int page) {
+        if (!requested.add(page)) return;
+        int gen = generation;
+        K key = sortKey;
+        loader.execute(() -> {
+            List<T> rows = null;
+            try {
+                rows = load(page, key, gen);
+            } catch (RuntimeException e) {
+                // Leave the rows empty rather than retrying on every layout; the next refresh tries again.
+                LOG.log(System.Logger.Level.WARNING, "Failed to load page " + page, e);
+                rows = List.of();
+            }
+            List<T> loaded = rows;
+            uiExecutor.execute(() -> loaded(page, gen, loaded));
+        });
+    }
+
+    /**
+     * Fetches one page on the loader executor, walking from the nearest page boundary seen before. Returns null
+     * if the page is no longer wanted: the rows were renumbered or the table scrolled far away from it.
+     */
+    private List<T> load(int page, K key, int gen) {
+        if (cursorsGeneration != gen) {
+            cursors.clear();
+            cursors.put(0, null);
+            cursorsGeneration = gen;
+        }
+        if (gen != generation || Math.abs(page - lastPage) > cachedPages) return null;
+        Map.Entry<Integer, String> start = cursors.floorEntry(page);
+        int at = start.getKey();
+        String cursor = start.getValue();
+        while (true) {
+            Page<T> fetched = pager.page(cursor, pageSize, key);
+            cursor = fetched.getNextCursor();
+            if (cursor != null) cursors.put(at + 1, cursor);
+            if (at == page) return new ArrayList<>(fetched.getItems());
+            if (cursor == null) return List.of();
+            if (gen != generation) return null;
+            at++;
+        }
+    }
+
+    private void loaded(int page, int gen, List<T> rows) {
+        if (gen != generation) return;
+        requested.remove(page);
+        if (rows == null) return;
+        pages.put(page, rows);
+        int from = page * pageSize;
+        int to = Math.min(from + rows.size(), size);
+        if (from >= to) return;
+        beginChange();
+        for (int row = from; row < to; row++) nextSet(ascending ? row : size - 1 - row, null);
+        endChange();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ChangeEvent event) {
+        synchronized (pendingUpdates) {
+            if (event.kind() == ChangeEvent.Kind.UPDATED) pendingUpdates.add(event.entityId());
+            else pendingReload = true;
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        uiExecutor.execute(this::flush);
+    }
+
+    /** Called when this list fell too far behind the change stream: follows it again and reloads. */
+    @Override
+    public void onError(Throwable throwable) {
+        LOG.log(System.Logger.Level.WARNING, "Missed changes; reloading the list", throwable);
+        synchronized (pendingUpdates) {
+            pendingReload = true;
+            resubscribe = true;
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        uiExecutor.execute(this::flush);
+    }
+
+    @Override
+    public void onComplete() {
+        // The services have shut down; the rows stay as they are.
+    }
+
+    /** Applies the changes collected since the last flush. */
+    private void flush() {
+        List<String> updated;
+        boolean reload;
+        boolean follow;
+        synchronized (pendingUpdates) {
+            updated = new ArrayList<>(pendingUpdates);
+            pendingUpdates.clear();
+            reload = pendingReload;
+            follow = resubscribe;
+            pendingReload = false;
+            resubscribe = false;
+            flushScheduled = false;
+        }
+        if (follow) source.subscribe(this);
+        if (reload) {
+            refresh();
+            return;
+        }
+        for (String id : updated) update(id);
+    }
+
+    /** Replaces the cached row of an updated entity, if it is cached. */
+    private void update(String id) {
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            List<T> rows = page.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (!idOf.apply(rows.get(i)).equals(id)) continue;
+                T current = lookup.apply(id);
+                if (current == null) {
+                    // Deleted after the update was published; its deletion event reloads the list.
+                    return;
+                }
+                T old = rows.set(i, current);
+                int row = page.getKey() * pageSize + i;
+                if (row < size) {
+                    beginChange();
+                    nextSet(ascending ? row : size - 1 - row, old);
+                    endChange();
+                }
+                return;
+            }
+        }
+    }
+}
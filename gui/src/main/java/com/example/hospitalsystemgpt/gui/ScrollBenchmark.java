@@ -0,0 +1,214 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.Patient;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.HBox;
+import javafx.stage.Stage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Scroll benchmark for the table action columns: scrolls a patient table with an actions column at a fixed speed
+ * and reports the time each pulse spends on CSS and layout, and the interval between frames. It runs once with
+ * the previous action cells ({@code legacy}: inline styles, a new {@link HBox} on every update, a handler per
+ * button) and once with {@link ActionColumn} ({@code shared}), on the same table and rows.
+ * <pre>
+ * mvn -pl gui javafx:run@scroll-benchmark -Djavafx.args="--rows 100000 --seconds 10 --speed 120"
+ * </pre>
+ * Options: {@code --rows} table rows, {@code --seconds} scrolling time per variant after one second of warmup,
+ * {@code --speed} pixels scrolled per frame, {@code --cells legacy|shared|both}.
+ */
+public class ScrollBenchmark extends Application {
+    private static final String LEGACY_VIEW = "-fx-background-color: #fff; -fx-border-color: #bbb; -fx-border-radius: 4; -fx-background-radius: 4;";
+    private static final String LEGACY_EDIT = "-fx-background-color: #eef; -fx-border-color: #99f; -fx-border-radius: 4; -fx-background-radius: 4;";
+    private static final String LEGACY_DELETE = "-fx-background-color: #fee; -fx-border-color: #f99; -fx-border-radius: 4; -fx-background-radius: 4;";
+    private static final String LEGACY_ADMIT = "-fx-background-color: #e0ffe0; -fx-border-color: #8f8; -fx-border-radius: 4; -fx-background-radius: 4;";
+    private static final String LEGACY_DISCHARGE = "-fx-background-color: #e0e0ff; -fx-border-color: #99f; -fx-border-radius: 4; -fx-background-radius: 4;";
+
+    private int rows = 100_000;
+    private int seconds = 10;
+    private double speed = 120;
+    private final List<String> variants = new ArrayList<>(List.of("legacy", "shared"));
+
+    private Stage stage;
+    private ObservableList<Patient> patients;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        parse(getParameters().getRaw());
+        this.stage = stage;
+        patients = FXCollections.observableArrayList();
+        for (int i = 0; i < rows; i++) {
+            Patient patient = new Patient(String.format("P%07d", i), "Patient " + i, LocalDate.of(1940 + i % 80, 1 + i % 12, 1 + i % 28));
+            if (i % 3 == 0) patient.admitPatient();
+            patients.add(patient);
+        }
+        System.out.printf(Locale.ROOT, "Scrolling %,d rows at %.0f px/frame for %d s per variant%n", rows, speed, seconds);
+        System.out.printf("%-8s %8s %12s %12s %12s %12s %14s%n", "cells", "frames", "layout p50", "layout p99",
+                "layout max", "frame p99", "frames > 20ms");
+        runNext();
+    }
+
+    private void parse(List<String> args) {
+        for (int i = 0; i + 1 < args.size(); i += 2) {
+            String value = args.get(i + 1);
+            switch (args.get(i)) {
+                case "--rows" -> rows = Integer.parseInt(value);
+                case "--seconds" -> seconds = Integer.parseInt(value);
+                case "--speed" -> speed = Double.parseDouble(value);
+                case "--cells" -> {
+                    variants.clear();
+                    if (value.equals("both")) variants.addAll(List.of("legacy", "shared"));
+                    else variants.add(value);
+                }
+                default -> throw new IllegalArgumentException("Unknown option " + args.get(i));
+            }
+        }
+    }
+
+    private void runNext() {
+        if (variants.isEmpty()) {
+            Platform.exit();
+            return;
+        }
+        String variant = variants.remove(0);
+        TableView<Patient> table = createTable(variant.equals("legacy") ? legacyActions() : sharedActions());
+        Scene scene = new Scene(table, 1100, 700);
+        stage.setScene(scene);
+        stage.show();
+
+        long[] layoutNanos = new long[seconds * 1000];
+        long[] frameNanos = new long[seconds * 1000];
+        int[] count = new int[1];
+        int[] layouts = new int[1];
+        long[] layoutStart = new long[1];
+        boolean[] measuring = new boolean[1];
+        scene.addPreLayoutPulseListener(() -> layoutStart[0] = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> {
+            if (measuring[0] && layouts[0] < layoutNanos.length) layoutNanos[layouts[0]++] = System.nanoTime() - layoutStart[0];
+        });
+        new AnimationTimer() {
+            private final long startedAt = System.nanoTime();
+            private long lastFrame;
+            private VirtualFlow<?> flow;
+
+            @Override
+            public void handle(long now) {
+                if (flow == null) flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+                if (flow == null) return;
+                double elapsed = (now - startedAt) / 1e9;
+                if (elapsed >= 1 && !measuring[0]) measuring[0] = true;
+                else if (measuring[0] && lastFrame != 0 && count[0] < frameNanos.length) frameNanos[count[0]++] = now - lastFrame;
+                lastFrame = now;
+                // Scroll back up at the end rather than stopping, so every frame scrolls.
+                if (flow.scrollPixels(speed) == 0) flow.scrollTo(0);
+                if (elapsed >= 1 + seconds || count[0] == frameNanos.length) {
+                    stop();
+                    report(variant, Arrays.copyOf(layoutNanos, layouts[0]), Arrays.copyOf(frameNanos, count[0]));
+                    runNext();
+                }
+            }
+        }.start();
+    }
+
+    private TableView<Patient> createTable(TableColumn<Patient, Void> actionsCol) {
+        TableView<Patient> table = new TableView<>(patients);
+        TableColumn<Patient, String> idCol = new TableColumn<>("ID");
+        idCol.setCellValueFactory(new PropertyValueFactory<>("patientId"));
+        TableColumn<Patient, String> nameCol = new TableColumn<>("Name");
+        nameCol.setCellValueFactory(new PropertyValueFactory<>("patientName"));
+        TableColumn<Patient, LocalDate> dobCol = new TableColumn<>("Date of Birth");
+        dobCol.setCellValueFactory(new PropertyValueFactory<>("dateOfBirth"));
+        TableColumn<Patient, Integer> ageCol = new TableColumn<>("Age");
+        ageCol.setCellValueFactory(data -> new SimpleIntegerProperty(data.getValue().getPatientAge()).asObject());
+        TableColumn<Patient, String> admittedCol = new TableColumn<>("Admitted");
+        admittedCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().isPatientAdmitted() ? "Yes" : "No"));
+        actionsCol.setPrefWidth(320);
+        table.getColumns().setAll(List.of(idCol, nameCol, dobCol, ageCol, admittedCol, actionsCol));
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_ALL_COLUMNS);
+        return table;
+    }
+
+    private static TableColumn<Patient, Void> sharedActions() {
+        return ActionColumn.create("Actions",
+                ActionColumn.action("View", "action-view", (Patient p) -> { }),
+                ActionColumn.action("Edit", "action-edit", (Patient p) -> { }),
+                ActionColumn.action("Delete", "action-delete", (Patient p) -> { }),
+                ActionColumn.action("Discharge", "action-neutral", (Patient p) -> { }).shownWhen(Patient::isPatientAdmitted),
+                ActionColumn.action("Admit", "action-positive", (Patient p) -> { }).shownWhen(p -> !p.isPatientAdmitted()));
+    }
+
+    /** The patient actions column as it was before {@link ActionColumn}. */
+    private static TableColumn<Patient, Void> legacyActions() {
+        TableColumn<Patient, Void> actionsCol = new TableColumn<>("Actions");
+        actionsCol.setCellFactory(col -> new TableCell<>() {
+            private final Button viewBtn = new Button("View");
+            private final Button editBtn = new Button("Edit");
+            private final Button deleteBtn = new Button("Delete");
+            private final Button admitBtn = new Button("Admit");
+            private final Button dischargeBtn = new Button("Discharge");
+            {
+                viewBtn.setOnAction(e -> getTableView().getItems().get(getIndex()));
+                editBtn.setOnAction(e -> getTableView().getItems().get(getIndex()));
+                deleteBtn.setOnAction(e -> getTableView().getItems().get(getIndex()));
+                admitBtn.setOnAction(e -> getTableView().getItems().get(getIndex()));
+                dischargeBtn.setOnAction(e -> getTableView().getItems().get(getIndex()));
+                viewBtn.setStyle(LEGACY_VIEW);
+                editBtn.setStyle(LEGACY_EDIT);
+                deleteBtn.setStyle(LEGACY_DELETE);
+                admitBtn.setStyle(LEGACY_ADMIT);
+                dischargeBtn.setStyle(LEGACY_DISCHARGE);
+            }
+
+            @Override
+            protected void updateItem(Void item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || getIndex() < 0 || getIndex() >= getTableView().getItems().size()) {
+                    setGraphic(null);
+                } else {
+                    Patient p = getTableView().getItems().get(getIndex());
+                    HBox box = new HBox(6, viewBtn, editBtn, deleteBtn);
+                    box.getChildren().add(p.isPatientAdmitted() ? dischargeBtn : admitBtn);
+                    setGraphic(box);
+                }
+            }
+        });
+        return actionsCol;
+    }
+
+    private static void report(String variant, long[] layoutNanos, long[] frameNanos) {
+        Arrays.sort(layoutNanos);
+        Arrays.sort(frameNanos);
+        long slowFrames = Arrays.stream(frameNanos).filter(n -> n > 20_000_000).count();
+        System.out.printf(Locale.ROOT, "%-8s %8d %9.2f ms %9.2f ms %9.2f ms %9.2f ms %14d%n", variant, frameNanos.length,
+                percentile(layoutNanos, 50) / 1e6, percentile(layoutNanos, 99) / 1e6,
+                layoutNanos.length == 0 ? 0 : layoutNanos[layoutNanos.length - 1] / 1e6,
+                percentile(frameNanos, 99) / 1e6, slowFrames);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1)];
+    }
+}
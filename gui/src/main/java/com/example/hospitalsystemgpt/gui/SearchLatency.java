@@ -0,0 +1,59 @@
+package com.example.hospitalsystemgpt.gui;
+
+import java.util.Arrays;
+
+/**
+ * Input latency of a search box: the time from a keystroke to the table showing the results for the text it
+ * produced, including the debounce delay. Keeps the last {@value #WINDOW} samples for percentiles.
+ * Thread-safe.
+ */
+final class SearchLatency {
+    static final int WINDOW = 256;
+
+    private final long[] samples = new long[WINDOW];
+    private long count;
+    private long maxNanos;
+
+    /** Records one keystroke-to-results latency. */
+    synchronized void record(long nanos) {
+        samples[(int) (count++ % WINDOW)] = nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /** Returns the number of samples recorded so far. */
+    synchronized long count() {
+        return count;
+    }
+
+    /** Returns the most recent latency in nanoseconds, or 0 if nothing was recorded yet. */
+    synchronized long lastNanos() {
+        return count == 0 ? 0 : samples[(int) ((count - 1) % WINDOW)];
+    }
+
+    /** Returns the largest latency recorded so far, in nanoseconds. */
+    synchronized long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the given percentile (0-100) of the recent samples in nanoseconds, or 0 if nothing was recorded yet.
+     */
+    synchronized long percentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        int n = (int) Math.min(count, WINDOW);
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * n); // nearest-rank method
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /** Returns a short summary such as "last 12 ms, p95 40 ms". */
+    synchronized String summary() {
+        return "last " + millis(lastNanos()) + " ms, p95 " + millis(percentileNanos(95)) + " ms";
+    }
+
+    private static long millis(long nanos) {
+        return Math.round(nanos / 1_000_000.0);
+    }
+}
@@ -1,4 +1,6 @@
-module com.example.hospitalsystemgpt {
+module com.example.hospitalsystemgpt.gui {
+    requires com.example.hospitalsystemgpt;
+
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
@@ -11,7 +13,5 @@ module com.example.hospitalsystemgpt {
     requires eu.hansolo.tilesfx;
     requires com.almasb.fxgl.all;
 
-    opens com.example.hospitalsystemgpt;
     opens com.example.hospitalsystemgpt.gui;
-    exports com.example.hospitalsystemgpt;
-}
\ No newline at end of file
+}
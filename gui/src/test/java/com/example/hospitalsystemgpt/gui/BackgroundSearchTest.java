@@ -0,0 +1,113 @@
+package com.example.hospitalsystemgpt.gui;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BackgroundSearchTest {
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final List<List<String>> delivered = new CopyOnWriteArrayList<>();
+    private final List<Exception> errors = new CopyOnWriteArrayList<>();
+    private final SearchLatency latency = new SearchLatency();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private BackgroundSearch<String> search(long debounceMillis, BackgroundSearch.Query<String> query) {
+        return new BackgroundSearch<>(executor, Runnable::run, debounceMillis, query, delivered::add, errors::add, latency);
+    }
+
+    private void drain() throws Exception {
+        // The executor is single-threaded, so once this runs every earlier search has finished.
+        executor.schedule(() -> { }, 200, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void onlyLastKeystrokeIsSearched() throws Exception { // Tests that keystrokes within the debounce delay are coalesced
+        List<String> searched = new CopyOnWriteArrayList<>();
+        BackgroundSearch<String> search = search(100, (text, cancelled) -> {
+            searched.add(text);
+            return List.of(text);
+        });
+        search.submit("a");
+        search.submit("ab");
+        search.submit("abc");
+        drain();
+        assertEquals(List.of("abc"), searched);
+        assertEquals(List.of(List.of("abc")), delivered);
+        assertEquals(1, latency.count());
+        assertTrue(latency.lastNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void runningSearchIsCancelledBySupersedingKeystroke() throws Exception { // Tests cancellation of a superseded running search
+        CountDownLatch started = new CountDownLatch(1);
+        BackgroundSearch<String> search = search(0, (text, cancelled) -> {
+            if (!text.equals("slow")) return List.of(text);
+            started.countDown();
+            // Never-ending scan that only stops through its cancellation checks.
+            return BackgroundSearch.filter(new InfiniteList(), s -> false, cancelled);
+        });
+        search.submit("slow");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        search.submit("fast");
+        drain();
+        assertEquals(List.of(List.of("fast")), delivered);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void cancelDropsPendingSearch() throws Exception { // Tests that cancel() prevents delivery
+        BackgroundSearch<String> search = search(50, (text, cancelled) -> List.of(text));
+        search.submit("x");
+        search.cancel();
+        drain();
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void queryFailureIsReported() throws Exception { // Tests that exceptions are delivered to the error callback
+        BackgroundSearch<String> search = search(0, (text, cancelled) -> {
+            throw new IllegalStateException("boom");
+        });
+        search.submit("x");
+        drain();
+        assertEquals(1, errors.size());
+        assertEquals("boom", errors.get(0).getMessage());
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void containsIgnoreCaseMatchesAnyPosition() { // Tests case-insensitive substring matching
+        assertTrue(BackgroundSearch.containsIgnoreCase("John Smith", "SMI"));
+        assertTrue(BackgroundSearch.containsIgnoreCase("John Smith", ""));
+        assertFalse(BackgroundSearch.containsIgnoreCase("John", "johnny"));
+        assertFalse(BackgroundSearch.containsIgnoreCase(null, "a"));
+    }
+
+    /** An endless sequence of strings. */
+    private static final class InfiniteList extends java.util.AbstractCollection<String> {
+        @Override
+        public java.util.Iterator<String> iterator() {
+            return new java.util.Iterator<>() {
+                @Override public boolean hasNext() { return true; }
+                @Override public String next() { return "item"; }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
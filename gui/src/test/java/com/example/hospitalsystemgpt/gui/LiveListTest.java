@@ -0,0 +1,125 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.Patient;
+import com.example.hospitalsystemgpt.PatientService;
+import com.example.hospitalsystemgpt.PatientServiceImpl;
+import com.example.hospitalsystemgpt.events.ChangeEvent;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveListTest {
+    private final ChangePublisher publisher = new ChangePublisher(64, 64, Runnable::run);
+    private final PatientService service = new PatientServiceImpl(publisher);
+    // Stands in for Platform::runLater; the test thread plays the FX thread.
+    private final LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+    private final LiveList<Patient> list = new LiveList<>(Patient::getPatientId, service::findPatientById,
+            service::getAllPatients, ui::add);
+    private final List<String> changes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) service.registerPatient(patient("P" + i));
+        list.follow(service.changes());
+        list.showAll(service.getAllPatients());
+        list.items().addListener((ListChangeListener<Patient>) c -> {
+            while (c.next()) {
+                changes.add((c.wasReplaced() ? "replaced " : c.wasAdded() ? "added " : "removed ") + c.getFrom());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    private static Patient patient(String id) {
+        return new Patient(id, "Name " + id, LocalDate.of(1980, 1, 1));
+    }
+
+    /** Runs the next update posted to the UI thread. */
+    private void flush() throws InterruptedException {
+        Runnable update = ui.poll(5, TimeUnit.SECONDS);
+        assertNotNull(update, "no update was posted");
+        update.run();
+    }
+
+    private List<String> ids() {
+        return list.items().stream().map(Patient::getPatientId).toList();
+    }
+
+    @Test
+    void updateReplacesOnlyItsRow() throws Exception { // Tests that a change to one entity is applied as one in-place row change
+        List<String> before = ids();
+        Patient admitted = service.findPatientById(before.get(2));
+        admitted.admitPatient();
+        service.updatePatient(admitted);
+        flush();
+        assertEquals(List.of("replaced 2"), changes);
+        assertEquals(before, ids());
+        assertTrue(list.items().get(2).isPatientAdmitted());
+    }
+
+    @Test
+    void newEntityIsAppendedOnlyWhenShowingAll() throws Exception { // Tests that a search result does not gain new entities
+        service.registerPatient(patient("P6"));
+        flush();
+        assertEquals(List.of("added 5"), changes);
+        assertEquals("P6", list.items().get(5).getPatientId());
+
+        list.showSubset(List.of(service.findPatientById("P1")));
+        changes.clear();
+        service.registerPatient(patient("P7"));
+        flush();
+        assertEquals(List.of(), changes);
+        assertEquals(List.of("P1"), ids());
+    }
+
+    @Test
+    void deletionRemovesRowAndLaterRowsStillUpdate() throws Exception { // Tests that rows after a removed one are still found
+        List<String> before = ids();
+        service.deletePatient(before.get(1));
+        flush();
+        Patient last = service.findPatientById(before.get(4));
+        last.setPatientName("Renamed");
+        service.updatePatient(last);
+        flush();
+        assertEquals(List.of("removed 1", "replaced 3"), changes);
+        assertEquals(List.of(before.get(0), before.get(2), before.get(3), before.get(4)), ids());
+        assertEquals("Renamed", list.items().get(3).getPatientName());
+    }
+
+    @Test
+    void changesBetweenPulsesAreCoalesced() { // Tests that repeated changes to one entity before a pulse cost one row update
+        for (int version = 0; version < 10; version++) {
+            list.onNext(new ChangeEvent(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, "P1", version));
+        }
+        list.onNext(new ChangeEvent(ChangeEvent.EntityType.PATIENT, ChangeEvent.Kind.UPDATED, "P2", 10));
+        assertEquals(1, ui.size());
+        ui.poll().run();
+        assertEquals(2, changes.size());
+    }
+
+    @Test
+    void missedChangesReloadTheList() throws Exception { // Tests that falling behind the stream reloads instead of showing stale rows
+        LiveList<Patient> stale = new LiveList<>(Patient::getPatientId, service::findPatientById, service::getAllPatients, ui::add);
+        stale.follow(new ChangePublisher(64, 64, Runnable::run));
+        stale.showAll(service.getAllPatients());
+        service.registerPatient(patient("P6"));
+        flush(); // The fixture's list, which did see the change
+        stale.onError(new IllegalStateException("Subscriber fell more than 64 events behind"));
+        flush();
+        assertEquals(6, stale.items().size());
+    }
+}
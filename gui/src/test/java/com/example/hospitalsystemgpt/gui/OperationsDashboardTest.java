@@ -0,0 +1,37 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OperationsDashboardTest {
+    private final HospitalController controller = new HospitalController(new PatientServiceImpl(),
+            new AppointmentServiceImpl(), new MedicalRecordServiceImpl(), new BillingServiceImpl(), new InventoryServiceImpl());
+
+    @Test
+    void snapshotReadsTheTallies() { // Tests that a snapshot reflects admissions, appointments, unpaid bills and low stock
+        Patient patient = new Patient("P1", "Alice", LocalDate.of(1990, 1, 1));
+        patient.admitPatient();
+        controller.registerPatient(patient);
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atTime(10, 0);
+        controller.scheduleAppointment(new Appointment("A1", patient, tomorrow, "Checkup"));
+        Bill bill = new Bill("B1", patient);
+        bill.addLineItem(new Bill.LineItem("Consultation", Money.parse("80.25")));
+        controller.createBill(bill);
+        controller.addInventoryItem(new InventoryItem("I1", "Gauze", 3, Money.parse("1.0")));
+        controller.addInventoryItem(new InventoryItem("I2", "Bandage", 300, Money.parse("1.0")));
+
+        OperationsDashboard.Snapshot snapshot = OperationsDashboard.Snapshot.of(controller, tomorrow.toLocalDate());
+        assertEquals(1, snapshot.admitted());
+        assertEquals(Map.of(Appointment.Status.SCHEDULED, 1, Appointment.Status.COMPLETED, 0, Appointment.Status.CANCELLED, 0),
+                snapshot.appointmentsToday());
+        assertEquals(Money.parse("80.25"), snapshot.unpaidTotal());
+        assertEquals(1, snapshot.lowStock());
+        assertEquals(snapshot, OperationsDashboard.Snapshot.of(controller, tomorrow.toLocalDate())); // Unchanged frames compare equal
+    }
+}
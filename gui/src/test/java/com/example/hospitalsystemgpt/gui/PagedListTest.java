@@ -0,0 +1,124 @@
+package com.example.hospitalsystemgpt.gui;
+
+import com.example.hospitalsystemgpt.Patient;
+import com.example.hospitalsystemgpt.PatientService;
+import com.example.hospitalsystemgpt.PatientServiceImpl;
+import com.example.hospitalsystemgpt.events.ChangePublisher;
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagedListTest {
+    private static final int PATIENTS = 1000;
+    private static final int PAGE_SIZE = 10;
+
+    private final ChangePublisher publisher = new ChangePublisher(64, 64, Runnable::run);
+    private final PatientService service = new PatientServiceImpl(publisher);
+    // Stands in for Platform::runLater; the test thread plays the FX thread.
+    private final LinkedBlockingQueue<Runnable> ui = new LinkedBlockingQueue<>();
+    private final List<String> fetched = new ArrayList<>();
+    private final PagedList<Patient, PatientService.SortKey> list = new PagedList<>(
+            (cursor, limit, key) -> {
+                fetched.add(cursor);
+                return service.page(cursor, limit, key);
+            },
+            service::count, Patient::getPatientId, service::findPatientById, PatientService.SortKey.ID,
+            PAGE_SIZE, 4, Runnable::run, ui::add);
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PATIENTS; i++) {
+            service.registerPatient(new Patient(String.format("P%04d", i), "Name " + (PATIENTS - i), LocalDate.of(1980, 1, 1)));
+        }
+        list.follow(service.changes());
+        assertEquals(PATIENTS, list.refresh());
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    /** Runs every update posted to the UI thread so far. */
+    private void pump() {
+        for (Runnable update = ui.poll(); update != null; update = ui.poll()) update.run();
+    }
+
+    /** Reads a row, waiting for its page if it is not loaded yet. */
+    private Patient row(int index) {
+        Patient patient = list.get(index);
+        if (patient != null) return patient;
+        pump();
+        patient = list.get(index);
+        assertNotNull(patient, "row " + index + " was not loaded");
+        return patient;
+    }
+
+    @Test
+    void onlyRequestedPagesAndTheNextAreFetched() { // Tests that rows load lazily with one page of read-ahead
+        assertNull(list.get(5));
+        assertEquals(1, fetched.size());
+        pump();
+        assertEquals("P0005", list.get(5).getPatientId());
+        assertEquals(2, fetched.size()); // Read ahead into the second page
+        pump();
+        fetched.clear();
+        assertEquals("P0015", row(15).getPatientId());
+        assertEquals(1, fetched.size()); // Only the third page, read ahead from the second
+    }
+
+    @Test
+    void farPageIsWalkedToOnceThenReachedByCursor() { // Tests that page boundaries are remembered while the cache stays bounded
+        assertNull(list.get(500));
+        assertEquals(51, fetched.size()); // Walked from the first page
+        assertEquals("P0500", row(500).getPatientId());
+        pump();
+        fetched.clear();
+        assertEquals("P0450", row(450).getPatientId());
+        assertTrue(fetched.size() <= 2, "fetched " + fetched.size() + " pages"); // The page, and the one read ahead
+        for (int page = 10; page < 20; page++) row(page * PAGE_SIZE);
+        pump();
+        fetched.clear();
+        assertEquals("P0500", row(500).getPatientId()); // Evicted from the four cached pages, fetched again directly
+        assertTrue(fetched.size() <= 2, "fetched " + fetched.size() + " pages");
+    }
+
+    @Test
+    void serverSortAndDescendingOrder() { // Tests sorting by a service sort key in both directions
+        list.sortBy(PatientService.SortKey.NAME, true);
+        assertEquals("Name 1", row(0).getPatientName());
+        list.sortBy(PatientService.SortKey.ID, false);
+        assertEquals("P0999", row(0).getPatientId());
+        assertEquals("P0998", row(1).getPatientId());
+    }
+
+    @Test
+    void changesUpdateCachedRowsAndRecount() throws Exception { // Tests that updates replace rows in place and additions recount
+        row(3);
+        pump();
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Patient>) c -> {
+            while (c.next()) changes.add((c.wasReplaced() ? "replaced " : "other ") + c.getFrom() + "-" + c.getTo());
+        });
+        Patient patient = service.findPatientById("P0003");
+        patient.admitPatient();
+        service.updatePatient(patient);
+        ui.poll(5, TimeUnit.SECONDS).run();
+        assertEquals(List.of("replaced 3-4"), changes);
+        assertTrue(list.get(3).isPatientAdmitted());
+
+        service.registerPatient(new Patient("P9999", "New", LocalDate.of(1990, 1, 1)));
+        ui.poll(5, TimeUnit.SECONDS).run();
+        assertEquals(PATIENTS + 1, list.size());
+        assertEquals("P9999", row(PATIENTS).getPatientId());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.hospitalsystemgpt.gui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchLatencyTest {
+    @Test
+    void emptyMetricReportsZero() { // Tests the values before any sample
+        SearchLatency latency = new SearchLatency();
+        assertEquals(0, latency.count());
+        assertEquals(0, latency.lastNanos());
+        assertEquals(0, latency.percentileNanos(95));
+    }
+
+    @Test
+    void percentilesUseNearestRank() { // Tests last, max and percentiles over recorded samples
+        SearchLatency latency = new SearchLatency();
+        for (int i = 1; i <= 100; i++) latency.record(i);
+        assertEquals(100, latency.lastNanos());
+        assertEquals(100, latency.maxNanos());
+        assertEquals(50, latency.percentileNanos(50));
+        assertEquals(95, latency.percentileNanos(95));
+        assertEquals(1, latency.percentileNanos(0));
+        assertThrows(IllegalArgumentException.class, () -> latency.percentileNanos(101));
+    }
+
+    @Test
+    void onlyRecentSamplesCountForPercentiles() { // Tests that old samples leave the window but not the maximum
+        SearchLatency latency = new SearchLatency();
+        latency.record(1_000_000);
+        for (int i = 0; i < SearchLatency.WINDOW; i++) latency.record(5);
+        assertEquals(5, latency.percentileNanos(100));
+        assertEquals(1_000_000, latency.maxNanos());
+        assertEquals(SearchLatency.WINDOW + 1, latency.count());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.hospitalsystemgpt.server;
+
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.persistence.DurableHospital;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Headless back-end process. Boots the core services, durable when given a data directory and in memory
+ * otherwise, serves them over HTTP with an {@link HttpApi} and keeps them up until the process is stopped;
+ * nothing from JavaFX is on its module path.
+ * <pre>
+ * java -p server/target/modules -m com.example.hospitalsystemgpt.server [--port 8080] [data-dir]
+ * </pre>
+ * The data directory can also come from {@code -Dhospital.dataDir}, as for the GUI, and the port from
+ * {@code -Dhospital.port}; port 0 picks a free one. Only the core module and a few JDK modules are resolved,
+ * which keeps both start-up and the resident set small.
+ */
+public final class HospitalServer implements Closeable {
+    private static final System.Logger LOG = System.getLogger(HospitalServer.class.getName());
+
+    private final DurableHospital durableHospital;
+    private final HospitalServices services;
+    private final HospitalController controller;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private volatile HttpApi httpApi;
+
+    private HospitalServer(DurableHospital durableHospital, HospitalServices services) {
+        this.durableHospital = durableHospital;
+        this.services = services;
+        this.controller = services.createController();
+    }
+
+    /**
+     * Boots the services: recovered from the data directory if one is given, otherwise empty and in memory.
+     */
+    public static HospitalServer start(Path dataDir) throws IOException {
+        if (dataDir == null) return new HospitalServer(null, HospitalServices.create(HospitalServices.Concurrency.CONCURRENT));
+        DurableHospital hospital = new DurableHospital(dataDir);
+        return new HospitalServer(hospital, hospital.getServices());
+    }
+
+    public HospitalController getController() { return controller; }
+    public HospitalServices getServices() { return services; }
+
+    /**
+     * Returns true if changes are written to a data directory.
+     */
+    public boolean isDurable() { return durableHospital != null; }
+
+    /**
+     * Starts serving the controller over HTTP on the given port, or on a free one for port 0, and returns the
+     * port. The API is stopped when the server is closed.
+     */
+    public synchronized int serveHttp(int port) throws IOException {
+        if (closed.getCount() == 0) throw new IllegalStateException("Server is closed");
+        if (httpApi != null) throw new IllegalStateException("HTTP API is already running");
+        httpApi = HttpApi.start(controller, new InetSocketAddress(port));
+        return httpApi.getPort();
+    }
+
+    /**
+     * Blocks until the server is closed.
+     */
+    public void awaitClose() throws InterruptedException {
+        closed.await();
+    }
+
+    /**
+     * Stops the HTTP API, flushes and closes the data directory, if any, and releases {@link #awaitClose()}. Safe to call twice.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed.getCount() == 0) return;
+        try {
+            if (httpApi != null) httpApi.close();
+            if (durableHospital != null) durableHospital.close();
+        } finally {
+            closed.countDown();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        long started = System.nanoTime();
+        String dataDir = System.getProperty("hospital.dataDir");
+        int port = Integer.getInteger("hospital.port", 8080);
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) port = Integer.parseInt(args[++i]);
+            else dataDir = args[i];
+        }
+        HospitalServer server = start(dataDir == null || dataDir.isBlank() ? null : Path.of(dataDir));
+        port = server.serveHttp(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                LOG.log(System.Logger.Level.ERROR, "Failed to close the data directory", e);
+            }
+        }, "shutdown"));
+        LOG.log(System.Logger.Level.INFO, "Hospital server ready in {0} ms on port {1,number,#} ({2})",
+                (System.nanoTime() - started) / 1_000_000, port, server.isDurable() ? "data in " + dataDir : "in memory");
+        server.awaitClose();
+    }
+}
@@ -0,0 +1,564 @@
+package com.example.hospitalsystemgpt.server;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.AppointmentService;
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.InventoryService;
+import com.example.hospitalsystemgpt.MedicalRecord;
+import com.example.hospitalsystemgpt.MedicalRecordService;
+import com.example.hospitalsystemgpt.Page;
+import com.example.hospitalsystemgpt.Patient;
+import com.example.hospitalsystemgpt.PatientService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP/JSON front of a {@link HospitalController}, on the JDK's built-in server. Every request runs on its own
+ * virtual thread, so a call that blocks (a group commit, a contended stock update) holds no platform thread, and
+ * connections are kept alive between requests. Lists are streamed with chunked encoding straight from the
+ * controller's result through a {@link JsonWriter}; single entities are sent with a Content-Length.
+ * <pre>
+ * GET    /patients[?q=&amp;limit=]                         search, or all patients
+ * GET    /patients?cursor=&amp;limit=&amp;sort=ID|NAME             one page: {"items": [...], "nextCursor": ...}
+ * POST   /patients                                     register; 201 with the patient
+ * GET    /patients/{id}   PUT /patients/{id}   DELETE /patients/{id}
+ * GET    /appointments[?patientId=|?from=&amp;to=|?status=|?cursor=&amp;limit=&amp;sort=]
+ * POST   /appointments   /appointments/try   /appointments/batch   /appointments/conflicts
+ * GET    /appointments/free-slots?patientId=&amp;type=&amp;after=&amp;count=
+ * GET|PUT|DELETE /appointments/{id}   POST /appointments/{id}/cancel
+ * GET    /records[?q=&amp;limit=|?cursor=&amp;limit=&amp;sort=]   POST /records   GET|PUT|DELETE /records/{id}
+ * GET    /bills[?cursor=&amp;limit=&amp;sort=]   POST /bills   GET|PUT|DELETE /bills/{id}
+ * GET    /bills/aging[?currency=]                      unpaid totals and counts per 0-30/31-60/61-90/90+ days
+ * POST   /bills/{id}/pay {"paymentReference": ...}
+ * GET    /inventory[?cursor=&amp;limit=&amp;sort=]   POST /inventory   GET|PUT|DELETE /inventory/{id}
+ * POST   /inventory/{id}/reserve|commit|release {"amount": n}   POST /inventory/adjust {"id": delta, ...}
+ * </pre>
+ * Errors come back as {@code {"error": message}}: 400 for invalid input, 404 for a missing entity or route, 405
+ * for a wrong method, 409 for a conflict with the current state (a taken slot, a paid bill, short stock).
+ */
+public final class HttpApi implements Closeable {
+    private static final System.Logger LOG = System.getLogger(HttpApi.class.getName());
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final HospitalController controller;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private HttpApi(HospitalController controller, HttpServer server, ExecutorService executor) {
+        this.controller = controller;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts serving the controller on the given address; port 0 picks a free port.
+     */
+    public static HttpApi start(HospitalController controller, InetSocketAddress address) throws IOException {
+        if (controller == null) throw new IllegalArgumentException("Controller cannot be null");
+        if (address == null) throw new IllegalArgumentException("Address cannot be null");
+        // Responses are small and written in one go; Nagle's algorithm would hold each one back for the client's ACK.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer server = HttpServer.create(address, 1024);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpApi api = new HttpApi(controller, server, executor);
+        server.createContext("/", api::handle);
+        server.setExecutor(executor);
+        server.start();
+        return api;
+    }
+
+    /** The port the API is listening on. */
+    public int getPort() { return server.getAddress().getPort(); }
+
+    /**
+     * Stops accepting connections and waits up to a second for requests in progress to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(new Request(exchange));
+            } catch (NotFound e) {
+                error(exchange, 404, e.getMessage());
+            } catch (MethodNotAllowed e) {
+                error(exchange, 405, "Method not allowed");
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                error(exchange, 400, e.getMessage());
+            } catch (IllegalStateException e) {
+                error(exchange, 409, e.getMessage());
+            } catch (IOException e) {
+                // The client went away mid-response; there is nobody left to tell.
+                LOG.log(System.Logger.Level.DEBUG, "Failed to write the response", e);
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.ERROR, "Request " + exchange.getRequestURI() + " failed", e);
+                error(exchange, 500, "Internal error");
+            }
+        }
+    }
+
+    private void route(Request request) throws IOException {
+        String[] path = request.path;
+        if (path.length == 0) throw new NotFound("No such resource");
+        switch (path[0]) {
+            case "patients" -> patients(request);
+            case "appointments" -> appointments(request);
+            case "records" -> records(request);
+            case "bills" -> bills(request);
+            case "inventory" -> inventory(request);
+            default -> throw new NotFound("No such resource");
+        }
+    }
+
+    private void patients(Request request) throws IOException {
+        if (request.path.length == 1) {
+            if (request.is("GET")) {
+                String q = request.query.get("q");
+                if (q != null) request.list(controller.searchPatients(q, request.limit()), JsonCodec::write);
+                else if (request.pages()) request.page(controller.pagePatients(request.cursor(), request.limit(),
+                        request.sort(PatientService.SortKey.class, PatientService.SortKey.ID)), JsonCodec::write);
+                else request.list(controller.getAllPatients(), JsonCodec::write);
+            } else if (request.is("POST")) {
+                Patient patient = JsonCodec.readPatient(request.body());
+                controller.registerPatient(patient);
+                request.entity(201, patient, JsonCodec::write);
+            } else {
+                throw new MethodNotAllowed();
+            }
+        } else if (request.path.length == 2) {
+            String id = request.path[1];
+            switch (request.method) {
+                case "GET" -> request.entity(200, found(controller.findPatientById(id), "Patient"), JsonCodec::write);
+                case "PUT" -> {
+                    Patient patient = JsonCodec.readPatient(request.bodyWithId(id));
+                    controller.updatePatient(patient);
+                    request.entity(200, patient, JsonCodec::write);
+                }
+                case "DELETE" -> request.deleted(controller.deletePatient(id), "Patient");
+                default -> throw new MethodNotAllowed();
+            }
+        } else {
+            throw new NotFound("No such resource");
+        }
+    }
+
+    private void appointments(Request request) throws IOException {
+        String[] path = request.path;
+        if (path.length == 1) {
+            if (request.is("GET")) {
+                Map<String, String> query = request.query;
+                if (query.containsKey("patientId")) {
+                    request.list(controller.findAppointmentsByPatient(query.get("patientId")), JsonCodec::write);
+                } else if (query.containsKey("from") || query.containsKey("to")) {
+                    request.list(controller.findAppointmentsBetween(request.dateTime("from"), request.dateTime("to")), JsonCodec::write);
+                } else if (query.containsKey("status")) {
+                    request.list(controller.findAppointmentsByStatus(
+                            JsonCodec.enumValue(Appointment.Status.class, query.get("status"))), JsonCodec::write);
+                } else if (request.pages()) {
+                    request.page(controller.pageAppointments(request.cursor(), request.limit(),
+                            request.sort(AppointmentService.SortKey.class, AppointmentService.SortKey.ID)), JsonCodec::write);
+                } else {
+                    request.list(controller.getAllAppointments(), JsonCodec::write);
+                }
+            } else if (request.is("POST")) {
+                Appointment appointment = JsonCodec.readAppointment(request.body(), controller);
+                controller.scheduleAppointment(appointment);
+                request.entity(201, appointment, JsonCodec::write);
+            } else {
+                throw new MethodNotAllowed();
+            }
+            return;
+        }
+        if (path.length == 2) {
+            switch (path[1]) {
+                case "free-slots" -> {
+                    request.require("GET");
+                    String after = request.query.get("after");
+                    List<LocalDateTime> slots = controller.findFreeAppointmentSlots(request.query.get("patientId"),
+                            request.query.get("type"), after == null ? LocalDateTime.now() : LocalDateTime.parse(after),
+                            request.intParam("count", 10));
+                    request.list(slots, (json, slot) -> json.value(slot.toString()));
+                    return;
+                }
+                case "try" -> {
+                    request.require("POST");
+                    Appointment appointment = JsonCodec.readAppointment(request.body(), controller);
+                    if (!controller.tryScheduleAppointment(appointment)) throw new IllegalStateException("Slot is already taken");
+                    request.entity(201, appointment, JsonCodec::write);
+                    return;
+                }
+                case "batch" -> {
+                    request.require("POST");
+                    List<Appointment> appointments = new ArrayList<>();
+                    for (Object json : request.bodyArray()) {
+                        appointments.add(JsonCodec.readAppointment(JsonCodec.object(json, "Each appointment"), controller));
+                    }
+                    // The response lists the appointments that were not scheduled.
+                    request.list(controller.scheduleAppointments(appointments), JsonCodec::write);
+                    return;
+                }
+                case "conflicts" -> {
+                    request.require("POST");
+                    Appointment candidate = JsonCodec.readAppointment(request.body(), controller);
+                    request.list(controller.findAppointmentConflicts(candidate), JsonCodec::write);
+                    return;
+                }
+                default -> {
+                    String id = path[1];
+                    switch (request.method) {
+                        case "GET" -> request.entity(200, found(controller.findAppointmentById(id), "Appointment"), JsonCodec::write);
+                        case "PUT" -> {
+                            Appointment appointment = JsonCodec.readAppointment(request.bodyWithId(id), controller);
+                            controller.updateAppointment(appointment);
+                            request.entity(200, appointment, JsonCodec::write);
+                        }
+                        case "DELETE" -> request.deleted(controller.deleteAppointment(id), "Appointment");
+                        default -> throw new MethodNotAllowed();
+                    }
+                    return;
+                }
+            }
+        }
+        if (path.length == 3 && path[2].equals("cancel")) {
+            request.require("POST");
+            if (!controller.cancelAppointment(path[1])) {
+                found(controller.findAppointmentById(path[1]), "Appointment");
+                throw new IllegalStateException("Appointment is already cancelled");
+            }
+            request.entity(200, controller.findAppointmentById(path[1]), JsonCodec::write);
+            return;
+        }
+        throw new NotFound("No such resource");
+    }
+
+    private void records(Request request) throws IOException {
+        if (request.path.length == 1) {
+            if (request.is("GET")) {
+                String q = request.query.get("q");
+                if (q != null) request.list(controller.searchMedicalRecords(q, request.limit()), JsonCodec::write);
+                else if (request.pages()) request.page(controller.pageMedicalRecords(request.cursor(), request.limit(),
+                        request.sort(MedicalRecordService.SortKey.class, MedicalRecordService.SortKey.ID)), JsonCodec::write);
+                else request.list(controller.getAllMedicalRecords(), JsonCodec::write);
+            } else if (request.is("POST")) {
+                MedicalRecord record = JsonCodec.readMedicalRecord(request.body(), controller);
+                controller.addMedicalRecord(record);
+                request.entity(201, record, JsonCodec::write);
+            } else {
+                throw new MethodNotAllowed();
+            }
+        } else if (request.path.length == 2) {
+            String id = request.path[1];
+            switch (request.method) {
+                case "GET" -> request.entity(200, found(controller.findMedicalRecordById(id), "Medical record"), JsonCodec::write);
+                case "PUT" -> {
+                    MedicalRecord record = JsonCodec.readMedicalRecord(request.bodyWithId(id), controller);
+                    controller.updateMedicalRecord(record);
+                    request.entity(200, record, JsonCodec::write);
+                }
+                case "DELETE" -> request.deleted(controller.deleteMedicalRecord(id), "Medical record");
+                default -> throw new MethodNotAllowed();
+            }
+        } else {
+            throw new NotFound("No such resource");
+        }
+    }
+
+    private void bills(Request request) throws IOException {
+        if (request.path.length == 1) {
+            if (request.is("GET")) {
+                if (request.pages()) request.page(controller.pageBills(request.cursor(), request.limit(),
+                        request.sort(BillingService.SortKey.class, BillingService.SortKey.ID)), JsonCodec::write);
+                else request.list(controller.getAllBills(), JsonCodec::write);
+            } else if (request.is("POST")) {
+                Bill bill = JsonCodec.readBill(request.body(), controller);
+                controller.createBill(bill);
+                request.entity(201, bill, JsonCodec::write);
+            } else {
+                throw new MethodNotAllowed();
+            }
+        } else if (request.path.length == 2 && request.path[1].equals("aging")) {
+            request.require("GET");
+            request.entity(200, controller.getBillAgingReport(JsonCodec.currency(Map.<String, Object>copyOf(request.query))), JsonCodec::write);
+        } else if (request.path.length == 2) {
+            String id = request.path[1];
+            switch (request.method) {
+                case "GET" -> request.entity(200, found(controller.findBillById(id), "Bill"), JsonCodec::write);
+                case "PUT" -> {
+                    Bill bill = JsonCodec.readBill(request.bodyWithId(id), controller);
+                    controller.updateBill(bill);
+                    request.entity(200, bill, JsonCodec::write);
+                }
+                case "DELETE" -> request.deleted(controller.deleteBill(id), "Bill");
+                default -> throw new MethodNotAllowed();
+            }
+        } else if (request.path.length == 3 && request.path[2].equals("pay")) {
+            request.require("POST");
+            String id = request.path[1];
+            Bill bill = found(controller.findBillById(id), "Bill");
+            if (bill.getStatus() == Bill.Status.PAID) throw new IllegalStateException("Bill is already paid");
+            controller.markBillAsPaid(id, JsonCodec.string(request.body(), "paymentReference"));
+            request.entity(200, controller.findBillById(id), JsonCodec::write);
+        } else {
+            throw new NotFound("No such resource");
+        }
+    }
+
+    private void inventory(Request request) throws IOException {
+        String[] path = request.path;
+        if (path.length == 1) {
+            if (request.is("GET")) {
+                if (request.pages()) request.page(controller.pageInventoryItems(request.cursor(), request.limit(),
+                        request.sort(InventoryService.SortKey.class, InventoryService.SortKey.ID)), JsonCodec::write);
+                else request.list(controller.getAllInventoryItems(), JsonCodec::write);
+            } else if (request.is("POST")) {
+                InventoryItem item = JsonCodec.readInventoryItem(request.body());
+                controller.addInventoryItem(item);
+                request.entity(201, item, JsonCodec::write);
+            } else {
+                throw new MethodNotAllowed();
+            }
+        } else if (path.length == 2 && path[1].equals("adjust")) {
+            request.require("POST");
+            Map<String, Integer> deltas = new LinkedHashMap<>();
+            Map<String, Object> body = request.body();
+            for (String id : body.keySet()) deltas.put(id, JsonCodec.integer(body, id));
+            if (!controller.adjustStock(deltas)) throw new IllegalStateException("Not enough stock for the adjustment");
+            request.noContent();
+        } else if (path.length == 2) {
+            String id = path[1];
+            switch (request.method) {
+                case "GET" -> request.entity(200, found(controller.findInventoryItemById(id), "Inventory item"), JsonCodec::write);
+                case "PUT" -> {
+                    InventoryItem item = JsonCodec.readInventoryItem(request.bodyWithId(id));
+                    controller.updateInventoryItem(item);
+                    request.entity(200, item, JsonCodec::write);
+                }
+                case "DELETE" -> request.deleted(controller.deleteInventoryItem(id), "Inventory item");
+                default -> throw new MethodNotAllowed();
+            }
+        } else if (path.length == 3) {
+            request.require("POST");
+            String id = path[1];
+            found(controller.findInventoryItemById(id), "Inventory item");
+            int amount = JsonCodec.integer(request.body(), "amount");
+            switch (path[2]) {
+                case "reserve" -> {
+                    if (!controller.tryReserveStock(id, amount)) throw new IllegalStateException("Not enough stock available");
+                }
+                case "commit" -> controller.commitStockReservation(id, amount);
+                case "release" -> controller.releaseStock(id, amount);
+                default -> throw new NotFound("No such resource");
+            }
+            request.entity(200, controller.findInventoryItemById(id), JsonCodec::write);
+        } else {
+            throw new NotFound("No such resource");
+        }
+    }
+
+    private static <T> T found(T entity, String what) {
+        if (entity == null) throw new NotFound(what + " does not exist");
+        return entity;
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(128);
+        JsonWriter json = new JsonWriter(body, 256);
+        json.beginObject().name("error").value(message).endObject().flush();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            body.writeTo(out);
+        }
+    }
+
+    /** Writes one element of a response. */
+    @FunctionalInterface
+    private interface Encoder<T> {
+        void write(JsonWriter json, T value) throws IOException;
+    }
+
+    /** One request: its method, path segments and query parameters, and the ways to answer it. */
+    private static final class Request {
+        final HttpExchange exchange;
+        final String method;
+        final String[] path;
+        final Map<String, String> query;
+
+        Request(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.method = exchange.getRequestMethod();
+            this.path = segments(exchange.getRequestURI().getRawPath());
+            this.query = parameters(exchange.getRequestURI().getRawQuery());
+        }
+
+        boolean is(String method) {
+            return this.method.equals(method);
+        }
+
+        void require(String method) {
+            if (!is(method)) throw new MethodNotAllowed();
+        }
+
+        /** True if any paging parameter was given. */
+        boolean pages() {
+            return query.containsKey("cursor") || query.containsKey("limit") || query.containsKey("sort");
+        }
+
+        String cursor() {
+            return query.get("cursor");
+        }
+
+        int limit() {
+            return intParam("limit", DEFAULT_LIMIT);
+        }
+
+        int intParam(String name, int defaultValue) {
+            String value = query.get(name);
+            if (value == null) return defaultValue;
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + " must be an integer");
+            }
+        }
+
+        LocalDateTime dateTime(String name) {
+            String value = query.get(name);
+            if (value == null) throw new IllegalArgumentException(name + " is required");
+            return LocalDateTime.parse(value);
+        }
+
+        <E extends Enum<E>> E sort(Class<E> type, E defaultValue) {
+            String value = query.get("sort");
+            return value == null ? defaultValue : JsonCodec.enumValue(type, value);
+        }
+
+        Map<String, Object> body() throws IOException {
+            return JsonCodec.object(parseBody(), "Request body");
+        }
+
+        /** The body of a PUT, whose ID comes from the path; an ID in the body must agree with it. */
+        Map<String, Object> bodyWithId(String id) throws IOException {
+            Map<String, Object> body = body();
+            Object bodyId = body.putIfAbsent("id", id);
+            if (bodyId != null && !bodyId.equals(id)) throw new IllegalArgumentException("Body ID does not match the path");
+            return body;
+        }
+
+        List<?> bodyArray() throws IOException {
+            if (!(parseBody() instanceof List<?> list)) throw new IllegalArgumentException("Request body must be a JSON array");
+            return list;
+        }
+
+        private Object parseBody() throws IOException {
+            return JsonReader.parse(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        /** Sends one entity with a Content-Length, so the connection can carry the next request at once. */
+        <T> void entity(int status, T value, Encoder<T> encoder) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+            JsonWriter json = new JsonWriter(body, 512);
+            encoder.write(json, value);
+            json.flush();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.size());
+            try (OutputStream out = exchange.getResponseBody()) {
+                body.writeTo(out);
+            }
+        }
+
+        /** Streams a list as a chunked JSON array. */
+        <T> void list(Iterable<T> values, Encoder<T> encoder) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                JsonWriter json = new JsonWriter(out);
+                json.beginArray();
+                for (T value : values) encoder.write(json, value);
+                json.endArray().flush();
+            }
+        }
+
+        /** Streams a page as a chunked {@code {"items": [...], "nextCursor": ...}} object. */
+        <T> void page(Page<T> page, Encoder<T> encoder) throws IOException {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                JsonWriter json = new JsonWriter(out);
+                json.beginObject().name("items").beginArray();
+                for (T value : page.getItems()) encoder.write(json, value);
+                json.endArray().name("nextCursor").value(page.getNextCursor()).endObject().flush();
+            }
+        }
+
+        void deleted(boolean deleted, String what) throws IOException {
+            if (!deleted) throw new NotFound(what + " does not exist");
+            noContent();
+        }
+
+        void noContent() throws IOException {
+            exchange.sendResponseHeaders(204, -1);
+        }
+
+        private static String[] segments(String rawPath) {
+            List<String> segments = new ArrayList<>();
+            for (String segment : rawPath.split("/")) {
+                if (!segment.isEmpty()) segments.add(decode(segment));
+            }
+            return segments.toArray(new String[0]);
+        }
+
+        private static Map<String, String> parameters(String rawQuery) {
+            Map<String, String> parameters = new HashMap<>();
+            if (rawQuery == null || rawQuery.isEmpty()) return parameters;
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq < 0) parameters.put(decode(pair), "");
+                else parameters.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+            return parameters;
+        }
+
+        private static String decode(String s) {
+            return s.indexOf('%') < 0 && s.indexOf('+') < 0 ? s : URLDecoder.decode(s, StandardCharsets.UTF_8);
+        }
+    }
+
+    /** A missing entity or route: 404. */
+    private static final class NotFound extends RuntimeException {
+        NotFound(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /** A route that exists, called with the wrong method: 405. */
+    private static final class MethodNotAllowed extends RuntimeException {
+        MethodNotAllowed() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.hospitalsystemgpt.server;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.Bill;
+import com.example.hospitalsystemgpt.BillingService;
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.MedicalRecord;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON shapes of the entities. Writers stream an entity into a {@link JsonWriter}, embedding the patient (and
+ * for records, the appointment) it refers to. Readers build an entity from a parsed request body; references are
+ * given as {@code patientId} or {@code appointmentId} (or as an embedded object with an {@code id}) and resolved
+ * through the controller, so the entity is linked to the stored patient rather than a copy.
+ */
+final class JsonCodec {
+    private JsonCodec() {}
+
+    static void write(JsonWriter json, Patient patient) throws IOException {
+        json.beginObject()
+                .name("id").value(patient.getPatientId())
+                .name("name").value(patient.getPatientName())
+                .name("dateOfBirth").value(patient.getDateOfBirth().toString())
+                .name("admitted").value(patient.isPatientAdmitted())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Appointment appointment) throws IOException {
+        json.beginObject().name("id").value(appointment.getAppointmentId()).name("patient");
+        write(json, appointment.getPatient());
+        appointmentFields(json, appointment);
+        json.endObject();
+    }
+
+    static void write(JsonWriter json, MedicalRecord record) throws IOException {
+        json.beginObject().name("id").value(record.getRecordId()).name("patient");
+        write(json, record.getPatient());
+        // The appointment's patient is the record's, so it is not repeated.
+        json.name("appointment").beginObject().name("id").value(record.getAppointment().getAppointmentId());
+        appointmentFields(json, record.getAppointment());
+        json.endObject()
+                .name("diagnosis").value(record.getDiagnosis())
+                .name("notes").value(record.getNotes())
+                .name("date").value(record.getDate().toString())
+                .endObject();
+    }
+
+    static void write(JsonWriter json, Bill bill) throws IOException {
+        json.beginObject().name("id").value(bill.getBillId()).name("patient");
+        write(json, bill.getPatient());
+        json.name("currency").value(bill.getCurrency().getCurrencyCode());
+        json.name("issuedAt").value(bill.getIssuedAt().toString());
+        json.name("lineItems").beginArray();
+        for (int i = 0; i < bill.getLineItemCount(); i++) {
+            json.beginObject().name("description").value(bill.getLineItemDescription(i))
+                    .name("amount").value(BigDecimal.valueOf(bill.getLineItemAmountMinorUnits(i), Money.fractionDigits(bill.getCurrency()))).endObject();
+        }
+        json.endArray()
+                .name("total").value(bill.getTotalAmount().toBigDecimal())
+                .name("status").value(bill.getStatus().name())
+                .name("paymentReference").value(bill.getPaymentReference())
+                .endObject();
+    }
+
+    /** Writes an aging report as {@code {"asOf", "currency", "buckets": [{"bucket", "total", "count"}, ...]}}, youngest first. */
+    static void write(JsonWriter json, BillingService.AgingReport report) throws IOException {
+        json.beginObject()
+                .name("asOf").value(report.asOf().toString())
+                .name("currency").value(report.currency().getCurrencyCode())
+                .name("buckets").beginArray();
+        for (BillingService.AgingBucket bucket : BillingService.AgingBucket.values()) {
+            json.beginObject()
+                    .name("bucket").value(bucket.name())
+                    .name("total").value(report.total(bucket).toBigDecimal())
+                    .name("count").value(report.count(bucket))
+                    .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    static void write(JsonWriter json, InventoryItem item) throws IOException {
+        json.beginObject()
+                .name("id").value(item.getItemId())
+                .name("name").value(item.getName())
+                .name("quantity").value(item.getQuantity())
+                .name("reserved").value(item.getReservedQuantity())
+                .name("available").value(item.getAvailableQuantity())
+                .name("unitPrice").value(item.getUnitPrice().toBigDecimal())
+                .name("currency").value(item.getUnitPrice().currency().getCurrencyCode())
+                .endObject();
+    }
+
+    private static void appointmentFields(JsonWriter json, Appointment appointment) throws IOException {
+        json.name("dateTime").value(appointment.getDateTime().toString())
+                .name("type").value(appointment.getType())
+                .name("status").value(appointment.getStatus().name());
+    }
+
+    /** Reads a patient; {@code admitted} is optional and defaults to false. */
+    static Patient readPatient(Map<String, Object> json) {
+        Patient patient = new Patient(string(json, "id"), string(json, "name"), date(json, "dateOfBirth"));
+        if (Boolean.TRUE.equals(json.get("admitted"))) patient.admitPatient();
+        return patient;
+    }
+
+    /**
+     * Reads an appointment. Without a {@code status} it is a new, scheduled appointment and must be in the future;
+     * with one it is restored as given, which is how a past appointment is updated.
+     */
+    static Appointment readAppointment(Map<String, Object> json, HospitalController controller) {
+        Patient patient = patient(json, controller);
+        String status = optionalString(json, "status");
+        if (status == null) return new Appointment(string(json, "id"), patient, dateTime(json, "dateTime"), string(json, "type"));
+        return Appointment.restore(string(json, "id"), patient, dateTime(json, "dateTime"), string(json, "type"),
+                enumValue(Appointment.Status.class, status));
+    }
+
+    static MedicalRecord readMedicalRecord(Map<String, Object> json, HospitalController controller) {
+        String appointmentId = reference(json, "appointment");
+        Appointment appointment = controller.findAppointmentById(appointmentId);
+        if (appointment == null) throw new IllegalArgumentException("No appointment with ID " + appointmentId);
+        return new MedicalRecord(string(json, "id"), patient(json, controller), appointment,
+                optionalString(json, "diagnosis"), optionalString(json, "notes"), date(json, "date"));
+    }
+
+    /**
+     * Reads a bill with its line items; a {@code PAID} status needs a {@code paymentReference}. The
+     * {@code currency} is optional and defaults to {@link Money#DEFAULT_CURRENCY}. The {@code issuedAt} time is
+     * optional too: it defaults to that of the stored bill with the same ID, so an update does not restart its aging,
+     * or to now for a new bill.
+     */
+    static Bill readBill(Map<String, Object> json, HospitalController controller) {
+        Currency currency = currency(json);
+        String id = string(json, "id");
+        LocalDateTime issuedAt;
+        if (json.get("issuedAt") != null) {
+            issuedAt = dateTime(json, "issuedAt");
+        } else {
+            Bill stored = controller.findBillById(id);
+            issuedAt = stored != null ? stored.getIssuedAt() : LocalDateTime.now();
+        }
+        Bill bill = new Bill(id, patient(json, controller), currency, issuedAt);
+        Object items = json.get("lineItems");
+        if (items != null) {
+            if (!(items instanceof List<?> list)) throw new IllegalArgumentException("lineItems must be an array");
+            for (Object item : list) {
+                Map<String, Object> line = object(item, "lineItems entries");
+                bill.addLineItem(new Bill.LineItem(string(line, "description"), money(line, "amount", currency)));
+            }
+        }
+        String status = optionalString(json, "status");
+        if (status != null && enumValue(Bill.Status.class, status) == Bill.Status.PAID) {
+            bill.markAsPaid(string(json, "paymentReference"));
+        }
+        return bill;
+    }
+
+    /** Reads an inventory item; the {@code currency} of its unit price is optional, as for bills. */
+    static InventoryItem readInventoryItem(Map<String, Object> json) {
+        return new InventoryItem(string(json, "id"), string(json, "name"), integer(json, "quantity"),
+                money(json, "unitPrice", currency(json)));
+    }
+
+    /** Casts a parsed value to an object, or explains what was expected. */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> object(Object json, String what) {
+        if (!(json instanceof Map<?, ?>)) throw new IllegalArgumentException(what + " must be a JSON object");
+        return (Map<String, Object>) json;
+    }
+
+    static String string(Map<String, Object> json, String name) {
+        String value = optionalString(json, name);
+        if (value == null) throw new IllegalArgumentException(name + " is required");
+        return value;
+    }
+
+    static String optionalString(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (value == null) return null;
+        if (!(value instanceof String s)) throw new IllegalArgumentException(name + " must be a string");
+        return s;
+    }
+
+    static int integer(Map<String, Object> json, String name) {
+        Object value = json.get(name);
+        if (!(value instanceof Long l) || l != (int) (long) l) throw new IllegalArgumentException(name + " must be an integer");
+        return (int) (long) l;
+    }
+
+    /** Reads an exact amount of {@code currency}; more decimal places than the currency has are rejected. */
+    static Money money(Map<String, Object> json, String name, Currency currency) {
+        Object value = json.get(name);
+        if (value instanceof Long l) return Money.of(BigDecimal.valueOf(l), currency);
+        if (value instanceof BigDecimal d) return Money.of(d, currency);
+        throw new IllegalArgumentException(name + " must be a number");
+    }
+
+    static Currency currency(Map<String, Object> json) {
+        String code = optionalString(json, "currency");
+        if (code == null) return Money.DEFAULT_CURRENCY;
+        try {
+            return Currency.getInstance(code.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency " + code);
+        }
+    }
+
+    static LocalDate date(Map<String, Object> json, String name) {
+        try {
+            return LocalDate.parse(string(json, name));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date like 2024-01-31");
+        }
+    }
+
+    static LocalDateTime dateTime(Map<String, Object> json, String name) {
+        try {
+            return LocalDateTime.parse(string(json, name));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date and time like 2024-01-31T09:30");
+        }
+    }
+
+    static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " " + value);
+        }
+    }
+
+    private static Patient patient(Map<String, Object> json, HospitalController controller) {
+        String patientId = reference(json, "patient");
+        Patient patient = controller.findPatientById(patientId);
+        if (patient == null) throw new IllegalArgumentException("No patient with ID " + patientId);
+        return patient;
+    }
+
+    /** The ID of a reference given either as {@code <name>Id} or as an embedded {@code <name>} object. */
+    private static String reference(Map<String, Object> json, String name) {
+        String id = optionalString(json, name + "Id");
+        if (id != null) return id;
+        Object embedded = json.get(name);
+        if (embedded == null) throw new IllegalArgumentException(name + "Id is required");
+        return string(object(embedded, name), "id");
+    }
+}
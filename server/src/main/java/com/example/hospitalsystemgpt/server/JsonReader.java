@@ -0,0 +1,194 @@
+package com.example.hospitalsystemgpt.server;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser for request bodies, which are small: objects become {@code Map<String, Object>}, arrays
+ * {@code List<Object>}, numbers {@code Long} when integral and {@code BigDecimal} otherwise (so amounts keep their
+ * exact decimal value), and the rest strings,
+ * booleans and null. Malformed input is rejected with an {@link IllegalArgumentException}.
+ */
+final class JsonReader {
+    private static final int MAX_DEPTH = 64;
+
+    private final String text;
+    private int at;
+    private int depth;
+
+    private JsonReader(String text) {
+        this.text = text;
+    }
+
+    /** Parses one JSON value, which must make up the whole text apart from whitespace. */
+    static Object parse(String text) {
+        if (text == null) throw new IllegalArgumentException("JSON text cannot be null");
+        JsonReader reader = new JsonReader(text);
+        Object value = reader.value();
+        reader.skipWhitespace();
+        if (reader.at != text.length()) throw reader.error("Unexpected text after the JSON value");
+        return value;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        if (at == text.length()) throw error("Unexpected end of JSON");
+        char c = text.charAt(at);
+        return switch (c) {
+            case '{' -> object();
+            case '[' -> array();
+            case '"' -> string();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> {
+                if (c == '-' || (c >= '0' && c <= '9')) yield number();
+                throw error("Unexpected character '" + c + "'");
+            }
+        };
+    }
+
+    private Map<String, Object> object() {
+        enter();
+        Map<String, Object> object = new LinkedHashMap<>();
+        at++;
+        skipWhitespace();
+        if (peek() == '}') {
+            at++;
+            depth--;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') throw error("Expected a member name");
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            object.put(name, value());
+            skipWhitespace();
+            if (peek() == ',') {
+                at++;
+            } else {
+                expect('}');
+                depth--;
+                return object;
+            }
+        }
+    }
+
+    private List<Object> array() {
+        enter();
+        List<Object> array = new ArrayList<>();
+        at++;
+        skipWhitespace();
+        if (peek() == ']') {
+            at++;
+            depth--;
+            return array;
+        }
+        while (true) {
+            array.add(value());
+            skipWhitespace();
+            if (peek() == ',') {
+                at++;
+            } else {
+                expect(']');
+                depth--;
+                return array;
+            }
+        }
+    }
+
+    private String string() {
+        at++;
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            if (at == text.length()) throw error("Unterminated string");
+            char c = text.charAt(at++);
+            if (c == '"') return sb.toString();
+            if (c < 0x20) throw error("Control character in string");
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (at == text.length()) throw error("Unterminated string");
+            char escaped = text.charAt(at++);
+            switch (escaped) {
+                case '"', '\\', '/' -> sb.append(escaped);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (at + 4 > text.length()) throw error("Bad unicode escape");
+                    try {
+                        sb.append((char) Integer.parseInt(text.substring(at, at + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Bad unicode escape");
+                    }
+                    at += 4;
+                }
+                default -> throw error("Bad escape '\\" + escaped + "'");
+            }
+        }
+    }
+
+    private Object number() {
+        int start = at;
+        if (peek() == '-') at++;
+        boolean integral = true;
+        while (at < text.length()) {
+            char c = text.charAt(at);
+            if (c >= '0' && c <= '9') {
+                at++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                integral = false;
+                at++;
+            } else {
+                break;
+            }
+        }
+        String number = text.substring(start, at);
+        try {
+            if (integral) return Long.parseLong(number);
+            return new BigDecimal(number);
+        } catch (NumberFormatException e) {
+            throw error("Bad number '" + number + "'");
+        }
+    }
+
+    private Object literal(String literal, Object value) {
+        if (!text.startsWith(literal, at)) throw error("Unexpected literal");
+        at += literal.length();
+        return value;
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) throw error("JSON nested too deeply");
+    }
+
+    private void expect(char c) {
+        if (peek() != c) throw error("Expected '" + c + "'");
+        at++;
+    }
+
+    private char peek() {
+        return at < text.length() ? text.charAt(at) : '\0';
+    }
+
+    private void skipWhitespace() {
+        while (at < text.length()) {
+            char c = text.charAt(at);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') return;
+            at++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + at);
+    }
+}
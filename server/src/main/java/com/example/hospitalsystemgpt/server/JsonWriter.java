@@ -0,0 +1,188 @@
+package com.example.hospitalsystemgpt.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+
+/**
+ * Streaming JSON writer. Tokens are encoded as UTF-8 straight into a small buffer that is flushed to the
+ * underlying stream whenever it fills, so a list of any length is written in constant memory and never exists as
+ * a string or tree. Commas and nesting are tracked here; callers only say what comes next. Not thread-safe.
+ */
+final class JsonWriter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final int MAX_DEPTH = 64;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int length;
+    /** Per nesting level: whether a value has been written at that level yet. */
+    private final boolean[] hasValue = new boolean[MAX_DEPTH];
+    private int depth;
+    /** True right after a name, when the value that follows needs no comma. */
+    private boolean afterName;
+
+    JsonWriter(OutputStream out) {
+        this(out, 8192);
+    }
+
+    JsonWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    JsonWriter beginObject() throws IOException {
+        return open('{');
+    }
+
+    JsonWriter endObject() throws IOException {
+        return close('}');
+    }
+
+    JsonWriter beginArray() throws IOException {
+        return open('[');
+    }
+
+    JsonWriter endArray() throws IOException {
+        return close(']');
+    }
+
+    /** Writes an object member name; the next call writes its value. */
+    JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        write(':');
+        afterName = true;
+        return this;
+    }
+
+    /** Writes a string, or null. */
+    JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) ascii("null");
+        else string(value);
+        return this;
+    }
+
+    JsonWriter value(long value) throws IOException {
+        separate();
+        ascii(Long.toString(value));
+        return this;
+    }
+
+    /** Writes a number; JSON has no NaN or infinity, so those are rejected. */
+    JsonWriter value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) throw new IllegalArgumentException("Number must be finite");
+        separate();
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) ascii(Long.toString((long) value));
+        else ascii(Double.toString(value));
+        return this;
+    }
+
+    /** Writes an exact decimal, or null, without an exponent. */
+    JsonWriter value(BigDecimal value) throws IOException {
+        separate();
+        ascii(value == null ? "null" : value.toPlainString());
+        return this;
+    }
+
+    JsonWriter value(boolean value) throws IOException {
+        separate();
+        ascii(value ? "true" : "false");
+        return this;
+    }
+
+    JsonWriter nullValue() throws IOException {
+        separate();
+        ascii("null");
+        return this;
+    }
+
+    /** Writes out everything buffered so far. */
+    void flush() throws IOException {
+        if (length > 0) out.write(buffer, 0, length);
+        length = 0;
+        out.flush();
+    }
+
+    private JsonWriter open(char bracket) throws IOException {
+        if (depth == MAX_DEPTH - 1) throw new IllegalStateException("JSON nested too deeply");
+        separate();
+        write(bracket);
+        hasValue[++depth] = false;
+        return this;
+    }
+
+    private JsonWriter close(char bracket) throws IOException {
+        if (depth == 0) throw new IllegalStateException("Nothing to close");
+        depth--;
+        write(bracket);
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (hasValue[depth]) write(',');
+        hasValue[depth] = true;
+    }
+
+    private void string(String s) throws IOException {
+        write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                write('\\');
+                write(c);
+            } else if (c < 0x20) {
+                switch (c) {
+                    case '\n' -> ascii("\\n");
+                    case '\r' -> ascii("\\r");
+                    case '\t' -> ascii("\\t");
+                    default -> {
+                        ascii("\\u00");
+                        write(HEX[c >> 4]);
+                        write(HEX[c & 0xF]);
+                    }
+                }
+            } else if (c < 0x80) {
+                write(c);
+            } else if (c < 0x800) {
+                write(0xC0 | c >> 6);
+                write(0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                write(0xF0 | cp >> 18);
+                write(0x80 | cp >> 12 & 0x3F);
+                write(0x80 | cp >> 6 & 0x3F);
+                write(0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // An unpaired surrogate cannot be encoded as UTF-8.
+                ascii("\\u");
+                write(HEX[c >> 12]);
+                write(HEX[c >> 8 & 0xF]);
+                write(HEX[c >> 4 & 0xF]);
+                write(HEX[c & 0xF]);
+            } else {
+                write(0xE0 | c >> 12);
+                write(0x80 | c >> 6 & 0x3F);
+                write(0x80 | c & 0x3F);
+            }
+        }
+        write('"');
+    }
+
+    private void ascii(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) write(s.charAt(i));
+    }
+
+    private void write(int b) throws IOException {
+        if (length == buffer.length) {
+            out.write(buffer, 0, length);
+            length = 0;
+        }
+        buffer[length++] = (byte) b;
+    }
+}
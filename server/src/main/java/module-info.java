@@ -0,0 +1,6 @@
+module com.example.hospitalsystemgpt.server {
+    requires com.example.hospitalsystemgpt;
+    requires jdk.httpserver;
+
+    exports com.example.hospitalsystemgpt.server;
+}
@@ -0,0 +1,51 @@
+package com.example.hospitalsystemgpt.server;
+
+import com.example.hospitalsystemgpt.Patient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HospitalServerTest {
+    @Test
+    void startsInMemoryWithoutDataDirectory() throws Exception { // Tests the in-memory boot path
+        try (HospitalServer server = HospitalServer.start(null)) {
+            assertFalse(server.isDurable());
+            assertTrue(server.getServices().isThreadSafe());
+            server.getController().registerPatient(new Patient("P1", "Alice", LocalDate.of(1990, 1, 1)));
+            assertEquals("Alice", server.getController().findPatientById("P1").getPatientName());
+        }
+    }
+
+    @Test
+    void recoversDataAcrossRestarts(@TempDir Path dir) throws Exception { // Tests the durable boot path
+        try (HospitalServer server = HospitalServer.start(dir)) {
+            assertTrue(server.isDurable());
+            server.getController().registerPatient(new Patient("P1", "Alice", LocalDate.of(1990, 1, 1)));
+        }
+        try (HospitalServer server = HospitalServer.start(dir)) {
+            assertEquals("Alice", server.getController().findPatientById("P1").getPatientName());
+        }
+    }
+
+    @Test
+    void closeReleasesWaitersAndIsIdempotent() throws Exception { // Tests awaitClose and double close
+        HospitalServer server = HospitalServer.start(null);
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try {
+                server.awaitClose();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertFalse(waiter.isDone());
+        server.close();
+        server.close();
+        waiter.get(5, TimeUnit.SECONDS);
+    }
+}
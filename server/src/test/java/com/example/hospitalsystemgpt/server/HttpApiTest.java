@@ -0,0 +1,169 @@
+package com.example.hospitalsystemgpt.server;
+
+import com.example.hospitalsystemgpt.Appointment;
+import com.example.hospitalsystemgpt.HospitalController;
+import com.example.hospitalsystemgpt.HospitalServices;
+import com.example.hospitalsystemgpt.InventoryItem;
+import com.example.hospitalsystemgpt.Money;
+import com.example.hospitalsystemgpt.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpApiTest {
+    private HospitalController controller;
+    private HttpApi api;
+
+    /** A response's status and parsed body (null when it has none). */
+    private record Response(int status, Object body) {
+        Map<?, ?> object() { return assertInstanceOf(Map.class, body); }
+        List<?> list() { return assertInstanceOf(List.class, body); }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        controller = HospitalServices.create(HospitalServices.Concurrency.CONCURRENT).createController();
+        api = HttpApi.start(controller, new InetSocketAddress("127.0.0.1", 0));
+        controller.registerPatient(new Patient("P1", "Alice Smith", LocalDate.of(1980, 5, 1)));
+        controller.registerPatient(new Patient("P2", "Bob Jones", LocalDate.of(1975, 2, 3)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        api.close();
+    }
+
+    private Response call(String method, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create("http://127.0.0.1:" + api.getPort() + path).toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            String text = in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return new Response(status, text.isEmpty() ? null : JsonReader.parse(text));
+        }
+    }
+
+    @Test
+    void servesPatientsByIdSearchAndPage() throws IOException { // Tests patient reads
+        Response one = call("GET", "/patients/P1", null);
+        assertEquals(200, one.status());
+        assertEquals("Alice Smith", one.object().get("name"));
+        assertEquals("1980-05-01", one.object().get("dateOfBirth"));
+
+        assertEquals(2, call("GET", "/patients", null).list().size());
+        Response search = call("GET", "/patients?q=bob", null);
+        assertEquals("P2", ((Map<?, ?>) search.list().get(0)).get("id"));
+
+        Map<?, ?> page = call("GET", "/patients?limit=1&sort=name", null).object();
+        assertEquals(1, ((List<?>) page.get("items")).size());
+        assertNotNull(page.get("nextCursor"));
+        Map<?, ?> next = call("GET", "/patients?limit=1&sort=NAME&cursor=" + page.get("nextCursor"), null).object();
+        assertEquals("P2", ((Map<?, ?>) ((List<?>) next.get("items")).get(0)).get("id"));
+    }
+
+    @Test
+    void createsUpdatesAndDeletesPatients() throws IOException { // Tests patient writes and their status codes
+        Response created = call("POST", "/patients", "{\"id\":\"P3\",\"name\":\"Carol\",\"dateOfBirth\":\"2000-01-01\"}");
+        assertEquals(201, created.status());
+        assertEquals("Carol", controller.findPatientById("P3").getPatientName());
+
+        assertEquals(200, call("PUT", "/patients/P3", "{\"name\":\"Carol King\",\"dateOfBirth\":\"2000-01-01\",\"admitted\":true}").status());
+        assertTrue(controller.findPatientById("P3").isPatientAdmitted());
+
+        assertEquals(204, call("DELETE", "/patients/P3", null).status());
+        assertEquals(404, call("DELETE", "/patients/P3", null).status());
+        assertEquals(404, call("GET", "/patients/P3", null).status());
+    }
+
+    @Test
+    void mapsErrorsToStatusCodes() throws IOException { // Tests 400, 404, 405 and 409 responses
+        Response bad = call("POST", "/patients", "{\"id\":\"P4\"");
+        assertEquals(400, bad.status());
+        assertNotNull(bad.object().get("error"));
+        assertEquals(400, call("POST", "/patients", "{\"id\":\"P4\",\"name\":\"D\",\"dateOfBirth\":\"yesterday\"}").status());
+        assertEquals(400, call("POST", "/appointments", "{\"id\":\"A1\",\"patientId\":\"nobody\",\"dateTime\":\"2999-01-01T09:00\",\"type\":\"GP\"}").status());
+        assertEquals(404, call("GET", "/nothing", null).status());
+        assertEquals(405, call("DELETE", "/patients", null).status());
+
+        controller.addInventoryItem(new InventoryItem("I1", "Gauze", 5, Money.parse("2.0")));
+        assertEquals(409, call("POST", "/inventory/I1/reserve", "{\"amount\":6}").status());
+        Map<?, ?> reserved = call("POST", "/inventory/I1/reserve", "{\"amount\":2}").object();
+        assertEquals(3L, reserved.get("available"));
+    }
+
+    @Test
+    void schedulesCancelsAndQueriesAppointments() throws IOException { // Tests the appointment routes
+        LocalDateTime at = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        String body = "{\"id\":\"A1\",\"patientId\":\"P1\",\"dateTime\":\"" + at + "\",\"type\":\"GP\"}";
+        Response scheduled = call("POST", "/appointments", body);
+        assertEquals(201, scheduled.status());
+        assertEquals("P1", ((Map<?, ?>) scheduled.object().get("patient")).get("id"));
+
+        assertEquals(409, call("POST", "/appointments/try", body.replace("A1", "A2")).status());
+        assertEquals(1, call("POST", "/appointments/conflicts", body.replace("A1", "A2")).list().size());
+        assertEquals(1, call("GET", "/appointments?patientId=P1", null).list().size());
+        assertEquals(1, call("GET", "/appointments?from=" + at.minusHours(1) + "&to=" + at.plusHours(1), null).list().size());
+
+        Response cancelled = call("POST", "/appointments/A1/cancel", null);
+        assertEquals("CANCELLED", cancelled.object().get("status"));
+        assertEquals(Appointment.Status.CANCELLED, controller.findAppointmentById("A1").getStatus());
+        assertEquals(409, call("POST", "/appointments/A1/cancel", null).status());
+        assertEquals(1, call("GET", "/appointments?status=cancelled", null).list().size());
+    }
+
+    @Test
+    void billsRecordsAndPays() throws IOException { // Tests bills with line items and payment
+        Response created = call("POST", "/bills", "{\"id\":\"B1\",\"patientId\":\"P2\",\"lineItems\":[{\"description\":\"Visit\",\"amount\":80.5},{\"description\":\"X-ray\",\"amount\":120}]}");
+        assertEquals(201, created.status());
+        assertEquals(new BigDecimal("200.50"), created.object().get("total")); // Exact, in cents
+        assertEquals("USD", created.object().get("currency"));
+        assertEquals(400, call("POST", "/bills", "{\"id\":\"B2\",\"patientId\":\"P2\",\"lineItems\":[{\"description\":\"Visit\",\"amount\":0.125}]}").status());
+        assertEquals("UNPAID", created.object().get("status"));
+
+        Response paid = call("POST", "/bills/B1/pay", "{\"paymentReference\":\"REF-1\"}");
+        assertEquals("PAID", paid.object().get("status"));
+        assertEquals(409, call("POST", "/bills/B1/pay", "{\"paymentReference\":\"REF-2\"}").status());
+        assertEquals(1, ((List<?>) call("GET", "/bills?sort=patient_id", null).object().get("items")).size());
+    }
+
+    @Test
+    void billAgingReportsUnpaidBillsByAge() throws IOException { // Tests the aging endpoint and that an update keeps the issue time
+        String issued = LocalDate.now().minusDays(45).atTime(9, 0).toString();
+        Response created = call("POST", "/bills", "{\"id\":\"B1\",\"patientId\":\"P1\",\"issuedAt\":\"" + issued + "\",\"lineItems\":[{\"description\":\"Visit\",\"amount\":80.5}]}");
+        assertEquals(issued, created.object().get("issuedAt"));
+        call("POST", "/bills", "{\"id\":\"B2\",\"patientId\":\"P2\",\"lineItems\":[{\"description\":\"Visit\",\"amount\":20}]}");
+        assertEquals(200, call("PUT", "/bills/B1", "{\"patientId\":\"P1\",\"lineItems\":[{\"description\":\"Visit\",\"amount\":90}]}").status());
+
+        Map<?, ?> aging = call("GET", "/bills/aging", null).object();
+        assertEquals(LocalDate.now().toString(), aging.get("asOf"));
+        assertEquals("USD", aging.get("currency"));
+        List<?> buckets = assertInstanceOf(List.class, aging.get("buckets"));
+        assertEquals(Map.of("bucket", "DAYS_0_30", "total", new BigDecimal("20.00"), "count", 1L), buckets.get(0));
+        assertEquals(Map.of("bucket", "DAYS_31_60", "total", new BigDecimal("90.00"), "count", 1L), buckets.get(1));
+        List<?> euro = assertInstanceOf(List.class, call("GET", "/bills/aging?currency=EUR", null).object().get("buckets"));
+        assertEquals(0L, ((Map<?, ?>) euro.get(0)).get("count"));
+        assertEquals(400, call("GET", "/bills/aging?currency=XYZ", null).status());
+        assertEquals(405, call("POST", "/bills/aging", "{}").status());
+    }
+}
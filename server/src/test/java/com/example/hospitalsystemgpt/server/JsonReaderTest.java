@@ -0,0 +1,42 @@
+package com.example.hospitalsystemgpt.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonReaderTest {
+    @Test
+    void parsesObjectsArraysAndScalars() { // Tests each kind of value
+        Object parsed = JsonReader.parse(" {\"s\": \"x\", \"n\": 42, \"d\": -1.5e1, \"t\": true, \"f\": false, \"z\": null, \"a\": [1, [], {}]} ");
+        Map<?, ?> object = assertInstanceOf(Map.class, parsed);
+        assertEquals("x", object.get("s"));
+        assertEquals(42L, object.get("n"));
+        assertEquals(new BigDecimal("-15"), object.get("d")); // Exact, not a double
+        assertEquals(true, object.get("t"));
+        assertEquals(false, object.get("f"));
+        assertTrue(object.containsKey("z"));
+        assertNull(object.get("z"));
+        assertEquals(List.of(1L, List.of(), Map.of()), object.get("a"));
+    }
+
+    @Test
+    void decodesEscapes() { // Tests string escapes including unicode
+        assertEquals("a\"b\\c/\n\t\u00e9", JsonReader.parse("\"a\\\"b\\\\c\\/\\n\\t\\u00e9\""));
+    }
+
+    @Test
+    void rejectsMalformedInput() { // Tests the errors for bad JSON
+        for (String bad : new String[]{"", "{", "[1,]", "{\"a\" 1}", "\"open", "tru", "1 2", "{a:1}", "01x", "\"\\q\""}) {
+            assertThrows(IllegalArgumentException.class, () -> JsonReader.parse(bad), bad);
+        }
+    }
+
+    @Test
+    void rejectsDeepNesting() { // Tests the nesting limit
+        assertThrows(IllegalArgumentException.class, () -> JsonReader.parse("[".repeat(100) + "]".repeat(100)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.hospitalsystemgpt.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonWriterTest {
+    private static String write(JsonWriterAction action, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonWriter json = new JsonWriter(out, bufferSize);
+        action.accept(json);
+        json.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface JsonWriterAction {
+        void accept(JsonWriter json) throws IOException;
+    }
+
+    @Test
+    void writesNestedStructuresWithCommas() throws IOException { // Tests separators between members and elements
+        String json = write(w -> w.beginObject()
+                .name("a").value(1)
+                .name("b").beginArray().value("x").value(true).nullValue().beginObject().endObject().endArray()
+                .name("c").value((String) null)
+                .endObject(), 8192);
+        assertEquals("{\"a\":1,\"b\":[\"x\",true,null,{}],\"c\":null}", json);
+    }
+
+    @Test
+    void escapesStringsAndEncodesUtf8() throws IOException { // Tests escaping and multi-byte characters
+        String json = write(w -> w.value("q\"b\\n\n\u0001 é € \uD83D\uDE00"), 8192);
+        assertEquals("\"q\\\"b\\\\n\\n\\u0001 é € \uD83D\uDE00\"", json);
+    }
+
+    @Test
+    void writesNumbersWithoutNeedlessFractions() throws IOException { // Tests integral doubles and fractions
+        assertEquals("[12,12.5,-3,1.0E20]", write(w -> w.beginArray().value(12.0).value(12.5).value(-3L).value(1e20).endArray(), 8192));
+        assertThrows(IllegalArgumentException.class, () -> write(w -> w.value(Double.NaN), 8192));
+    }
+
+    @Test
+    void flushesThroughASmallBuffer() throws IOException { // Tests output longer than the buffer
+        String json = write(w -> {
+            w.beginArray();
+            for (int i = 0; i < 1000; i++) w.value("item-" + i);
+            w.endArray();
+        }, 16);
+        assertTrue(json.startsWith("[\"item-0\",\"item-1\","));
+        assertTrue(json.endsWith("\"item-999\"]"));
+        assertEquals(1000, ((java.util.List<?>) JsonReader.parse(json)).size());
+    }
+
+    @Test
+    void rejectsUnbalancedClose() { // Tests closing more than was opened
+        assertThrows(IllegalStateException.class, () -> write(JsonWriter::endArray, 8192));
+    }
+}